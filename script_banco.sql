@@ -43,6 +43,10 @@ CREATE TABLE transacao(
     INDEX idx_usuario (usuario_id)
 );
 
+-- As tabelas de totais (resumo_mensal e saldo_usuario) não são criadas aqui: vêm das
+-- migrações em src/main/resources/db/migracao, aplicadas na inicialização. Até lá a
+-- aplicação soma os totais direto de transacao.
+
 -- Tabela de orçamento
 CREATE TABLE orcamento (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -1,10 +1,18 @@
 package com.controlfinanceiro;
 
+import com.controlfinanceiro.dao.SaldoUsuarioDAO;
+import com.controlfinanceiro.dao.impl.ResumoMensalDAOImpl;
+import com.controlfinanceiro.dao.impl.SaldoUsuarioDAOImpl;
+import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.model.DivergenciaSaldo;
+import com.controlfinanceiro.util.ConnectionFactory;
+import com.controlfinanceiro.util.MigracaoBanco;
 import com.controlfinanceiro.view.TelaLogin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import java.util.List;
 
 public class App {
     private static final Logger logger = LoggerFactory.getLogger(App.class);
@@ -12,6 +20,16 @@ public class App {
     public static void main(String[] args) {
         logger.info("Iniciando aplicação MeuBolso");
 
+        atualizarEsquemaBanco();
+
+        if (args.length > 0 && "--reconstruir-resumo".equals(args[0])) {
+            System.exit(reconstruirResumoMensal() ? 0 : 1);
+        }
+        if (args.length > 0 && "--verificar-saldos".equals(args[0])) {
+            boolean corrigir = args.length > 1 && "--corrigir".equals(args[1]);
+            System.exit(verificarSaldos(corrigir) ? 0 : 1);
+        }
+
         SwingUtilities.invokeLater(() -> {
             try {
                 new TelaLogin().setVisible(true);
@@ -25,4 +43,68 @@ public class App {
             }
         });
     }
+
+    /**
+     * Recalcula a tabela resumo_mensal a partir das transações, sem abrir as telas
+     */
+    private static boolean reconstruirResumoMensal() {
+        try {
+            int linhas = new ResumoMensalDAOImpl().reconstruir();
+            logger.info("Resumo mensal reconstruído: {} linha(s)", linhas);
+            return true;
+        } catch (DAOException | RuntimeException | ExceptionInInitializerError e) {
+            logger.error("Erro ao reconstruir o resumo mensal", e);
+            return false;
+        }
+    }
+
+    /**
+     * Confere saldo_usuario com a soma das transações e registra cada divergência;
+     * com corrigir, regrava o saldo dos usuários divergentes.
+     * @return true se não havia divergência ou se todas foram corrigidas
+     */
+    private static boolean verificarSaldos(boolean corrigir) {
+        try {
+            SaldoUsuarioDAO saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+            List<DivergenciaSaldo> divergencias = saldoUsuarioDAO.verificar();
+
+            for (DivergenciaSaldo divergencia : divergencias) {
+                logger.warn("Saldo divergente do usuário {}: registrado {}, calculado {}",
+                        divergencia.getUsuarioId(), divergencia.getRegistrado(), divergencia.getCalculado());
+                if (corrigir) {
+                    saldoUsuarioDAO.reconstruir(divergencia.getUsuarioId());
+                }
+            }
+
+            if (divergencias.isEmpty()) {
+                logger.info("Saldos conferidos: nenhuma divergência");
+            } else if (corrigir) {
+                logger.info("{} saldo(s) divergente(s) corrigido(s)", divergencias.size());
+            }
+            return divergencias.isEmpty() || corrigir;
+
+        } catch (DAOException | RuntimeException | ExceptionInInitializerError e) {
+            logger.error("Erro ao verificar os saldos", e);
+            return false;
+        }
+    }
+
+    /**
+     * Aplica as migrações pendentes antes de abrir as telas. Uma falha aqui não
+     * impede a aplicação de abrir; o erro de conexão aparece depois, no login. Sem as
+     * migrações V2 e V3 os totais são somados direto de transacao em vez de lidos de
+     * resumo_mensal e saldo_usuario.
+     */
+    private static void atualizarEsquemaBanco() {
+        try {
+            if (ConnectionFactory.isMigracoesHabilitadas()) {
+                int aplicadas = MigracaoBanco.executar();
+                if (aplicadas > 0) {
+                    logger.info("{} migração(ões) do banco aplicada(s)", aplicadas);
+                }
+            }
+        } catch (DAOException | RuntimeException | ExceptionInInitializerError e) {
+            logger.error("Erro ao atualizar o esquema do banco de dados", e);
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package com.controlfinanceiro;
+
+import com.controlfinanceiro.util.FormatUtils;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara a formatação das linhas das tabelas como era feita (NumberFormat compartilhado
+ * e DateTimeFormatter.ofPattern a cada linha) com o FormatUtils (centavos escritos
+ * direto e datas em cache), medindo tempo e bytes alocados pela thread. Confere também
+ * se os dois produzem o mesmo texto e se o FormatUtils dá o resultado certo com várias
+ * threads ao mesmo tempo, o que o NumberFormat compartilhado não garante.
+ *
+ * Uso: BenchmarkFormatacao [quantidade de linhas] (padrão 200000)
+ */
+public class BenchmarkFormatacao {
+
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 20;
+    private static final int THREADS = 4;
+
+    // O caminho antigo, como estava no FormatUtils e nas telas
+    private static final NumberFormat MOEDA_COMPARTILHADA = NumberFormat.getCurrencyInstance(FormatUtils.LOCALE_BR);
+
+    public static void main(String[] args) throws Exception {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("❌ A JVM não informa a memória alocada por thread");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        System.out.println("=== BENCHMARK DE FORMATAÇÃO ===");
+        System.out.println("Linhas: " + quantidade + "\n");
+
+        Random random = new Random(42);
+        LocalDate hoje = LocalDate.now();
+        long[] centavos = new long[quantidade];
+        BigDecimal[] valores = new BigDecimal[quantidade];
+        LocalDate[] datas = new LocalDate[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            // Valores como os do banco: DECIMAL(10,2), com alguns saldos negativos
+            centavos[i] = random.nextInt(10) == 0 ? -random.nextInt(50_000_000) : random.nextInt(50_000_000);
+            valores[i] = BigDecimal.valueOf(centavos[i], 2);
+            datas[i] = hoje.minusDays(random.nextInt(3650));
+        }
+
+        int divergencias = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (!MOEDA_COMPARTILHADA.format(valores[i]).equals(FormatUtils.formatarCentavos(centavos[i])) ||
+                    !datas[i].format(DateTimeFormatter.ofPattern("dd/MM/yyyy")).equals(FormatUtils.formatarData(datas[i]))) {
+                divergencias++;
+            }
+        }
+
+        // O tamanho dos textos entra na soma para o JIT não descartar a formatação
+        long[] descarte = new long[1];
+        Runnable caminhoAntigo = () -> {
+            for (int i = 0; i < quantidade; i++) {
+                descarte[0] += MOEDA_COMPARTILHADA.format(valores[i]).length();
+                descarte[0] += datas[i].format(DateTimeFormatter.ofPattern("dd/MM/yyyy")).length();
+            }
+        };
+        Runnable comFormatUtils = () -> {
+            for (int i = 0; i < quantidade; i++) {
+                descarte[0] += FormatUtils.formatarCentavos(centavos[i]).length();
+                descarte[0] += FormatUtils.formatarData(datas[i]).length();
+            }
+        };
+        StringBuilder buffer = new StringBuilder(32);
+        Runnable comBuffer = () -> {
+            for (int i = 0; i < quantidade; i++) {
+                buffer.setLength(0);
+                descarte[0] += FormatUtils.formatarCentavos(centavos[i], buffer).length();
+            }
+        };
+
+        Medicao antes = medir(threads, caminhoAntigo);
+        Medicao depois = medir(threads, comFormatUtils);
+        Medicao reaproveitando = medir(threads, comBuffer);
+
+        System.out.printf("NumberFormat + ofPattern:   %8.2f ms  %,14d bytes por rodada%n", antes.milissegundos, antes.bytes);
+        System.out.printf("FormatUtils:                %8.2f ms  %,14d bytes por rodada%n", depois.milissegundos, depois.bytes);
+        System.out.printf("FormatUtils (só valor, com buffer): %8.2f ms  %,14d bytes por rodada%n",
+            reaproveitando.milissegundos, reaproveitando.bytes);
+        System.out.printf("%nBytes por linha: %.1f -> %.1f%n",
+            (double) antes.bytes / quantidade, (double) depois.bytes / quantidade);
+        System.out.println("Textos diferentes entre os dois caminhos: " + divergencias);
+
+        System.out.println("\nErros com " + THREADS + " threads formatando ao mesmo tempo:");
+        System.out.println("  NumberFormat compartilhado: " +
+            errosConcorrentes(valores, centavos, i -> MOEDA_COMPARTILHADA.format(valores[i])));
+        System.out.println("  FormatUtils:                " +
+            errosConcorrentes(valores, centavos, i -> FormatUtils.formatarCentavos(centavos[i])));
+        System.out.println("(controle: " + descarte[0] + ")");
+    }
+
+    private interface Formatacao {
+        String formatar(int indice);
+    }
+
+    /**
+     * Formata todos os valores em várias threads e conta os textos diferentes do esperado
+     */
+    private static int errosConcorrentes(BigDecimal[] valores, long[] centavos, Formatacao formatacao) throws Exception {
+        String[] esperados = new String[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            esperados[i] = FormatUtils.formatarCentavos(centavos[i]);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> partes = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                partes.add(executor.submit(() -> {
+                    int erros = 0;
+                    for (int i = 0; i < valores.length; i++) {
+                        try {
+                            if (!esperados[i].equals(formatacao.formatar(i))) {
+                                erros++;
+                            }
+                        } catch (RuntimeException e) {
+                            erros++;
+                        }
+                    }
+                    return erros;
+                }));
+            }
+            int erros = 0;
+            for (Future<Integer> parte : partes) {
+                erros += parte.get();
+            }
+            return erros;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Medicao medir(com.sun.management.ThreadMXBean threads, Runnable calculo) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            calculo.run();
+        }
+
+        long id = Thread.currentThread().getId();
+        long bytesInicio = threads.getThreadAllocatedBytes(id);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICOES; i++) {
+            calculo.run();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = threads.getThreadAllocatedBytes(id) - bytesInicio;
+
+        return new Medicao(nanos / 1_000_000.0 / MEDICOES, bytes / MEDICOES);
+    }
+
+    private static final class Medicao {
+        private final double milissegundos;
+        private final long bytes;
+
+        private Medicao(double milissegundos, long bytes) {
+            this.milissegundos = milissegundos;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.controlfinanceiro;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara o cálculo de totais com BigDecimal (dois streams com reduce, como era feito
+ * nos controllers) com o Totalizador em centavos, medindo tempo e bytes alocados pela
+ * thread. Não usa banco: as transações são geradas em memória.
+ *
+ * Uso: BenchmarkTotais [quantidade de transações] (padrão 200000)
+ */
+public class BenchmarkTotais {
+
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 20;
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("❌ A JVM não informa a memória alocada por thread");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        System.out.println("=== BENCHMARK DE TOTAIS ===");
+        System.out.println("Transações: " + quantidade + "\n");
+
+        List<LinhaTransacao> transacoes = gerarTransacoes(quantidade);
+
+        // O resultado de cada rodada entra na soma para o JIT não descartar o cálculo
+        long[] descarte = new long[1];
+        Runnable comBigDecimal = () -> {
+            BigDecimal receitas = transacoes.stream()
+                .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
+                .map(LinhaTransacao::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal despesas = transacoes.stream()
+                .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
+                .map(LinhaTransacao::getValor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            descarte[0] += receitas.subtract(despesas).longValue();
+        };
+        Runnable comTotalizador = () -> {
+            Totalizador totais = Totalizador.de(transacoes);
+            descarte[0] += totais.getSaldo().getCentavos() / 100;
+        };
+
+        Medicao antes = medir(threads, comBigDecimal);
+        Medicao depois = medir(threads, comTotalizador);
+
+        System.out.printf("BigDecimal (2 passadas): %8.2f ms  %,14d bytes por cálculo%n", antes.milissegundos, antes.bytes);
+        System.out.printf("Totalizador (centavos):  %8.2f ms  %,14d bytes por cálculo%n", depois.milissegundos, depois.bytes);
+        System.out.printf("%nBytes por transação: %.1f -> %.1f%n",
+            (double) antes.bytes / quantidade, (double) depois.bytes / quantidade);
+        System.out.println("(controle: " + descarte[0] + ")");
+    }
+
+    private static Medicao medir(com.sun.management.ThreadMXBean threads, Runnable calculo) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            calculo.run();
+        }
+
+        long id = Thread.currentThread().getId();
+        long bytesInicio = threads.getThreadAllocatedBytes(id);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICOES; i++) {
+            calculo.run();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = threads.getThreadAllocatedBytes(id) - bytesInicio;
+
+        return new Medicao(nanos / 1_000_000.0 / MEDICOES, bytes / MEDICOES);
+    }
+
+    private static List<LinhaTransacao> gerarTransacoes(int quantidade) {
+        Random random = new Random(42);
+        LocalDate hoje = LocalDate.now();
+        List<LinhaTransacao> transacoes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            TipoTransacao tipo = random.nextInt(3) == 0 ? TipoTransacao.RECEITA : TipoTransacao.DESPESA;
+            // Valores como os do banco: DECIMAL(10,2)
+            BigDecimal valor = BigDecimal.valueOf(1 + random.nextInt(500_000), 2);
+            transacoes.add(new LinhaTransacao(i + 1, "Transação " + i, valor, hoje.minusDays(random.nextInt(3650)),
+                tipo, null, null, null));
+        }
+        return transacoes;
+    }
+
+    private static final class Medicao {
+        private final double milissegundos;
+        private final long bytes;
+
+        private Medicao(double milissegundos, long bytes) {
+            this.milissegundos = milissegundos;
+            this.bytes = bytes;
+        }
+    }
+}
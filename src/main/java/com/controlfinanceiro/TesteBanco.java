@@ -2,7 +2,7 @@ package com.controlfinanceiro;
 
 import com.controlfinanceiro.util.ConnectionFactory;
 import com.controlfinanceiro.controller.TransacaoController;
-import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 
 import java.math.BigDecimal;
@@ -28,10 +28,10 @@ public class TesteBanco {
             LocalDate fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth());
 
             System.out.println("Buscando transações de " + inicioMes + " até " + fimMes);
-            List<Transacao> transacoes = controller.listarTransacoesPorPeriodo(inicioMes, fimMes);
+            List<LinhaTransacao> transacoes = controller.listarTransacoesPorPeriodo(inicioMes, fimMes);
             System.out.println("Encontradas " + transacoes.size() + " transações");
 
-            for (Transacao t : transacoes) {
+            for (LinhaTransacao t : transacoes) {
                 System.out.println("- " + t.getDescricao() + " | " + t.getTipo() + " | R$ " + t.getValor());
             }
 
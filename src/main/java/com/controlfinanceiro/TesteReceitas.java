@@ -1,7 +1,7 @@
 package com.controlfinanceiro;
 
 import com.controlfinanceiro.controller.TransacaoController;
-import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 import com.controlfinanceiro.exception.BusinessException;
 
@@ -23,7 +23,7 @@ public class TesteReceitas {
 
             System.out.println("Buscando transações de " + inicioMes + " até " + fimMes);
 
-            List<Transacao> todasTransacoes = controller.listarTransacoesPorPeriodo(inicioMes, fimMes);
+            List<LinhaTransacao> todasTransacoes = controller.listarTransacoesPorPeriodo(inicioMes, fimMes);
             System.out.println("Total de transações encontradas: " + todasTransacoes.size());
 
             // Listar todas as transações
@@ -31,10 +31,10 @@ public class TesteReceitas {
                 System.out.println("NENHUMA TRANSAÇÃO ENCONTRADA!");
 
                 // Tentar buscar todas as receitas
-                List<Transacao> todasReceitas = controller.listarTransacoesPorTipo(TipoTransacao.RECEITA);
+                List<LinhaTransacao> todasReceitas = controller.listarTransacoesPorTipo(TipoTransacao.RECEITA);
                 System.out.println("Total de receitas em todo o banco: " + todasReceitas.size());
 
-                for (Transacao receita : todasReceitas) {
+                for (LinhaTransacao receita : todasReceitas) {
                     System.out.println("Receita: " + receita.getDescricao() +
                                      " - Valor: " + receita.getValor() +
                                      " - Data: " + receita.getDataTransacao());
@@ -44,7 +44,7 @@ public class TesteReceitas {
                 BigDecimal totalReceitas = BigDecimal.ZERO;
                 BigDecimal totalDespesas = BigDecimal.ZERO;
 
-                for (Transacao t : todasTransacoes) {
+                for (LinhaTransacao t : todasTransacoes) {
                     System.out.println("- " + t.getTipo() + ": " + t.getDescricao() +
                                      " - R$ " + t.getValor() +
                                      " - Data: " + t.getDataTransacao());
@@ -0,0 +1,231 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.util.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultados dos relatórios por período já gerados, por usuário, período e tipo.
+ *
+ * O espaço ocupado é estimado pelo tamanho das transações guardadas; quando passa do
+ * limite (cache.relatorios.maxBytes), saem os relatórios usados há mais tempo. Cada
+ * gravação feita pelo TransacaoController descarta os relatórios do usuário cujo
+ * período contém a data da transação; alterar ou excluir uma categoria descarta todos.
+ */
+public final class CacheRelatorios {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRelatorios.class);
+
+    // Estimativas do tamanho em memória, em bytes
+    private static final int BYTES_POR_TRANSACAO = 120;
+    private static final int BYTES_POR_CARACTERE = 2;
+    private static final int BYTES_POR_RELATORIO = 120;
+
+    private static CacheRelatorios instance;
+
+    private final long maximoBytes;
+
+    // Em ordem de acesso: o primeiro é o usado há mais tempo
+    private final Map<Chave, Relatorio> relatorios = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final Estatisticas estatisticas = new Estatisticas();
+
+    private CacheRelatorios() {
+        this(ConnectionFactory.getCacheRelatoriosMaximoBytes());
+    }
+
+    // Para os testes, sem ler database.properties
+    CacheRelatorios(long maximoBytes) {
+        this.maximoBytes = maximoBytes;
+    }
+
+    public static synchronized CacheRelatorios getInstance() {
+        if (instance == null) {
+            instance = new CacheRelatorios();
+        }
+        return instance;
+    }
+
+    /**
+     * Transações do relatório guardado, ou null se ele não estiver em memória. A lista
+     * não pode ser alterada; as linhas são imutáveis e compartilhadas com o cache.
+     *
+     * @param tipo tipo das transações do relatório, ou null para todas
+     */
+    public synchronized List<LinhaTransacao> buscar(Long usuarioId, LocalDate inicio, LocalDate fim, TipoTransacao tipo) {
+        Relatorio relatorio = relatorios.get(new Chave(usuarioId, inicio, fim, tipo));
+        if (relatorio == null) {
+            estatisticas.falhas.increment();
+            return null;
+        }
+
+        estatisticas.acertos.increment();
+        return relatorio.transacoes;
+    }
+
+    /**
+     * Guarda o resultado do relatório. Se a versão dos dados do usuário mudou desde
+     * versaoLida, houve gravação durante a consulta e o resultado é descartado.
+     */
+    public synchronized void guardar(Long usuarioId, LocalDate inicio, LocalDate fim, TipoTransacao tipo,
+                                     List<LinhaTransacao> transacoes, long versaoLida) {
+        if (maximoBytes <= 0 || VersoesUsuario.atual(usuarioId) != versaoLida) {
+            return;
+        }
+
+        List<LinhaTransacao> copia = List.copyOf(transacoes);
+        Relatorio relatorio = new Relatorio(copia, estimarBytes(copia));
+        if (relatorio.bytes > maximoBytes) {
+            return;
+        }
+
+        Relatorio anterior = relatorios.put(new Chave(usuarioId, inicio, fim, tipo), relatorio);
+        if (anterior != null) {
+            bytes -= anterior.bytes;
+        }
+        bytes += relatorio.bytes;
+
+        Iterator<Relatorio> iterator = relatorios.values().iterator();
+        while (bytes > maximoBytes && iterator.hasNext()) {
+            Relatorio removido = iterator.next();
+            if (removido == relatorio) {
+                continue;
+            }
+            bytes -= removido.bytes;
+            iterator.remove();
+            estatisticas.remocoes.increment();
+            logger.debug("Relatório de {} bytes saiu do cache para liberar memória", removido.bytes);
+        }
+    }
+
+    /**
+     * Descarta os relatórios do usuário cujo período contém a data informada
+     */
+    public synchronized void invalidar(Long usuarioId, LocalDate data) {
+        Iterator<Map.Entry<Chave, Relatorio>> iterator = relatorios.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Chave, Relatorio> entrada = iterator.next();
+            Chave chave = entrada.getKey();
+            if (Objects.equals(chave.usuarioId, usuarioId)
+                    && (data == null || (!data.isBefore(chave.inicio) && !data.isAfter(chave.fim)))) {
+                bytes -= entrada.getValue().bytes;
+                iterator.remove();
+                estatisticas.invalidacoes.increment();
+            }
+        }
+    }
+
+    /**
+     * Descarta todos os relatórios do usuário
+     */
+    public void invalidar(Long usuarioId) {
+        invalidar(usuarioId, null);
+    }
+
+    public synchronized void limpar() {
+        relatorios.clear();
+        bytes = 0;
+    }
+
+    public Estatisticas getEstatisticas() {
+        return estatisticas;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int getQuantidade() {
+        return relatorios.size();
+    }
+
+    private static long estimarBytes(List<LinhaTransacao> transacoes) {
+        long total = BYTES_POR_RELATORIO;
+        for (LinhaTransacao transacao : transacoes) {
+            total += BYTES_POR_TRANSACAO;
+            if (transacao.getDescricao() != null) {
+                total += (long) transacao.getDescricao().length() * BYTES_POR_CARACTERE;
+            }
+            if (transacao.getObservacao() != null) {
+                total += (long) transacao.getObservacao().length() * BYTES_POR_CARACTERE;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Contadores de uso do cache de relatórios
+     */
+    public static final class Estatisticas {
+        private final LongAdder acertos = new LongAdder();
+        private final LongAdder falhas = new LongAdder();
+        private final LongAdder remocoes = new LongAdder();
+        private final LongAdder invalidacoes = new LongAdder();
+
+        public long getAcertos() { return acertos.sum(); }
+        public long getFalhas() { return falhas.sum(); }
+        public long getRemocoes() { return remocoes.sum(); }
+        public long getInvalidacoes() { return invalidacoes.sum(); }
+
+        public double getTaxaAcerto() {
+            long total = getAcertos() + getFalhas();
+            return total == 0 ? 0.0 : (double) getAcertos() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("acertos=%d, falhas=%d, remoções=%d, invalidações=%d, taxa=%.1f%%",
+                    getAcertos(), getFalhas(), getRemocoes(), getInvalidacoes(), getTaxaAcerto() * 100);
+        }
+    }
+
+    private static final class Relatorio {
+        private final List<LinhaTransacao> transacoes;
+        private final long bytes;
+
+        private Relatorio(List<LinhaTransacao> transacoes, long bytes) {
+            this.transacoes = transacoes;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Chave {
+        private final Long usuarioId;
+        private final LocalDate inicio;
+        private final LocalDate fim;
+        private final TipoTransacao tipo;
+
+        private Chave(Long usuarioId, LocalDate inicio, LocalDate fim, TipoTransacao tipo) {
+            this.usuarioId = usuarioId;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.tipo = tipo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Chave)) {
+                return false;
+            }
+            Chave outra = (Chave) o;
+            return Objects.equals(usuarioId, outra.usuarioId) && inicio.equals(outra.inicio)
+                && fim.equals(outra.fim) && tipo == outra.tipo;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(usuarioId, inicio, fim, tipo);
+        }
+    }
+}
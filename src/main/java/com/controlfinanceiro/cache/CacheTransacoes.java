@@ -0,0 +1,233 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.dao.SaldoUsuarioDAO;
+import com.controlfinanceiro.dao.TransacaoDAO;
+import com.controlfinanceiro.dao.impl.SaldoUsuarioDAOImpl;
+import com.controlfinanceiro.dao.impl.TransacaoDAOImpl;
+import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.util.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Livros de transações em memória, um por usuário, carregados na primeira leitura e
+ * mantidos atualizados pelo TransacaoController a cada gravação.
+ *
+ * O total de transações em memória é limitado: quando passa do máximo, sai o livro
+ * usado há mais tempo. Usuários com mais transações que o limite por usuário nunca
+ * entram e são sempre lidos do banco.
+ *
+ * O cache vale só para este processo: gravações feitas por outra instância da
+ * aplicação ou direto no banco só aparecem depois que o livro sai da memória.
+ */
+public final class CacheTransacoes {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTransacoes.class);
+
+    private static CacheTransacoes instance;
+
+    private final TransacaoDAO transacaoDAO;
+    private final SaldoUsuarioDAO saldoUsuarioDAO;
+    private final boolean habilitado;
+    private final int maximo;
+    private final int maximoPorUsuario;
+
+    // Em ordem de acesso: o primeiro é o usado há mais tempo
+    private final Map<Long, LivroTransacoes> livros = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<Long> grandesDemais = new HashSet<>();
+
+    // Incrementada a cada gravação; uma carga que cruzou com uma gravação é descartada
+    private long versao;
+
+    private CacheTransacoes() {
+        this.transacaoDAO = new TransacaoDAOImpl();
+        this.saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+        this.habilitado = ConnectionFactory.isCacheTransacoesHabilitado();
+        this.maximo = ConnectionFactory.getCacheTransacoesMaximo();
+        this.maximoPorUsuario = Math.min(ConnectionFactory.getCacheTransacoesMaximoPorUsuario(), maximo);
+    }
+
+    public static synchronized CacheTransacoes getInstance() {
+        if (instance == null) {
+            instance = new CacheTransacoes();
+        }
+        return instance;
+    }
+
+    /**
+     * Livro do usuário, carregado do banco se ainda não estiver em memória. Vazio se o
+     * cache estiver desligado, o usuário tiver transações demais ou a quantidade não
+     * puder ser lida; nesses casos quem chamou deve consultar o DAO.
+     */
+    public Optional<LivroTransacoes> buscarLivro(Long usuarioId) throws DAOException {
+        if (!habilitado || usuarioId == null) {
+            return Optional.empty();
+        }
+
+        long versaoInicial;
+        synchronized (this) {
+            LivroTransacoes livro = livros.get(usuarioId);
+            if (livro != null) {
+                return Optional.of(livro);
+            }
+            if (grandesDemais.contains(usuarioId)) {
+                return Optional.empty();
+            }
+            versaoInicial = versao;
+        }
+
+        // A quantidade vem do saldo mantido a cada gravação (antes da migração V3, de um
+        // COUNT em transacao): uma linha lida antes de trazer o histórico
+        long quantidade;
+        try {
+            quantidade = saldoUsuarioDAO.buscarPorUsuario(usuarioId).getQuantidade();
+        } catch (DAOException e) {
+            // Sem saber o tamanho o livro não é carregado; quem chamou consulta o DAO
+            logger.warn("Não foi possível contar as transações do usuário {}: {}", usuarioId, e.getMessage());
+            return Optional.empty();
+        }
+        if (quantidade > maximoPorUsuario) {
+            synchronized (this) {
+                grandesDemais.add(usuarioId);
+            }
+            logger.info("Usuário {} tem {} transações, acima do limite do cache ({}); leituras vão direto ao banco",
+                usuarioId, quantidade, maximoPorUsuario);
+            return Optional.empty();
+        }
+
+        LivroTransacoes carregado = new LivroTransacoes(transacaoDAO.buscarPorUsuario(usuarioId));
+
+        synchronized (this) {
+            if (versao != versaoInicial) {
+                // Uma gravação terminou durante a carga e pode não estar no livro; a próxima leitura carrega de novo
+                return Optional.empty();
+            }
+            LivroTransacoes existente = livros.get(usuarioId);
+            if (existente != null) {
+                return Optional.of(existente);
+            }
+            livros.put(usuarioId, carregado);
+            logger.debug("Livro do usuário {} carregado com {} transações", usuarioId, carregado.getQuantidade());
+            limitarTamanho(usuarioId);
+            return Optional.of(carregado);
+        }
+    }
+
+    /**
+     * Chamado depois que uma transação é inserida ou alterada. Relê a linha gravada,
+     * que traz a categoria e as datas preenchidas pelo banco, e a coloca no livro do
+     * dono, se ele estiver em memória.
+     *
+     * A leitura é feita fora do lock, como em buscarLivro. Se outra gravação terminar
+     * enquanto isso, a linha lida pode ser mais antiga que a dela; nesse caso o livro
+     * do dono é descartado em vez de receber a linha.
+     */
+    public void registrar(Long transacaoId) {
+        long versaoLeitura;
+        synchronized (this) {
+            versaoLeitura = ++versao;
+            if (livros.isEmpty() || transacaoId == null) {
+                return;
+            }
+        }
+
+        Optional<Transacao> gravada;
+        try {
+            gravada = transacaoDAO.buscarPorId(transacaoId);
+        } catch (DAOException e) {
+            // A gravação já foi confirmada; sem a linha atualizada os livros deixam de ser confiáveis
+            logger.warn("Não foi possível atualizar o cache com a transação {}: {}", transacaoId, e.getMessage());
+            limpar();
+            return;
+        }
+
+        synchronized (this) {
+            removerDeTodos(transacaoId);
+            if (gravada.isEmpty()) {
+                return;
+            }
+
+            Long usuarioId = gravada.get().getUsuarioId();
+            LivroTransacoes livro = livros.get(usuarioId);
+            if (livro == null) {
+                return;
+            }
+            if (versao != versaoLeitura) {
+                versao++;
+                livros.remove(usuarioId);
+                return;
+            }
+            livro.registrar(gravada.get());
+            limitarTamanho(usuarioId);
+        }
+    }
+
+    /**
+     * Chamado depois que uma transação é excluída
+     */
+    public synchronized void remover(Long transacaoId) {
+        versao++;
+        removerDeTodos(transacaoId);
+    }
+
+    /**
+     * Descarta o livro do usuário; a próxima leitura recarrega do banco. Usado depois
+     * de gravações em lote, onde reler linha a linha custaria mais que recarregar.
+     */
+    public synchronized void invalidar(Long usuarioId) {
+        versao++;
+        livros.remove(usuarioId);
+        grandesDemais.remove(usuarioId);
+    }
+
+    public synchronized void limpar() {
+        versao++;
+        livros.clear();
+        grandesDemais.clear();
+    }
+
+    private void removerDeTodos(Long transacaoId) {
+        for (LivroTransacoes livro : livros.values()) {
+            if (livro.remover(transacaoId)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tira da memória o livro que cresceu além do limite por usuário e, depois, os
+     * usados há mais tempo até o total voltar ao máximo
+     */
+    private void limitarTamanho(Long usuarioAtual) {
+        LivroTransacoes atual = livros.get(usuarioAtual);
+        if (atual != null && atual.getQuantidade() > maximoPorUsuario) {
+            livros.remove(usuarioAtual);
+            grandesDemais.add(usuarioAtual);
+            logger.info("Livro do usuário {} passou de {} transações e saiu do cache", usuarioAtual, maximoPorUsuario);
+        }
+
+        long total = 0;
+        for (LivroTransacoes livro : livros.values()) {
+            total += livro.getQuantidade();
+        }
+
+        Iterator<Map.Entry<Long, LivroTransacoes>> iterator = livros.entrySet().iterator();
+        while (total > maximo && iterator.hasNext()) {
+            Map.Entry<Long, LivroTransacoes> entrada = iterator.next();
+            if (entrada.getKey().equals(usuarioAtual)) {
+                continue;
+            }
+            total -= entrada.getValue().getQuantidade();
+            iterator.remove();
+            logger.debug("Livro do usuário {} saiu do cache para liberar memória", entrada.getKey());
+        }
+    }
+}
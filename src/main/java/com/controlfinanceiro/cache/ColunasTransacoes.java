@@ -0,0 +1,326 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.ResumoPeriodo;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * As transações de um livro em colunas: um array primitivo por campo, na mesma ordem
+ * do livro (data DESC, ID DESC). Filtros e somas dos relatórios percorrem só os
+ * arrays de que precisam, em sequência, sem passar pelos objetos LinhaTransacao.
+ *
+ * Descrições e categorias são codificadas por dicionário: a coluna guarda o índice
+ * do valor na lista de valores distintos. Imutável; o livro monta um novo a cada
+ * alteração, quando for pedido.
+ */
+public final class ColunasTransacoes {
+
+    // Códigos da coluna de tipo
+    private static final byte RECEITA = 1;
+    private static final byte DESPESA = 2;
+
+    private final long[] ids;
+    private final int[] dias;          // LocalDate.toEpochDay(), não crescente
+    private final long[] centavos;
+    private final byte[] tipos;
+    private final int[] categorias;    // índice em categoriaIds
+    private final int[] descricoes;    // índice em textos
+
+    private final Long[] categoriaIds; // pode conter null (sem categoria)
+    private final String[] textos;
+
+    private ColunasTransacoes(long[] ids, int[] dias, long[] centavos, byte[] tipos, int[] categorias,
+                              int[] descricoes, List<Long> categoriaIds, List<String> textos) {
+        this.ids = ids;
+        this.dias = dias;
+        this.centavos = centavos;
+        this.tipos = tipos;
+        this.categorias = categorias;
+        this.descricoes = descricoes;
+        this.categoriaIds = categoriaIds.toArray(new Long[0]);
+        this.textos = textos.toArray(new String[0]);
+    }
+
+    /**
+     * @param transacoes na ordem do livro (data DESC, ID DESC)
+     */
+    static ColunasTransacoes de(Collection<LinhaTransacao> transacoes) {
+        int tamanho = transacoes.size();
+        long[] ids = new long[tamanho];
+        int[] dias = new int[tamanho];
+        long[] centavos = new long[tamanho];
+        byte[] tipos = new byte[tamanho];
+        int[] categorias = new int[tamanho];
+        int[] descricoes = new int[tamanho];
+
+        Map<Long, Integer> codigosCategoria = new HashMap<>();
+        List<Long> categoriaIds = new ArrayList<>();
+        Map<String, Integer> codigosTexto = new HashMap<>();
+        List<String> textos = new ArrayList<>();
+
+        int i = 0;
+        for (LinhaTransacao transacao : transacoes) {
+            ids[i] = transacao.getId();
+            dias[i] = (int) transacao.getDataTransacao().toEpochDay();
+            centavos[i] = transacao.getValorCentavos();
+            tipos[i] = codigo(transacao.getTipo());
+            categorias[i] = codificar(transacao.getCategoriaId(), codigosCategoria, categoriaIds);
+            descricoes[i] = codificar(transacao.getDescricao(), codigosTexto, textos);
+            i++;
+        }
+
+        return new ColunasTransacoes(ids, dias, centavos, tipos, categorias, descricoes, categoriaIds, textos);
+    }
+
+    public int getQuantidade() {
+        return ids.length;
+    }
+
+    public long getId(int linha) {
+        return ids[linha];
+    }
+
+    public LocalDate getData(int linha) {
+        return LocalDate.ofEpochDay(dias[linha]);
+    }
+
+    public String getDescricao(int linha) {
+        return textos[descricoes[linha]];
+    }
+
+    /**
+     * Receitas, despesas e quantidade entre as datas, inclusive
+     */
+    public Totalizador totalizarPeriodo(LocalDate inicio, LocalDate fim) {
+        int de = primeiraAte(dia(fim));
+        int ate = primeiraAte(dia(inicio) - 1);
+
+        long receitas = 0;
+        long despesas = 0;
+        for (int i = de; i < ate; i++) {
+            if (tipos[i] == RECEITA) {
+                receitas += centavos[i];
+            } else if (tipos[i] == DESPESA) {
+                despesas += centavos[i];
+            }
+        }
+        return Totalizador.deCentavos(receitas, despesas, Math.max(ate - de, 0));
+    }
+
+    /**
+     * Receitas, despesas e quantidade de uma categoria em todo o histórico
+     */
+    public Totalizador totalizarCategoria(Long categoriaId) {
+        int codigo = codigoCategoria(categoriaId);
+        if (codigo < 0) {
+            return new Totalizador();
+        }
+
+        long receitas = 0;
+        long despesas = 0;
+        long quantidade = 0;
+        for (int i = 0; i < categorias.length; i++) {
+            if (categorias[i] == codigo) {
+                if (tipos[i] == RECEITA) {
+                    receitas += centavos[i];
+                } else if (tipos[i] == DESPESA) {
+                    despesas += centavos[i];
+                }
+                quantidade++;
+            }
+        }
+        return Totalizador.deCentavos(receitas, despesas, quantidade);
+    }
+
+    /**
+     * Totais de cada categoria com transações no período, por ID da categoria (null
+     * para as transações sem categoria). Datas nulas consideram todo o histórico.
+     */
+    public Map<Long, Totalizador> totalizarPorCategoria(LocalDate inicio, LocalDate fim) {
+        int de = fim != null ? primeiraAte(dia(fim)) : 0;
+        int ate = inicio != null ? primeiraAte(dia(inicio) - 1) : dias.length;
+
+        // Acumula em arrays indexados pelo código da categoria, sem mapa no laço
+        long[] receitas = new long[categoriaIds.length];
+        long[] despesas = new long[categoriaIds.length];
+        long[] quantidades = new long[categoriaIds.length];
+        for (int i = de; i < ate; i++) {
+            int categoria = categorias[i];
+            if (tipos[i] == RECEITA) {
+                receitas[categoria] += centavos[i];
+            } else if (tipos[i] == DESPESA) {
+                despesas[categoria] += centavos[i];
+            }
+            quantidades[categoria]++;
+        }
+
+        Map<Long, Totalizador> totais = new LinkedHashMap<>();
+        for (int codigo = 0; codigo < categoriaIds.length; codigo++) {
+            if (quantidades[codigo] > 0) {
+                totais.put(categoriaIds[codigo], Totalizador.deCentavos(receitas[codigo], despesas[codigo], quantidades[codigo]));
+            }
+        }
+        return totais;
+    }
+
+    /**
+     * Totais do período por mês e por categoria. O período é dividido em meses, que
+     * são linhas contíguas; com um pool, grupos de meses de até linhasPorTarefa linhas
+     * são somados em paralelo e combinados. Sem pool, ou com poucas linhas, o mesmo
+     * cálculo roda na thread atual e chega ao mesmo resultado.
+     */
+    public ResumoPeriodo resumir(LocalDate inicio, LocalDate fim, ForkJoinPool pool, int linhasPorTarefa) {
+        int de = primeiraAte(dia(fim));
+        int ate = primeiraAte(dia(inicio) - 1);
+        if (de >= ate) {
+            return new ResumoPeriodo();
+        }
+
+        // Primeira linha de cada mês; as datas são decrescentes, então o mês mais recente vem antes
+        List<YearMonth> meses = new ArrayList<>();
+        List<Integer> inicios = new ArrayList<>();
+        for (int linha = de; linha < ate; ) {
+            YearMonth mes = YearMonth.from(LocalDate.ofEpochDay(dias[linha]));
+            meses.add(mes);
+            inicios.add(linha);
+            linha = Math.min(primeiraAte(mes.atDay(1).toEpochDay() - 1), ate);
+        }
+        inicios.add(ate);
+
+        int[] limites = inicios.stream().mapToInt(Integer::intValue).toArray();
+        TarefaResumo tarefa = new TarefaResumo(meses.toArray(new YearMonth[0]), limites, 0, meses.size(),
+            Math.max(linhasPorTarefa, 1));
+
+        if (pool == null || ate - de <= linhasPorTarefa) {
+            return resumirMeses(tarefa.meses, limites, 0, meses.size());
+        }
+        return pool.invoke(tarefa);
+    }
+
+    /**
+     * Soma os meses [primeiro, ultimo) acumulando por categoria em arrays indexados
+     * pelo código, e passa ao resumo uma entrada por mês e categoria
+     */
+    private ResumoPeriodo resumirMeses(YearMonth[] meses, int[] limites, int primeiro, int ultimo) {
+        ResumoPeriodo resumo = new ResumoPeriodo();
+        long[] receitas = new long[categoriaIds.length];
+        long[] despesas = new long[categoriaIds.length];
+        long[] quantidades = new long[categoriaIds.length];
+
+        for (int mes = primeiro; mes < ultimo; mes++) {
+            for (int i = limites[mes]; i < limites[mes + 1]; i++) {
+                int categoria = categorias[i];
+                if (tipos[i] == RECEITA) {
+                    receitas[categoria] += centavos[i];
+                } else if (tipos[i] == DESPESA) {
+                    despesas[categoria] += centavos[i];
+                }
+                quantidades[categoria]++;
+            }
+
+            for (int codigo = 0; codigo < categoriaIds.length; codigo++) {
+                if (quantidades[codigo] > 0) {
+                    resumo.adicionar(meses[mes], categoriaIds[codigo],
+                        Totalizador.deCentavos(receitas[codigo], despesas[codigo], quantidades[codigo]));
+                    receitas[codigo] = 0;
+                    despesas[codigo] = 0;
+                    quantidades[codigo] = 0;
+                }
+            }
+        }
+        return resumo;
+    }
+
+    /**
+     * Divide os meses ao meio até cada parte ter no máximo linhasPorTarefa linhas (ou
+     * um único mês) e junta os resumos das partes
+     */
+    private final class TarefaResumo extends RecursiveTask<ResumoPeriodo> {
+        private final YearMonth[] meses;
+        private final int[] limites;
+        private final int primeiro;
+        private final int ultimo;
+        private final int linhasPorTarefa;
+
+        private TarefaResumo(YearMonth[] meses, int[] limites, int primeiro, int ultimo, int linhasPorTarefa) {
+            this.meses = meses;
+            this.limites = limites;
+            this.primeiro = primeiro;
+            this.ultimo = ultimo;
+            this.linhasPorTarefa = linhasPorTarefa;
+        }
+
+        @Override
+        protected ResumoPeriodo compute() {
+            if (ultimo - primeiro <= 1 || limites[ultimo] - limites[primeiro] <= linhasPorTarefa) {
+                return resumirMeses(meses, limites, primeiro, ultimo);
+            }
+            int meio = (primeiro + ultimo) >>> 1;
+            TarefaResumo recentes = new TarefaResumo(meses, limites, primeiro, meio, linhasPorTarefa);
+            TarefaResumo antigos = new TarefaResumo(meses, limites, meio, ultimo, linhasPorTarefa);
+            recentes.fork();
+            ResumoPeriodo resumo = antigos.compute();
+            return recentes.join().juntar(resumo);
+        }
+    }
+
+    /**
+     * Primeira linha com data menor ou igual ao dia informado (busca binária: os dias
+     * estão em ordem decrescente); o tamanho da coluna se não houver
+     */
+    private int primeiraAte(long dia) {
+        int baixo = 0;
+        int alto = dias.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (dias[meio] > dia) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private int codigoCategoria(Long categoriaId) {
+        for (int codigo = 0; codigo < categoriaIds.length; codigo++) {
+            if (categoriaId == null ? categoriaIds[codigo] == null : categoriaId.equals(categoriaIds[codigo])) {
+                return codigo;
+            }
+        }
+        return -1;
+    }
+
+    private static long dia(LocalDate data) {
+        return data.toEpochDay();
+    }
+
+    private static byte codigo(TipoTransacao tipo) {
+        if (tipo == TipoTransacao.RECEITA) {
+            return RECEITA;
+        }
+        return tipo == TipoTransacao.DESPESA ? DESPESA : 0;
+    }
+
+    private static <T> int codificar(T valor, Map<T, Integer> codigos, List<T> valores) {
+        Integer codigo = codigos.get(valor);
+        if (codigo == null) {
+            codigo = valores.size();
+            codigos.put(valor, codigo);
+            valores.add(valor);
+        }
+        return codigo;
+    }
+}
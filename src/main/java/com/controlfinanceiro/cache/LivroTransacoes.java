@@ -0,0 +1,169 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.model.Dinheiro;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Transações ativas de um usuário, em memória e indexadas por data, tipo e categoria.
+ *
+ * Guarda as linhas imutáveis das listagens, então as consultas devolvem listas novas
+ * com as mesmas instâncias, sem copiar as transações. Todas as listas vêm na mesma
+ * ordem dos DAOs, mais recentes primeiro.
+ */
+public final class LivroTransacoes {
+
+    // Mesma ordem do ORDER BY t.data_transacao DESC, t.id DESC
+    private static final Comparator<LinhaTransacao> ORDEM =
+        Comparator.comparing(LinhaTransacao::getDataTransacao)
+            .thenComparingLong(LinhaTransacao::getId)
+            .reversed();
+
+    private final Map<Long, LinhaTransacao> porId = new HashMap<>();
+    private final NavigableSet<LinhaTransacao> porData = new TreeSet<>(ORDEM);
+    private final Map<TipoTransacao, NavigableSet<LinhaTransacao>> porTipo = new EnumMap<>(TipoTransacao.class);
+    private final Map<Long, NavigableSet<LinhaTransacao>> porCategoria = new HashMap<>();
+
+    // Montadas na primeira consulta depois de cada alteração
+    private ColunasTransacoes colunas;
+
+    /**
+     * @param transacoes transações ativas, como as listagens do DAO devolvem
+     */
+    LivroTransacoes(Collection<LinhaTransacao> transacoes) {
+        for (LinhaTransacao transacao : transacoes) {
+            indexar(transacao);
+        }
+    }
+
+    public synchronized boolean isVazio() {
+        return porId.isEmpty();
+    }
+
+    public synchronized int getQuantidade() {
+        return porId.size();
+    }
+
+    public synchronized List<LinhaTransacao> listar() {
+        return new ArrayList<>(porData);
+    }
+
+    /**
+     * Transações entre as datas informadas, inclusive, como o BETWEEN dos DAOs
+     */
+    public synchronized List<LinhaTransacao> listarPorPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio.isAfter(fim)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(porData.subSet(limite(fim, Long.MAX_VALUE), true, limite(inicio, Long.MIN_VALUE), true));
+    }
+
+    public synchronized List<LinhaTransacao> listarPorTipo(TipoTransacao tipo) {
+        NavigableSet<LinhaTransacao> transacoes = porTipo.get(tipo);
+        return transacoes != null ? new ArrayList<>(transacoes) : new ArrayList<>();
+    }
+
+    public synchronized List<LinhaTransacao> listarPorCategoria(Long categoriaId) {
+        NavigableSet<LinhaTransacao> transacoes = porCategoria.get(categoriaId);
+        return transacoes != null ? new ArrayList<>(transacoes) : new ArrayList<>();
+    }
+
+    public synchronized List<LinhaTransacao> listarRecentes(int limite) {
+        List<LinhaTransacao> recentes = new ArrayList<>(Math.min(Math.max(limite, 0), porData.size()));
+        for (LinhaTransacao transacao : porData) {
+            if (recentes.size() >= limite) {
+                break;
+            }
+            recentes.add(transacao);
+        }
+        return recentes;
+    }
+
+    public synchronized BigDecimal calcularTotal(TipoTransacao tipo) {
+        long centavos = 0;
+        NavigableSet<LinhaTransacao> transacoes = porTipo.get(tipo);
+        if (transacoes != null) {
+            for (LinhaTransacao transacao : transacoes) {
+                centavos += transacao.getValorCentavos();
+            }
+        }
+        return Dinheiro.paraBigDecimal(centavos);
+    }
+
+    /**
+     * Soma receitas e despesas do período sem copiar as transações
+     */
+    public synchronized Totalizador totalizarPeriodo(LocalDate inicio, LocalDate fim) {
+        return getColunas().totalizarPeriodo(inicio, fim);
+    }
+
+    /**
+     * As transações atuais em colunas, para filtros e somas dos relatórios. O objeto
+     * devolvido não muda; gravações posteriores geram outro.
+     */
+    public synchronized ColunasTransacoes getColunas() {
+        if (colunas == null) {
+            colunas = ColunasTransacoes.de(porData);
+        }
+        return colunas;
+    }
+
+    /**
+     * Inclui ou substitui a transação; uma transação inativa apenas sai do livro
+     */
+    synchronized void registrar(Transacao transacao) {
+        remover(transacao.getId());
+        if (transacao.isAtivo()) {
+            indexar(LinhaTransacao.de(transacao));
+        }
+    }
+
+    synchronized boolean remover(Long id) {
+        LinhaTransacao anterior = porId.remove(id);
+        if (anterior == null) {
+            return false;
+        }
+        colunas = null;
+        porData.remove(anterior);
+        desindexar(porTipo, anterior.getTipo(), anterior);
+        desindexar(porCategoria, anterior.getCategoriaId(), anterior);
+        return true;
+    }
+
+    private void indexar(LinhaTransacao transacao) {
+        colunas = null;
+        porId.put(transacao.getId(), transacao);
+        porData.add(transacao);
+        porTipo.computeIfAbsent(transacao.getTipo(), t -> new TreeSet<>(ORDEM)).add(transacao);
+        porCategoria.computeIfAbsent(transacao.getCategoriaId(), c -> new TreeSet<>(ORDEM)).add(transacao);
+    }
+
+    private static <K> void desindexar(Map<K, NavigableSet<LinhaTransacao>> indice, K chave, LinhaTransacao transacao) {
+        NavigableSet<LinhaTransacao> transacoes = indice.get(chave);
+        if (transacoes != null) {
+            transacoes.remove(transacao);
+            if (transacoes.isEmpty()) {
+                indice.remove(chave);
+            }
+        }
+    }
+
+    // Linha fictícia usada só como limite das buscas por período
+    private static LinhaTransacao limite(LocalDate data, long id) {
+        return new LinhaTransacao(id, null, null, data, null, null, null, null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.controlfinanceiro.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão dos dados de transação de cada usuário. Toda gravação feita pelo
+ * TransacaoController incrementa a versão do dono, e alterar ou excluir uma categoria
+ * incrementa a de todos; quem guarda valores calculados a partir das transações
+ * compara a versão para saber se ainda podem ser usados.
+ *
+ * As versões só crescem, então dois valores iguais garantem que não houve gravação
+ * entre as duas leituras.
+ */
+public final class VersoesUsuario {
+
+    private static final Map<Long, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    // Gravações sem dono conhecido valem para todos os usuários
+    private static final AtomicLong geral = new AtomicLong();
+
+    private VersoesUsuario() {
+    }
+
+    public static long atual(Long usuarioId) {
+        long versao = geral.get();
+        if (usuarioId != null) {
+            AtomicLong doUsuario = versoes.get(usuarioId);
+            if (doUsuario != null) {
+                versao += doUsuario.get();
+            }
+        }
+        return versao;
+    }
+
+    /**
+     * Chamado depois de cada gravação, só depois de atualizar CacheTransacoes e
+     * CacheRelatorios: quem lê a versão antes de calcular (como o DashboardController)
+     * guardaria sob a versão nova um valor calculado dos caches ainda antigos. Com
+     * usuário nulo invalida os dados de todos.
+     */
+    public static void incrementar(Long usuarioId) {
+        if (usuarioId == null) {
+            geral.incrementAndGet();
+        } else {
+            versoes.computeIfAbsent(usuarioId, u -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.controlfinanceiro.controller;
 
+import com.controlfinanceiro.cache.CacheRelatorios;
+import com.controlfinanceiro.cache.CacheTransacoes;
+import com.controlfinanceiro.cache.VersoesUsuario;
 import com.controlfinanceiro.dao.CategoriaDAO;
 import com.controlfinanceiro.dao.impl.CategoriaDAOImpl;
 import com.controlfinanceiro.exception.BusinessException;
@@ -40,6 +43,7 @@ public class CategoriaController {
             validarCategoria(categoria);
             validarCategoriaExiste(categoria.getId());
             categoriaDAO.atualizar(categoria);
+            descartarNomesGuardados();
             logger.info("Categoria atualizada com sucesso");
         } catch (DAOException e) {
             logger.error("Erro ao atualizar categoria", e);
@@ -54,6 +58,7 @@ public class CategoriaController {
         try{
             validarCategoriaExiste(id);
             categoriaDAO.excluir(id);
+            descartarNomesGuardados();
             logger.info("Categoria excluida com sucesso");
         } catch (DAOException e) {
             logger.error("Erro ao excluir categoria", e);
@@ -142,4 +147,16 @@ public class CategoriaController {
             throw new BusinessException("Erro ao validar categoria: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * As transações guardadas nos livros, nos relatórios e nos valores do dashboard
+     * trazem o nome da categoria lido na carga; como qualquer usuário pode ter
+     * transações na categoria alterada, descarta tudo e a próxima leitura usa o nome
+     * novo. Inserir uma categoria não muda nenhuma linha guardada.
+     */
+    private void descartarNomesGuardados() {
+        CacheTransacoes.getInstance().limpar();
+        CacheRelatorios.getInstance().limpar();
+        VersoesUsuario.incrementar(null);
+    }
 }
@@ -1,15 +1,32 @@
 package com.controlfinanceiro.controller;
 
+import com.controlfinanceiro.cache.CacheTransacoes;
+import com.controlfinanceiro.cache.LivroTransacoes;
+import com.controlfinanceiro.cache.VersoesUsuario;
+import com.controlfinanceiro.dao.DashboardDAO;
+import com.controlfinanceiro.dao.ResumoMensalDAO;
+import com.controlfinanceiro.dao.SaldoUsuarioDAO;
 import com.controlfinanceiro.dao.TransacaoDAO;
+import com.controlfinanceiro.dao.impl.DashboardDAOImpl;
+import com.controlfinanceiro.dao.impl.ResumoMensalDAOImpl;
+import com.controlfinanceiro.dao.impl.SaldoUsuarioDAOImpl;
 import com.controlfinanceiro.dao.impl.TransacaoDAOImpl;
 import com.controlfinanceiro.exception.DAOException;
-import com.controlfinanceiro.model.Transacao;
-import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.model.DashboardSnapshot;
+import com.controlfinanceiro.model.ResumoMensal;
+import com.controlfinanceiro.model.SaldoUsuario;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.util.SessaoUsuario;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controller responsável por fornecer dados específicos do usuário logado para o dashboard
@@ -17,30 +34,72 @@ import java.util.List;
 public class DashboardController {
 
     private final TransacaoDAO transacaoDAO;
+    private final ResumoMensalDAO resumoMensalDAO;
+    private final SaldoUsuarioDAO saldoUsuarioDAO;
+    private final DashboardDAO dashboardDAO;
+    private final CacheTransacoes cacheTransacoes;
+
+    // Estatísticas já calculadas por usuário e período, com a versão dos dados usada no cálculo
+    private final Map<ChavePeriodo, Memorizada<?>> memorizadas = new ConcurrentHashMap<>();
 
     public DashboardController() {
         this.transacaoDAO = new TransacaoDAOImpl();
+        this.resumoMensalDAO = new ResumoMensalDAOImpl();
+        this.saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+        this.dashboardDAO = new DashboardDAOImpl();
+        this.cacheTransacoes = CacheTransacoes.getInstance();
     }
 
     /**
-     * Retorna estatísticas do mês atual para o usuário logado
+     * Tudo o que o dashboard mostra para o usuário logado, lido de uma vez: com o livro
+     * de transações em memória não vai ao banco; sem ele, faz uma única consulta
      */
-    public EstatisticasDashboard getEstatisticasMesAtual() {
+    public DashboardSnapshot getSnapshot(int limiteRecentes) {
         Long usuarioId = SessaoUsuario.getInstance().getIdUsuarioLogado();
         if (usuarioId == null) {
-            return new EstatisticasDashboard();
+            return new DashboardSnapshot();
         }
 
-        LocalDate inicioMes = LocalDate.now().withDayOfMonth(1);
-        LocalDate fimMes = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
+        YearMonth mesAtual = YearMonth.now();
 
         try {
-            BigDecimal receitas = transacaoDAO.calcularTotalPorUsuarioETipo(usuarioId, TipoTransacao.RECEITA);
-            BigDecimal despesas = transacaoDAO.calcularTotalPorUsuarioETipo(usuarioId, TipoTransacao.DESPESA);
+            return memorizar(usuarioId, "snapshot " + mesAtual + " " + limiteRecentes, () -> {
+                Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+                if (livro.isPresent()) {
+                    return montarSnapshot(usuarioId, livro.get(), mesAtual, limiteRecentes);
+                }
+                return dashboardDAO.buscarSnapshot(usuarioId, mesAtual, limiteRecentes);
+            });
+
+        } catch (DAOException e) {
+            e.printStackTrace();
+            DashboardSnapshot vazio = new DashboardSnapshot();
+            vazio.setUsuarioId(usuarioId);
+            return vazio;
+        }
+    }
+
+    /**
+     * Retorna estatísticas do mês atual para o usuário logado. Receitas, despesas,
+     * quantidade e saldo consideram só as transações do mês; os totais de todo o
+     * histórico ficam em getEstatisticasTotais.
+     */
+    public EstatisticasDashboard getEstatisticasMesAtual() {
+        Long usuarioId = SessaoUsuario.getInstance().getIdUsuarioLogado();
+        if (usuarioId == null) {
+            return new EstatisticasDashboard();
+        }
 
-            List<Transacao> transacoesMes = transacaoDAO.buscarPorUsuarioEPeriodo(usuarioId, inicioMes, fimMes);
+        YearMonth mesAtual = YearMonth.now();
 
-            return new EstatisticasDashboard(receitas, despesas, transacoesMes.size(), calcularSaldo(receitas, despesas));
+        try {
+            return memorizar(usuarioId, "mes " + mesAtual, () -> {
+                Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+                if (livro.isPresent()) {
+                    return calcularEstatisticas(livro.get().totalizarPeriodo(mesAtual.atDay(1), mesAtual.atEndOfMonth()));
+                }
+                return calcularEstatisticas(resumoMensalDAO.buscarPorUsuarioEPeriodo(usuarioId, mesAtual, mesAtual));
+            });
 
         } catch (DAOException e) {
             e.printStackTrace();
@@ -57,23 +116,38 @@ public class DashboardController {
             return new EstatisticasDashboard();
         }
 
-        LocalDate inicioAno = LocalDate.now().withDayOfYear(1);
-        LocalDate fimAno = LocalDate.now().withDayOfYear(LocalDate.now().lengthOfYear());
+        int ano = YearMonth.now().getYear();
 
         try {
-            List<Transacao> transacoesAno = transacaoDAO.buscarPorUsuarioEPeriodo(usuarioId, inicioAno, fimAno);
+            return memorizar(usuarioId, "ano " + ano, () -> {
+                Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+                if (livro.isPresent()) {
+                    return calcularEstatisticas(livro.get().totalizarPeriodo(YearMonth.of(ano, 1).atDay(1), YearMonth.of(ano, 12).atEndOfMonth()));
+                }
+                return calcularEstatisticas(resumoMensalDAO.buscarPorUsuarioEPeriodo(usuarioId, YearMonth.of(ano, 1), YearMonth.of(ano, 12)));
+            });
 
-            BigDecimal receitas = transacoesAno.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        } catch (DAOException e) {
+            e.printStackTrace();
+            return new EstatisticasDashboard();
+        }
+    }
 
-            BigDecimal despesas = transacoesAno.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Retorna os totais acumulados de todas as transações do usuário logado
+     */
+    public EstatisticasDashboard getEstatisticasTotais() {
+        Long usuarioId = SessaoUsuario.getInstance().getIdUsuarioLogado();
+        if (usuarioId == null) {
+            return new EstatisticasDashboard();
+        }
 
-            return new EstatisticasDashboard(receitas, despesas, transacoesAno.size(), calcularSaldo(receitas, despesas));
+        try {
+            return memorizar(usuarioId, "total", () -> {
+                SaldoUsuario saldo = saldoUsuarioDAO.buscarPorUsuario(usuarioId);
+                return new EstatisticasDashboard(saldo.getTotalReceitas(), saldo.getTotalDespesas(),
+                    Math.toIntExact(saldo.getQuantidade()), saldo.getSaldo());
+            });
 
         } catch (DAOException e) {
             e.printStackTrace();
@@ -84,13 +158,17 @@ public class DashboardController {
     /**
      * Retorna as últimas transações do usuário logado
      */
-    public List<Transacao> getUltimasTransacoes(int limite) {
+    public List<LinhaTransacao> getUltimasTransacoes(int limite) {
         Long usuarioId = SessaoUsuario.getInstance().getIdUsuarioLogado();
         if (usuarioId == null) {
             return List.of();
         }
 
         try {
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                return livro.get().listarRecentes(limite);
+            }
             return transacaoDAO.buscarUltimasTransacoesPorUsuario(usuarioId, limite);
         } catch (DAOException e) {
             e.printStackTrace();
@@ -107,22 +185,104 @@ public class DashboardController {
             return true;
         }
 
-        try {
-            List<Transacao> transacoes = transacaoDAO.buscarPorUsuario(usuarioId);
-            return transacoes.isEmpty();
-        } catch (DAOException e) {
-            e.printStackTrace();
-            return true;
+        // Mesmo total mostrado no card de saldo, já memorizado na maioria das atualizações
+        return getEstatisticasTotais().getTotalTransacoes() == 0;
+    }
+
+    /**
+     * Devolve o valor memorizado para o usuário e período se nenhuma transação
+     * do usuário foi gravada desde o cálculo; senão calcula e memoriza de novo. A versão
+     * é lida antes do cálculo, então uma gravação concorrente invalida o resultado.
+     * Falhas não são memorizadas.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T memorizar(Long usuarioId, String periodo, Calculo<T> calculo) throws DAOException {
+        ChavePeriodo chave = new ChavePeriodo(usuarioId, periodo);
+        long versao = VersoesUsuario.atual(usuarioId);
+
+        Memorizada<?> memorizada = memorizadas.get(chave);
+        if (memorizada != null && memorizada.versao == versao) {
+            return (T) memorizada.valor;
         }
+
+        T valor = calculo.calcular();
+        memorizadas.put(chave, new Memorizada<>(versao, valor));
+        return valor;
+    }
+
+    private DashboardSnapshot montarSnapshot(Long usuarioId, LivroTransacoes livro, YearMonth mes, int limiteRecentes) {
+        Totalizador totaisMes = livro.totalizarPeriodo(mes.atDay(1), mes.atEndOfMonth());
+        Totalizador totaisAno = livro.totalizarPeriodo(mes.withMonth(1).atDay(1), mes.withMonth(12).atEndOfMonth());
+        Totalizador totaisGerais = livro.totalizarPeriodo(LocalDate.MIN, LocalDate.MAX);
+
+        DashboardSnapshot snapshot = new DashboardSnapshot();
+        snapshot.setUsuarioId(usuarioId);
+        snapshot.setReceitasMes(totaisMes.getReceitas().toBigDecimal());
+        snapshot.setDespesasMes(totaisMes.getDespesas().toBigDecimal());
+        snapshot.setQuantidadeMes(Math.toIntExact(totaisMes.getQuantidade()));
+        snapshot.setReceitasAno(totaisAno.getReceitas().toBigDecimal());
+        snapshot.setDespesasAno(totaisAno.getDespesas().toBigDecimal());
+        snapshot.setQuantidadeAno(Math.toIntExact(totaisAno.getQuantidade()));
+        snapshot.setReceitasTotal(totaisGerais.getReceitas().toBigDecimal());
+        snapshot.setDespesasTotal(totaisGerais.getDespesas().toBigDecimal());
+        snapshot.setQuantidadeTotal(totaisGerais.getQuantidade());
+        snapshot.setPossuiTransacoes(!livro.isVazio());
+        snapshot.setUltimasTransacoes(livro.listarRecentes(limiteRecentes));
+        return snapshot;
     }
 
     /**
-     * Calcula o saldo (receitas - despesas)
+     * Soma as linhas do resumo mensal (uma por mês, categoria e tipo)
      */
-    private BigDecimal calcularSaldo(BigDecimal receitas, BigDecimal despesas) {
-        if (receitas == null) receitas = BigDecimal.ZERO;
-        if (despesas == null) despesas = BigDecimal.ZERO;
-        return receitas.subtract(despesas);
+    private EstatisticasDashboard calcularEstatisticas(List<ResumoMensal> resumos) {
+        Totalizador totais = new Totalizador();
+        for (ResumoMensal resumo : resumos) {
+            totais.adicionar(resumo.getTipo(), resumo.getTotal(), resumo.getQuantidade());
+        }
+        return calcularEstatisticas(totais);
+    }
+
+    private EstatisticasDashboard calcularEstatisticas(Totalizador totais) {
+        return new EstatisticasDashboard(totais.getReceitas().toBigDecimal(), totais.getDespesas().toBigDecimal(),
+            Math.toIntExact(totais.getQuantidade()), totais.getSaldo().toBigDecimal());
+    }
+
+    private interface Calculo<T> {
+        T calcular() throws DAOException;
+    }
+
+    private static final class Memorizada<T> {
+        private final long versao;
+        private final T valor;
+
+        private Memorizada(long versao, T valor) {
+            this.versao = versao;
+            this.valor = valor;
+        }
+    }
+
+    private static final class ChavePeriodo {
+        private final Long usuarioId;
+        private final String periodo;
+
+        private ChavePeriodo(Long usuarioId, String periodo) {
+            this.usuarioId = usuarioId;
+            this.periodo = periodo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ChavePeriodo)) {
+                return false;
+            }
+            ChavePeriodo outra = (ChavePeriodo) o;
+            return usuarioId.equals(outra.usuarioId) && periodo.equals(outra.periodo);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(usuarioId, periodo);
+        }
     }
 
     /**
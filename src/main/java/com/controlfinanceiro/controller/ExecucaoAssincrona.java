@@ -0,0 +1,98 @@
+package com.controlfinanceiro.controller;
+
+import com.controlfinanceiro.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa chamadas aos controllers fora da thread do Swing, cada uma em uma thread
+ * virtual própria, e devolve o resultado em um CompletableFuture:
+ *
+ * <pre>
+ * ExecucaoAssincrona.executar(() -> transacaoController.listarTransacoesPorTipo(tipo))
+ * </pre>
+ *
+ * Os controllers continuam síncronos; para receber o resultado na EDT use
+ * SwingUtils.naEdt. Cancelar o future, ou estourar o tempo limite, interrompe a
+ * thread da chamada; a conexão interrompida é descartada pelo pool.
+ */
+public final class ExecucaoAssincrona {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecucaoAssincrona.class);
+
+    // Igual ao tempo padrão de espera por uma conexão do pool (db.pool.timeout)
+    public static final Duration TIMEOUT_PADRAO = Duration.ofSeconds(30);
+
+    private static final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("controller-", 0).factory());
+
+    private ExecucaoAssincrona() {
+    }
+
+    /**
+     * Chamada a um controller que devolve um valor
+     */
+    @FunctionalInterface
+    public interface Tarefa<T> {
+        T executar() throws BusinessException;
+    }
+
+    /**
+     * Chamada a um controller sem retorno (gravações)
+     */
+    @FunctionalInterface
+    public interface Acao {
+        void executar() throws BusinessException;
+    }
+
+    public static <T> CompletableFuture<T> executar(Tarefa<T> tarefa) {
+        return executar(tarefa, TIMEOUT_PADRAO);
+    }
+
+    /**
+     * @param timeout tempo máximo da chamada, ou null para esperar indefinidamente
+     */
+    public static <T> CompletableFuture<T> executar(Tarefa<T> tarefa, Duration timeout) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+
+        Future<?> execucao = executor.submit(() -> {
+            try {
+                resultado.complete(tarefa.executar());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+
+        resultado.whenComplete((valor, erro) -> {
+            if (erro instanceof CancellationException || erro instanceof TimeoutException) {
+                logger.debug("Chamada assíncrona interrompida: {}", erro.getClass().getSimpleName());
+                execucao.cancel(true);
+            }
+        });
+
+        if (timeout != null) {
+            resultado.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return resultado;
+    }
+
+    public static CompletableFuture<Void> executarAcao(Acao acao) {
+        return executarAcao(acao, TIMEOUT_PADRAO);
+    }
+
+    public static CompletableFuture<Void> executarAcao(Acao acao, Duration timeout) {
+        return executar(() -> {
+            acao.executar();
+            return null;
+        }, timeout);
+    }
+}
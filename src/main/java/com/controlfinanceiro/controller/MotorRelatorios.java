@@ -0,0 +1,49 @@
+package com.controlfinanceiro.controller;
+
+import com.controlfinanceiro.cache.LivroTransacoes;
+import com.controlfinanceiro.model.ResumoPeriodo;
+import com.controlfinanceiro.util.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calcula os resumos por período (totais por mês e por categoria) a partir do livro
+ * do usuário em memória, somando os meses das colunas em paralelo nas threads de um
+ * ForkJoinPool compartilhado.
+ *
+ * As partes são combinadas em centavos, então o resultado é o mesmo do cálculo
+ * sequencial, usado quando relatorios.paralelismo é 1 ou o período é pequeno.
+ */
+public final class MotorRelatorios {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotorRelatorios.class);
+
+    private static MotorRelatorios instance;
+
+    private final ForkJoinPool pool;       // null quando sequencial
+    private final int linhasPorTarefa;
+
+    private MotorRelatorios() {
+        int paralelismo = ConnectionFactory.getRelatoriosParalelismo();
+        this.pool = paralelismo > 1 ? new ForkJoinPool(paralelismo) : null;
+        this.linhasPorTarefa = ConnectionFactory.getRelatoriosLinhasPorTarefa();
+        logger.info("Motor de relatórios com {} thread(s), {} transações por tarefa", paralelismo, linhasPorTarefa);
+    }
+
+    public static synchronized MotorRelatorios getInstance() {
+        if (instance == null) {
+            instance = new MotorRelatorios();
+        }
+        return instance;
+    }
+
+    /**
+     * Resumo das transações do livro entre as datas, inclusive
+     */
+    public ResumoPeriodo resumir(LivroTransacoes livro, LocalDate inicio, LocalDate fim) {
+        return livro.getColunas().resumir(inicio, fim, pool, linhasPorTarefa);
+    }
+}
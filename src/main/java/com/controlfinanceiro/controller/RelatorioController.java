@@ -1,16 +1,25 @@
 package com.controlfinanceiro.controller;
 
+import com.controlfinanceiro.cache.CacheTransacoes;
+import com.controlfinanceiro.cache.ColunasTransacoes;
+import com.controlfinanceiro.cache.LivroTransacoes;
 import com.controlfinanceiro.dao.TransacaoDAO;
 import com.controlfinanceiro.dao.OrcamentoDAO;
 import com.controlfinanceiro.dao.CategoriaDAO;
+import com.controlfinanceiro.dao.SaldoUsuarioDAO;
 import com.controlfinanceiro.dao.impl.TransacaoDAOImpl;
 import com.controlfinanceiro.dao.impl.OrcamentoDAOImpl;
 import com.controlfinanceiro.dao.impl.CategoriaDAOImpl;
+import com.controlfinanceiro.dao.impl.SaldoUsuarioDAOImpl;
 import com.controlfinanceiro.exception.BusinessException;
 import com.controlfinanceiro.exception.DAOException;
-import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.ResumoPeriodo;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.Orcamento;
 import com.controlfinanceiro.model.Categoria;
+import com.controlfinanceiro.model.SaldoUsuario;
+import com.controlfinanceiro.model.TotalCategoria;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +29,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
 
 public class RelatorioController {
 
@@ -28,11 +38,17 @@ public class RelatorioController {
     private final TransacaoDAO transacaoDAO;
     private final OrcamentoDAO orcamentoDAO;
     private final CategoriaDAO categoriaDAO;
+    private final SaldoUsuarioDAO saldoUsuarioDAO;
+    private final CacheTransacoes cacheTransacoes;
+    private final MotorRelatorios motorRelatorios;
 
     public RelatorioController() {
         this.transacaoDAO = new TransacaoDAOImpl();
         this.orcamentoDAO = new OrcamentoDAOImpl();
         this.categoriaDAO = new CategoriaDAOImpl();
+        this.saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+        this.cacheTransacoes = CacheTransacoes.getInstance();
+        this.motorRelatorios = MotorRelatorios.getInstance();
     }
 
     /**
@@ -50,13 +66,11 @@ public class RelatorioController {
 
             Map<String, Object> resumo = new HashMap<>();
 
-            BigDecimal totalReceitas = transacaoDAO.calcularTotalPorUsuarioETipo(usuarioId, TipoTransacao.RECEITA);
-            BigDecimal totalDespesas = transacaoDAO.calcularTotalPorUsuarioETipo(usuarioId, TipoTransacao.DESPESA);
-            BigDecimal saldoAtual = totalReceitas.subtract(totalDespesas);
+            SaldoUsuario saldo = saldoUsuarioDAO.buscarPorUsuario(usuarioId);
 
-            resumo.put("totalReceitas", totalReceitas);
-            resumo.put("totalDespesas", totalDespesas);
-            resumo.put("saldoAtual", saldoAtual);
+            resumo.put("totalReceitas", saldo.getTotalReceitas());
+            resumo.put("totalDespesas", saldo.getTotalDespesas());
+            resumo.put("saldoAtual", saldo.getSaldo());
 
             logger.info("Resumo financeiro gerado com sucesso");
             return resumo;
@@ -84,26 +98,27 @@ public class RelatorioController {
 
             Map<String, Object> resumo = new HashMap<>();
 
-            List<Transacao> transacoes = transacaoDAO.buscarPorUsuarioEPeriodo(usuarioId, inicio, fim);
-            BigDecimal totalReceitas = BigDecimal.ZERO;
-            BigDecimal totalDespesas = BigDecimal.ZERO;
-
-            for (Transacao transacao : transacoes) {
-                if (transacao.getTipo() == TipoTransacao.RECEITA) {
-                    totalReceitas = totalReceitas.add(transacao.getValor());
-                } else {
-                    totalDespesas = totalDespesas.add(transacao.getValor());
-                }
+            // Com o livro em memória, os totais saem das colunas, sem percorrer os objetos
+            List<LinhaTransacao> transacoes;
+            ResumoPeriodo detalhado;
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                detalhado = motorRelatorios.resumir(livro.get(), inicio, fim);
+                transacoes = livro.get().listarPorPeriodo(inicio, fim);
+            } else {
+                transacoes = transacaoDAO.buscarPorUsuarioEPeriodo(usuarioId, inicio, fim);
+                detalhado = ResumoPeriodo.de(transacoes);
             }
-
-            BigDecimal saldo = totalReceitas.subtract(totalDespesas);
+            Totalizador totais = detalhado.getTotal();
 
             resumo.put("periodo", Map.of("inicio", inicio, "fim", fim));
-            resumo.put("totalReceitas", totalReceitas);
-            resumo.put("totalDespesas", totalDespesas);
-            resumo.put("saldo", saldo);
+            resumo.put("totalReceitas", totais.getReceitas().toBigDecimal());
+            resumo.put("totalDespesas", totais.getDespesas().toBigDecimal());
+            resumo.put("saldo", totais.getSaldo().toBigDecimal());
             resumo.put("quantidadeTransacoes", transacoes.size());
             resumo.put("transacoes", transacoes);
+            resumo.put("porMes", detalhado.getPorMes());
+            resumo.put("porCategoria", detalhado.getPorCategoria());
 
             return resumo;
 
@@ -129,26 +144,15 @@ public class RelatorioController {
             }
 
             Map<String, Object> relatorio = new HashMap<>();
-            List<Orcamento> orcamentos = orcamentoDAO.buscarPorUsuarioEPeriodo(usuarioId, mes, ano);
+            // O gasto de cada orçamento já vem somado do banco
+            List<Orcamento> orcamentos = orcamentoDAO.buscarComGastoPorUsuarioEPeriodo(usuarioId, mes, ano);
 
             BigDecimal totalOrcado = BigDecimal.ZERO;
             BigDecimal totalGasto = BigDecimal.ZERO;
 
-            LocalDate inicioMes = LocalDate.of(ano, mes, 1);
-            LocalDate fimMes = inicioMes.withDayOfMonth(inicioMes.lengthOfMonth());
-
             for (Orcamento orcamento : orcamentos) {
                 totalOrcado = totalOrcado.add(orcamento.getValorLimite());
-
-                List<Transacao> transacoesCategoria = transacaoDAO.buscarPorUsuarioECategoria(usuarioId, orcamento.getCategoriaId());
-
-                for (Transacao transacao : transacoesCategoria) {
-                    if (!transacao.getDataTransacao().isBefore(inicioMes) &&
-                        !transacao.getDataTransacao().isAfter(fimMes) &&
-                        transacao.getTipo() == TipoTransacao.DESPESA) {
-                        totalGasto = totalGasto.add(transacao.getValor());
-                    }
-                }
+                totalGasto = totalGasto.add(orcamento.getValorGasto());
             }
 
             BigDecimal saldoOrcamento = totalOrcado.subtract(totalGasto);
@@ -183,22 +187,21 @@ public class RelatorioController {
 
             Map<String, Object> relatorio = new HashMap<>();
 
-            List<Transacao> transacoes = transacaoDAO.buscarPorUsuarioECategoria(usuarioId, categoriaId);
-
-            BigDecimal totalReceitas = transacoes.stream()
-                    .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
-                    .map(Transacao::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal totalDespesas = transacoes.stream()
-                    .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
-                    .map(Transacao::getValor)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            List<LinhaTransacao> transacoes;
+            Totalizador totais;
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                totais = livro.get().getColunas().totalizarCategoria(categoriaId);
+                transacoes = livro.get().listarPorCategoria(categoriaId);
+            } else {
+                transacoes = transacaoDAO.buscarPorUsuarioECategoria(usuarioId, categoriaId);
+                totais = Totalizador.de(transacoes);
+            }
 
             relatorio.put("categoriaId", categoriaId);
-            relatorio.put("totalReceitas", totalReceitas);
-            relatorio.put("totalDespesas", totalDespesas);
-            relatorio.put("saldo", totalReceitas.subtract(totalDespesas));
+            relatorio.put("totalReceitas", totais.getReceitas().toBigDecimal());
+            relatorio.put("totalDespesas", totais.getDespesas().toBigDecimal());
+            relatorio.put("saldo", totais.getSaldo().toBigDecimal());
             relatorio.put("transacoes", transacoes);
             relatorio.put("quantidadeTransacoes", transacoes.size());
 
@@ -215,8 +218,20 @@ public class RelatorioController {
      * Gera relatório de totais por categoria
      */
     public Map<String, BigDecimal> gerarTotaisPorCategoria() throws BusinessException {
+        return gerarTotaisPorCategoria(null, null);
+    }
+
+    /**
+     * Gera o total de cada categoria ativa no período (despesas menos receitas).
+     * Datas nulas consideram todo o histórico.
+     */
+    public Map<String, BigDecimal> gerarTotaisPorCategoria(LocalDate inicio, LocalDate fim) throws BusinessException {
         logger.info("Gerando totais por categoria");
 
+        if (inicio != null || fim != null) {
+            validarPeriodo(inicio, fim);
+        }
+
         try {
             // Obter usuário logado
             Long usuarioId = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
@@ -224,22 +239,28 @@ public class RelatorioController {
                 throw new BusinessException("Nenhum usuário logado");
             }
 
-            Map<String, BigDecimal> totais = new HashMap<>();
-            List<Categoria> categorias = categoriaDAO.listarAtivas();
-
-            for (Categoria categoria : categorias) {
-                List<Transacao> transacoes = transacaoDAO.buscarPorUsuarioECategoria(usuarioId, categoria.getId());
-
-                BigDecimal totalCategoria = BigDecimal.ZERO;
-                for (Transacao transacao : transacoes) {
-                    if (transacao.getTipo() == TipoTransacao.DESPESA) {
-                        totalCategoria = totalCategoria.add(transacao.getValor());
-                    } else {
-                        totalCategoria = totalCategoria.subtract(transacao.getValor());
+            // Uma passada pelas colunas do livro ou, sem ele, uma consulta agrupada no banco
+            Map<Long, BigDecimal> saldoPorCategoria = new HashMap<>();
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                ColunasTransacoes colunas = livro.get().getColunas();
+                colunas.totalizarPorCategoria(inicio, fim).forEach((categoriaId, totais) ->
+                    saldoPorCategoria.put(categoriaId, totais.getDespesas().menos(totais.getReceitas()).toBigDecimal()));
+            } else {
+                for (TotalCategoria total : transacaoDAO.totalizarPorCategoria(usuarioId, inicio, fim)) {
+                    if (total.getCategoriaId() == null) {
+                        continue;
                     }
+                    BigDecimal valor = total.getTipo() == TipoTransacao.DESPESA
+                        ? total.getTotal()
+                        : total.getTotal().negate();
+                    saldoPorCategoria.merge(total.getCategoriaId(), valor, BigDecimal::add);
                 }
+            }
 
-                totais.put(categoria.getNome(), totalCategoria);
+            Map<String, BigDecimal> totais = new HashMap<>();
+            for (Categoria categoria : categoriaDAO.listarAtivas()) {
+                totais.put(categoria.getNome(), saldoPorCategoria.getOrDefault(categoria.getId(), BigDecimal.ZERO));
             }
 
             return totais;
@@ -250,6 +271,31 @@ public class RelatorioController {
         }
     }
 
+    /**
+     * Lista soma e quantidade por categoria e tipo do usuário logado.
+     * Datas nulas consideram todo o histórico.
+     */
+    public List<TotalCategoria> listarTotaisPorCategoria(LocalDate inicio, LocalDate fim) throws BusinessException {
+        logger.info("Listando totais por categoria e tipo");
+
+        if (inicio != null || fim != null) {
+            validarPeriodo(inicio, fim);
+        }
+
+        try {
+            Long usuarioId = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
+            if (usuarioId == null) {
+                throw new BusinessException("Nenhum usuário logado");
+            }
+
+            return transacaoDAO.totalizarPorCategoria(usuarioId, inicio, fim);
+
+        } catch (DAOException e) {
+            logger.error("Erro ao listar totais por categoria", e);
+            throw new BusinessException("Erro ao listar totais por categoria: " + e.getMessage(), e);
+        }
+    }
+
     // Métodos de validação
     private void validarPeriodo(LocalDate inicio, LocalDate fim) throws BusinessException {
         if (inicio == null || fim == null) {
@@ -1,11 +1,23 @@
 package com.controlfinanceiro.controller;
 
+import com.controlfinanceiro.cache.CacheRelatorios;
+import com.controlfinanceiro.cache.CacheTransacoes;
+import com.controlfinanceiro.cache.LivroTransacoes;
+import com.controlfinanceiro.cache.VersoesUsuario;
+import com.controlfinanceiro.dao.FiltroTransacao;
+import com.controlfinanceiro.dao.Pagina;
+import com.controlfinanceiro.dao.PosicaoTransacao;
+import com.controlfinanceiro.dao.ResultadoLote;
+import com.controlfinanceiro.dao.SaldoUsuarioDAO;
 import com.controlfinanceiro.dao.TransacaoDAO;
 import com.controlfinanceiro.dao.CategoriaDAO;
 import com.controlfinanceiro.dao.impl.TransacaoDAOImpl;
 import com.controlfinanceiro.dao.impl.CategoriaDAOImpl;
+import com.controlfinanceiro.dao.impl.SaldoUsuarioDAOImpl;
 import com.controlfinanceiro.exception.DAOException;
 import com.controlfinanceiro.exception.BusinessException;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.Transacao;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 import org.slf4j.Logger;
@@ -13,17 +25,26 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class TransacaoController {
     private static final Logger logger = LoggerFactory.getLogger(TransacaoController.class);
     private final TransacaoDAO transacaoDAO;
     private final CategoriaDAO categoriaDAO;
+    private final SaldoUsuarioDAO saldoUsuarioDAO;
+    private final CacheTransacoes cacheTransacoes;
+    private final CacheRelatorios cacheRelatorios;
 
     public TransacaoController() {
         this.transacaoDAO = new TransacaoDAOImpl();
         this.categoriaDAO = new CategoriaDAOImpl();
+        this.saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+        this.cacheTransacoes = CacheTransacoes.getInstance();
+        this.cacheRelatorios = CacheRelatorios.getInstance();
     }
 
     public void salvarTransacao(Transacao transacao) throws BusinessException{
@@ -31,6 +52,9 @@ public class TransacaoController {
         try{
             validarTransacao(transacao);
             transacaoDAO.inserir(transacao);
+            cacheTransacoes.registrar(transacao.getId());
+            cacheRelatorios.invalidar(transacao.getUsuarioId(), transacao.getDataTransacao());
+            VersoesUsuario.incrementar(transacao.getUsuarioId());
             logger.info("Transacao salva com sucesso - ID: {}", transacao.getId());
         } catch (DAOException e) {
             logger.error("Erro ao salvar Transacao",e);
@@ -38,12 +62,73 @@ public class TransacaoController {
         }
     }
 
+    /**
+     * Salva várias transações de uma vez (lançamento em massa, importação de extrato).
+     * Transações inválidas não interrompem as demais: voltam como falhas no resultado,
+     * com o índice que tinham na lista recebida.
+     */
+    public ResultadoLote<Transacao> salvarTransacoesEmLote(List<Transacao> transacoes) throws BusinessException {
+        if (transacoes == null) {
+            throw new BusinessException("Lista de transações não pode ser nula");
+        }
+
+        Long usuarioId = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
+        logger.info("Salvando {} transações em lote", transacoes.size());
+
+        ResultadoLote<Transacao> resultado = new ResultadoLote<>();
+        List<Transacao> validas = new ArrayList<>();
+        List<Integer> indicesValidas = new ArrayList<>();
+
+        for (int i = 0; i < transacoes.size(); i++) {
+            Transacao transacao = transacoes.get(i);
+            try {
+                validarTransacao(transacao);
+                if (transacao.getUsuarioId() == null) {
+                    transacao.setUsuarioId(usuarioId);
+                }
+                validas.add(transacao);
+                indicesValidas.add(i);
+            } catch (BusinessException e) {
+                resultado.adicionarFalha(i, transacao, e.getMessage());
+            }
+        }
+
+        try {
+            ResultadoLote<Transacao> gravacao = transacaoDAO.inserirEmLote(validas);
+            gravacao.getSucessos().forEach(resultado::adicionarSucesso);
+            for (ResultadoLote.Falha<Transacao> falha : gravacao.getFalhas()) {
+                resultado.adicionarFalha(indicesValidas.get(falha.getIndice()), falha.getItem(), falha.getMensagem());
+            }
+        } catch (DAOException e) {
+            logger.error("Erro ao salvar transações em lote", e);
+            throw new BusinessException("Erro ao salvar transações em lote: " + e.getMessage(), e);
+        } finally {
+            // O lote é confirmado em partes: mesmo com erro, as partes anteriores já estão no banco
+            validas.stream().map(Transacao::getUsuarioId).distinct().forEach(id -> {
+                cacheTransacoes.invalidar(id);
+                cacheRelatorios.invalidar(id);
+                VersoesUsuario.incrementar(id);
+            });
+        }
+
+        logger.info("Lote concluído: {} salvas, {} com falha", resultado.getTotalSucessos(), resultado.getTotalFalhas());
+        return resultado;
+    }
+
     public void atualizarTransacao(Transacao transacao) throws BusinessException {
         logger.info("Atualizando Transacao ID: {}", transacao.getId());
         try {
             validarTransacao(transacao);
-            validarTransacaoExiste(transacao.getId());
+            Transacao anterior = validarTransacaoExiste(transacao.getId());
             transacaoDAO.atualizar(transacao);
+            cacheTransacoes.registrar(transacao.getId());
+            cacheRelatorios.invalidar(anterior.getUsuarioId(), anterior.getDataTransacao());
+            cacheRelatorios.invalidar(transacao.getUsuarioId(), transacao.getDataTransacao());
+            // Por último: quem ler a versão nova já encontra o livro e os relatórios atualizados
+            VersoesUsuario.incrementar(anterior.getUsuarioId());
+            if (!Objects.equals(anterior.getUsuarioId(), transacao.getUsuarioId())) {
+                VersoesUsuario.incrementar(transacao.getUsuarioId());
+            }
             logger.info("Transação atualizada com sucesso");
         }catch (DAOException e){
             logger.error("Erro ao atualizar Transacao", e);
@@ -54,8 +139,11 @@ public class TransacaoController {
     public void excluirTransacao(Long id) throws BusinessException {
         logger.info("Excluindo Transacao ID: {}", id);
         try {
-            validarTransacaoExiste(id);
+            Transacao anterior = validarTransacaoExiste(id);
             transacaoDAO.excluir(id);
+            cacheTransacoes.remover(id);
+            cacheRelatorios.invalidar(anterior.getUsuarioId(), anterior.getDataTransacao());
+            VersoesUsuario.incrementar(anterior.getUsuarioId());
             logger.info("Transação excluída com sucesso");
         }catch (DAOException e){
             logger.error("Erro ao excluir Transacao", e);
@@ -77,7 +165,7 @@ public class TransacaoController {
         }
     }
 
-    public List<Transacao> listarPorPeriodo(LocalDate inicio, LocalDate fim) throws BusinessException {
+    public List<LinhaTransacao> listarPorPeriodo(LocalDate inicio, LocalDate fim) throws BusinessException {
         logger.debug("Listando Transações por período: {} a {}", inicio, fim);
         try {
             // Obter usuário logado
@@ -87,6 +175,10 @@ public class TransacaoController {
             }
 
             // Filtrar por usuário e período
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent() && inicio != null && fim != null) {
+                return livro.get().listarPorPeriodo(inicio, fim);
+            }
             return transacaoDAO.buscarPorUsuarioEPeriodo(usuarioId, inicio, fim);
         } catch (DAOException e) {
             logger.error("Erro ao listar Transacoes por período", e);
@@ -94,7 +186,7 @@ public class TransacaoController {
         }
     }
 
-    public List<Transacao> listarPorCategoria(Long categoriaId) throws BusinessException{
+    public List<LinhaTransacao> listarPorCategoria(Long categoriaId) throws BusinessException{
         logger.debug("Listando Transações por Categoria ID: {}", categoriaId);
         try {
             // Obter usuário logado
@@ -104,6 +196,10 @@ public class TransacaoController {
             }
 
             // Filtrar por usuário e categoria
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                return livro.get().listarPorCategoria(categoriaId);
+            }
             return transacaoDAO.buscarPorUsuarioECategoria(usuarioId, categoriaId);
         } catch (DAOException e) {
             logger.error("Erro ao listar Transacoes por categoria", e);
@@ -121,6 +217,10 @@ public class TransacaoController {
             }
 
             // Calcular total por usuário e tipo
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                return livro.get().calcularTotal(tipo);
+            }
             return transacaoDAO.calcularTotalPorUsuarioETipo(usuarioId, tipo);
         } catch (DAOException e) {
             logger.error("Erro ao calcular total por tipo", e);
@@ -146,7 +246,7 @@ public class TransacaoController {
         }
     }
 
-    public List<Transacao> listarTransacoes() throws BusinessException {
+    public List<LinhaTransacao> listarTransacoes() throws BusinessException {
         logger.debug("Listando todas as transações do usuário logado");
         try {
             // Obter usuário logado
@@ -156,6 +256,10 @@ public class TransacaoController {
             }
 
             // Filtrar por usuário
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                return livro.get().listar();
+            }
             return transacaoDAO.buscarPorUsuario(usuarioId);
         } catch (DAOException e) {
             logger.error("Erro ao listar todas as transações", e);
@@ -163,7 +267,7 @@ public class TransacaoController {
         }
     }
 
-    public List<Transacao> listarAtivas() throws BusinessException {
+    public List<LinhaTransacao> listarAtivas() throws BusinessException {
         logger.debug("Listando todas as transações ativas do usuário logado");
         try {
             // Obter usuário logado
@@ -173,6 +277,10 @@ public class TransacaoController {
             }
 
             // Filtrar por usuário
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                return livro.get().listar();
+            }
             return transacaoDAO.buscarPorUsuario(usuarioId);
         } catch (DAOException e) {
             logger.error("Erro ao listar transações ativas", e);
@@ -180,7 +288,7 @@ public class TransacaoController {
         }
     }
 
-    public List<Transacao> listarTransacoesPorTipo(TipoTransacao tipo) throws BusinessException {
+    public List<LinhaTransacao> listarTransacoesPorTipo(TipoTransacao tipo) throws BusinessException {
         logger.debug("Listando transações por tipo: {}", tipo);
         try {
             // Obter usuário logado
@@ -190,6 +298,10 @@ public class TransacaoController {
             }
 
             // Filtrar por usuário e tipo
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent()) {
+                return livro.get().listarPorTipo(tipo);
+            }
             return transacaoDAO.buscarPorUsuarioETipo(usuarioId, tipo);
         } catch (DAOException e) {
             logger.error("Erro ao listar transações por tipo", e);
@@ -197,7 +309,7 @@ public class TransacaoController {
         }
     }
 
-    public List<Transacao> listarTransacoesPorPeriodo(LocalDate dataInicio, LocalDate dataFim) throws BusinessException {
+    public List<LinhaTransacao> listarTransacoesPorPeriodo(LocalDate dataInicio, LocalDate dataFim) throws BusinessException {
         logger.debug("Listando transações por período: {} a {}", dataInicio, dataFim);
         try {
             // Obter usuário logado
@@ -207,6 +319,10 @@ public class TransacaoController {
             }
 
             // Filtrar por usuário e período
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(usuarioId);
+            if (livro.isPresent() && dataInicio != null && dataFim != null) {
+                return livro.get().listarPorPeriodo(dataInicio, dataFim);
+            }
             return transacaoDAO.buscarPorUsuarioEPeriodo(usuarioId, dataInicio, dataFim);
         } catch (DAOException e) {
             logger.error("Erro ao listar transações por período", e);
@@ -217,7 +333,7 @@ public class TransacaoController {
     /**
      * Lista transações por período filtradas pelo usuário logado
      */
-    public List<Transacao> listarTransacoesPorPeriodoDoUsuario(LocalDate dataInicio, LocalDate dataFim) throws BusinessException {
+    public List<LinhaTransacao> listarTransacoesPorPeriodoDoUsuario(LocalDate dataInicio, LocalDate dataFim) throws BusinessException {
         Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
 
         if (idUsuario == null) {
@@ -235,7 +351,10 @@ public class TransacaoController {
                 throw new BusinessException("Data inicial não pode ser posterior à data final");
             }
 
-            // Agora usando o método que filtra por usuário
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(idUsuario);
+            if (livro.isPresent()) {
+                return livro.get().listarPorPeriodo(dataInicio, dataFim);
+            }
             return transacaoDAO.buscarPorUsuarioEPeriodo(idUsuario, dataInicio, dataFim);
 
         } catch (DAOException e) {
@@ -244,10 +363,132 @@ public class TransacaoController {
         }
     }
 
+    /**
+     * Transações do relatório por período do usuário logado, na ordem (data, ID)
+     * decrescente, reaproveitando o resultado se o mesmo período e tipo já foram
+     * consultados e nada mudou nesse intervalo. Sem resultado guardado, lê do livro em
+     * memória ou do banco e guarda o resultado. A lista devolvida não pode ser alterada.
+     *
+     * @param tipo tipo das transações, ou null para todas
+     */
+    public List<LinhaTransacao> listarRelatorioPorPeriodo(LocalDate dataInicio, LocalDate dataFim, TipoTransacao tipo) throws BusinessException {
+        Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
+
+        if (idUsuario == null) {
+            throw new BusinessException("Nenhum usuário logado encontrado.");
+        }
+
+        if (dataInicio == null || dataFim == null) {
+            throw new BusinessException("Período deve ser informado");
+        }
+
+        List<LinhaTransacao> guardadas = cacheRelatorios.buscar(idUsuario, dataInicio, dataFim, tipo);
+        if (guardadas != null) {
+            logger.debug("Relatório de {} a {} servido do cache ({})", dataInicio, dataFim, cacheRelatorios.getEstatisticas());
+            return guardadas;
+        }
+
+        // Lida antes da consulta: uma gravação concorrente impede que o resultado seja guardado
+        long versao = VersoesUsuario.atual(idUsuario);
+        List<LinhaTransacao> transacoes;
+        try {
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(idUsuario);
+            transacoes = livro.isPresent()
+                ? livro.get().listarPorPeriodo(dataInicio, dataFim)
+                : transacaoDAO.buscarPorUsuarioEPeriodo(idUsuario, dataInicio, dataFim);
+        } catch (DAOException e) {
+            logger.error("Erro ao gerar relatório por período", e);
+            throw new BusinessException("Erro ao listar transações por período: " + e.getMessage(), e);
+        }
+
+        if (tipo != null) {
+            transacoes.removeIf(transacao -> transacao.getTipo() != tipo);
+        }
+        List<LinhaTransacao> relatorio = List.copyOf(transacoes);
+        cacheRelatorios.guardar(idUsuario, dataInicio, dataFim, tipo, relatorio, versao);
+        return relatorio;
+    }
+
+    /**
+     * Entrega as transações do usuário logado no período uma a uma, lidas por cursor,
+     * sem montar a lista inteira em memória (relatórios e exportação)
+     */
+    public void percorrerTransacoesPorPeriodo(LocalDate dataInicio, LocalDate dataFim,
+                                              Consumer<LinhaTransacao> consumidor) throws BusinessException {
+        Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
+
+        if (idUsuario == null) {
+            throw new BusinessException("Nenhum usuário logado encontrado.");
+        }
+
+        logger.debug("Percorrendo transações do usuário {} no período: {} a {}", idUsuario, dataInicio, dataFim);
+
+        try {
+            transacaoDAO.percorrerPorUsuarioEPeriodo(idUsuario, dataInicio, dataFim, consumidor);
+        } catch (DAOException e) {
+            logger.error("Erro ao percorrer transações por período", e);
+            throw new BusinessException("Erro ao listar transações por período: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca uma página de transações com qualquer combinação de filtros
+     * (usuário, tipo, categoria e período)
+     */
+    public Pagina<LinhaTransacao> listarPagina(FiltroTransacao filtro, int tamanho) throws BusinessException {
+        logger.debug("Buscando página de {} transações do usuário {}", tamanho,
+            filtro != null ? filtro.getUsuarioId() : null);
+        try {
+            return transacaoDAO.buscarPagina(filtro, tamanho);
+        } catch (DAOException e) {
+            logger.error("Erro ao buscar página de transações", e);
+            throw new BusinessException("Erro ao listar transações: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Limites das próximas páginas a partir da posição do filtro, para saltar direto a
+     * uma página distante sem ler as transações das páginas do meio
+     */
+    public List<PosicaoTransacao> listarLimitesPaginas(FiltroTransacao filtro, int tamanhoPagina, int paginas) throws BusinessException {
+        try {
+            return transacaoDAO.buscarLimitesPaginas(filtro, tamanhoPagina, paginas);
+        } catch (DAOException e) {
+            logger.error("Erro ao buscar limites das páginas de transações", e);
+            throw new BusinessException("Erro ao listar transações: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Quantas transações atendem aos filtros, para tabelas que buscam as páginas sob
+     * demanda e precisam do total de linhas antes
+     */
+    public long contarTransacoes(FiltroTransacao filtro) throws BusinessException {
+        try {
+            return transacaoDAO.contar(filtro);
+        } catch (DAOException e) {
+            logger.error("Erro ao contar transações", e);
+            throw new BusinessException("Erro ao contar transações: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Filtro sem critérios sobre as transações do usuário logado
+     */
+    public FiltroTransacao filtroDoUsuarioLogado() throws BusinessException {
+        Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
+
+        if (idUsuario == null) {
+            throw new BusinessException("Nenhum usuário logado encontrado.");
+        }
+
+        return new FiltroTransacao(idUsuario);
+    }
+
     /**
      * Lista todas as transações do usuário logado
      */
-    public List<Transacao> listarTransacoesDoUsuario() throws BusinessException {
+    public List<LinhaTransacao> listarTransacoesDoUsuario() throws BusinessException {
         Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
 
         if (idUsuario == null) {
@@ -257,7 +498,10 @@ public class TransacaoController {
         logger.info("Listando todas as transações do usuário {}", idUsuario);
 
         try {
-            // Agora usando o método que filtra por usuário
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(idUsuario);
+            if (livro.isPresent()) {
+                return livro.get().listar();
+            }
             return transacaoDAO.buscarPorUsuario(idUsuario);
 
         } catch (DAOException e) {
@@ -266,7 +510,10 @@ public class TransacaoController {
         }
     }
 
-    private void validarTransacaoExiste(Long id) throws BusinessException {
+    /**
+     * Devolve a transação como está gravada, antes da alteração ou exclusão
+     */
+    private Transacao validarTransacaoExiste(Long id) throws BusinessException {
         if (id == null || id <= 0) {
             throw new BusinessException("ID inválido");
         }
@@ -275,6 +522,7 @@ public class TransacaoController {
             if (transacaoOpt.isEmpty()) {
                 throw new BusinessException("Transação não encontrada com ID: " + id);
             }
+            return transacaoOpt.get();
         } catch (DAOException e) {
             logger.error("Erro ao validar existência da transação", e);
             throw new BusinessException("Erro ao validar transação: " + e.getMessage(), e);
@@ -294,19 +542,9 @@ public class TransacaoController {
         logger.info("Calculando saldo do usuário {}", idUsuario);
 
         try {
-            List<Transacao> todasTransacoes = listarTransacoesDoUsuario();
-
-            BigDecimal totalReceitas = todasTransacoes.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal totalDespesas = todasTransacoes.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            return totalReceitas.subtract(totalDespesas);
+            // Saldo mantido a cada gravação: uma linha lida em vez de todas as transações
+            // (antes da migração V3 o DAO soma transacao)
+            return saldoUsuarioDAO.buscarPorUsuario(idUsuario).getSaldo();
 
         } catch (Exception e) {
             logger.error("Erro ao calcular saldo do usuário", e);
@@ -331,21 +569,12 @@ public class TransacaoController {
             LocalDate inicioMes = hoje.withDayOfMonth(1);
             LocalDate fimMes = hoje.withDayOfMonth(hoje.lengthOfMonth());
 
-            List<Transacao> transacoesMes = listarTransacoesPorPeriodoDoUsuario(inicioMes, fimMes);
+            List<LinhaTransacao> transacoesMes = listarTransacoesPorPeriodoDoUsuario(inicioMes, fimMes);
 
-            BigDecimal receitasMes = transacoesMes.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Totalizador totaisMes = Totalizador.de(transacoesMes);
 
-            BigDecimal despesasMes = transacoesMes.stream()
-                .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
-                .map(Transacao::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal saldoMes = receitasMes.subtract(despesasMes);
-
-            return new EstatisticasMensais(receitasMes, despesasMes, saldoMes, transacoesMes.size());
+            return new EstatisticasMensais(totaisMes.getReceitas().toBigDecimal(), totaisMes.getDespesas().toBigDecimal(),
+                totaisMes.getSaldo().toBigDecimal(), transacoesMes.size());
 
         } catch (Exception e) {
             logger.error("Erro ao obter estatísticas mensais", e);
@@ -356,7 +585,7 @@ public class TransacaoController {
     /**
      * Obtém as últimas transações do usuário logado
      */
-    public List<Transacao> obterUltimasTransacoesDoUsuario(int limite) throws BusinessException {
+    public List<LinhaTransacao> obterUltimasTransacoesDoUsuario(int limite) throws BusinessException {
         Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
 
         if (idUsuario == null) {
@@ -366,7 +595,7 @@ public class TransacaoController {
         logger.info("Obtendo últimas {} transações do usuário {}", limite, idUsuario);
 
         try {
-            List<Transacao> todasTransacoes = listarTransacoesDoUsuario();
+            List<LinhaTransacao> todasTransacoes = listarTransacoesDoUsuario();
 
             return todasTransacoes.stream()
                 .sorted((t1, t2) -> t2.getDataTransacao().compareTo(t1.getDataTransacao()))
@@ -385,7 +614,7 @@ public class TransacaoController {
      * @return lista das transações mais recentes
      * @throws BusinessException em caso de erro
      */
-    public List<Transacao> buscarTransacoesRecentes(int limite) throws BusinessException {
+    public List<LinhaTransacao> buscarTransacoesRecentes(int limite) throws BusinessException {
         Long idUsuario = com.controlfinanceiro.util.SessaoUsuario.getInstance().getIdUsuarioLogado();
 
         if (idUsuario == null) {
@@ -399,6 +628,10 @@ public class TransacaoController {
                 throw new BusinessException("Limite deve ser maior que zero");
             }
 
+            Optional<LivroTransacoes> livro = cacheTransacoes.buscarLivro(idUsuario);
+            if (livro.isPresent()) {
+                return livro.get().listarRecentes(limite);
+            }
             return transacaoDAO.buscarRecentesPorUsuario(idUsuario, limite);
 
         } catch (DAOException e) {
@@ -0,0 +1,14 @@
+package com.controlfinanceiro.dao;
+
+import com.controlfinanceiro.model.DashboardSnapshot;
+import com.controlfinanceiro.exception.DAOException;
+import java.time.YearMonth;
+
+/**
+ * Leitura dos dados do dashboard em uma única consulta
+ */
+public interface DashboardDAO {
+
+    // Totais do mês informado, do ano dele e de todo o histórico, mais as últimas transações
+    DashboardSnapshot buscarSnapshot(Long usuarioId, YearMonth mes, int limiteRecentes) throws DAOException;
+}
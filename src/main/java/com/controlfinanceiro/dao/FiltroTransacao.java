@@ -0,0 +1,63 @@
+package com.controlfinanceiro.dao;
+
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros da listagem paginada de transações de um usuário. Os critérios são
+ * opcionais, exceto o usuário; apos(...) posiciona a consulta depois de uma
+ * transação já exibida, na ordem (data_transacao DESC, id DESC).
+ */
+public class FiltroTransacao {
+
+    private final Long usuarioId;
+    private TipoTransacao tipo;
+    private Long categoriaId;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private LocalDate aposData;
+    private Long aposId;
+
+    public FiltroTransacao(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public FiltroTransacao comTipo(TipoTransacao tipo) {
+        this.tipo = tipo;
+        return this;
+    }
+
+    public FiltroTransacao comCategoria(Long categoriaId) {
+        this.categoriaId = categoriaId;
+        return this;
+    }
+
+    public FiltroTransacao comPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        return this;
+    }
+
+    public FiltroTransacao apos(LocalDate data, Long id) {
+        this.aposData = data;
+        this.aposId = id;
+        return this;
+    }
+
+    public FiltroTransacao apos(PosicaoTransacao posicao) {
+        return posicao == null ? apos(null, null) : apos(posicao.getData(), posicao.getId());
+    }
+
+    public Long getUsuarioId() { return usuarioId; }
+    public TipoTransacao getTipo() { return tipo; }
+    public Long getCategoriaId() { return categoriaId; }
+    public LocalDate getDataInicio() { return dataInicio; }
+    public LocalDate getDataFim() { return dataFim; }
+    public LocalDate getAposData() { return aposData; }
+    public Long getAposId() { return aposId; }
+
+    public boolean temPosicao() {
+        return aposData != null && aposId != null;
+    }
+}
@@ -16,5 +16,7 @@ public interface OrcamentoDAO {
     List<Orcamento> buscarPorCategoria(Long categoriaId) throws DAOException;
     List<Orcamento> buscarPorCategoriaEPeriodo(Long categoriaId, int mes, int ano) throws DAOException;
     List<Orcamento> buscarPorUsuarioEPeriodo(Long usuarioId, int mes, int ano) throws DAOException;
+    // Orçamentos do mês com valorGasto/valorDisponivel preenchidos pelas despesas da categoria
+    List<Orcamento> buscarComGastoPorUsuarioEPeriodo(Long usuarioId, int mes, int ano) throws DAOException;
     boolean existeOrcamentoPorCategoriaEPeriodo(Long categoriaId, int mes, int ano) throws DAOException;
 }
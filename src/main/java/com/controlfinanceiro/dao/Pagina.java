@@ -0,0 +1,43 @@
+package com.controlfinanceiro.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página de resultados de uma consulta paginada por chave (keyset).
+ * A próxima página é pedida a partir do último item desta.
+ */
+public class Pagina<T> {
+
+    private final List<T> itens;
+    private final boolean temProxima;
+
+    public Pagina(List<T> itens, boolean temProxima) {
+        this.itens = Collections.unmodifiableList(itens);
+        this.temProxima = temProxima;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public boolean temProxima() {
+        return temProxima;
+    }
+
+    public boolean isVazia() {
+        return itens.isEmpty();
+    }
+
+    /**
+     * Último item da página, ponto de partida da próxima
+     */
+    public T getUltimo() {
+        return itens.isEmpty() ? null : itens.get(itens.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{itens=" + itens.size() + ", temProxima=" + temProxima + "}";
+    }
+}
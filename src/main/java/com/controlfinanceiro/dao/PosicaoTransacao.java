@@ -0,0 +1,38 @@
+package com.controlfinanceiro.dao;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+
+import java.time.LocalDate;
+
+/**
+ * Posição de uma transação na ordem das listagens paginadas (data_transacao DESC,
+ * id DESC). Só a chave: serve de ponto de partida para a página seguinte sem guardar
+ * a transação inteira.
+ */
+public final class PosicaoTransacao {
+
+    private final LocalDate data;
+    private final long id;
+
+    public PosicaoTransacao(LocalDate data, long id) {
+        this.data = data;
+        this.id = id;
+    }
+
+    public static PosicaoTransacao de(LinhaTransacao transacao) {
+        return transacao == null ? null : new PosicaoTransacao(transacao.getDataTransacao(), transacao.getId());
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "PosicaoTransacao{data=" + data + ", id=" + id + "}";
+    }
+}
@@ -0,0 +1,72 @@
+package com.controlfinanceiro.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote: os itens gravados e, para cada item que falhou,
+ * a posição na lista original e o motivo.
+ */
+public class ResultadoLote<T> {
+
+    private final List<T> sucessos = new ArrayList<>();
+    private final List<Falha<T>> falhas = new ArrayList<>();
+
+    public void adicionarSucesso(T item) {
+        sucessos.add(item);
+    }
+
+    public void adicionarFalha(int indice, T item, String mensagem) {
+        falhas.add(new Falha<>(indice, item, mensagem));
+    }
+
+    public List<T> getSucessos() {
+        return Collections.unmodifiableList(sucessos);
+    }
+
+    public List<Falha<T>> getFalhas() {
+        return Collections.unmodifiableList(falhas);
+    }
+
+    public int getTotalSucessos() {
+        return sucessos.size();
+    }
+
+    public int getTotalFalhas() {
+        return falhas.size();
+    }
+
+    public boolean temFalhas() {
+        return !falhas.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{sucessos=" + sucessos.size() + ", falhas=" + falhas.size() + "}";
+    }
+
+    /**
+     * Item que não foi gravado
+     */
+    public static class Falha<T> {
+        private final int indice;
+        private final T item;
+        private final String mensagem;
+
+        public Falha(int indice, T item, String mensagem) {
+            this.indice = indice;
+            this.item = item;
+            this.mensagem = mensagem;
+        }
+
+        public int getIndice() { return indice; }
+        public T getItem() { return item; }
+        public String getMensagem() { return mensagem; }
+
+        @Override
+        public String toString() {
+            return "Falha{indice=" + indice + ", mensagem='" + mensagem + "'}";
+        }
+    }
+}
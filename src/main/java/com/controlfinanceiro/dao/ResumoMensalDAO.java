@@ -0,0 +1,19 @@
+package com.controlfinanceiro.dao;
+
+import com.controlfinanceiro.model.ResumoMensal;
+import com.controlfinanceiro.exception.DAOException;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Leitura e reconstrução da tabela resumo_mensal. A manutenção incremental é feita
+ * pelo TransacaoDAOImpl, na mesma transação que grava cada transacao.
+ */
+public interface ResumoMensalDAO {
+
+    // Linhas do usuário entre os meses informados (inclusive); sem a migração V2, agrupadas de transacao
+    List<ResumoMensal> buscarPorUsuarioEPeriodo(Long usuarioId, YearMonth inicio, YearMonth fim) throws DAOException;
+    // Recalcula o resumo de todos os usuários a partir de transacao; retorna as linhas gravadas
+    int reconstruir() throws DAOException;
+    int reconstruir(Long usuarioId) throws DAOException;
+}
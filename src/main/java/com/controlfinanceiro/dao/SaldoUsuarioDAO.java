@@ -0,0 +1,21 @@
+package com.controlfinanceiro.dao;
+
+import com.controlfinanceiro.model.DivergenciaSaldo;
+import com.controlfinanceiro.model.SaldoUsuario;
+import com.controlfinanceiro.exception.DAOException;
+import java.util.List;
+
+/**
+ * Leitura e conferência da tabela saldo_usuario. A manutenção incremental é feita
+ * pelo TransacaoDAOImpl, na mesma transação que grava cada transacao. Conferir e
+ * reconstruir falham com DAOException enquanto a migração V3 não criar a tabela.
+ */
+public interface SaldoUsuarioDAO {
+
+    // Saldo zerado se o usuário ainda não tem transações; sem a migração V3, somado de transacao
+    SaldoUsuario buscarPorUsuario(Long usuarioId) throws DAOException;
+    // Recalcula a partir de transacao e lista os usuários cujo saldo gravado diverge
+    List<DivergenciaSaldo> verificar() throws DAOException;
+    // Regrava o saldo do usuário a partir de transacao
+    void reconstruir(Long usuarioId) throws DAOException;
+}
@@ -1,5 +1,7 @@
 package com.controlfinanceiro.dao;
 
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.TotalCategoria;
 import com.controlfinanceiro.model.Transacao;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 import com.controlfinanceiro.exception.DAOException;
@@ -7,30 +9,65 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TransacaoDAO {
 
+    // Linhas por lote/transação quando o chamador não informa o tamanho
+    int TAMANHO_LOTE_PADRAO = 500;
+
     Transacao inserir(Transacao transacao) throws DAOException;
     Transacao atualizar(Transacao transacao) throws DAOException;
+
+    // Operações em lote: cada lote roda em uma transação e as falhas são reportadas por linha
+    ResultadoLote<Transacao> inserirEmLote(List<Transacao> transacoes) throws DAOException;
+    ResultadoLote<Transacao> inserirEmLote(List<Transacao> transacoes, int tamanhoLote) throws DAOException;
+    ResultadoLote<Transacao> atualizarEmLote(List<Transacao> transacoes) throws DAOException;
+    ResultadoLote<Transacao> atualizarEmLote(List<Transacao> transacoes, int tamanhoLote) throws DAOException;
     void excluir(Long id) throws DAOException;
+
+    // A transação completa, para edição; as listagens abaixo devolvem LinhaTransacao
     Optional<Transacao> buscarPorId(Long id) throws DAOException;
-    List<Transacao> listarTodas() throws DAOException;
-    List<Transacao> listarPorPeriodo(LocalDate inicio, LocalDate fim) throws DAOException;
-    List<Transacao> buscarPorCategoria(Long categoriaId) throws DAOException;
-    List<Transacao> buscarPorTipo(TipoTransacao tipo) throws DAOException;
-    List<Transacao> listarPorTipo(TipoTransacao tipo) throws DAOException;
+    List<LinhaTransacao> listarTodas() throws DAOException;
+    List<LinhaTransacao> listarPorPeriodo(LocalDate inicio, LocalDate fim) throws DAOException;
+    List<LinhaTransacao> buscarPorCategoria(Long categoriaId) throws DAOException;
+    List<LinhaTransacao> buscarPorTipo(TipoTransacao tipo) throws DAOException;
+    List<LinhaTransacao> listarPorTipo(TipoTransacao tipo) throws DAOException;
     BigDecimal calcularTotalPorTipo(TipoTransacao tipo) throws DAOException;
     BigDecimal calcularTotalPorPeriodo(LocalDate inicio, LocalDate fim) throws DAOException;
     BigDecimal calcularTotalPorCategoriaEPeriodo(Long categoriaId, LocalDate inicio, LocalDate fim) throws DAOException;
-    List<Transacao> buscarPorDescricao(String descricao) throws DAOException;
+    List<LinhaTransacao> buscarPorDescricao(String descricao) throws DAOException;
 
     // Métodos para filtrar por usuário
-    List<Transacao> buscarPorUsuario(Long usuarioId) throws DAOException;
-    List<Transacao> buscarPorUsuarioEPeriodo(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) throws DAOException;
-    List<Transacao> buscarPorUsuarioETipo(Long usuarioId, TipoTransacao tipo) throws DAOException;
-    List<Transacao> buscarPorUsuarioECategoria(Long usuarioId, Long categoriaId) throws DAOException;
+    List<LinhaTransacao> buscarPorUsuario(Long usuarioId) throws DAOException;
+    List<LinhaTransacao> buscarPorUsuarioEPeriodo(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) throws DAOException;
+    List<LinhaTransacao> buscarPorUsuarioETipo(Long usuarioId, TipoTransacao tipo) throws DAOException;
+    List<LinhaTransacao> buscarPorUsuarioECategoria(Long usuarioId, Long categoriaId) throws DAOException;
     BigDecimal calcularTotalPorUsuarioETipo(Long usuarioId, TipoTransacao tipo) throws DAOException;
     BigDecimal calcularTotalPorUsuarioEPeriodo(Long usuarioId, LocalDate inicio, LocalDate fim) throws DAOException;
-    List<Transacao> buscarUltimasTransacoesPorUsuario(Long usuarioId, int limite) throws DAOException;
-    List<Transacao> buscarRecentesPorUsuario(Long usuarioId, int limite) throws DAOException;
+    List<LinhaTransacao> buscarUltimasTransacoesPorUsuario(Long usuarioId, int limite) throws DAOException;
+    List<LinhaTransacao> buscarRecentesPorUsuario(Long usuarioId, int limite) throws DAOException;
+
+    // Totais agrupados por categoria e tipo em uma única consulta; período opcional (datas nulas = tudo)
+    List<TotalCategoria> totalizarPorCategoria(Long usuarioId, LocalDate inicio, LocalDate fim) throws DAOException;
+
+    // Paginação por chave (data_transacao DESC, id DESC): o custo de cada página não depende da posição
+    Pagina<LinhaTransacao> buscarPagina(FiltroTransacao filtro, int tamanho) throws DAOException;
+
+    // Última posição de cada uma das próximas páginas a partir da posição do filtro, lendo
+    // só a chave (data_transacao, id) no índice; usada para saltar várias páginas sem OFFSET
+    List<PosicaoTransacao> buscarLimitesPaginas(FiltroTransacao filtro, int tamanhoPagina, int paginas) throws DAOException;
+
+    // Quantas transações atendem aos filtros; a posição (apos) é ignorada
+    long contar(FiltroTransacao filtro) throws DAOException;
+
+    // Leitura por cursor: as linhas são lidas do banco conforme o Stream é consumido.
+    // O Stream segura uma conexão até ser fechado, por isso use try-with-resources.
+    Stream<LinhaTransacao> streamPorPeriodo(LocalDate inicio, LocalDate fim) throws DAOException;
+    Stream<LinhaTransacao> streamPorUsuario(Long usuarioId) throws DAOException;
+    Stream<LinhaTransacao> streamPorUsuarioEPeriodo(Long usuarioId, LocalDate inicio, LocalDate fim) throws DAOException;
+    void percorrerPorPeriodo(LocalDate inicio, LocalDate fim, Consumer<LinhaTransacao> consumidor) throws DAOException;
+    void percorrerPorUsuario(Long usuarioId, Consumer<LinhaTransacao> consumidor) throws DAOException;
+    void percorrerPorUsuarioEPeriodo(Long usuarioId, LocalDate inicio, LocalDate fim, Consumer<LinhaTransacao> consumidor) throws DAOException;
 }
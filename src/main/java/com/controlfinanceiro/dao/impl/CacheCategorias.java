@@ -0,0 +1,118 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.model.Categoria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cópia em memória da tabela categoria, usada pelos DAOs de transação e orçamento no
+ * lugar do LEFT JOIN com categoria em cada consulta.
+ *
+ * O mapa publicado nunca é alterado: cada recarga monta um mapa novo e o troca de uma
+ * vez, então as leituras não precisam de lock. As instâncias de Categoria são
+ * compartilhadas entre todas as transações e orçamentos e não devem ser alteradas.
+ *
+ * As recargas usam a conexão de quem chamou: os DAOs buscam a categoria de cada linha
+ * com a conexão do pool ainda emprestada, e pegar uma segunda conexão ali poderia
+ * esgotar o pool.
+ *
+ * Nada aqui segura lock durante a consulta ao banco (uma thread virtual presa a um
+ * monitor esperando I/O ocupa a thread de plataforma). Recargas simultâneas podem
+ * acontecer; cada uma recebe um número e só publica se nenhuma carga iniciada depois
+ * dela já tiver publicado.
+ */
+final class CacheCategorias {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheCategorias.class);
+
+    // Inclui as inativas: transações antigas continuam apontando para elas
+    private static final String SELECT_ALL_SQL =
+        "SELECT id, nome, descricao, ativo, data_criacao, data_atualizacao FROM categoria";
+
+    private static final AtomicReference<Carga> categorias = new AtomicReference<>();
+    private static final AtomicLong cargas = new AtomicLong();
+
+    private CacheCategorias() {
+    }
+
+    /**
+     * Categoria com o ID informado, ou null se o ID for nulo ou não existir
+     *
+     * @param conn conexão de quem chamou, usada se a cópia precisar ser recarregada
+     */
+    static Categoria buscar(Connection conn, Long id) throws SQLException {
+        if (id == null) {
+            return null;
+        }
+
+        Carga carga = categorias.get();
+        Map<Long, Categoria> atual = carga != null ? carga.categorias : recarregar(conn);
+
+        Categoria categoria = atual.get(id);
+        if (categoria == null) {
+            // Criada por outra instância da aplicação depois da última carga
+            categoria = recarregar(conn).get(id);
+        }
+        return categoria;
+    }
+
+    /**
+     * Chamado pelo CategoriaDAOImpl depois de cada gravação, com a conexão que gravou.
+     * Se a recarga falhar, a cópia é descartada e a próxima leitura tenta de novo.
+     */
+    static void invalidar(Connection conn) {
+        try {
+            recarregar(conn);
+        } catch (SQLException e) {
+            categorias.set(null);
+            logger.warn("Não foi possível recarregar o cache de categorias: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lê a tabela e publica o resultado, a menos que uma carga iniciada depois desta já
+     * tenha publicado: essa enxerga pelo menos as mesmas gravações, e uma carga que
+     * começou antes de uma gravação nunca sobrescreve a que já a enxerga
+     */
+    private static Map<Long, Categoria> recarregar(Connection conn) throws SQLException {
+        long numero = cargas.incrementAndGet();
+        Map<Long, Categoria> novas = new HashMap<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            MapeadorLinhas.Leitor<Categoria> leitor = CategoriaDAOImpl.CATEGORIAS.leitor(SELECT_ALL_SQL, rs);
+            while (rs.next()) {
+                Categoria categoria = leitor.ler(rs);
+                novas.put(categoria.getId(), categoria);
+            }
+        }
+
+        Carga nova = new Carga(numero, Map.copyOf(novas));
+        while (true) {
+            Carga publicada = categorias.get();
+            if (publicada != null && publicada.numero > numero) {
+                return publicada.categorias;
+            }
+            if (categorias.compareAndSet(publicada, nova)) {
+                return nova.categorias;
+            }
+        }
+    }
+
+    private static final class Carga {
+        private final long numero;
+        private final Map<Long, Categoria> categorias;
+
+        private Carga(long numero, Map<Long, Categoria> categorias) {
+            this.numero = numero;
+            this.categorias = categorias;
+        }
+    }
+}
@@ -13,6 +13,12 @@ import java.util.Optional;
 
 public class CategoriaDAOImpl implements CategoriaDAO {
 
+    private static final int ID = 0, NOME = 1, DESCRICAO = 2, ATIVO = 3, DATA_CRIACAO = 4, DATA_ATUALIZACAO = 5;
+
+    // Também usado pelo CacheCategorias
+    static final MapeadorLinhas<Categoria> CATEGORIAS = new MapeadorLinhas<>(CategoriaDAOImpl::mapearCategoria,
+        "id", "nome", "descricao", "ativo", "data_criacao", "data_atualizacao");
+
     private static final String INSERT_SQL =
         "INSERT INTO categoria (nome, descricao, ativo, data_criacao, data_atualizacao) VALUES (?, ?, ?, ?, ?)";
 
@@ -66,6 +72,7 @@ public class CategoriaDAOImpl implements CategoriaDAO {
                 }
             }
 
+            CacheCategorias.invalidar(conn);
             return categoria;
 
         } catch (SQLException e) {
@@ -95,6 +102,7 @@ public class CategoriaDAOImpl implements CategoriaDAO {
                 throw new DAOException("Categoria não encontrada para atualizar");
             }
 
+            CacheCategorias.invalidar(conn);
             return categoria;
 
         } catch (SQLException e) {
@@ -118,6 +126,8 @@ public class CategoriaDAOImpl implements CategoriaDAO {
                 throw new DAOException("Categoria não encontrada para excluir");
             }
 
+            CacheCategorias.invalidar(conn);
+
         } catch (SQLException e) {
             throw new DAOException("Erro ao excluir categoria: " + e.getMessage(), e);
         }
@@ -135,8 +145,9 @@ public class CategoriaDAOImpl implements CategoriaDAO {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Categoria> leitor = CATEGORIAS.leitor(SELECT_BY_ID_SQL, rs);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToCategoria(rs));
+                    return Optional.of(leitor.ler(rs));
                 }
             }
 
@@ -155,8 +166,9 @@ public class CategoriaDAOImpl implements CategoriaDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
+            MapeadorLinhas.Leitor<Categoria> leitor = CATEGORIAS.leitor(SELECT_ALL_SQL, rs);
             while (rs.next()) {
-                categorias.add(mapResultSetToCategoria(rs));
+                categorias.add(leitor.ler(rs));
             }
 
         } catch (SQLException e) {
@@ -174,8 +186,9 @@ public class CategoriaDAOImpl implements CategoriaDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
+            MapeadorLinhas.Leitor<Categoria> leitor = CATEGORIAS.leitor(SELECT_ACTIVE_SQL, rs);
             while (rs.next()) {
-                categorias.add(mapResultSetToCategoria(rs));
+                categorias.add(leitor.ler(rs));
             }
 
         } catch (SQLException e) {
@@ -199,8 +212,9 @@ public class CategoriaDAOImpl implements CategoriaDAO {
             stmt.setString(1, "%" + nome.trim() + "%");
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Categoria> leitor = CATEGORIAS.leitor(SELECT_BY_NAME_SQL, rs);
                 while (rs.next()) {
-                    categorias.add(mapResultSetToCategoria(rs));
+                    categorias.add(leitor.ler(rs));
                 }
             }
 
@@ -254,6 +268,8 @@ public class CategoriaDAOImpl implements CategoriaDAO {
                 throw new DAOException("Categoria não encontrada para inativar");
             }
 
+            CacheCategorias.invalidar(conn);
+
         } catch (SQLException e) {
             throw new DAOException("Erro ao inativar categoria: " + e.getMessage(), e);
         }
@@ -278,19 +294,21 @@ public class CategoriaDAOImpl implements CategoriaDAO {
                 throw new DAOException("Categoria não encontrada para ativar");
             }
 
+            CacheCategorias.invalidar(conn);
+
         } catch (SQLException e) {
             throw new DAOException("Erro ao ativar categoria: " + e.getMessage(), e);
         }
     }
 
-    private Categoria mapResultSetToCategoria(ResultSet rs) throws SQLException {
+    private static Categoria mapearCategoria(ResultSet rs, int[] c) throws SQLException {
         Categoria categoria = new Categoria();
-        categoria.setId(rs.getLong("id"));
-        categoria.setNome(rs.getString("nome"));
-        categoria.setDescricao(rs.getString("descricao"));
-        categoria.setAtivo(rs.getBoolean("ativo"));
-        categoria.setDataCriacao(rs.getTimestamp("data_criacao").toLocalDateTime());
-        categoria.setDataAtualizacao(rs.getTimestamp("data_atualizacao").toLocalDateTime());
+        categoria.setId(rs.getLong(c[ID]));
+        categoria.setNome(rs.getString(c[NOME]));
+        categoria.setDescricao(rs.getString(c[DESCRICAO]));
+        categoria.setAtivo(rs.getBoolean(c[ATIVO]));
+        categoria.setDataCriacao(rs.getTimestamp(c[DATA_CRIACAO]).toLocalDateTime());
+        categoria.setDataAtualizacao(rs.getTimestamp(c[DATA_ATUALIZACAO]).toLocalDateTime());
         return categoria;
     }
 }
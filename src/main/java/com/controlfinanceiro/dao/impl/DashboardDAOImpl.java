@@ -0,0 +1,151 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.dao.DashboardDAO;
+import com.controlfinanceiro.model.DashboardSnapshot;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.util.ConnectionFactory;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DashboardDAOImpl implements DashboardDAO {
+
+    // Os totais vêm de resumo_mensal e saldo_usuario e formam sempre uma única linha; as
+    // transações recentes entram com LEFT JOIN ... ON TRUE, repetindo os totais em cada
+    // linha (ou uma linha com as colunas da transação nulas quando não há nenhuma)
+    private static final String SNAPSHOT_SQL = """
+        SELECT tot.receitas_mes, tot.despesas_mes, tot.quantidade_mes,
+               tot.receitas_ano, tot.despesas_ano, tot.quantidade_ano,
+               COALESCE(s.total_receitas, 0) AS receitas_total,
+               COALESCE(s.total_despesas, 0) AS despesas_total,
+               COALESCE(s.quantidade, 0) AS quantidade_total,
+               t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes
+        FROM (
+            SELECT COALESCE(SUM(CASE WHEN r.mes = ? AND r.tipo = 'RECEITA' THEN r.total END), 0) AS receitas_mes,
+                   COALESCE(SUM(CASE WHEN r.mes = ? AND r.tipo = 'DESPESA' THEN r.total END), 0) AS despesas_mes,
+                   COALESCE(SUM(CASE WHEN r.mes = ? THEN r.quantidade END), 0) AS quantidade_mes,
+                   COALESCE(SUM(CASE WHEN r.tipo = 'RECEITA' THEN r.total END), 0) AS receitas_ano,
+                   COALESCE(SUM(CASE WHEN r.tipo = 'DESPESA' THEN r.total END), 0) AS despesas_ano,
+                   COALESCE(SUM(r.quantidade), 0) AS quantidade_ano
+            FROM resumo_mensal r
+            WHERE r.usuario_id = ? AND r.ano = ?
+        ) tot
+        LEFT JOIN saldo_usuario s ON s.usuario_id = ?
+        LEFT JOIN (
+            SELECT id, descricao, valor, data_transacao, tipo, categoria_id, observacoes
+            FROM transacao
+            WHERE usuario_id = ? AND ativo = true
+            ORDER BY data_transacao DESC, id DESC
+            LIMIT ?
+        ) t ON TRUE
+        ORDER BY t.data_transacao DESC, t.id DESC
+        """;
+
+    // Mesmas colunas de SNAPSHOT_SQL, somando direto de transacao, para bancos em que as
+    // migrações ainda não criaram resumo_mensal e saldo_usuario
+    private static final String SNAPSHOT_SEM_RESUMO_SQL = """
+        SELECT tot.receitas_mes, tot.despesas_mes, tot.quantidade_mes,
+               tot.receitas_ano, tot.despesas_ano, tot.quantidade_ano,
+               tot.receitas_total, tot.despesas_total, tot.quantidade_total,
+               t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes
+        FROM (
+            SELECT COALESCE(SUM(CASE WHEN b.no_mes AND b.tipo = 'RECEITA' THEN b.valor END), 0) AS receitas_mes,
+                   COALESCE(SUM(CASE WHEN b.no_mes AND b.tipo = 'DESPESA' THEN b.valor END), 0) AS despesas_mes,
+                   COUNT(CASE WHEN b.no_mes THEN 1 END) AS quantidade_mes,
+                   COALESCE(SUM(CASE WHEN b.no_ano AND b.tipo = 'RECEITA' THEN b.valor END), 0) AS receitas_ano,
+                   COALESCE(SUM(CASE WHEN b.no_ano AND b.tipo = 'DESPESA' THEN b.valor END), 0) AS despesas_ano,
+                   COUNT(CASE WHEN b.no_ano THEN 1 END) AS quantidade_ano,
+                   COALESCE(SUM(CASE WHEN b.tipo = 'RECEITA' THEN b.valor END), 0) AS receitas_total,
+                   COALESCE(SUM(CASE WHEN b.tipo = 'DESPESA' THEN b.valor END), 0) AS despesas_total,
+                   COUNT(*) AS quantidade_total
+            FROM (
+                SELECT tipo, valor,
+                       YEAR(data_transacao) = ? AS no_ano,
+                       YEAR(data_transacao) = ? AND MONTH(data_transacao) = ? AS no_mes
+                FROM transacao
+                WHERE usuario_id = ? AND ativo = true
+            ) b
+        ) tot
+        LEFT JOIN (
+            SELECT id, descricao, valor, data_transacao, tipo, categoria_id, observacoes
+            FROM transacao
+            WHERE usuario_id = ? AND ativo = true
+            ORDER BY data_transacao DESC, id DESC
+            LIMIT ?
+        ) t ON TRUE
+        ORDER BY t.data_transacao DESC, t.id DESC
+        """;
+
+    @Override
+    public DashboardSnapshot buscarSnapshot(Long usuarioId, YearMonth mes, int limiteRecentes) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            // saldo_usuario vem da V3, depois de resumo_mensal (V2)
+            return lerSnapshot(conn, TabelasTotais.possuiSaldoUsuario(conn), usuarioId, mes, limiteRecentes);
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao buscar dados do dashboard: " + e.getMessage(), e);
+        }
+    }
+
+    private DashboardSnapshot lerSnapshot(Connection conn, boolean totaisMantidos, Long usuarioId, YearMonth mes,
+                                          int limiteRecentes) throws SQLException {
+        String sql = totaisMantidos ? SNAPSHOT_SQL : SNAPSHOT_SEM_RESUMO_SQL;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int limite = Math.max(limiteRecentes, 0);
+            if (totaisMantidos) {
+                stmt.setInt(1, mes.getMonthValue());
+                stmt.setInt(2, mes.getMonthValue());
+                stmt.setInt(3, mes.getMonthValue());
+                stmt.setLong(4, usuarioId);
+                stmt.setInt(5, mes.getYear());
+                stmt.setLong(6, usuarioId);
+                stmt.setLong(7, usuarioId);
+                stmt.setInt(8, limite);
+            } else {
+                stmt.setInt(1, mes.getYear());
+                stmt.setInt(2, mes.getYear());
+                stmt.setInt(3, mes.getMonthValue());
+                stmt.setLong(4, usuarioId);
+                stmt.setLong(5, usuarioId);
+                stmt.setInt(6, limite);
+            }
+
+            DashboardSnapshot snapshot = new DashboardSnapshot();
+            snapshot.setUsuarioId(usuarioId);
+            List<LinhaTransacao> recentes = new ArrayList<>();
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = TransacaoDAOImpl.LINHAS.leitor(sql, rs);
+                boolean primeira = true;
+                while (rs.next()) {
+                    if (primeira) {
+                        primeira = false;
+                        snapshot.setReceitasMes(rs.getBigDecimal("receitas_mes"));
+                        snapshot.setDespesasMes(rs.getBigDecimal("despesas_mes"));
+                        snapshot.setQuantidadeMes(Math.toIntExact(rs.getLong("quantidade_mes")));
+                        snapshot.setReceitasAno(rs.getBigDecimal("receitas_ano"));
+                        snapshot.setDespesasAno(rs.getBigDecimal("despesas_ano"));
+                        snapshot.setQuantidadeAno(Math.toIntExact(rs.getLong("quantidade_ano")));
+                        snapshot.setReceitasTotal(rs.getBigDecimal("receitas_total"));
+                        snapshot.setDespesasTotal(rs.getBigDecimal("despesas_total"));
+                        snapshot.setQuantidadeTotal(rs.getLong("quantidade_total"));
+                    }
+                    if (rs.getObject("id") != null) {
+                        recentes.add(leitor.ler(rs));
+                    }
+                }
+            }
+
+            snapshot.setPossuiTransacoes(snapshot.getQuantidadeTotal() > 0);
+            snapshot.setUltimasTransacoes(recentes);
+            return snapshot;
+        }
+    }
+}
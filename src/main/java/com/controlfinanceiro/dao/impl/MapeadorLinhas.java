@@ -0,0 +1,81 @@
+package com.controlfinanceiro.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converte linhas de ResultSet em objetos lendo as colunas pelo índice. Na primeira
+ * execução de cada SQL os índices das colunas são descobertos pelo ResultSetMetaData
+ * e guardados; daí em diante nenhuma coluna é procurada pelo nome.
+ *
+ * Cada DAO declara um mapeador por entidade com os nomes das colunas que lê; a função
+ * de mapeamento recebe os índices na mesma ordem. Uma coluna que a consulta não traz
+ * fica com índice AUSENTE, e a função decide o que fazer sem precisar de exceção.
+ */
+final class MapeadorLinhas<T> {
+
+    static final int AUSENTE = 0;
+
+    @FunctionalInterface
+    interface Mapeamento<T> {
+        T mapear(ResultSet rs, int[] colunas) throws SQLException;
+    }
+
+    /**
+     * Lê as linhas de um ResultSet com os índices já resolvidos
+     */
+    static final class Leitor<T> {
+        private final Mapeamento<T> mapeamento;
+        private final int[] colunas;
+
+        private Leitor(Mapeamento<T> mapeamento, int[] colunas) {
+            this.mapeamento = mapeamento;
+            this.colunas = colunas;
+        }
+
+        T ler(ResultSet rs) throws SQLException {
+            return mapeamento.mapear(rs, colunas);
+        }
+    }
+
+    private final String[] nomes;
+    private final Mapeamento<T> mapeamento;
+
+    // Um array de índices por SQL; as consultas de cada DAO são poucas e fixas
+    private final Map<String, int[]> colunasPorSql = new ConcurrentHashMap<>();
+
+    MapeadorLinhas(Mapeamento<T> mapeamento, String... nomes) {
+        this.mapeamento = mapeamento;
+        this.nomes = nomes;
+    }
+
+    /**
+     * Leitor para o ResultSet de uma execução do SQL informado. Chame uma vez, antes
+     * do laço das linhas.
+     */
+    Leitor<T> leitor(String sql, ResultSet rs) throws SQLException {
+        int[] colunas = colunasPorSql.get(sql);
+        if (colunas == null) {
+            colunas = resolver(rs.getMetaData());
+            colunasPorSql.put(sql, colunas);
+        }
+        return new Leitor<>(mapeamento, colunas);
+    }
+
+    private int[] resolver(ResultSetMetaData metaData) throws SQLException {
+        int[] colunas = new int[nomes.length];
+        for (int indice = metaData.getColumnCount(); indice >= 1; indice--) {
+            String rotulo = metaData.getColumnLabel(indice);
+            for (int i = 0; i < nomes.length; i++) {
+                // Percorre de trás para frente: com rótulos repetidos vale o primeiro, como no getXxx(String)
+                if (nomes[i].equalsIgnoreCase(rotulo)) {
+                    colunas[i] = indice;
+                }
+            }
+        }
+        return colunas;
+    }
+}
@@ -2,19 +2,26 @@ package com.controlfinanceiro.dao.impl;
 
 import com.controlfinanceiro.dao.OrcamentoDAO;
 import com.controlfinanceiro.model.Orcamento;
-import com.controlfinanceiro.model.Categoria;
 import com.controlfinanceiro.exception.DAOException;
 import com.controlfinanceiro.util.ConnectionFactory;
 
 import java.sql.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 public class OrcamentoDAOImpl implements OrcamentoDAO {
 
+    private static final int ID = 0, CATEGORIA_ID = 1, VALOR_LIMITE = 2, MES = 3, ANO = 4, DESCRICAO = 5, ATIVO = 6,
+        DATA_CRIACAO = 7, DATA_ATUALIZACAO = 8;
+
+    private static final MapeadorLinhas<Orcamento> ORCAMENTOS = new MapeadorLinhas<>(OrcamentoDAOImpl::mapearOrcamento,
+        "id", "categoria_id", "valor_limite", "mes", "ano", "descricao", "ativo", "data_criacao", "data_atualizacao");
+
     private static final String INSERT_SQL =
         "INSERT INTO orcamento (categoria_id, valor_limite, mes, ano, descricao, ativo, data_criacao, data_atualizacao) " +
         "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
@@ -26,33 +33,39 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
         "DELETE FROM orcamento WHERE id = ?";
 
     private static final String SELECT_BY_ID_SQL =
-        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM orcamento o LEFT JOIN categoria c ON o.categoria_id = c.id WHERE o.id = ?";
+        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao " +
+        "FROM orcamento o WHERE o.id = ?";
 
     private static final String SELECT_ALL_SQL =
-        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM orcamento o LEFT JOIN categoria c ON o.categoria_id = c.id WHERE o.ativo = true ORDER BY o.ano DESC, o.mes DESC";
+        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao " +
+        "FROM orcamento o WHERE o.ativo = true ORDER BY o.ano DESC, o.mes DESC";
 
     private static final String SELECT_BY_CATEGORIA_SQL =
-        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM orcamento o LEFT JOIN categoria c ON o.categoria_id = c.id " +
+        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao " +
+        "FROM orcamento o " +
         "WHERE o.ativo = true AND o.categoria_id = ? ORDER BY o.ano DESC, o.mes DESC";
 
     private static final String SELECT_BY_PERIOD_SQL =
-        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM orcamento o LEFT JOIN categoria c ON o.categoria_id = c.id " +
-        "WHERE o.ativo = true AND o.mes = ? AND o.ano = ? ORDER BY c.nome";
+        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao " +
+        "FROM orcamento o " +
+        "WHERE o.ativo = true AND o.mes = ? AND o.ano = ?";
 
     private static final String SELECT_BY_CATEGORIA_PERIOD_SQL =
-        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM orcamento o LEFT JOIN categoria c ON o.categoria_id = c.id " +
+        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao " +
+        "FROM orcamento o " +
         "WHERE o.ativo = true AND o.categoria_id = ? AND o.mes = ? AND o.ano = ?";
 
+    // Equivale a sp_relatorio_orcamento_vs_real, mas filtra a data por intervalo
+    // (em vez de MONTH()/YEAR()) para usar o índice de transacao
+    private static final String SELECT_COM_GASTO_BY_USUARIO_PERIOD_SQL =
+        "SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao, " +
+        "COALESCE(SUM(t.valor), 0) as valor_gasto " +
+        "FROM orcamento o " +
+        "LEFT JOIN transacao t ON t.usuario_id = o.usuario_id AND t.categoria_id = o.categoria_id " +
+        "AND t.ativo = true AND t.tipo = 'DESPESA' AND t.data_transacao >= ? AND t.data_transacao < ? " +
+        "WHERE o.ativo = true AND o.usuario_id = ? AND o.mes = ? AND o.ano = ? " +
+        "GROUP BY o.id";
+
     private static final String EXISTS_BY_CATEGORIA_PERIOD_SQL =
         "SELECT COUNT(*) FROM orcamento WHERE categoria_id = ? AND mes = ? AND ano = ? AND ativo = true";
 
@@ -160,8 +173,9 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(SELECT_BY_ID_SQL, rs);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToOrcamento(rs));
+                    return Optional.of(leitor.ler(rs));
                 }
             }
 
@@ -180,8 +194,9 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
+            MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(SELECT_ALL_SQL, rs);
             while (rs.next()) {
-                orcamentos.add(mapResultSetToOrcamento(rs));
+                orcamentos.add(leitor.ler(rs));
             }
 
         } catch (SQLException e) {
@@ -202,8 +217,9 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
             stmt.setInt(2, ano);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(SELECT_BY_PERIOD_SQL, rs);
                 while (rs.next()) {
-                    orcamentos.add(mapResultSetToOrcamento(rs));
+                    orcamentos.add(leitor.ler(rs));
                 }
             }
 
@@ -211,6 +227,7 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
             throw new DAOException("Erro ao buscar orçamentos por período: " + e.getMessage(), e);
         }
 
+        ordenarPorCategoria(orcamentos);
         return orcamentos;
     }
 
@@ -228,8 +245,9 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
             stmt.setLong(1, categoriaId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(SELECT_BY_CATEGORIA_SQL, rs);
                 while (rs.next()) {
-                    orcamentos.add(mapResultSetToOrcamento(rs));
+                    orcamentos.add(leitor.ler(rs));
                 }
             }
 
@@ -256,8 +274,9 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
             stmt.setInt(3, ano);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(SELECT_BY_CATEGORIA_PERIOD_SQL, rs);
                 while (rs.next()) {
-                    orcamentos.add(mapResultSetToOrcamento(rs));
+                    orcamentos.add(leitor.ler(rs));
                 }
             }
 
@@ -301,12 +320,9 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
         }
 
         String sql = """
-            SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao,
-                   c.nome as categoria_nome, c.descricao as categoria_descricao
-            FROM orcamento o 
-            LEFT JOIN categoria c ON o.categoria_id = c.id
+            SELECT o.id, o.categoria_id, o.valor_limite, o.mes, o.ano, o.descricao, o.ativo, o.data_criacao, o.data_atualizacao
+            FROM orcamento o
             WHERE o.ativo = true AND o.usuario_id = ? AND o.mes = ? AND o.ano = ?
-            ORDER BY c.nome
             """;
 
         try (Connection conn = ConnectionFactory.getConnection();
@@ -317,10 +333,12 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
             stmt.setInt(3, ano);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(sql, rs);
                 List<Orcamento> orcamentos = new ArrayList<>();
                 while (rs.next()) {
-                    orcamentos.add(mapResultSetToOrcamento(rs));
+                    orcamentos.add(leitor.ler(rs));
                 }
+                ordenarPorCategoria(orcamentos);
                 return orcamentos;
             }
 
@@ -329,25 +347,67 @@ public class OrcamentoDAOImpl implements OrcamentoDAO {
         }
     }
 
-    private Orcamento mapResultSetToOrcamento(ResultSet rs) throws SQLException {
-        Orcamento orcamento = new Orcamento();
-        orcamento.setId(rs.getLong("id"));
-        orcamento.setCategoriaId(rs.getLong("categoria_id"));
-        orcamento.setValorLimite(rs.getBigDecimal("valor_limite"));
-        orcamento.setMes(rs.getInt("mes"));
-        orcamento.setAno(rs.getInt("ano"));
-        orcamento.setDescricao(rs.getString("descricao"));
-        orcamento.setAtivo(rs.getBoolean("ativo"));
-        orcamento.setDataCriacao(rs.getTimestamp("data_criacao").toLocalDateTime());
-        orcamento.setDataAtualizacao(rs.getTimestamp("data_atualizacao").toLocalDateTime());
-
-        if (rs.getString("categoria_nome") != null) {
-            Categoria categoria = new Categoria();
-            categoria.setId(rs.getLong("categoria_id"));
-            categoria.setNome(rs.getString("categoria_nome"));
-            categoria.setDescricao(rs.getString("categoria_descricao"));
-            orcamento.setCategoria(categoria);
+    @Override
+    public List<Orcamento> buscarComGastoPorUsuarioEPeriodo(Long usuarioId, int mes, int ano) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
         }
+        if (mes < 1 || mes > 12) {
+            throw new DAOException("Mês inválido: " + mes);
+        }
+
+        LocalDate inicioMes = LocalDate.of(ano, mes, 1);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_COM_GASTO_BY_USUARIO_PERIOD_SQL)) {
+
+            stmt.setDate(1, Date.valueOf(inicioMes));
+            stmt.setDate(2, Date.valueOf(inicioMes.plusMonths(1)));
+            stmt.setLong(3, usuarioId);
+            stmt.setInt(4, mes);
+            stmt.setInt(5, ano);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Orcamento> leitor = ORCAMENTOS.leitor(SELECT_COM_GASTO_BY_USUARIO_PERIOD_SQL, rs);
+                List<Orcamento> orcamentos = new ArrayList<>();
+                while (rs.next()) {
+                    Orcamento orcamento = leitor.ler(rs);
+                    orcamento.setValorGasto(rs.getBigDecimal("valor_gasto"));
+                    orcamentos.add(orcamento);
+                }
+                ordenarPorCategoria(orcamentos);
+                return orcamentos;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao buscar orçamentos com gastos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ordena pelo nome da categoria (sem categoria primeiro), como o antigo ORDER BY c.nome
+     */
+    private void ordenarPorCategoria(List<Orcamento> orcamentos) {
+        orcamentos.sort(Comparator.comparing(
+            (Orcamento o) -> o.getCategoria() != null ? o.getCategoria().getNome() : null,
+            OrdemNomes.comparador()));
+    }
+
+    private static Orcamento mapearOrcamento(ResultSet rs, int[] c) throws SQLException {
+        Orcamento orcamento = new Orcamento();
+        orcamento.setId(rs.getLong(c[ID]));
+        Long categoriaId = rs.getObject(c[CATEGORIA_ID], Long.class);
+        orcamento.setCategoriaId(categoriaId != null ? categoriaId : 0L);
+        orcamento.setValorLimite(rs.getBigDecimal(c[VALOR_LIMITE]));
+        orcamento.setMes(rs.getInt(c[MES]));
+        orcamento.setAno(rs.getInt(c[ANO]));
+        orcamento.setDescricao(rs.getString(c[DESCRICAO]));
+        orcamento.setAtivo(rs.getBoolean(c[ATIVO]));
+        orcamento.setDataCriacao(rs.getTimestamp(c[DATA_CRIACAO]).toLocalDateTime());
+        orcamento.setDataAtualizacao(rs.getTimestamp(c[DATA_ATUALIZACAO]).toLocalDateTime());
+
+        // Uma recarga das categorias usa a mesma conexão, que segue emprestada durante a leitura
+        orcamento.setCategoria(CacheCategorias.buscar(rs.getStatement().getConnection(), categoriaId));
 
         return orcamento;
     }
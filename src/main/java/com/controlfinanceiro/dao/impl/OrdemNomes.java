@@ -0,0 +1,33 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.util.FormatUtils;
+
+import java.text.Collator;
+import java.util.Comparator;
+
+/**
+ * Ordem dos nomes de categoria depois que as junções com categoria saíram do SQL.
+ * Segue o antigo ORDER BY c.nome na collation utf8mb4_general_ci: alfabética em pt-BR,
+ * sem diferenciar maiúsculas nem acentos ("água" junto de "Alimentação", não depois
+ * de "Z"), com os nulos (sem categoria) primeiro.
+ */
+final class OrdemNomes {
+
+    private static final Collator PT_BR = Collator.getInstance(FormatUtils.LOCALE_BR);
+
+    static {
+        PT_BR.setStrength(Collator.PRIMARY);
+    }
+
+    private OrdemNomes() {
+    }
+
+    /**
+     * Comparador para uma ordenação. Cada chamada usa uma cópia do Collator, que
+     * sincroniza o compare e não deve ser disputado entre threads.
+     */
+    static Comparator<String> comparador() {
+        Collator collator = (Collator) PT_BR.clone();
+        return Comparator.nullsFirst(collator::compare);
+    }
+}
@@ -0,0 +1,132 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.dao.ResumoMensalDAO;
+import com.controlfinanceiro.model.ResumoMensal;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.util.ConnectionFactory;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResumoMensalDAOImpl implements ResumoMensalDAO {
+
+    private static final String SELECT_BY_USUARIO_AND_PERIOD_SQL =
+        "SELECT usuario_id, ano, mes, categoria_id, tipo, total, quantidade FROM resumo_mensal " +
+        "WHERE usuario_id = ? AND ano BETWEEN ? AND ? AND ano * 12 + mes BETWEEN ? AND ? AND quantidade > 0 " +
+        "ORDER BY ano, mes, categoria_id, tipo";
+
+    // Mesmas colunas, agrupando transacao, para bancos em que a migração V2 ainda não criou resumo_mensal
+    private static final String CALCULATE_BY_USUARIO_AND_PERIOD_SQL =
+        "SELECT usuario_id, YEAR(data_transacao) as ano, MONTH(data_transacao) as mes, " +
+        "COALESCE(categoria_id, 0) as categoria_id, tipo, SUM(valor) as total, COUNT(*) as quantidade " +
+        "FROM transacao WHERE usuario_id = ? AND ativo = true AND data_transacao BETWEEN ? AND ? " +
+        "GROUP BY usuario_id, YEAR(data_transacao), MONTH(data_transacao), COALESCE(categoria_id, 0), tipo " +
+        "ORDER BY ano, mes, categoria_id, tipo";
+
+    private static final String DELETE_ALL_SQL =
+        "DELETE FROM resumo_mensal";
+
+    private static final String DELETE_BY_USUARIO_SQL =
+        "DELETE FROM resumo_mensal WHERE usuario_id = ?";
+
+    private static final String REBUILD_SQL =
+        "INSERT INTO resumo_mensal (usuario_id, ano, mes, categoria_id, tipo, total, quantidade) " +
+        "SELECT usuario_id, YEAR(data_transacao), MONTH(data_transacao), COALESCE(categoria_id, 0), tipo, SUM(valor), COUNT(*) " +
+        "FROM transacao WHERE ativo = true %s" +
+        "GROUP BY usuario_id, YEAR(data_transacao), MONTH(data_transacao), COALESCE(categoria_id, 0), tipo";
+
+    @Override
+    public List<ResumoMensal> buscarPorUsuarioEPeriodo(Long usuarioId, YearMonth inicio, YearMonth fim) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+        if (inicio == null || fim == null) {
+            throw new DAOException("Meses de início e fim são obrigatórios");
+        }
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            boolean mantido = TabelasTotais.possuiResumoMensal(conn);
+
+            try (PreparedStatement stmt = conn.prepareStatement(mantido
+                    ? SELECT_BY_USUARIO_AND_PERIOD_SQL : CALCULATE_BY_USUARIO_AND_PERIOD_SQL)) {
+                stmt.setLong(1, usuarioId);
+                if (mantido) {
+                    stmt.setInt(2, inicio.getYear());
+                    stmt.setInt(3, fim.getYear());
+                    stmt.setInt(4, inicio.getYear() * 12 + inicio.getMonthValue());
+                    stmt.setInt(5, fim.getYear() * 12 + fim.getMonthValue());
+                } else {
+                    stmt.setDate(2, Date.valueOf(inicio.atDay(1)));
+                    stmt.setDate(3, Date.valueOf(fim.atEndOfMonth()));
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<ResumoMensal> resumos = new ArrayList<>();
+                    while (rs.next()) {
+                        resumos.add(mapResultSetToResumoMensal(rs));
+                    }
+                    return resumos;
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao buscar resumo mensal: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int reconstruir() throws DAOException {
+        return reconstruir(DELETE_ALL_SQL, String.format(REBUILD_SQL, ""), null);
+    }
+
+    @Override
+    public int reconstruir(Long usuarioId) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+        return reconstruir(DELETE_BY_USUARIO_SQL, String.format(REBUILD_SQL, "AND usuario_id = ? "), usuarioId);
+    }
+
+    private int reconstruir(String deleteSql, String insertSql, Long usuarioId) throws DAOException {
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            if (!TabelasTotais.possuiResumoMensal(conn)) {
+                throw new DAOException("Tabela resumo_mensal não existe neste banco: aplique a migração V2 antes de reconstruí-la");
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+
+                if (usuarioId != null) {
+                    delete.setLong(1, usuarioId);
+                    insert.setLong(1, usuarioId);
+                }
+                delete.executeUpdate();
+                int linhas = insert.executeUpdate();
+                conn.commit();
+                return linhas;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao reconstruir resumo mensal: " + e.getMessage(), e);
+        }
+    }
+
+    private ResumoMensal mapResultSetToResumoMensal(ResultSet rs) throws SQLException {
+        long categoriaId = rs.getLong("categoria_id");
+        return new ResumoMensal(
+            rs.getLong("usuario_id"),
+            rs.getInt("ano"),
+            rs.getInt("mes"),
+            categoriaId == 0 ? null : categoriaId,
+            TipoTransacao.valueOf(rs.getString("tipo")),
+            rs.getBigDecimal("total"),
+            rs.getLong("quantidade"));
+    }
+}
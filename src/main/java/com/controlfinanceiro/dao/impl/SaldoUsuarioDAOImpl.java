@@ -0,0 +1,175 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.dao.SaldoUsuarioDAO;
+import com.controlfinanceiro.model.DivergenciaSaldo;
+import com.controlfinanceiro.model.SaldoUsuario;
+import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.util.ConnectionFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class SaldoUsuarioDAOImpl implements SaldoUsuarioDAO {
+
+    private static final String SELECT_BY_USUARIO_SQL =
+        "SELECT usuario_id, total_receitas, total_despesas, quantidade FROM saldo_usuario WHERE usuario_id = ?";
+
+    private static final String SELECT_ALL_SQL =
+        "SELECT usuario_id, total_receitas, total_despesas, quantidade FROM saldo_usuario";
+
+    // Mesmas colunas, somando transacao, para bancos em que a migração V3 ainda não criou saldo_usuario
+    private static final String CALCULATE_BY_USUARIO_SQL =
+        "SELECT ? as usuario_id, " +
+        "COALESCE(SUM(CASE WHEN tipo = 'RECEITA' THEN valor END), 0) as total_receitas, " +
+        "COALESCE(SUM(CASE WHEN tipo = 'DESPESA' THEN valor END), 0) as total_despesas, " +
+        "COUNT(*) as quantidade " +
+        "FROM transacao WHERE ativo = true AND usuario_id = ?";
+
+    private static final String CALCULATE_ALL_SQL =
+        "SELECT usuario_id, " +
+        "COALESCE(SUM(CASE WHEN tipo = 'RECEITA' THEN valor END), 0) as total_receitas, " +
+        "COALESCE(SUM(CASE WHEN tipo = 'DESPESA' THEN valor END), 0) as total_despesas, " +
+        "COUNT(*) as quantidade " +
+        "FROM transacao WHERE ativo = true GROUP BY usuario_id";
+
+    private static final String DELETE_BY_USUARIO_SQL =
+        "DELETE FROM saldo_usuario WHERE usuario_id = ?";
+
+    private static final String REBUILD_BY_USUARIO_SQL =
+        "INSERT INTO saldo_usuario (usuario_id, total_receitas, total_despesas, quantidade) " +
+        "SELECT usuario_id, " +
+        "COALESCE(SUM(CASE WHEN tipo = 'RECEITA' THEN valor END), 0), " +
+        "COALESCE(SUM(CASE WHEN tipo = 'DESPESA' THEN valor END), 0), " +
+        "COUNT(*) " +
+        "FROM transacao WHERE ativo = true AND usuario_id = ? GROUP BY usuario_id";
+
+    @Override
+    public SaldoUsuario buscarPorUsuario(Long usuarioId) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            boolean mantido = TabelasTotais.possuiSaldoUsuario(conn);
+
+            try (PreparedStatement stmt = conn.prepareStatement(mantido ? SELECT_BY_USUARIO_SQL : CALCULATE_BY_USUARIO_SQL)) {
+                stmt.setLong(1, usuarioId);
+                if (!mantido) {
+                    stmt.setLong(2, usuarioId);
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return mapResultSetToSaldoUsuario(rs);
+                    }
+                }
+            }
+
+            return vazio(usuarioId);
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao buscar saldo do usuário: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * As duas leituras são feitas na mesma transação, que no InnoDB enxerga um único
+     * instantâneo do banco: gravações concorrentes não aparecem como divergência.
+     */
+    @Override
+    public List<DivergenciaSaldo> verificar() throws DAOException {
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            exigirSaldoUsuario(conn);
+            conn.setAutoCommit(false);
+            try {
+                Map<Long, SaldoUsuario> registrados = lerSaldos(conn, SELECT_ALL_SQL);
+                Map<Long, SaldoUsuario> calculados = lerSaldos(conn, CALCULATE_ALL_SQL);
+                conn.commit();
+
+                TreeSet<Long> usuarios = new TreeSet<>(registrados.keySet());
+                usuarios.addAll(calculados.keySet());
+
+                List<DivergenciaSaldo> divergencias = new ArrayList<>();
+                for (Long usuarioId : usuarios) {
+                    SaldoUsuario registrado = registrados.getOrDefault(usuarioId, vazio(usuarioId));
+                    SaldoUsuario calculado = calculados.getOrDefault(usuarioId, vazio(usuarioId));
+                    if (!registrado.temMesmosTotais(calculado)) {
+                        divergencias.add(new DivergenciaSaldo(usuarioId, registrado, calculado));
+                    }
+                }
+                return divergencias;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao verificar saldos: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void reconstruir(Long usuarioId) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            exigirSaldoUsuario(conn);
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(DELETE_BY_USUARIO_SQL);
+                 PreparedStatement insert = conn.prepareStatement(REBUILD_BY_USUARIO_SQL)) {
+
+                delete.setLong(1, usuarioId);
+                delete.executeUpdate();
+                insert.setLong(1, usuarioId);
+                insert.executeUpdate();
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao reconstruir saldo do usuário: " + e.getMessage(), e);
+        }
+    }
+
+    private void exigirSaldoUsuario(Connection conn) throws DAOException {
+        if (!TabelasTotais.possuiSaldoUsuario(conn)) {
+            throw new DAOException("Tabela saldo_usuario não existe neste banco: aplique a migração V3");
+        }
+    }
+
+    private Map<Long, SaldoUsuario> lerSaldos(Connection conn, String sql) throws SQLException {
+        Map<Long, SaldoUsuario> saldos = new TreeMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                SaldoUsuario saldo = mapResultSetToSaldoUsuario(rs);
+                saldos.put(saldo.getUsuarioId(), saldo);
+            }
+        }
+        return saldos;
+    }
+
+    private SaldoUsuario vazio(Long usuarioId) {
+        SaldoUsuario saldo = new SaldoUsuario();
+        saldo.setUsuarioId(usuarioId);
+        return saldo;
+    }
+
+    private SaldoUsuario mapResultSetToSaldoUsuario(ResultSet rs) throws SQLException {
+        return new SaldoUsuario(
+            rs.getLong("usuario_id"),
+            rs.getBigDecimal("total_receitas"),
+            rs.getBigDecimal("total_despesas"),
+            rs.getLong("quantidade"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.util.MigracaoBanco;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Indica se as tabelas de totais mantidos já existem no banco.
+ *
+ * resumo_mensal e saldo_usuario são criadas pelas migrações V2 e V3; um banco criado só
+ * com script_banco.sql, ou com db.migrations.enabled=false, não as tem. Até lá as
+ * gravações não mexem nelas e as leituras somam direto de transacao. Nada se perde: as
+ * migrações fazem a carga inicial a partir das transações existentes.
+ */
+final class TabelasTotais {
+
+    static final int VERSAO_RESUMO_MENSAL = 2;
+    static final int VERSAO_SALDO_USUARIO = 3;
+
+    // Maior versão já vista. Só cresce: as migrações podem rodar depois (outra instância),
+    // então enquanto a versão for menor schema_versao é consultada de novo a cada chamada
+    private static final AtomicInteger versaoConhecida = new AtomicInteger();
+
+    private TabelasTotais() {
+    }
+
+    static boolean possuiResumoMensal(Connection conn) {
+        return possui(conn, VERSAO_RESUMO_MENSAL);
+    }
+
+    static boolean possuiSaldoUsuario(Connection conn) {
+        return possui(conn, VERSAO_SALDO_USUARIO);
+    }
+
+    private static boolean possui(Connection conn, int versao) {
+        if (versaoConhecida.get() >= versao) {
+            return true;
+        }
+        return versaoConhecida.accumulateAndGet(MigracaoBanco.versaoAplicada(conn), Math::max) >= versao;
+    }
+
+    // Para os testes, que simulam bancos em versões diferentes
+    static void esquecer() {
+        versaoConhecida.set(0);
+    }
+}
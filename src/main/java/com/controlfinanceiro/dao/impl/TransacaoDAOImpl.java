@@ -1,10 +1,17 @@
 package com.controlfinanceiro.dao.impl;
 
+import com.controlfinanceiro.dao.FiltroTransacao;
+import com.controlfinanceiro.dao.Pagina;
+import com.controlfinanceiro.dao.PosicaoTransacao;
+import com.controlfinanceiro.dao.ResultadoLote;
 import com.controlfinanceiro.dao.TransacaoDAO;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.TotalCategoria;
 import com.controlfinanceiro.model.Transacao;
 import com.controlfinanceiro.model.Categoria;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.exception.DAORuntimeException;
 import com.controlfinanceiro.util.ConnectionFactory;
 
 import java.sql.*;
@@ -12,12 +19,32 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TransacaoDAOImpl implements TransacaoDAO {
 
     // SQL atualizado para incluir usuario_id
+    // Posições em COLUNAS; os mapeamentos recebem o índice de cada coluna no ResultSet
+    private static final int ID = 0, DESCRICAO = 1, VALOR = 2, DATA_TRANSACAO = 3, TIPO = 4, CATEGORIA_ID = 5,
+        OBSERVACOES = 6, USUARIO_ID = 7, ATIVO = 8, DATA_CRIACAO = 9, DATA_ATUALIZACAO = 10;
+    private static final String[] COLUNAS = {"id", "descricao", "valor", "data_transacao", "tipo", "categoria_id",
+        "observacoes", "usuario_id", "ativo", "data_criacao", "data_atualizacao"};
+
+    // LINHAS também é usado pelo DashboardDAOImpl, que lê as transações recentes junto com os totais
+    static final MapeadorLinhas<LinhaTransacao> LINHAS = new MapeadorLinhas<>(TransacaoDAOImpl::mapearLinha, COLUNAS);
+    private static final MapeadorLinhas<Transacao> TRANSACOES =
+        new MapeadorLinhas<>(TransacaoDAOImpl::mapearTransacao, COLUNAS);
+
     private static final String INSERT_SQL =
         "INSERT INTO transacao (descricao, valor, data_transacao, tipo, categoria_id, usuario_id, observacoes, ativo, data_criacao, data_atualizacao) " +
         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -28,65 +55,88 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     private static final String DELETE_SQL =
         "DELETE FROM transacao WHERE id = ?";
 
+    // Estado gravado das transações que serão alteradas, bloqueado até o commit para
+    // que resumo_mensal e saldo_usuario recebam a variação correta mesmo com edições concorrentes
+    private static final String SELECT_ANTERIOR_SQL =
+        "SELECT id, usuario_id, valor, data_transacao, tipo, categoria_id, ativo FROM transacao WHERE id IN (%s) FOR UPDATE";
+
     // SQLs compatíveis com a estrutura atual do banco (sem usuario_id)
     private static final String SELECT_BY_ID_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id WHERE t.id = ?";
+        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.usuario_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao " +
+        "FROM transacao t WHERE t.id = ?";
+
+    // Colunas lidas pelas listagens
+    private static final String COLUNAS_LINHA =
+        "t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes ";
 
     private static final String SELECT_ALL_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id WHERE t.ativo = true ORDER BY t.data_transacao DESC";
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t WHERE t.ativo = true ORDER BY t.data_transacao DESC";
 
     private static final String SELECT_BY_PERIOD_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
         "WHERE t.ativo = true AND t.data_transacao BETWEEN ? AND ? ORDER BY t.data_transacao DESC";
 
     private static final String SELECT_BY_CATEGORIA_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
         "WHERE t.ativo = true AND t.categoria_id = ? ORDER BY t.data_transacao DESC";
 
     private static final String SELECT_BY_TIPO_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
         "WHERE t.ativo = true AND t.tipo = ? ORDER BY t.data_transacao DESC";
 
     private static final String SELECT_BY_DESCRICAO_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
         "WHERE t.ativo = true AND LOWER(t.descricao) LIKE LOWER(?) ORDER BY t.data_transacao DESC";
 
     // SQLs para filtrar por usuário
     private static final String SELECT_BY_USUARIO_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.usuario_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
         "WHERE t.ativo = true AND t.usuario_id = ? ORDER BY t.data_transacao DESC";
 
     private static final String SELECT_BY_USUARIO_AND_PERIOD_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.usuario_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
-        "WHERE t.ativo = true AND t.usuario_id = ? AND t.data_transacao BETWEEN ? AND ? ORDER BY t.data_transacao DESC";
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
+        "WHERE t.ativo = true AND t.usuario_id = ? AND t.data_transacao BETWEEN ? AND ? ORDER BY t.data_transacao DESC, t.id DESC";
 
     private static final String SELECT_BY_USUARIO_AND_TIPO_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.usuario_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
         "WHERE t.ativo = true AND t.usuario_id = ? AND t.tipo = ? ORDER BY t.data_transacao DESC";
 
     private static final String SELECT_ULTIMAS_BY_USUARIO_SQL =
-        "SELECT t.id, t.descricao, t.valor, t.data_transacao, t.tipo, t.categoria_id, t.usuario_id, t.observacoes, t.ativo, t.data_criacao, t.data_atualizacao, " +
-        "c.nome as categoria_nome, c.descricao as categoria_descricao " +
-        "FROM transacao t LEFT JOIN categoria c ON t.categoria_id = c.id " +
-        "WHERE t.ativo = true AND t.usuario_id = ? ORDER BY t.data_transacao DESC LIMIT ?";
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
+        "WHERE t.ativo = true AND t.usuario_id = ? ORDER BY t.data_transacao DESC, t.id DESC LIMIT ?";
+
+    private static final String TOTAL_POR_CATEGORIA_SQL =
+        "SELECT t.categoria_id, t.tipo, SUM(t.valor) as total, COUNT(*) as quantidade " +
+        "FROM transacao t " +
+        "WHERE t.ativo = true AND t.usuario_id = ? " +
+        "GROUP BY t.categoria_id, t.tipo";
+
+    private static final String TOTAL_POR_CATEGORIA_E_PERIODO_SQL =
+        "SELECT t.categoria_id, t.tipo, SUM(t.valor) as total, COUNT(*) as quantidade " +
+        "FROM transacao t " +
+        "WHERE t.ativo = true AND t.usuario_id = ? AND t.data_transacao BETWEEN ? AND ? " +
+        "GROUP BY t.categoria_id, t.tipo";
+
+    private static final String SELECT_PAGINA_SQL =
+        "SELECT " + COLUNAS_LINHA +
+        "FROM transacao t " +
+        "WHERE t.ativo = true AND t.usuario_id = ?";
+
+    // Só a chave da ordenação: resolvida pelos índices (usuario_id, ativo, ..., data_transacao, id)
+    private static final String SELECT_CHAVES_SQL =
+        "SELECT t.data_transacao, t.id FROM transacao t WHERE t.ativo = true AND t.usuario_id = ?";
+
+    private static final String COUNT_FILTRO_SQL =
+        "SELECT COUNT(*) FROM transacao t WHERE t.ativo = true AND t.usuario_id = ?";
 
     private static final String CALCULATE_TOTAL_BY_USUARIO_AND_TIPO_SQL =
         "SELECT COALESCE(SUM(valor), 0) FROM transacao WHERE ativo = true AND usuario_id = ? AND tipo = ?";
@@ -103,29 +153,34 @@ public class TransacaoDAOImpl implements TransacaoDAO {
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setString(1, transacao.getDescricao());
-            stmt.setBigDecimal(2, transacao.getValor());
-            stmt.setDate(3, Date.valueOf(transacao.getDataTransacao()));
-            stmt.setString(4, transacao.getTipo().name());
-            stmt.setObject(5, transacao.getCategoriaId());
-            stmt.setLong(6, transacao.getUsuarioId());
-            stmt.setString(7, transacao.getObservacao());
-            stmt.setBoolean(8, transacao.isAtivo());
-            stmt.setTimestamp(9, Timestamp.valueOf(transacao.getDataCriacao()));
-            stmt.setTimestamp(10, Timestamp.valueOf(transacao.getDataAtualizacao()));
+            conn.setAutoCommit(false);
+            try {
+                preencherInsert(stmt, transacao);
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new DAOException("Falha ao salvar transação");
-            }
+                int rowsAffected = stmt.executeUpdate();
+                if (rowsAffected == 0) {
+                    throw new DAOException("Falha ao salvar transação");
+                }
 
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    transacao.setId(generatedKeys.getLong(1));
+                Long id = null;
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        id = generatedKeys.getLong(1);
+                    }
                 }
-            }
 
-            return transacao;
+                VariacoesTotais totais = new VariacoesTotais();
+                totais.adicionar(transacao);
+                totais.gravar(conn);
+
+                conn.commit();
+                transacao.setId(id);
+                return transacao;
+
+            } catch (SQLException | DAOException e) {
+                desfazer(conn);
+                throw e;
+            }
 
         } catch (SQLException e) {
             throw new DAOException("Erro ao salvar transação: " + e.getMessage(), e);
@@ -141,31 +196,333 @@ public class TransacaoDAOImpl implements TransacaoDAO {
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
 
-            transacao.setDataAtualizacao(LocalDateTime.now());
+            conn.setAutoCommit(false);
+            try {
+                Transacao anterior = buscarAnteriores(conn, List.of(transacao.getId())).get(transacao.getId());
 
-            stmt.setString(1, transacao.getDescricao());
-            stmt.setBigDecimal(2, transacao.getValor());
-            stmt.setDate(3, Date.valueOf(transacao.getDataTransacao()));
-            stmt.setString(4, transacao.getTipo().name());
-            stmt.setObject(5, transacao.getCategoriaId());
-            stmt.setLong(6, transacao.getUsuarioId());
-            stmt.setString(7, transacao.getObservacao());
-            stmt.setBoolean(8, transacao.isAtivo());
-            stmt.setTimestamp(9, Timestamp.valueOf(transacao.getDataAtualizacao()));
-            stmt.setLong(10, transacao.getId());
+                transacao.setDataAtualizacao(LocalDateTime.now());
+                preencherUpdate(stmt, transacao);
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new DAOException("Transação não encontrada para atualizar");
-            }
+                int rowsAffected = stmt.executeUpdate();
+                if (rowsAffected == 0 || anterior == null) {
+                    throw new DAOException("Transação não encontrada para atualizar");
+                }
+
+                VariacoesTotais totais = new VariacoesTotais();
+                totais.remover(anterior);
+                totais.adicionar(transacao);
+                totais.gravar(conn);
 
-            return transacao;
+                conn.commit();
+                return transacao;
+
+            } catch (SQLException | DAOException e) {
+                desfazer(conn);
+                throw e;
+            }
 
         } catch (SQLException e) {
             throw new DAOException("Erro ao atualizar transação: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public List<TotalCategoria> totalizarPorCategoria(Long usuarioId, LocalDate inicio, LocalDate fim) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+        if ((inicio == null) != (fim == null)) {
+            throw new DAOException("Informe as duas datas do período ou nenhuma");
+        }
+
+        boolean comPeriodo = inicio != null;
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(comPeriodo
+                 ? TOTAL_POR_CATEGORIA_E_PERIODO_SQL : TOTAL_POR_CATEGORIA_SQL)) {
+
+            stmt.setLong(1, usuarioId);
+            if (comPeriodo) {
+                stmt.setDate(2, Date.valueOf(inicio));
+                stmt.setDate(3, Date.valueOf(fim));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<TotalCategoria> totais = new ArrayList<>();
+                while (rs.next()) {
+                    Long categoriaId = rs.getObject("categoria_id", Long.class);
+                    Categoria categoria = CacheCategorias.buscar(conn, categoriaId);
+                    totais.add(new TotalCategoria(
+                        categoriaId,
+                        categoria != null ? categoria.getNome() : null,
+                        TipoTransacao.valueOf(rs.getString("tipo")),
+                        rs.getBigDecimal("total"),
+                        rs.getLong("quantidade")));
+                }
+                // Mesma ordem do antigo ORDER BY c.nome, t.tipo (sem categoria primeiro)
+                totais.sort(Comparator.comparing(TotalCategoria::getCategoriaNome, OrdemNomes.comparador())
+                    .thenComparing(TotalCategoria::getTipo));
+                return totais;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao totalizar transações por categoria: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ResultadoLote<Transacao> inserirEmLote(List<Transacao> transacoes) throws DAOException {
+        return inserirEmLote(transacoes, TAMANHO_LOTE_PADRAO);
+    }
+
+    @Override
+    public ResultadoLote<Transacao> inserirEmLote(List<Transacao> transacoes, int tamanhoLote) throws DAOException {
+        return executarEmLote(transacoes, tamanhoLote, true);
+    }
+
+    @Override
+    public ResultadoLote<Transacao> atualizarEmLote(List<Transacao> transacoes) throws DAOException {
+        return atualizarEmLote(transacoes, TAMANHO_LOTE_PADRAO);
+    }
+
+    @Override
+    public ResultadoLote<Transacao> atualizarEmLote(List<Transacao> transacoes, int tamanhoLote) throws DAOException {
+        return executarEmLote(transacoes, tamanhoLote, false);
+    }
+
+    /**
+     * Grava as transações em lotes de tamanhoLote linhas, cada lote em uma transação.
+     * Se um lote falhar, ele é desfeito e suas linhas são repetidas uma a uma para
+     * identificar exatamente quais falharam; as demais são gravadas normalmente.
+     */
+    private ResultadoLote<Transacao> executarEmLote(List<Transacao> transacoes, int tamanhoLote, boolean insercao) throws DAOException {
+        if (transacoes == null) {
+            throw new DAOException("Lista de transações não pode ser nula");
+        }
+        if (tamanhoLote < 1) {
+            throw new DAOException("Tamanho do lote deve ser maior que zero");
+        }
+
+        ResultadoLote<Transacao> resultado = new ResultadoLote<>();
+
+        // Índices (na lista original) das transações que podem ir ao banco
+        List<Integer> validas = new ArrayList<>();
+        for (int i = 0; i < transacoes.size(); i++) {
+            String erro = validarParaLote(transacoes.get(i), insercao);
+            if (erro != null) {
+                resultado.adicionarFalha(i, transacoes.get(i), erro);
+            } else {
+                validas.add(i);
+            }
+        }
+
+        if (validas.isEmpty()) {
+            return resultado;
+        }
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = insercao
+                 ? conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)
+                 : conn.prepareStatement(UPDATE_SQL)) {
+
+            conn.setAutoCommit(false);
+
+            for (int inicio = 0; inicio < validas.size(); inicio += tamanhoLote) {
+                List<Integer> lote = validas.subList(inicio, Math.min(inicio + tamanhoLote, validas.size()));
+                try {
+                    int[] linhasAfetadas = executarLote(conn, stmt, transacoes, lote, insercao);
+                    conn.commit();
+
+                    for (int i = 0; i < lote.size(); i++) {
+                        Transacao transacao = transacoes.get(lote.get(i));
+                        if (linhasAfetadas[i] == 0) {
+                            resultado.adicionarFalha(lote.get(i), transacao, "Transação não encontrada para atualizar");
+                        } else {
+                            resultado.adicionarSucesso(transacao);
+                        }
+                    }
+                } catch (SQLException e) {
+                    desfazer(conn);
+                    stmt.clearBatch();
+                    executarIndividualmente(conn, stmt, transacoes, lote, insercao, resultado);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao gravar transações em lote: " + e.getMessage(), e);
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Grava um lote e aplica a variação correspondente em resumo_mensal e saldo_usuario, sem commit
+     */
+    private int[] executarLote(Connection conn, PreparedStatement stmt, List<Transacao> transacoes, List<Integer> lote,
+                               boolean insercao) throws SQLException {
+        Map<Long, Transacao> anteriores = Map.of();
+        if (!insercao) {
+            List<Long> ids = new ArrayList<>(lote.size());
+            for (int indice : lote) {
+                ids.add(transacoes.get(indice).getId());
+            }
+            anteriores = buscarAnteriores(conn, ids);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (int indice : lote) {
+            Transacao transacao = transacoes.get(indice);
+            if (insercao) {
+                preencherInsert(stmt, transacao);
+            } else {
+                transacao.setDataAtualizacao(agora);
+                preencherUpdate(stmt, transacao);
+            }
+            stmt.addBatch();
+        }
+
+        int[] linhasAfetadas = stmt.executeBatch();
+
+        if (insercao) {
+            // Com rewriteBatchedStatements o driver devolve as chaves na ordem das linhas
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (int indice : lote) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Driver não retornou o ID gerado de todas as transações do lote");
+                    }
+                    transacoes.get(indice).setId(generatedKeys.getLong(1));
+                }
+            }
+        }
+
+        VariacoesTotais totais = new VariacoesTotais();
+        for (int i = 0; i < lote.size(); i++) {
+            if (linhasAfetadas[i] == 0) {
+                continue;
+            }
+            Transacao transacao = transacoes.get(lote.get(i));
+            if (!insercao) {
+                totais.remover(anteriores.get(transacao.getId()));
+            }
+            totais.adicionar(transacao);
+        }
+        totais.gravar(conn);
+
+        return linhasAfetadas;
+    }
+
+    /**
+     * Lê e bloqueia (FOR UPDATE) o estado atual das transações, indexado pelo ID.
+     * Deve ser chamado dentro da transação que vai alterá-las.
+     */
+    private Map<Long, Transacao> buscarAnteriores(Connection conn, List<Long> ids) throws SQLException {
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Map<Long, Transacao> anteriores = new HashMap<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(SELECT_ANTERIOR_SQL, marcadores))) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setLong(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Transacao anterior = new Transacao();
+                    anterior.setId(rs.getLong("id"));
+                    anterior.setUsuarioId(rs.getLong("usuario_id"));
+                    anterior.setValor(rs.getBigDecimal("valor"));
+                    anterior.setDataTransacao(rs.getDate("data_transacao").toLocalDate());
+                    anterior.setTipo(TipoTransacao.valueOf(rs.getString("tipo")));
+                    anterior.setCategoriaId(rs.getObject("categoria_id", Long.class));
+                    anterior.setAtivo(rs.getBoolean("ativo"));
+                    anteriores.put(anterior.getId(), anterior);
+                }
+            }
+        }
+        return anteriores;
+    }
+
+    private void executarIndividualmente(Connection conn, PreparedStatement stmt, List<Transacao> transacoes,
+                                         List<Integer> lote, boolean insercao, ResultadoLote<Transacao> resultado) {
+        for (int indice : lote) {
+            Transacao transacao = transacoes.get(indice);
+            if (insercao) {
+                transacao.setId(null);
+            }
+            try {
+                int[] linhasAfetadas = executarLote(conn, stmt, transacoes, List.of(indice), insercao);
+                conn.commit();
+                if (linhasAfetadas[0] == 0) {
+                    resultado.adicionarFalha(indice, transacao, "Transação não encontrada para atualizar");
+                } else {
+                    resultado.adicionarSucesso(transacao);
+                }
+            } catch (SQLException e) {
+                desfazer(conn);
+                if (insercao) {
+                    transacao.setId(null);
+                }
+                try {
+                    stmt.clearBatch();
+                } catch (SQLException ignored) {
+                    // O próximo item recria o batch de qualquer forma
+                }
+                resultado.adicionarFalha(indice, transacao, e.getMessage());
+            }
+        }
+    }
+
+    private String validarParaLote(Transacao transacao, boolean insercao) {
+        if (transacao == null) {
+            return "Transação nula";
+        }
+        if (!insercao && transacao.getId() == null) {
+            return "Transação sem ID para atualizar";
+        }
+        if (transacao.getValor() == null || transacao.getDataTransacao() == null || transacao.getTipo() == null) {
+            return "Valor, data e tipo são obrigatórios";
+        }
+        if (transacao.getUsuarioId() == null) {
+            return "Usuário da transação não informado";
+        }
+        if (insercao && (transacao.getDataCriacao() == null || transacao.getDataAtualizacao() == null)) {
+            return "Datas de criação e atualização não informadas";
+        }
+        return null;
+    }
+
+    private void desfazer(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException ignored) {
+            // A conexão será descartada pelo pool se não puder ser restaurada
+        }
+    }
+
+    private void preencherInsert(PreparedStatement stmt, Transacao transacao) throws SQLException {
+        stmt.setString(1, transacao.getDescricao());
+        stmt.setBigDecimal(2, transacao.getValor());
+        stmt.setDate(3, Date.valueOf(transacao.getDataTransacao()));
+        stmt.setString(4, transacao.getTipo().name());
+        stmt.setObject(5, transacao.getCategoriaId());
+        stmt.setLong(6, transacao.getUsuarioId());
+        stmt.setString(7, transacao.getObservacao());
+        stmt.setBoolean(8, transacao.isAtivo());
+        stmt.setTimestamp(9, Timestamp.valueOf(transacao.getDataCriacao()));
+        stmt.setTimestamp(10, Timestamp.valueOf(transacao.getDataAtualizacao()));
+    }
+
+    private void preencherUpdate(PreparedStatement stmt, Transacao transacao) throws SQLException {
+        stmt.setString(1, transacao.getDescricao());
+        stmt.setBigDecimal(2, transacao.getValor());
+        stmt.setDate(3, Date.valueOf(transacao.getDataTransacao()));
+        stmt.setString(4, transacao.getTipo().name());
+        stmt.setObject(5, transacao.getCategoriaId());
+        stmt.setLong(6, transacao.getUsuarioId());
+        stmt.setString(7, transacao.getObservacao());
+        stmt.setBoolean(8, transacao.isAtivo());
+        stmt.setTimestamp(9, Timestamp.valueOf(transacao.getDataAtualizacao()));
+        stmt.setLong(10, transacao.getId());
+    }
+
     @Override
     public void excluir(Long id) throws DAOException {
         if (id == null) {
@@ -175,11 +532,26 @@ public class TransacaoDAOImpl implements TransacaoDAO {
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
 
-            stmt.setLong(1, id);
+            conn.setAutoCommit(false);
+            try {
+                Transacao anterior = buscarAnteriores(conn, List.of(id)).get(id);
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new DAOException("Transação não encontrada para excluir");
+                stmt.setLong(1, id);
+
+                int rowsAffected = stmt.executeUpdate();
+                if (rowsAffected == 0 || anterior == null) {
+                    throw new DAOException("Transação não encontrada para excluir");
+                }
+
+                VariacoesTotais totais = new VariacoesTotais();
+                totais.remover(anterior);
+                totais.gravar(conn);
+
+                conn.commit();
+
+            } catch (SQLException | DAOException e) {
+                desfazer(conn);
+                throw e;
             }
 
         } catch (SQLException e) {
@@ -199,8 +571,9 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Transacao> leitor = TRANSACOES.leitor(SELECT_BY_ID_SQL, rs);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToTransacao(rs));
+                    return Optional.of(leitor.ler(rs));
                 }
             }
 
@@ -212,15 +585,16 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> listarTodas() throws DAOException {
-        List<Transacao> transacoes = new ArrayList<>();
+    public List<LinhaTransacao> listarTodas() throws DAOException {
+        List<LinhaTransacao> transacoes = new ArrayList<>();
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
+            MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_ALL_SQL, rs);
             while (rs.next()) {
-                transacoes.add(mapResultSetToTransacao(rs));
+                transacoes.add(leitor.ler(rs));
             }
 
         } catch (SQLException e) {
@@ -231,12 +605,12 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> listarPorPeriodo(LocalDate dataInicio, LocalDate dataFim) throws DAOException {
+    public List<LinhaTransacao> listarPorPeriodo(LocalDate dataInicio, LocalDate dataFim) throws DAOException {
         if (dataInicio == null || dataFim == null) {
             throw new DAOException("Datas de início e fim não podem ser nulas");
         }
 
-        List<Transacao> transacoes = new ArrayList<>();
+        List<LinhaTransacao> transacoes = new ArrayList<>();
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_PERIOD_SQL)) {
@@ -245,8 +619,9 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setDate(2, Date.valueOf(dataFim));
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_PERIOD_SQL, rs);
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
             }
 
@@ -258,12 +633,12 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarPorCategoria(Long categoriaId) throws DAOException {
+    public List<LinhaTransacao> buscarPorCategoria(Long categoriaId) throws DAOException {
         if (categoriaId == null) {
             throw new DAOException("ID da categoria não pode ser nulo");
         }
 
-        List<Transacao> transacoes = new ArrayList<>();
+        List<LinhaTransacao> transacoes = new ArrayList<>();
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_CATEGORIA_SQL)) {
@@ -271,8 +646,9 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setLong(1, categoriaId);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_CATEGORIA_SQL, rs);
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
             }
 
@@ -284,12 +660,12 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarPorTipo(TipoTransacao tipo) throws DAOException {
+    public List<LinhaTransacao> buscarPorTipo(TipoTransacao tipo) throws DAOException {
         if (tipo == null) {
             throw new DAOException("Tipo da transação não pode ser nulo");
         }
 
-        List<Transacao> transacoes = new ArrayList<>();
+        List<LinhaTransacao> transacoes = new ArrayList<>();
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_TIPO_SQL)) {
@@ -297,8 +673,9 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setString(1, tipo.name());
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_TIPO_SQL, rs);
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
             }
 
@@ -310,7 +687,7 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> listarPorTipo(TipoTransacao tipo) throws DAOException {
+    public List<LinhaTransacao> listarPorTipo(TipoTransacao tipo) throws DAOException {
         return buscarPorTipo(tipo);
     }
 
@@ -396,12 +773,12 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarPorDescricao(String descricao) throws DAOException {
+    public List<LinhaTransacao> buscarPorDescricao(String descricao) throws DAOException {
         if (descricao == null || descricao.trim().isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<Transacao> transacoes = new ArrayList<>();
+        List<LinhaTransacao> transacoes = new ArrayList<>();
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_BY_DESCRICAO_SQL)) {
@@ -409,8 +786,9 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setString(1, "%" + descricao.trim() + "%");
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_DESCRICAO_SQL, rs);
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
             }
 
@@ -422,7 +800,7 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarPorUsuario(Long usuarioId) throws DAOException {
+    public List<LinhaTransacao> buscarPorUsuario(Long usuarioId) throws DAOException {
         if (usuarioId == null) {
             throw new DAOException("ID do usuário não pode ser nulo");
         }
@@ -433,9 +811,10 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setLong(1, usuarioId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                List<Transacao> transacoes = new ArrayList<>();
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_USUARIO_SQL, rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>();
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
                 return transacoes;
             }
@@ -446,7 +825,7 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarPorUsuarioEPeriodo(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) throws DAOException {
+    public List<LinhaTransacao> buscarPorUsuarioEPeriodo(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) throws DAOException {
         if (usuarioId == null || dataInicio == null || dataFim == null) {
             throw new DAOException("Usuário e datas de início e fim não podem ser nulos");
         }
@@ -459,9 +838,10 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setDate(3, Date.valueOf(dataFim));
 
             try (ResultSet rs = stmt.executeQuery()) {
-                List<Transacao> transacoes = new ArrayList<>();
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_USUARIO_AND_PERIOD_SQL, rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>();
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
                 return transacoes;
             }
@@ -472,7 +852,7 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarPorUsuarioETipo(Long usuarioId, TipoTransacao tipo) throws DAOException {
+    public List<LinhaTransacao> buscarPorUsuarioETipo(Long usuarioId, TipoTransacao tipo) throws DAOException {
         if (usuarioId == null || tipo == null) {
             throw new DAOException("Usuário e tipo da transação não podem ser nulos");
         }
@@ -484,9 +864,10 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setString(2, tipo.name());
 
             try (ResultSet rs = stmt.executeQuery()) {
-                List<Transacao> transacoes = new ArrayList<>();
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_BY_USUARIO_AND_TIPO_SQL, rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>();
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
                 return transacoes;
             }
@@ -548,7 +929,7 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarUltimasTransacoesPorUsuario(Long usuarioId, int limite) throws DAOException {
+    public List<LinhaTransacao> buscarUltimasTransacoesPorUsuario(Long usuarioId, int limite) throws DAOException {
         if (usuarioId == null) {
             throw new DAOException("ID do usuário não pode ser nulo");
         }
@@ -560,9 +941,10 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setInt(2, limite);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                List<Transacao> transacoes = new ArrayList<>();
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(SELECT_ULTIMAS_BY_USUARIO_SQL, rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>();
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
                 return transacoes;
             }
@@ -573,15 +955,11 @@ public class TransacaoDAOImpl implements TransacaoDAO {
     }
 
     @Override
-    public List<Transacao> buscarRecentesPorUsuario(Long usuarioId, int limite) throws DAOException {
-        String sql = """
-            SELECT t.*, 
-                   c.nome as categoria_nome, 
-                   c.descricao as categoria_descricao
+    public List<LinhaTransacao> buscarRecentesPorUsuario(Long usuarioId, int limite) throws DAOException {
+        String sql = "SELECT " + COLUNAS_LINHA + """
             FROM transacao t
-            LEFT JOIN categoria c ON t.categoria_id = c.id
             WHERE t.usuario_id = ? AND t.ativo = true
-            ORDER BY t.data_transacao DESC, t.data_criacao DESC
+            ORDER BY t.data_transacao DESC, t.data_criacao DESC, t.id DESC
             LIMIT ?
             """;
 
@@ -591,32 +969,28 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setLong(1, usuarioId);
             stmt.setInt(2, limite);
 
-            ResultSet rs = stmt.executeQuery();
-            List<Transacao> transacoes = new ArrayList<>();
-
-            while (rs.next()) {
-                transacoes.add(mapResultSetToTransacao(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(sql, rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>();
+                while (rs.next()) {
+                    transacoes.add(leitor.ler(rs));
+                }
+                return transacoes;
             }
 
-            return transacoes;
-
         } catch (SQLException e) {
             throw new DAOException("Erro ao buscar transações recentes por usuário", e);
         }
     }
 
     @Override
-    public List<Transacao> buscarPorUsuarioECategoria(Long usuarioId, Long categoriaId) throws DAOException {
+    public List<LinhaTransacao> buscarPorUsuarioECategoria(Long usuarioId, Long categoriaId) throws DAOException {
         if (usuarioId == null || categoriaId == null) {
             throw new DAOException("ID do usuário e ID da categoria não podem ser nulos");
         }
 
-        String sql = """
-            SELECT t.*, 
-                   c.nome as categoria_nome, 
-                   c.descricao as categoria_descricao
+        String sql = "SELECT " + COLUNAS_LINHA + """
             FROM transacao t
-            LEFT JOIN categoria c ON t.categoria_id = c.id
             WHERE t.usuario_id = ? AND t.categoria_id = ? AND t.ativo = true
             ORDER BY t.data_transacao DESC
             """;
@@ -628,9 +1002,10 @@ public class TransacaoDAOImpl implements TransacaoDAO {
             stmt.setLong(2, categoriaId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                List<Transacao> transacoes = new ArrayList<>();
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(sql, rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>();
                 while (rs.next()) {
-                    transacoes.add(mapResultSetToTransacao(rs));
+                    transacoes.add(leitor.ler(rs));
                 }
                 return transacoes;
             }
@@ -640,38 +1015,315 @@ public class TransacaoDAOImpl implements TransacaoDAO {
         }
     }
 
-    private Transacao mapResultSetToTransacao(ResultSet rs) throws SQLException {
-        Transacao transacao = new Transacao();
-        transacao.setId(rs.getLong("id"));
-        transacao.setDescricao(rs.getString("descricao"));
-        transacao.setValor(rs.getBigDecimal("valor"));
-        transacao.setDataTransacao(rs.getDate("data_transacao").toLocalDate());
-        transacao.setTipo(TipoTransacao.valueOf(rs.getString("tipo")));
+    @Override
+    public Pagina<LinhaTransacao> buscarPagina(FiltroTransacao filtro, int tamanho) throws DAOException {
+        if (filtro == null || filtro.getUsuarioId() == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+        if (tamanho < 1) {
+            throw new DAOException("Tamanho da página deve ser maior que zero");
+        }
 
-        Long categoriaId = rs.getObject("categoria_id", Long.class);
-        transacao.setCategoriaId(categoriaId);
+        // Só entram no SQL os filtros informados, então existem poucas variações do
+        // texto e cada uma é preparada uma vez por conexão
+        StringBuilder sql = new StringBuilder(SELECT_PAGINA_SQL);
+        List<Object> parametros = new ArrayList<>();
+        adicionarFiltros(filtro, sql, parametros);
+        adicionarPosicao(filtro, sql, parametros);
+
+        // Uma linha a mais indica se existe próxima página
+        sql.append(" ORDER BY t.data_transacao DESC, t.id DESC LIMIT ?");
+        parametros.add(tamanho + 1);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
 
-        if (categoriaId != null && rs.getString("categoria_nome") != null) {
-            Categoria categoria = new Categoria();
-            categoria.setId(categoriaId);
-            categoria.setNome(rs.getString("categoria_nome"));
-            categoria.setDescricao(rs.getString("categoria_descricao"));
-            transacao.setCategoria(categoria);
+            try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<LinhaTransacao> leitor = LINHAS.leitor(sql.toString(), rs);
+                List<LinhaTransacao> transacoes = new ArrayList<>(Math.min(tamanho, 1000));
+                boolean temProxima = false;
+                while (rs.next()) {
+                    if (transacoes.size() == tamanho) {
+                        temProxima = true;
+                        break;
+                    }
+                    transacoes.add(leitor.ler(rs));
+                }
+                return new Pagina<>(transacoes, temProxima);
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao buscar página de transações: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<PosicaoTransacao> buscarLimitesPaginas(FiltroTransacao filtro, int tamanhoPagina, int paginas) throws DAOException {
+        if (filtro == null || filtro.getUsuarioId() == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+        if (tamanhoPagina < 1 || paginas < 1) {
+            throw new DAOException("Tamanho da página e quantidade de páginas devem ser maiores que zero");
         }
 
-        // Verificar se a coluna usuario_id existe no ResultSet
+        StringBuilder sql = new StringBuilder(SELECT_CHAVES_SQL);
+        List<Object> parametros = new ArrayList<>();
+        adicionarFiltros(filtro, sql, parametros);
+        adicionarPosicao(filtro, sql, parametros);
+        sql.append(" ORDER BY t.data_transacao DESC, t.id DESC LIMIT ?");
+        parametros.add((long) tamanhoPagina * paginas);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                // As linhas passam pelo driver, mas só a última de cada página vira objeto
+                List<PosicaoTransacao> limites = new ArrayList<>(paginas);
+                int lidas = 0;
+                LocalDate data = null;
+                long id = 0;
+                while (rs.next()) {
+                    data = rs.getDate(1).toLocalDate();
+                    id = rs.getLong(2);
+                    if (++lidas == tamanhoPagina) {
+                        limites.add(new PosicaoTransacao(data, id));
+                        lidas = 0;
+                    }
+                }
+                // Página final incompleta: o limite é a última linha que existe
+                if (lidas > 0) {
+                    limites.add(new PosicaoTransacao(data, id));
+                }
+                return limites;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao buscar limites das páginas de transações: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long contar(FiltroTransacao filtro) throws DAOException {
+        if (filtro == null || filtro.getUsuarioId() == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+
+        StringBuilder sql = new StringBuilder(COUNT_FILTRO_SQL);
+        List<Object> parametros = new ArrayList<>();
+        adicionarFiltros(filtro, sql, parametros);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao contar transações: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Continua logo após a posição do filtro, se houver, na ordem (data, id) decrescente
+     */
+    private static void adicionarPosicao(FiltroTransacao filtro, StringBuilder sql, List<Object> parametros) {
+        if (filtro.temPosicao()) {
+            sql.append(" AND (t.data_transacao < ? OR (t.data_transacao = ? AND t.id < ?))");
+            parametros.add(Date.valueOf(filtro.getAposData()));
+            parametros.add(Date.valueOf(filtro.getAposData()));
+            parametros.add(filtro.getAposId());
+        }
+    }
+
+    /**
+     * Acrescenta ao WHERE os critérios informados no filtro (tipo, categoria e período)
+     */
+    private static void adicionarFiltros(FiltroTransacao filtro, StringBuilder sql, List<Object> parametros) {
+        parametros.add(filtro.getUsuarioId());
+
+        if (filtro.getTipo() != null) {
+            sql.append(" AND t.tipo = ?");
+            parametros.add(filtro.getTipo().name());
+        }
+        if (filtro.getCategoriaId() != null) {
+            sql.append(" AND t.categoria_id = ?");
+            parametros.add(filtro.getCategoriaId());
+        }
+        if (filtro.getDataInicio() != null) {
+            sql.append(" AND t.data_transacao >= ?");
+            parametros.add(Date.valueOf(filtro.getDataInicio()));
+        }
+        if (filtro.getDataFim() != null) {
+            sql.append(" AND t.data_transacao <= ?");
+            parametros.add(Date.valueOf(filtro.getDataFim()));
+        }
+    }
+
+    @Override
+    public Stream<LinhaTransacao> streamPorPeriodo(LocalDate inicio, LocalDate fim) throws DAOException {
+        if (inicio == null || fim == null) {
+            throw new DAOException("Datas de início e fim não podem ser nulas");
+        }
+
+        return abrirCursor(SELECT_BY_PERIOD_SQL, stmt -> {
+            stmt.setDate(1, Date.valueOf(inicio));
+            stmt.setDate(2, Date.valueOf(fim));
+        });
+    }
+
+    @Override
+    public Stream<LinhaTransacao> streamPorUsuario(Long usuarioId) throws DAOException {
+        if (usuarioId == null) {
+            throw new DAOException("ID do usuário não pode ser nulo");
+        }
+
+        return abrirCursor(SELECT_BY_USUARIO_SQL, stmt -> stmt.setLong(1, usuarioId));
+    }
+
+    @Override
+    public Stream<LinhaTransacao> streamPorUsuarioEPeriodo(Long usuarioId, LocalDate inicio, LocalDate fim) throws DAOException {
+        if (usuarioId == null || inicio == null || fim == null) {
+            throw new DAOException("Usuário e datas de início e fim não podem ser nulos");
+        }
+
+        return abrirCursor(SELECT_BY_USUARIO_AND_PERIOD_SQL, stmt -> {
+            stmt.setLong(1, usuarioId);
+            stmt.setDate(2, Date.valueOf(inicio));
+            stmt.setDate(3, Date.valueOf(fim));
+        });
+    }
+
+    @Override
+    public void percorrerPorPeriodo(LocalDate inicio, LocalDate fim, Consumer<LinhaTransacao> consumidor) throws DAOException {
+        percorrer(streamPorPeriodo(inicio, fim), consumidor);
+    }
+
+    @Override
+    public void percorrerPorUsuario(Long usuarioId, Consumer<LinhaTransacao> consumidor) throws DAOException {
+        percorrer(streamPorUsuario(usuarioId), consumidor);
+    }
+
+    @Override
+    public void percorrerPorUsuarioEPeriodo(Long usuarioId, LocalDate inicio, LocalDate fim,
+                                            Consumer<LinhaTransacao> consumidor) throws DAOException {
+        percorrer(streamPorUsuarioEPeriodo(usuarioId, inicio, fim), consumidor);
+    }
+
+    private void percorrer(Stream<LinhaTransacao> stream, Consumer<LinhaTransacao> consumidor) throws DAOException {
+        try (stream) {
+            stream.forEach(consumidor);
+        } catch (DAORuntimeException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parametros {
+        void aplicar(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Executa a consulta com um cursor somente-leitura e só-para-frente, buscando
+     * ConnectionFactory.getFetchSize() linhas por vez. A conexão, o statement e o
+     * ResultSet ficam abertos até o Stream ser fechado.
+     */
+    private Stream<LinhaTransacao> abrirCursor(String sql, Parametros parametros) throws DAOException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        MapeadorLinhas.Leitor<LinhaTransacao> leitor;
+
         try {
-            Long usuarioId = rs.getObject("usuario_id", Long.class);
-            transacao.setUsuarioId(usuarioId);
+            conn = ConnectionFactory.getConnection();
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(ConnectionFactory.getFetchSize());
+            parametros.aplicar(stmt);
+            rs = stmt.executeQuery();
+            leitor = LINHAS.leitor(sql, rs);
         } catch (SQLException e) {
-            // Coluna usuario_id não existe, usar valor padrão
-            transacao.setUsuarioId(1L);
+            fecharCursor(rs, stmt, conn);
+            throw new DAOException("Erro ao abrir consulta de transações: " + e.getMessage(), e);
         }
 
-        transacao.setObservacao(rs.getString("observacoes"));
-        transacao.setAtivo(rs.getBoolean("ativo"));
-        transacao.setDataCriacao(rs.getTimestamp("data_criacao").toLocalDateTime());
-        transacao.setDataAtualizacao(rs.getTimestamp("data_atualizacao").toLocalDateTime());
+        final ResultSet cursor = rs;
+        Spliterator<LinhaTransacao> linhas = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super LinhaTransacao> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                    action.accept(leitor.ler(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DAORuntimeException(
+                        new DAOException("Erro ao ler transações: " + e.getMessage(), e));
+                }
+            }
+        };
+
+        final PreparedStatement statement = stmt;
+        final Connection conexao = conn;
+        return StreamSupport.stream(linhas, false)
+            .onClose(() -> fecharCursor(cursor, statement, conexao));
+    }
+
+    private void fecharCursor(ResultSet rs, PreparedStatement stmt, Connection conn) {
+        try (Connection c = conn; PreparedStatement s = stmt; ResultSet r = rs) {
+            // Fechados na ordem inversa pelo try-with-resources
+        } catch (SQLException ignored) {
+            // Nada a fazer: a conexão volta ao pool ou é descartada por ele
+        }
+    }
+
+    private static LinhaTransacao mapearLinha(ResultSet rs, int[] c) throws SQLException {
+        Long categoriaId = rs.getObject(c[CATEGORIA_ID], Long.class);
+        // Uma recarga das categorias usa a mesma conexão, que segue emprestada durante a leitura
+        Categoria categoria = CacheCategorias.buscar(rs.getStatement().getConnection(), categoriaId);
+        return new LinhaTransacao(
+            rs.getLong(c[ID]),
+            rs.getString(c[DESCRICAO]),
+            rs.getBigDecimal(c[VALOR]),
+            rs.getDate(c[DATA_TRANSACAO]).toLocalDate(),
+            TipoTransacao.valueOf(rs.getString(c[TIPO])),
+            categoriaId,
+            categoria != null ? categoria.getNome() : null,
+            rs.getString(c[OBSERVACOES]));
+    }
+
+    private static Transacao mapearTransacao(ResultSet rs, int[] c) throws SQLException {
+        Transacao transacao = new Transacao();
+        transacao.setId(rs.getLong(c[ID]));
+        transacao.setDescricao(rs.getString(c[DESCRICAO]));
+        transacao.setValor(rs.getBigDecimal(c[VALOR]));
+        transacao.setDataTransacao(rs.getDate(c[DATA_TRANSACAO]).toLocalDate());
+        transacao.setTipo(TipoTransacao.valueOf(rs.getString(c[TIPO])));
+
+        Long categoriaId = rs.getObject(c[CATEGORIA_ID], Long.class);
+        transacao.setCategoriaId(categoriaId);
+        transacao.setCategoria(CacheCategorias.buscar(rs.getStatement().getConnection(), categoriaId));
+
+        // Consultas sem a coluna usuario_id usam o valor padrão
+        transacao.setUsuarioId(c[USUARIO_ID] != MapeadorLinhas.AUSENTE ? rs.getObject(c[USUARIO_ID], Long.class) : 1L);
+
+        transacao.setObservacao(rs.getString(c[OBSERVACOES]));
+        transacao.setAtivo(rs.getBoolean(c[ATIVO]));
+        transacao.setDataCriacao(rs.getTimestamp(c[DATA_CRIACAO]).toLocalDateTime());
+        transacao.setDataAtualizacao(rs.getTimestamp(c[DATA_ATUALIZACAO]).toLocalDateTime());
 
         return transacao;
     }
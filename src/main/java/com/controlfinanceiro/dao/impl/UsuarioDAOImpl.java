@@ -13,6 +13,11 @@ import java.util.Optional;
 
 public class UsuarioDAOImpl implements UsuarioDAO {
 
+    private static final int ID = 0, NOME = 1, SENHA = 2, ATIVO = 3, DATA_CRIACAO = 4, DATA_ATUALIZACAO = 5;
+
+    private static final MapeadorLinhas<Usuario> USUARIOS = new MapeadorLinhas<>(UsuarioDAOImpl::mapearUsuario,
+        "id", "nome", "senha", "ativo", "data_criacao", "data_atualizacao");
+
     private static final String INSERT_SQL =
         "INSERT INTO usuario (nome, senha, ativo, data_criacao, data_atualizacao) VALUES (?, ?, ?, ?, ?)";
 
@@ -132,8 +137,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Usuario> leitor = USUARIOS.leitor(SELECT_BY_ID_SQL, rs);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToUsuario(rs));
+                    return Optional.of(leitor.ler(rs));
                 }
             }
 
@@ -156,8 +162,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
             stmt.setString(1, nome.trim());
 
             try (ResultSet rs = stmt.executeQuery()) {
+                MapeadorLinhas.Leitor<Usuario> leitor = USUARIOS.leitor(SELECT_BY_NOME_SQL, rs);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToUsuario(rs));
+                    return Optional.of(leitor.ler(rs));
                 }
             }
 
@@ -176,8 +183,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
+            MapeadorLinhas.Leitor<Usuario> leitor = USUARIOS.leitor(SELECT_ALL_SQL, rs);
             while (rs.next()) {
-                usuarios.add(mapResultSetToUsuario(rs));
+                usuarios.add(leitor.ler(rs));
             }
 
         } catch (SQLException e) {
@@ -195,8 +203,9 @@ public class UsuarioDAOImpl implements UsuarioDAO {
              PreparedStatement stmt = conn.prepareStatement(SELECT_ATIVOS_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
+            MapeadorLinhas.Leitor<Usuario> leitor = USUARIOS.leitor(SELECT_ATIVOS_SQL, rs);
             while (rs.next()) {
-                usuarios.add(mapResultSetToUsuario(rs));
+                usuarios.add(leitor.ler(rs));
             }
 
         } catch (SQLException e) {
@@ -231,14 +240,14 @@ public class UsuarioDAOImpl implements UsuarioDAO {
         }
     }
 
-    private Usuario mapResultSetToUsuario(ResultSet rs) throws SQLException {
+    private static Usuario mapearUsuario(ResultSet rs, int[] c) throws SQLException {
         Usuario usuario = new Usuario();
-        usuario.setId(rs.getLong("id"));
-        usuario.setNome(rs.getString("nome"));
-        usuario.setSenha(rs.getString("senha"));
-        usuario.setAtivo(rs.getBoolean("ativo"));
-        usuario.setDataCriacao(rs.getTimestamp("data_criacao").toLocalDateTime());
-        usuario.setDataAtualizacao(rs.getTimestamp("data_atualizacao").toLocalDateTime());
+        usuario.setId(rs.getLong(c[ID]));
+        usuario.setNome(rs.getString(c[NOME]));
+        usuario.setSenha(rs.getString(c[SENHA]));
+        usuario.setAtivo(rs.getBoolean(c[ATIVO]));
+        usuario.setDataCriacao(rs.getTimestamp(c[DATA_CRIACAO]).toLocalDateTime());
+        usuario.setDataAtualizacao(rs.getTimestamp(c[DATA_ATUALIZACAO]).toLocalDateTime());
         return usuario;
     }
 }
@@ -0,0 +1,173 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.sql.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Acumula as variações que as gravações de transacao causam nas tabelas de totais
+ * (resumo_mensal e saldo_usuario) e as aplica na conexão informada, sem commit:
+ * quem grava a transacao decide quando confirmar. Transações inativas não entram
+ * nos totais, e uma tabela que as migrações ainda não criaram é deixada de lado
+ * (ver TabelasTotais).
+ */
+final class VariacoesTotais {
+
+    // Soma a variação à linha existente ou cria a linha do mês
+    private static final String UPSERT_RESUMO_SQL =
+        "INSERT INTO resumo_mensal (usuario_id, ano, mes, categoria_id, tipo, total, quantidade) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total = total + VALUES(total), quantidade = quantidade + VALUES(quantidade)";
+
+    private static final String UPSERT_SALDO_SQL =
+        "INSERT INTO saldo_usuario (usuario_id, total_receitas, total_despesas, quantidade) VALUES (?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total_receitas = total_receitas + VALUES(total_receitas), " +
+        "total_despesas = total_despesas + VALUES(total_despesas), quantidade = quantidade + VALUES(quantidade)";
+
+    // Ordenados pela chave primária para que gravações concorrentes bloqueiem as linhas na mesma ordem
+    private final Map<Chave, Variacao> resumos = new TreeMap<>();
+    private final Map<Long, Saldo> saldos = new TreeMap<>();
+
+    void adicionar(Transacao transacao) {
+        acumular(transacao, 1);
+    }
+
+    void remover(Transacao transacao) {
+        acumular(transacao, -1);
+    }
+
+    private void acumular(Transacao transacao, int sinal) {
+        if (transacao == null || !transacao.isAtivo()) {
+            return;
+        }
+        BigDecimal valor = sinal > 0 ? transacao.getValor() : transacao.getValor().negate();
+
+        Variacao variacao = resumos.computeIfAbsent(new Chave(transacao), c -> new Variacao());
+        variacao.total = variacao.total.add(valor);
+        variacao.quantidade += sinal;
+
+        Saldo saldo = saldos.computeIfAbsent(transacao.getUsuarioId(), u -> new Saldo());
+        if (transacao.getTipo() == TipoTransacao.RECEITA) {
+            saldo.receitas = saldo.receitas.add(valor);
+        } else {
+            saldo.despesas = saldo.despesas.add(valor);
+        }
+        saldo.quantidade += sinal;
+    }
+
+    void gravar(Connection conn) throws SQLException {
+        if (TabelasTotais.possuiResumoMensal(conn)) {
+            gravarResumos(conn);
+        }
+        if (TabelasTotais.possuiSaldoUsuario(conn)) {
+            gravarSaldos(conn);
+        }
+        resumos.clear();
+        saldos.clear();
+    }
+
+    private void gravarResumos(Connection conn) throws SQLException {
+        List<Map.Entry<Chave, Variacao>> pendentes = new ArrayList<>();
+        for (Map.Entry<Chave, Variacao> entrada : resumos.entrySet()) {
+            // Uma edição que não muda valor, mês, categoria nem tipo se anula
+            if (entrada.getValue().quantidade != 0 || entrada.getValue().total.signum() != 0) {
+                pendentes.add(entrada);
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_RESUMO_SQL)) {
+            for (Map.Entry<Chave, Variacao> entrada : pendentes) {
+                Chave chave = entrada.getKey();
+                stmt.setLong(1, chave.usuarioId);
+                stmt.setInt(2, chave.ano);
+                stmt.setInt(3, chave.mes);
+                stmt.setLong(4, chave.categoriaId);
+                stmt.setString(5, chave.tipo.name());
+                stmt.setBigDecimal(6, entrada.getValue().total);
+                stmt.setInt(7, entrada.getValue().quantidade);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void gravarSaldos(Connection conn) throws SQLException {
+        List<Map.Entry<Long, Saldo>> pendentes = new ArrayList<>();
+        for (Map.Entry<Long, Saldo> entrada : saldos.entrySet()) {
+            Saldo saldo = entrada.getValue();
+            if (saldo.quantidade != 0 || saldo.receitas.signum() != 0 || saldo.despesas.signum() != 0) {
+                pendentes.add(entrada);
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_SALDO_SQL)) {
+            for (Map.Entry<Long, Saldo> entrada : pendentes) {
+                stmt.setLong(1, entrada.getKey());
+                stmt.setBigDecimal(2, entrada.getValue().receitas);
+                stmt.setBigDecimal(3, entrada.getValue().despesas);
+                stmt.setInt(4, entrada.getValue().quantidade);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static final class Variacao {
+        private BigDecimal total = BigDecimal.ZERO;
+        private int quantidade;
+    }
+
+    private static final class Saldo {
+        private BigDecimal receitas = BigDecimal.ZERO;
+        private BigDecimal despesas = BigDecimal.ZERO;
+        private int quantidade;
+    }
+
+    private static final class Chave implements Comparable<Chave> {
+        private final long usuarioId;
+        private final int ano;
+        private final int mes;
+        private final long categoriaId;
+        private final TipoTransacao tipo;
+
+        private Chave(Transacao transacao) {
+            this.usuarioId = transacao.getUsuarioId();
+            this.ano = transacao.getDataTransacao().getYear();
+            this.mes = transacao.getDataTransacao().getMonthValue();
+            this.categoriaId = transacao.getCategoriaId() != null ? transacao.getCategoriaId() : 0L;
+            this.tipo = transacao.getTipo();
+        }
+
+        @Override
+        public int compareTo(Chave outra) {
+            int comparacao = Long.compare(usuarioId, outra.usuarioId);
+            if (comparacao == 0) comparacao = Integer.compare(ano, outra.ano);
+            if (comparacao == 0) comparacao = Integer.compare(mes, outra.mes);
+            if (comparacao == 0) comparacao = Long.compare(categoriaId, outra.categoriaId);
+            if (comparacao == 0) comparacao = tipo.compareTo(outra.tipo);
+            return comparacao;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave && compareTo((Chave) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(usuarioId, ano, mes, categoriaId, tipo);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.controlfinanceiro.exception;
+
+/**
+ * Envolve uma DAOException lançada enquanto um Stream de resultados é percorrido,
+ * onde exceções verificadas não podem ser propagadas.
+ */
+public class DAORuntimeException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    public DAORuntimeException(DAOException cause) {
+        super(cause.getMessage(), cause);
+    }
+    @Override
+    public synchronized DAOException getCause() {
+        return (DAOException) super.getCause();
+    }
+}
@@ -0,0 +1,162 @@
+package com.controlfinanceiro.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Tudo o que o dashboard mostra para um usuário, lido de uma vez: totais do mês, do
+ * ano e de todo o histórico, se há transações e as mais recentes
+ */
+public class DashboardSnapshot {
+    private Long usuarioId;
+    private BigDecimal receitasMes;
+    private BigDecimal despesasMes;
+    private int quantidadeMes;
+    private BigDecimal receitasAno;
+    private BigDecimal despesasAno;
+    private int quantidadeAno;
+    private BigDecimal receitasTotal;
+    private BigDecimal despesasTotal;
+    private long quantidadeTotal;
+    private boolean possuiTransacoes;
+    private List<LinhaTransacao> ultimasTransacoes;
+
+    // Construtores
+
+    public DashboardSnapshot() {
+        this.receitasMes = BigDecimal.ZERO;
+        this.despesasMes = BigDecimal.ZERO;
+        this.receitasAno = BigDecimal.ZERO;
+        this.despesasAno = BigDecimal.ZERO;
+        this.receitasTotal = BigDecimal.ZERO;
+        this.despesasTotal = BigDecimal.ZERO;
+        this.ultimasTransacoes = List.of();
+    }
+
+    // Getters e Setters
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public BigDecimal getReceitasMes() {
+        return receitasMes;
+    }
+
+    public void setReceitasMes(BigDecimal receitasMes) {
+        this.receitasMes = receitasMes;
+    }
+
+    public BigDecimal getDespesasMes() {
+        return despesasMes;
+    }
+
+    public void setDespesasMes(BigDecimal despesasMes) {
+        this.despesasMes = despesasMes;
+    }
+
+    public int getQuantidadeMes() {
+        return quantidadeMes;
+    }
+
+    public void setQuantidadeMes(int quantidadeMes) {
+        this.quantidadeMes = quantidadeMes;
+    }
+
+    public BigDecimal getReceitasAno() {
+        return receitasAno;
+    }
+
+    public void setReceitasAno(BigDecimal receitasAno) {
+        this.receitasAno = receitasAno;
+    }
+
+    public BigDecimal getDespesasAno() {
+        return despesasAno;
+    }
+
+    public void setDespesasAno(BigDecimal despesasAno) {
+        this.despesasAno = despesasAno;
+    }
+
+    public int getQuantidadeAno() {
+        return quantidadeAno;
+    }
+
+    public void setQuantidadeAno(int quantidadeAno) {
+        this.quantidadeAno = quantidadeAno;
+    }
+
+    public BigDecimal getReceitasTotal() {
+        return receitasTotal;
+    }
+
+    public void setReceitasTotal(BigDecimal receitasTotal) {
+        this.receitasTotal = receitasTotal;
+    }
+
+    public BigDecimal getDespesasTotal() {
+        return despesasTotal;
+    }
+
+    public void setDespesasTotal(BigDecimal despesasTotal) {
+        this.despesasTotal = despesasTotal;
+    }
+
+    public long getQuantidadeTotal() {
+        return quantidadeTotal;
+    }
+
+    public void setQuantidadeTotal(long quantidadeTotal) {
+        this.quantidadeTotal = quantidadeTotal;
+    }
+
+    public boolean isPossuiTransacoes() {
+        return possuiTransacoes;
+    }
+
+    public void setPossuiTransacoes(boolean possuiTransacoes) {
+        this.possuiTransacoes = possuiTransacoes;
+    }
+
+    /**
+     * Transações mais recentes primeiro. A lista não pode ser alterada, e as linhas são
+     * imutáveis, então o mesmo snapshot pode ser reaproveitado em várias atualizações da tela
+     */
+    public List<LinhaTransacao> getUltimasTransacoes() {
+        return ultimasTransacoes;
+    }
+
+    public void setUltimasTransacoes(List<LinhaTransacao> ultimasTransacoes) {
+        this.ultimasTransacoes = List.copyOf(ultimasTransacoes);
+    }
+
+    // Métodos de negócio
+
+    public BigDecimal getSaldoMes() {
+        return receitasMes.subtract(despesasMes);
+    }
+
+    public BigDecimal getSaldoAno() {
+        return receitasAno.subtract(despesasAno);
+    }
+
+    public BigDecimal getSaldoTotal() {
+        return receitasTotal.subtract(despesasTotal);
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardSnapshot{" +
+                "usuarioId=" + usuarioId +
+                ", saldoMes=" + getSaldoMes() +
+                ", saldoAno=" + getSaldoAno() +
+                ", saldoTotal=" + getSaldoTotal() +
+                ", ultimasTransacoes=" + ultimasTransacoes.size() +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.controlfinanceiro.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Valor em reais guardado como centavos em um long. Os valores do banco são
+ * DECIMAL(10,2), então cabem sem perda; somar centavos não cria objetos, ao contrário
+ * de BigDecimal.add. A conversão para BigDecimal fica para a borda (telas, relatórios).
+ */
+public final class Dinheiro implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    public static Dinheiro de(BigDecimal valor) {
+        return deCentavos(centavos(valor));
+    }
+
+    /**
+     * Centavos do valor arredondado em duas casas, pela mesma regra (HALF_EVEN) do
+     * NumberFormat usado antes nas telas; nulo vale zero. Lança ArithmeticException se
+     * o valor não couber em um long de centavos (ver cabeEmCentavos).
+     */
+    public static long centavos(BigDecimal valor) {
+        if (valor == null) {
+            return 0;
+        }
+        BigInteger centavos = valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue();
+        if (centavos.bitLength() >= Long.SIZE) {
+            throw new ArithmeticException("Valor fora do intervalo suportado: " + valor.toPlainString());
+        }
+        return centavos.longValue();
+    }
+
+    /**
+     * Se o valor, arredondado em duas casas, cabe em um long de centavos (até cerca de
+     * 92 quatrilhões de reais)
+     */
+    public static boolean cabeEmCentavos(BigDecimal valor) {
+        return valor == null || valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().bitLength() < Long.SIZE;
+    }
+
+    public static BigDecimal paraBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Dinheiro mais(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro menos(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public boolean isNegativo() {
+        return centavos < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return paraBigDecimal(centavos);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Dinheiro && ((Dinheiro) o).centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.controlfinanceiro.model;
+
+/**
+ * Usuário cujo saldo mantido em saldo_usuario não confere com a soma das transações
+ */
+public class DivergenciaSaldo {
+    private final Long usuarioId;
+    private final SaldoUsuario registrado; // Zerado se o usuário não tem linha em saldo_usuario
+    private final SaldoUsuario calculado;
+
+    public DivergenciaSaldo(Long usuarioId, SaldoUsuario registrado, SaldoUsuario calculado) {
+        this.usuarioId = usuarioId;
+        this.registrado = registrado;
+        this.calculado = calculado;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public SaldoUsuario getRegistrado() {
+        return registrado;
+    }
+
+    public SaldoUsuario getCalculado() {
+        return calculado;
+    }
+
+    @Override
+    public String toString() {
+        return "DivergenciaSaldo{" +
+                "usuarioId=" + usuarioId +
+                ", registrado=" + registrado +
+                ", calculado=" + calculado +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.controlfinanceiro.model;
+
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Transação como aparece nas listagens, relatórios e no dashboard: só os campos
+ * exibidos, preenchidos uma vez no construtor. Por ser imutável pode ser compartilhada
+ * entre caches e telas sem cópias. Para editar, busque a Transacao pelo ID.
+ */
+public final class LinhaTransacao {
+
+    private final long id;
+    private final String descricao;
+    private final BigDecimal valor;
+    private final long valorCentavos;
+    private final LocalDate dataTransacao;
+    private final TipoTransacao tipo;
+    private final Long categoriaId;     // Nulo para transações sem categoria
+    private final String categoriaNome;
+    private final String observacao;
+
+    public LinhaTransacao(long id, String descricao, BigDecimal valor, LocalDate dataTransacao, TipoTransacao tipo,
+                          Long categoriaId, String categoriaNome, String observacao) {
+        this.id = id;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.valorCentavos = Dinheiro.centavos(valor);
+        this.dataTransacao = dataTransacao;
+        this.tipo = tipo;
+        this.categoriaId = categoriaId;
+        this.categoriaNome = categoriaNome;
+        this.observacao = observacao;
+    }
+
+    public static LinhaTransacao de(Transacao transacao) {
+        return new LinhaTransacao(transacao.getId(), transacao.getDescricao(), transacao.getValor(),
+            transacao.getDataTransacao(), transacao.getTipo(), transacao.getCategoriaId(),
+            transacao.getCategoria() != null ? transacao.getCategoria().getNome() : null,
+            transacao.getObservacao());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public long getValorCentavos() {
+        return valorCentavos;
+    }
+
+    public LocalDate getDataTransacao() {
+        return dataTransacao;
+    }
+
+    public TipoTransacao getTipo() {
+        return tipo;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    /**
+     * Nome da categoria quando a linha foi lida, ou null se não houver
+     */
+    public String getCategoriaNome() {
+        return categoriaNome;
+    }
+
+    public String getObservacao() {
+        return observacao;
+    }
+
+    public boolean isReceita() {
+        return tipo == TipoTransacao.RECEITA;
+    }
+
+    public boolean isDespesa() {
+        return tipo == TipoTransacao.DESPESA;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LinhaTransacao)) return false;
+        LinhaTransacao outra = (LinhaTransacao) o;
+        return id == outra.id && valorCentavos == outra.valorCentavos && tipo == outra.tipo &&
+                Objects.equals(dataTransacao, outra.dataTransacao) &&
+                Objects.equals(categoriaId, outra.categoriaId) &&
+                Objects.equals(descricao, outra.descricao) &&
+                Objects.equals(observacao, outra.observacao);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, dataTransacao, valorCentavos, tipo, categoriaId, descricao, observacao);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s - R$ %s", tipo != null ? tipo.getDescricao() : "N/A",
+            descricao != null ? descricao : "Sem descrição", valor != null ? valor : "0.00");
+    }
+}
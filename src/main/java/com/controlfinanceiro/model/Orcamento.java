@@ -184,7 +184,7 @@ public class Orcamento {
     //Métodos de status do orçamento
 
     public boolean isEstourado() {
-        return getValorDisponivel().compareTo(valorLimite) > 0;
+        return getValorGasto().compareTo(valorLimite) > 0;
     }
     public boolean isNoLimite(){
         return getValorGasto().compareTo(valorLimite) == 0;
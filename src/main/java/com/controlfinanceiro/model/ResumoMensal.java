@@ -0,0 +1,105 @@
+package com.controlfinanceiro.model;
+
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha da tabela resumo_mensal: soma e quantidade das transações ativas de um
+ * usuário em um mês, para uma categoria e um tipo
+ */
+public class ResumoMensal {
+    private Long usuarioId;
+    private int ano;
+    private int mes;
+    private Long categoriaId; // Nulo para transações sem categoria
+    private TipoTransacao tipo;
+    private BigDecimal total;
+    private long quantidade;
+
+    // Construtores
+
+    public ResumoMensal() {
+        this.total = BigDecimal.ZERO;
+    }
+
+    public ResumoMensal(Long usuarioId, int ano, int mes, Long categoriaId, TipoTransacao tipo,
+                        BigDecimal total, long quantidade) {
+        this.usuarioId = usuarioId;
+        this.ano = ano;
+        this.mes = mes;
+        this.categoriaId = categoriaId;
+        this.tipo = tipo;
+        this.total = total;
+        this.quantidade = quantidade;
+    }
+
+    // Getters e Setters
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public int getAno() {
+        return ano;
+    }
+
+    public void setAno(int ano) {
+        this.ano = ano;
+    }
+
+    public int getMes() {
+        return mes;
+    }
+
+    public void setMes(int mes) {
+        this.mes = mes;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public TipoTransacao getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoTransacao tipo) {
+        this.tipo = tipo;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoMensal{" +
+                "mes=" + mes + "/" + ano +
+                ", categoriaId=" + categoriaId +
+                ", tipo=" + tipo +
+                ", total=" + total +
+                ", quantidade=" + quantidade +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.controlfinanceiro.model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Totais de um período detalhados por mês e por categoria; cada Totalizador separa
+ * receitas e despesas. Pode ser montado em partes (por exemplo, um pedaço do período
+ * por thread) e as partes combinadas com juntar: como as somas são em centavos, a
+ * ordem da combinação não muda o resultado.
+ */
+public class ResumoPeriodo {
+
+    private final Totalizador total = new Totalizador();
+    private final SortedMap<YearMonth, Totalizador> porMes = new TreeMap<>();
+    private final Map<Long, Totalizador> porCategoria = new HashMap<>();
+
+    public static ResumoPeriodo de(Iterable<LinhaTransacao> transacoes) {
+        ResumoPeriodo resumo = new ResumoPeriodo();
+        for (LinhaTransacao transacao : transacoes) {
+            resumo.adicionar(transacao);
+        }
+        return resumo;
+    }
+
+    public void adicionar(LinhaTransacao transacao) {
+        total.adicionar(transacao);
+        porMes.computeIfAbsent(YearMonth.from(transacao.getDataTransacao()), m -> new Totalizador())
+            .adicionar(transacao);
+        porCategoria.computeIfAbsent(transacao.getCategoriaId(), c -> new Totalizador()).adicionar(transacao);
+    }
+
+    /**
+     * Soma os totais já calculados de uma categoria em um mês
+     *
+     * @param categoriaId null para transações sem categoria
+     */
+    public void adicionar(YearMonth mes, Long categoriaId, Totalizador totais) {
+        total.juntar(totais);
+        porMes.computeIfAbsent(mes, m -> new Totalizador()).juntar(totais);
+        porCategoria.computeIfAbsent(categoriaId, c -> new Totalizador()).juntar(totais);
+    }
+
+    public ResumoPeriodo juntar(ResumoPeriodo outro) {
+        total.juntar(outro.total);
+        outro.porMes.forEach((mes, totais) -> porMes.computeIfAbsent(mes, m -> new Totalizador()).juntar(totais));
+        outro.porCategoria.forEach((categoria, totais) ->
+            porCategoria.computeIfAbsent(categoria, c -> new Totalizador()).juntar(totais));
+        return this;
+    }
+
+    public Totalizador getTotal() {
+        return total;
+    }
+
+    /**
+     * Meses com transações, em ordem cronológica
+     */
+    public SortedMap<YearMonth, Totalizador> getPorMes() {
+        return Collections.unmodifiableSortedMap(porMes);
+    }
+
+    /**
+     * Por ID da categoria; a chave null reúne as transações sem categoria
+     */
+    public Map<Long, Totalizador> getPorCategoria() {
+        return Collections.unmodifiableMap(porCategoria);
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoPeriodo{total=" + total + ", meses=" + porMes.size() + ", categorias=" + porCategoria.size() + '}';
+    }
+}
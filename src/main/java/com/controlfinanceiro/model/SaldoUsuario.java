@@ -0,0 +1,87 @@
+package com.controlfinanceiro.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais acumulados das transações ativas de um usuário (tabela saldo_usuario)
+ */
+public class SaldoUsuario {
+    private Long usuarioId;
+    private BigDecimal totalReceitas;
+    private BigDecimal totalDespesas;
+    private long quantidade;
+
+    // Construtores
+
+    public SaldoUsuario() {
+        this.totalReceitas = BigDecimal.ZERO;
+        this.totalDespesas = BigDecimal.ZERO;
+    }
+
+    public SaldoUsuario(Long usuarioId, BigDecimal totalReceitas, BigDecimal totalDespesas, long quantidade) {
+        this.usuarioId = usuarioId;
+        this.totalReceitas = totalReceitas;
+        this.totalDespesas = totalDespesas;
+        this.quantidade = quantidade;
+    }
+
+    // Getters e Setters
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public BigDecimal getTotalReceitas() {
+        return totalReceitas;
+    }
+
+    public void setTotalReceitas(BigDecimal totalReceitas) {
+        this.totalReceitas = totalReceitas;
+    }
+
+    public BigDecimal getTotalDespesas() {
+        return totalDespesas;
+    }
+
+    public void setTotalDespesas(BigDecimal totalDespesas) {
+        this.totalDespesas = totalDespesas;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    // Métodos de negócio
+
+    public BigDecimal getSaldo() {
+        return totalReceitas.subtract(totalDespesas);
+    }
+
+    /**
+     * Compara os totais ignorando a escala (10.0 e 10.00 são iguais)
+     */
+    public boolean temMesmosTotais(SaldoUsuario outro) {
+        return outro != null
+            && quantidade == outro.quantidade
+            && totalReceitas.compareTo(outro.totalReceitas) == 0
+            && totalDespesas.compareTo(outro.totalDespesas) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SaldoUsuario{" +
+                "usuarioId=" + usuarioId +
+                ", receitas=" + totalReceitas +
+                ", despesas=" + totalDespesas +
+                ", quantidade=" + quantidade +
+                '}';
+    }
+}
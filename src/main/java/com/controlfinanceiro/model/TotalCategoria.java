@@ -0,0 +1,83 @@
+package com.controlfinanceiro.model;
+
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma e quantidade das transações de um usuário para uma categoria e um tipo,
+ * calculadas no banco (GROUP BY categoria, tipo)
+ */
+public class TotalCategoria {
+    private Long categoriaId; // Nulo para transações sem categoria
+    private String categoriaNome;
+    private TipoTransacao tipo;
+    private BigDecimal total;
+    private long quantidade;
+
+    // Construtores
+
+    public TotalCategoria() {
+        this.total = BigDecimal.ZERO;
+    }
+
+    public TotalCategoria(Long categoriaId, String categoriaNome, TipoTransacao tipo, BigDecimal total, long quantidade) {
+        this.categoriaId = categoriaId;
+        this.categoriaNome = categoriaNome;
+        this.tipo = tipo;
+        this.total = total;
+        this.quantidade = quantidade;
+    }
+
+    // Getters e Setters
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public String getCategoriaNome() {
+        return categoriaNome;
+    }
+
+    public void setCategoriaNome(String categoriaNome) {
+        this.categoriaNome = categoriaNome;
+    }
+
+    public TipoTransacao getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoTransacao tipo) {
+        this.tipo = tipo;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    @Override
+    public String toString() {
+        return "TotalCategoria{" +
+                "categoria='" + categoriaNome + '\'' +
+                ", tipo=" + tipo +
+                ", total=" + total +
+                ", quantidade=" + quantidade +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package com.controlfinanceiro.model;
+
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.math.BigDecimal;
+import java.util.stream.Collector;
+
+/**
+ * Soma receitas e despesas e conta as transações em uma única passada, em centavos:
+ * adicionar uma transação não cria objetos. Os getters convertem para Dinheiro.
+ *
+ * Não é thread-safe; em processamento paralelo cada parte usa o seu e as partes são
+ * combinadas com juntar.
+ */
+public final class Totalizador {
+
+    private long receitas;
+    private long despesas;
+    private long quantidade;
+
+    public static Totalizador de(Iterable<LinhaTransacao> transacoes) {
+        Totalizador totalizador = new Totalizador();
+        for (LinhaTransacao transacao : transacoes) {
+            totalizador.adicionar(transacao);
+        }
+        return totalizador;
+    }
+
+    /**
+     * Totais já somados em centavos (por exemplo, por um laço sobre colunas)
+     */
+    public static Totalizador deCentavos(long receitas, long despesas, long quantidade) {
+        Totalizador totalizador = new Totalizador();
+        totalizador.receitas = receitas;
+        totalizador.despesas = despesas;
+        totalizador.quantidade = quantidade;
+        return totalizador;
+    }
+
+    /**
+     * Para streams: transacoes.stream().collect(Totalizador.coletor())
+     */
+    public static Collector<LinhaTransacao, ?, Totalizador> coletor() {
+        return Collector.of(Totalizador::new, Totalizador::adicionar, Totalizador::juntar);
+    }
+
+    public void adicionar(LinhaTransacao transacao) {
+        somar(transacao.getTipo(), transacao.getValorCentavos(), 1);
+    }
+
+    /**
+     * Soma um total já agrupado (resumo mensal, total por categoria)
+     */
+    public void adicionar(TipoTransacao tipo, BigDecimal total, long quantidade) {
+        somar(tipo, Dinheiro.centavos(total), quantidade);
+    }
+
+    private void somar(TipoTransacao tipo, long centavos, long quantidade) {
+        if (tipo == TipoTransacao.RECEITA) {
+            receitas += centavos;
+        } else if (tipo == TipoTransacao.DESPESA) {
+            despesas += centavos;
+        }
+        this.quantidade += quantidade;
+    }
+
+    public Totalizador juntar(Totalizador outro) {
+        receitas += outro.receitas;
+        despesas += outro.despesas;
+        quantidade += outro.quantidade;
+        return this;
+    }
+
+    public Dinheiro getReceitas() {
+        return Dinheiro.deCentavos(receitas);
+    }
+
+    public Dinheiro getDespesas() {
+        return Dinheiro.deCentavos(despesas);
+    }
+
+    public Dinheiro getSaldo() {
+        return Dinheiro.deCentavos(receitas - despesas);
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public String toString() {
+        return "Totalizador{receitas=" + getReceitas() + ", despesas=" + getDespesas() +
+                ", quantidade=" + quantidade + '}';
+    }
+}
@@ -11,6 +11,7 @@ public class Transacao {
     private Long id;
     private String descricao;
     private BigDecimal valor;
+    private long valorCentavos; // O mesmo valor em centavos, para somas sem criar BigDecimal
     private LocalDate dataTransacao; // Data da transação no formato "dd/MM/yyyy"
     private TipoTransacao tipo; // Pode ser RECEITA ou DESPESA
     private Long categoriaId; // Referência à categoria da transação
@@ -34,6 +35,7 @@ public class Transacao {
         this();
         this.descricao = descricao;
         this.valor = valor;
+        this.valorCentavos = Dinheiro.centavos(valor);
         this.tipo = tipo;
     }
 
@@ -43,6 +45,26 @@ public class Transacao {
         this.categoriaId = categoriaId;
     }
 
+    /**
+     * Cópia rasa: categoria e usuário continuam sendo as mesmas instâncias
+     */
+    public Transacao(Transacao origem) {
+        this.id = origem.id;
+        this.descricao = origem.descricao;
+        this.valor = origem.valor;
+        this.valorCentavos = origem.valorCentavos;
+        this.dataTransacao = origem.dataTransacao;
+        this.tipo = origem.tipo;
+        this.categoriaId = origem.categoriaId;
+        this.categoria = origem.categoria;
+        this.usuario = origem.usuario;
+        this.usuarioId = origem.usuarioId;
+        this.observacao = origem.observacao;
+        this.ativo = origem.ativo;
+        this.dataCriacao = origem.dataCriacao;
+        this.dataAtualizacao = origem.dataAtualizacao;
+    }
+
     //Getters e Setters
 
 
@@ -67,8 +89,13 @@ public class Transacao {
         return valor;
     }
 
+    public long getValorCentavos() {
+        return valorCentavos;
+    }
+
     public void setValor(BigDecimal valor) {
         this.valor = valor;
+        this.valorCentavos = Dinheiro.centavos(valor);
         this.dataAtualizacao = LocalDateTime.now();
     }
 
@@ -0,0 +1,311 @@
+package com.controlfinanceiro.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU de PreparedStatements de uma conexão física do pool.
+ *
+ * O DAO continua chamando prepareStatement/close normalmente; o close() só devolve o
+ * statement ao cache, e o próximo prepareStatement com o mesmo SQL reaproveita o
+ * statement já preparado no servidor. Uma instância pertence a uma única conexão, que
+ * só é usada por uma thread por vez, por isso não há sincronização aqui.
+ */
+public final class CacheStatements {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatements.class);
+
+    // Contadores globais por SQL, somando todas as conexões do pool. Os SQLs dos DAOs são
+    // fixos, mas um SQL montado com valores no texto criaria uma entrada por chamada; passado
+    // o limite, os SQLs novos somam em uma entrada só.
+    private static final int LIMITE_ESTATISTICAS = 512;
+    static final String OUTROS_SQL = "(outros)";
+    private static final Map<String, Contadores> ESTATISTICAS = new ConcurrentHashMap<>();
+
+    private final int capacidade;
+    private final LinkedHashMap<Chave, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    CacheStatements(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * @param emprestada conexão entregue ao DAO; é o que getConnection() dos statements devolve
+     */
+    PreparedStatement preparar(Connection fisica, Connection emprestada, String sql, int chavesGeradas)
+            throws SQLException {
+        Chave chave = new Chave(sql, chavesGeradas);
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && entrada.descartada) {
+            entradas.remove(chave);
+            entrada = null;
+        }
+
+        if (entrada != null && !entrada.emUso) {
+            contadores(sql).acertos.increment();
+            return entrada.emprestar(emprestada);
+        }
+
+        contadores(sql).falhas.increment();
+        PreparedStatement statement = chavesGeradas == Statement.NO_GENERATED_KEYS
+                ? fisica.prepareStatement(sql)
+                : fisica.prepareStatement(sql, chavesGeradas);
+
+        if (entrada != null) {
+            // Mesmo SQL ainda aberto nesta conexão: entrega um statement comum, fora do cache
+            return vincular(statement, PreparedStatement.class, emprestada);
+        }
+
+        entrada = new Entrada(chave, statement);
+        entradas.put(chave, entrada);
+        removerExcedentes();
+        return entrada.emprestar(emprestada);
+    }
+
+    /**
+     * Envolve um statement que não passa pelo cache para que getConnection() devolva a
+     * conexão emprestada, e não a física: quem fechar a conexão obtida pelo statement
+     * devolve ao pool em vez de derrubar a conexão física.
+     */
+    static <S extends Statement> S vincular(S statement, Class<S> tipo, Connection emprestada) {
+        return tipo.cast(Proxy.newProxyInstance(
+                tipo.getClassLoader(),
+                new Class<?>[]{tipo},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getConnection":
+                            return emprestada;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    /**
+     * Fecha todos os statements; chamado quando a conexão física é descartada
+     */
+    void fechar() {
+        for (Entrada entrada : entradas.values()) {
+            entrada.fecharFisico();
+        }
+        entradas.clear();
+    }
+
+    private void removerExcedentes() {
+        Iterator<Entrada> iterator = entradas.values().iterator();
+        while (entradas.size() > capacidade && iterator.hasNext()) {
+            Entrada maisAntiga = iterator.next();
+            if (!maisAntiga.emUso) {
+                iterator.remove();
+                maisAntiga.fecharFisico();
+                contadores(maisAntiga.chave.sql).remocoes.increment();
+            }
+        }
+    }
+
+    private static Contadores contadores(String sql) {
+        Contadores contadores = ESTATISTICAS.get(sql);
+        if (contadores != null) {
+            return contadores;
+        }
+        // O limite é aproximado sob concorrência; passa dele por no máximo uma entrada por thread
+        String chave = ESTATISTICAS.size() < LIMITE_ESTATISTICAS ? sql : OUTROS_SQL;
+        return ESTATISTICAS.computeIfAbsent(chave, k -> new Contadores());
+    }
+
+    /**
+     * Retorna uma cópia dos contadores por SQL, ordenada pelo texto do SQL
+     */
+    static Map<String, Contadores> getEstatisticas() {
+        return Collections.unmodifiableMap(new TreeMap<>(ESTATISTICAS));
+    }
+
+    static void limparEstatisticas() {
+        ESTATISTICAS.clear();
+    }
+
+    /**
+     * Contadores de uso do cache para um SQL
+     */
+    public static final class Contadores {
+        private final LongAdder acertos = new LongAdder();
+        private final LongAdder falhas = new LongAdder();
+        private final LongAdder remocoes = new LongAdder();
+
+        public long getAcertos() { return acertos.sum(); }
+        public long getFalhas() { return falhas.sum(); }
+        public long getRemocoes() { return remocoes.sum(); }
+
+        public double getTaxaAcerto() {
+            long total = getAcertos() + getFalhas();
+            return total == 0 ? 0.0 : (double) getAcertos() / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("acertos=%d, falhas=%d, remoções=%d, taxa=%.1f%%",
+                    getAcertos(), getFalhas(), getRemocoes(), getTaxaAcerto() * 100);
+        }
+    }
+
+    private static final class Chave {
+        private final String sql;
+        private final int chavesGeradas;
+
+        private Chave(String sql, int chavesGeradas) {
+            this.sql = sql;
+            this.chavesGeradas = chavesGeradas;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave)) return false;
+            Chave outra = (Chave) o;
+            return chavesGeradas == outra.chavesGeradas && sql.equals(outra.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, chavesGeradas);
+        }
+    }
+
+    private static final class Entrada {
+        private final Chave chave;
+        private final PreparedStatement fisico;
+        private boolean emUso;
+        private boolean descartada;
+
+        private Entrada(Chave chave, PreparedStatement fisico) {
+            this.chave = chave;
+            this.fisico = fisico;
+        }
+
+        private PreparedStatement emprestar(Connection emprestada) {
+            emUso = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementEmprestado(this, emprestada));
+        }
+
+        /**
+         * Limpa o estado deixado pelo último uso para o statement voltar ao cache
+         */
+        private void devolver(boolean alterouLimites) {
+            try {
+                ResultSet aberto = fisico.getResultSet();
+                if (aberto != null) {
+                    aberto.close();
+                }
+                fisico.clearParameters();
+                fisico.clearBatch();
+                fisico.clearWarnings();
+                if (alterouLimites) {
+                    fisico.setFetchSize(0);
+                    fisico.setMaxRows(0);
+                }
+            } catch (SQLException e) {
+                logger.debug("Statement não pôde ser limpo, será preparado de novo: {}", e.getMessage());
+                descartada = true;
+                fecharFisico();
+            } finally {
+                emUso = false;
+            }
+        }
+
+        private void fecharFisico() {
+            try {
+                fisico.close();
+            } catch (SQLException e) {
+                logger.debug("Erro ao fechar statement em cache: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Visão do statement entregue ao DAO; close() devolve ao cache
+     */
+    private static final class StatementEmprestado implements InvocationHandler {
+        private final Entrada entrada;
+        private final Connection emprestada;
+        private boolean fechado;
+        private boolean alterouLimites;
+
+        private StatementEmprestado(Entrada entrada, Connection emprestada) {
+            this.entrada = entrada;
+            this.emprestada = emprestada;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!fechado) {
+                        fechado = true;
+                        entrada.devolver(alterouLimites);
+                    }
+                    return null;
+                case "isClosed":
+                    if (fechado) {
+                        return true;
+                    }
+                    break;
+                case "getConnection":
+                    if (!fechado) {
+                        return emprestada;
+                    }
+                    break;
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                    alterouLimites = true;
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (fechado) {
+                throw new SQLException("Statement já foi fechado");
+            }
+
+            try {
+                return method.invoke(entrada.fisico, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -3,8 +3,8 @@ package com.controlfinanceiro.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Properties;
 
 
@@ -12,6 +12,7 @@ public class ConnectionFactory {
 
     private static final String PROPERTIES_FILE = "/database.properties";
     private static Properties properties;
+    private static volatile ConnectionPool pool;
 
     static {
         loadProperties();
@@ -30,24 +31,142 @@ public class ConnectionFactory {
     }
 
     public static Connection getConnection() throws SQLException {
-        try {
-            String url = getProperty("db.url");
-            String username = getProperty("db.username");
-            String password = getProperty("db.password");
-            String driver = getProperty("db.driver");
+        return getPool().getConnection();
+    }
+
+    /**
+     * Fecha as conexões do pool. Chamado automaticamente no desligamento da JVM.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.encerrar();
+        }
+    }
+
+    /**
+     * Acertos, falhas e remoções do cache de statements por SQL, para dimensionar
+     * db.pool.statementCacheSize
+     */
+    public static Map<String, CacheStatements.Contadores> getEstatisticasStatements() throws SQLException {
+        return getPool().getEstatisticasStatements();
+    }
+
+    /**
+     * Linhas buscadas por ida ao banco nas consultas por cursor (db.fetchSize)
+     */
+    public static int getFetchSize() {
+        return getIntProperty("db.fetchSize", 500);
+    }
+
+    /**
+     * Indica se as migrações do esquema devem rodar na inicialização (db.migrations.enabled)
+     */
+    public static boolean isMigracoesHabilitadas() {
+        return !"false".equalsIgnoreCase(getProperty("db.migrations.enabled"));
+    }
+
+    /**
+     * Indica se as transações do usuário logado ficam em memória (cache.transacoes.enabled)
+     */
+    public static boolean isCacheTransacoesHabilitado() {
+        return !"false".equalsIgnoreCase(getProperty("cache.transacoes.enabled"));
+    }
+
+    /**
+     * Total de transações mantidas em memória, somando todos os usuários (cache.transacoes.maxTransacoes)
+     */
+    public static int getCacheTransacoesMaximo() {
+        return getIntProperty("cache.transacoes.maxTransacoes", 100000);
+    }
 
-            if (url == null || username == null || driver == null) {
-                throw new SQLException("Propriedades do banco de dados não configuradas corretamente");
+    /**
+     * Usuários com mais transações que isso não ficam em memória (cache.transacoes.maxPorUsuario)
+     */
+    public static int getCacheTransacoesMaximoPorUsuario() {
+        return getIntProperty("cache.transacoes.maxPorUsuario", 20000);
+    }
+
+    /**
+     * Memória estimada para os relatórios guardados, em bytes (cache.relatorios.maxBytes); 0 desliga o cache
+     */
+    public static long getCacheRelatoriosMaximoBytes() {
+        return getIntProperty("cache.relatorios.maxBytes", 16 * 1024 * 1024);
+    }
+
+    /**
+     * Threads dos relatórios por período (relatorios.paralelismo); 0 usa um por
+     * processador e 1 calcula tudo na thread que pediu
+     */
+    public static int getRelatoriosParalelismo() {
+        int paralelismo = getIntProperty("relatorios.paralelismo", 0);
+        return paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Abaixo desta quantidade de transações o relatório não é dividido entre threads
+     * (relatorios.linhasPorTarefa)
+     */
+    public static int getRelatoriosLinhasPorTarefa() {
+        return getIntProperty("relatorios.linhasPorTarefa", 4096);
+    }
+
+    private static ConnectionPool getPool() throws SQLException {
+        ConnectionPool atual = pool;
+        if (atual == null) {
+            synchronized (ConnectionFactory.class) {
+                if (pool == null) {
+                    pool = criarPool();
+                }
+                atual = pool;
             }
+        }
+        return atual;
+    }
 
-            // Carrega o driver JDBC
-            Class.forName(driver);
+    private static ConnectionPool criarPool() throws SQLException {
+        String url = getProperty("db.url");
+        String username = getProperty("db.username");
+        String password = getProperty("db.password");
+        String driver = getProperty("db.driver");
 
-            return DriverManager.getConnection(url, username, password);
+        if (url == null || username == null || driver == null) {
+            throw new SQLException("Propriedades do banco de dados não configuradas corretamente");
+        }
 
+        try {
+            // Carrega o driver JDBC uma única vez
+            Class.forName(driver);
         } catch (ClassNotFoundException e) {
             throw new SQLException("Driver JDBC não encontrado", e);
         }
+
+        Properties propriedadesConexao = new Properties();
+        propriedadesConexao.setProperty("user", username);
+        if (password != null) {
+            propriedadesConexao.setProperty("password", password);
+        }
+        if (url.startsWith("jdbc:mysql:")) {
+            // Prepara no servidor; o cache do pool mantém os statements abertos entre usos
+            propriedadesConexao.setProperty("useServerPrepStmts",
+                String.valueOf(!"false".equalsIgnoreCase(getProperty("db.serverPrepStmts"))));
+            propriedadesConexao.setProperty("cachePrepStmts", "false");
+            // Reescreve os INSERTs em lote como um único INSERT de várias linhas
+            propriedadesConexao.setProperty("rewriteBatchedStatements", "true");
+            // Com fetch size > 0, lê os resultados por cursor no servidor em vez de tudo de uma vez
+            propriedadesConexao.setProperty("useCursorFetch", "true");
+        }
+
+        ConnectionPool novoPool = new ConnectionPool(url, propriedadesConexao,
+            getIntProperty("db.pool.minSize", 5),
+            getIntProperty("db.pool.maxSize", 20),
+            getIntProperty("db.pool.timeout", 30000),
+            getIntProperty("db.pool.idleTimeout", 600000),
+            getIntProperty("db.pool.validationTimeout", 5),
+            getIntProperty("db.pool.statementCacheSize", 50));
+        novoPool.iniciar();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(ConnectionFactory::shutdown, "pool-conexoes-shutdown"));
+        return novoPool;
     }
 
     private static String getProperty(String key) {
@@ -61,6 +180,19 @@ public class ConnectionFactory {
         return properties.getProperty(key);
     }
 
+    private static int getIntProperty(String key, int valorPadrao) {
+        String valor = getProperty(key);
+        if (valor == null || valor.trim().isEmpty()) {
+            return valorPadrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Valor inválido para " + key + ": " + valor + " (usando " + valorPadrao + ")");
+            return valorPadrao;
+        }
+    }
+
     public static boolean testConnection() {
         try (Connection conn = getConnection()) {
             return conn != null && !conn.isClosed();
@@ -0,0 +1,426 @@
+package com.controlfinanceiro.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de conexões JDBC usado pela ConnectionFactory.
+ *
+ * As conexões entregues são proxies: chamar close() devolve a conexão física ao pool
+ * em vez de encerrá-la, então os DAOs continuam usando try-with-resources normalmente.
+ * Cada conexão física guarda também um cache de PreparedStatements (ver CacheStatements).
+ */
+public class ConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final String url;
+    private final Properties propriedadesConexao;
+    private final int tamanhoMinimo;
+    private final int tamanhoMaximo;
+    private final long timeoutAquisicaoMs;
+    private final long tempoMaximoOciosoMs;
+    private final int timeoutValidacaoSeg;
+    private final int tamanhoCacheStatements;
+
+    // Conexões livres; a cabeça guarda a usada mais recentemente
+    private final BlockingDeque<ConexaoFisica> ociosas = new LinkedBlockingDeque<>();
+    private final Semaphore permissoes;
+    private final AtomicInteger totalConexoes = new AtomicInteger();
+    private final ScheduledExecutorService manutencao;
+    private volatile boolean encerrado;
+
+    /**
+     * @param propriedadesConexao propriedades repassadas ao driver (user, password, etc.)
+     * @param tamanhoCacheStatements statements mantidos por conexão; zero desliga o cache
+     */
+    public ConnectionPool(String url, Properties propriedadesConexao, int tamanhoMinimo, int tamanhoMaximo,
+                          long timeoutAquisicaoMs, long tempoMaximoOciosoMs, int timeoutValidacaoSeg,
+                          int tamanhoCacheStatements) {
+        if (tamanhoMaximo < 1) {
+            throw new IllegalArgumentException("Tamanho máximo do pool deve ser maior que zero");
+        }
+        this.url = url;
+        this.propriedadesConexao = new Properties();
+        this.propriedadesConexao.putAll(propriedadesConexao);
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tamanhoMinimo = Math.max(0, Math.min(tamanhoMinimo, tamanhoMaximo));
+        this.timeoutAquisicaoMs = timeoutAquisicaoMs;
+        this.tempoMaximoOciosoMs = tempoMaximoOciosoMs;
+        this.timeoutValidacaoSeg = timeoutValidacaoSeg;
+        this.tamanhoCacheStatements = Math.max(0, tamanhoCacheStatements);
+        this.permissoes = new Semaphore(tamanhoMaximo, true);
+
+        this.manutencao = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-conexoes-manutencao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = Math.max(1000, Math.min(tempoMaximoOciosoMs / 2, 30000));
+        this.manutencao.scheduleWithFixedDelay(this::removerOciosas, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre o número mínimo de conexões. Falhas aqui não são fatais: o pool tenta de novo
+     * na próxima requisição e na próxima rodada de manutenção.
+     */
+    public void iniciar() {
+        try {
+            preencherMinimo();
+            logger.info("Pool de conexões iniciado: {} conexões (mín {}, máx {})",
+                    totalConexoes.get(), tamanhoMinimo, tamanhoMaximo);
+        } catch (SQLException e) {
+            logger.warn("Não foi possível abrir as conexões iniciais do pool: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Empresta uma conexão, aguardando no máximo o timeout de aquisição configurado
+     */
+    public Connection getConnection() throws SQLException {
+        if (encerrado) {
+            throw new SQLException("Pool de conexões encerrado");
+        }
+
+        try {
+            if (!permissoes.tryAcquire(timeoutAquisicaoMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Tempo esgotado aguardando conexão livre no pool ("
+                        + timeoutAquisicaoMs + " ms, máximo de " + tamanhoMaximo + " conexões)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido enquanto aguardava conexão do pool", e);
+        }
+
+        try {
+            return obterConexaoValida().emprestar();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Fecha todas as conexões livres; as emprestadas são fechadas quando forem devolvidas
+     */
+    public void encerrar() {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        manutencao.shutdownNow();
+
+        ConexaoFisica conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            descartar(conexao);
+        }
+        logger.info("Pool de conexões encerrado");
+    }
+
+    public int getTotalConexoes() {
+        return totalConexoes.get();
+    }
+
+    public int getConexoesOciosas() {
+        return ociosas.size();
+    }
+
+    /**
+     * Acertos, falhas e remoções do cache de statements, por SQL
+     */
+    public Map<String, CacheStatements.Contadores> getEstatisticasStatements() {
+        return CacheStatements.getEstatisticas();
+    }
+
+    private ConexaoFisica obterConexaoValida() throws SQLException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutAquisicaoMs);
+        while (true) {
+            ConexaoFisica conexao = ociosas.pollFirst();
+            if (conexao == null) {
+                if (reservarVaga(tamanhoMaximo)) {
+                    return criarConexao();
+                }
+                // Todas as vagas estão ocupadas, mas quem tem a permissão tem direito a uma
+                // conexão: a que preencherMinimo acabou de abrir chega às ociosas em seguida
+                conexao = aguardarOciosa(limite);
+            }
+            if (conexao.isValida(timeoutValidacaoSeg)) {
+                return conexao;
+            }
+            logger.debug("Descartando conexão inválida do pool");
+            descartar(conexao);
+        }
+    }
+
+    private ConexaoFisica aguardarOciosa(long limite) throws SQLException {
+        try {
+            ConexaoFisica conexao = ociosas.pollFirst(Math.max(limite - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            if (conexao == null) {
+                throw new SQLTimeoutException("Tempo esgotado aguardando conexão livre no pool ("
+                        + timeoutAquisicaoMs + " ms, máximo de " + tamanhoMaximo + " conexões)");
+            }
+            return conexao;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido enquanto aguardava conexão do pool", e);
+        }
+    }
+
+    /**
+     * Reserva uma vaga para uma nova conexão física se o total ainda estiver abaixo do
+     * limite. O total é incrementado antes de abrir a conexão, então empréstimos e
+     * preencherMinimo, que rodam ao mesmo tempo, nunca passam juntos de tamanhoMaximo.
+     */
+    private boolean reservarVaga(int limite) {
+        int atual;
+        do {
+            atual = totalConexoes.get();
+            if (atual >= limite) {
+                return false;
+            }
+        } while (!totalConexoes.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    /**
+     * Abre a conexão física de uma vaga já reservada; libera a vaga se falhar
+     */
+    private ConexaoFisica criarConexao() throws SQLException {
+        try {
+            return new ConexaoFisica(DriverManager.getConnection(url, propriedadesConexao));
+        } catch (SQLException | RuntimeException e) {
+            totalConexoes.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void devolver(ConexaoFisica conexao) {
+        try {
+            if (encerrado || !conexao.restaurarEstado()) {
+                descartar(conexao);
+            } else {
+                conexao.marcarUso();
+                ociosas.offerFirst(conexao);
+            }
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    private void descartar(ConexaoFisica conexao) {
+        totalConexoes.decrementAndGet();
+        conexao.fechar();
+    }
+
+    private void preencherMinimo() throws SQLException {
+        // tamanhoMinimo nunca passa de tamanhoMaximo, então a reserva respeita os dois
+        while (!encerrado && reservarVaga(tamanhoMinimo)) {
+            ociosas.offerLast(criarConexao());
+        }
+    }
+
+    private void removerOciosas() {
+        try {
+            long limite = System.currentTimeMillis() - tempoMaximoOciosoMs;
+
+            // A cauda guarda as conexões paradas há mais tempo
+            Iterator<ConexaoFisica> iterator = ociosas.descendingIterator();
+            while (iterator.hasNext() && totalConexoes.get() > tamanhoMinimo) {
+                ConexaoFisica conexao = iterator.next();
+                if (conexao.getUltimoUso() < limite && ociosas.removeFirstOccurrence(conexao)) {
+                    descartar(conexao);
+                }
+            }
+
+            preencherMinimo();
+        } catch (SQLException e) {
+            logger.warn("Falha ao repor conexões mínimas do pool: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Erro na manutenção do pool de conexões", e);
+        }
+    }
+
+    /**
+     * Conexão física mantida pelo pool
+     */
+    private final class ConexaoFisica {
+        private final Connection fisica;
+        private final CacheStatements statements;
+        private volatile long ultimoUso;
+
+        private ConexaoFisica(Connection fisica) {
+            this.fisica = fisica;
+            this.statements = tamanhoCacheStatements > 0 ? new CacheStatements(tamanhoCacheStatements) : null;
+            marcarUso();
+        }
+
+        private Connection emprestar() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConexaoEmprestada(this));
+        }
+
+        private boolean isValida(int timeoutSegundos) {
+            try {
+                return !fisica.isClosed() && fisica.isValid(timeoutSegundos);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Desfaz o que o último usuário deixou pendente antes de voltar ao pool
+         */
+        private boolean restaurarEstado() {
+            try {
+                if (fisica.isClosed()) {
+                    return false;
+                }
+                if (!fisica.getAutoCommit()) {
+                    fisica.rollback();
+                    fisica.setAutoCommit(true);
+                }
+                fisica.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                logger.debug("Conexão não pôde ser restaurada: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        private void marcarUso() {
+            ultimoUso = System.currentTimeMillis();
+        }
+
+        private long getUltimoUso() {
+            return ultimoUso;
+        }
+
+        private void fechar() {
+            if (statements != null) {
+                statements.fechar();
+            }
+            try {
+                fisica.close();
+            } catch (SQLException e) {
+                logger.debug("Erro ao fechar conexão física: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Visão da conexão entregue ao chamador; close() devolve ao pool
+     */
+    private final class ConexaoEmprestada implements InvocationHandler {
+        private final ConexaoFisica conexao;
+        private final AtomicBoolean devolvida = new AtomicBoolean();
+
+        private ConexaoEmprestada(ConexaoFisica conexao) {
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (devolvida.compareAndSet(false, true)) {
+                        devolver(conexao);
+                    }
+                    return null;
+                case "isClosed":
+                    if (devolvida.get()) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexaoPool[" + conexao.fisica + "]";
+                default:
+                    break;
+            }
+
+            if (devolvida.get()) {
+                throw new SQLException("Conexão já foi devolvida ao pool");
+            }
+
+            // A conexão física nunca sai do pool: quem a fechasse ou a guardasse
+            // passaria por cima do empréstimo
+            if (method.getName().equals("isWrapperFor")) {
+                return ((Class<?>) args[0]).isInstance(proxy);
+            }
+            if (method.getName().equals("unwrap")) {
+                Class<?> tipo = (Class<?>) args[0];
+                if (!tipo.isInstance(proxy)) {
+                    throw new SQLException("Conexão do pool não expõe " + tipo.getName());
+                }
+                return proxy;
+            }
+
+            if (usaCacheStatements(method, args)) {
+                int chavesGeradas = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return conexao.statements.preparar(conexao.fisica, (Connection) proxy, (String) args[0], chavesGeradas);
+            }
+
+            Object resultado;
+            try {
+                resultado = method.invoke(conexao.fisica, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return vincularStatement(method, resultado, (Connection) proxy);
+        }
+
+        /**
+         * Statements criados fora do cache também devolvem a conexão emprestada em
+         * getConnection(), nunca a física
+         */
+        @SuppressWarnings("unchecked")
+        private Object vincularStatement(Method method, Object resultado, Connection emprestada) {
+            Class<?> tipo = method.getReturnType();
+            if (resultado == null || !Statement.class.isAssignableFrom(tipo)) {
+                return resultado;
+            }
+            return CacheStatements.vincular((Statement) resultado, (Class<Statement>) tipo, emprestada);
+        }
+
+        /**
+         * Só prepareStatement(sql) e prepareStatement(sql, chavesGeradas) passam pelo cache;
+         * as demais variantes mudam o tipo do ResultSet e são preparadas direto
+         */
+        private boolean usaCacheStatements(Method method, Object[] args) {
+            if (conexao.statements == null || !method.getName().equals("prepareStatement")
+                    || method.getReturnType() != PreparedStatement.class) {
+                return false;
+            }
+            Class<?>[] parametros = method.getParameterTypes();
+            return parametros.length == 1
+                    || (parametros.length == 2 && parametros[1] == int.class);
+        }
+    }
+}
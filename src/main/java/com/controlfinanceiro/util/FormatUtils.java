@@ -1,14 +1,53 @@
 package com.controlfinanceiro.util;
 
+import com.controlfinanceiro.model.Dinheiro;
+
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
+/**
+ * Formatação de valores e datas para as telas e relatórios. Pode ser chamada de
+ * qualquer thread: não há NumberFormat compartilhado (que não é thread-safe); os
+ * valores são escritos dígito a dígito a partir dos centavos, no formato pt-BR para
+ * moeda e com os separadores da localidade padrão em formatarDecimal. Valores que não
+ * cabem em centavos (ver Dinheiro.cabeEmCentavos) passam por um NumberFormat novo.
+ *
+ * As datas dd/MM/yyyy ficam em um cache indexado pelo dia (epochDay): as tabelas
+ * repetem poucas datas, e um acerto não cria objetos.
+ */
 public class FormatUtils {
 
-    private static final NumberFormat CURRENCY_FORMAT = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#,##0.00");
+    public static final Locale LOCALE_BR = Locale.of("pt", "BR");
+
+    // DateTimeFormatter é imutável e pode ser compartilhado; use também para ler datas digitadas
+    public static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Prefixos da moeda como o JDK os gera para pt-BR ("R$" seguido de espaço não separável)
+    private static final String PREFIXO_MOEDA;
+    private static final String PREFIXO_MOEDA_NEGATIVO;
+
+    static {
+        NumberFormat moeda = NumberFormat.getCurrencyInstance(LOCALE_BR);
+        PREFIXO_MOEDA = prefixo(moeda.format(1));
+        PREFIXO_MOEDA_NEGATIVO = prefixo(moeda.format(-1));
+    }
+
+    // Maior saída de digitos(): 19 dígitos de um long, 6 pontos de milhar e a vírgula
+    private static final int TAMANHO_DIGITOS = 26;
+
+    // Rascunho de cada thread para os dígitos; formatar não cria nada além do texto final
+    private static final ThreadLocal<char[]> rascunho = ThreadLocal.withInitial(() -> new char[TAMANHO_DIGITOS]);
+
+    private static final int TAMANHO_CACHE_DATAS = 4096;    // potência de 2, pouco mais de 11 anos
+    private static final DataFormatada[] cacheDatas = new DataFormatada[TAMANHO_CACHE_DATAS];
+
+    // Símbolos da localidade padrão usados por formatarDecimal; refeitos se ela mudar
+    private static volatile Simbolos simbolosPadrao;
 
     /**
      * Formata um valor BigDecimal para a moeda brasileira (R$)
@@ -17,7 +56,10 @@ public class FormatUtils {
         if (valor == null) {
             return "R$ 0,00";
         }
-        return CURRENCY_FORMAT.format(valor);
+        if (!Dinheiro.cabeEmCentavos(valor)) {
+            return NumberFormat.getCurrencyInstance(LOCALE_BR).format(valor);
+        }
+        return formatarCentavos(Dinheiro.centavos(valor));
     }
 
     /**
@@ -28,12 +70,163 @@ public class FormatUtils {
     }
 
     /**
-     * Formata um valor BigDecimal como decimal simples
+     * Formata um valor em centavos para a moeda brasileira (R$), sem passar por BigDecimal
+     */
+    public static String formatarCentavos(long centavos) {
+        char[] buffer = rascunho.get();
+        int inicio = digitos(centavos, buffer, '0', '.', ',');
+        String prefixo = centavos < 0 ? PREFIXO_MOEDA_NEGATIVO : PREFIXO_MOEDA;
+        return prefixo.concat(new String(buffer, inicio, TAMANHO_DIGITOS - inicio));
+    }
+
+    /**
+     * Acrescenta o valor em centavos, como em formatarCentavos, a um buffer do chamador.
+     * Quem formata muitos valores seguidos (exportação, relatórios) reaproveita o mesmo
+     * StringBuilder e não cria uma String por valor.
+     */
+    public static StringBuilder formatarCentavos(long centavos, StringBuilder destino) {
+        char[] buffer = rascunho.get();
+        int inicio = digitos(centavos, buffer, '0', '.', ',');
+        return destino.append(centavos < 0 ? PREFIXO_MOEDA_NEGATIVO : PREFIXO_MOEDA)
+            .append(buffer, inicio, TAMANHO_DIGITOS - inicio);
+    }
+
+    /**
+     * Formata um valor BigDecimal como decimal simples (#,##0.00), com os separadores
+     * da localidade padrão, como o DecimalFormat que era usado aqui
      */
     public static String formatarDecimal(BigDecimal valor) {
         if (valor == null) {
             return "0,00";
         }
-        return DECIMAL_FORMAT.format(valor);
+        if (!Dinheiro.cabeEmCentavos(valor)) {
+            return new DecimalFormat("#,##0.00").format(valor);
+        }
+        Simbolos simbolos = simbolosPadrao();
+        long centavos = Dinheiro.centavos(valor);
+        char[] buffer = rascunho.get();
+        int inicio = digitos(centavos, buffer, simbolos.zero, simbolos.milhar, simbolos.decimal);
+        String texto = new String(buffer, inicio, TAMANHO_DIGITOS - inicio);
+        return centavos < 0 ? simbolos.menos.concat(texto) : texto;
+    }
+
+    /**
+     * Data no formato dd/MM/yyyy; null vira texto vazio
+     */
+    public static String formatarData(LocalDate data) {
+        if (data == null) {
+            return "";
+        }
+
+        long dia = data.toEpochDay();
+        int posicao = (int) (dia & (TAMANHO_CACHE_DATAS - 1));
+        DataFormatada existente = cacheDatas[posicao];
+        if (existente != null && existente.dia == dia) {
+            return existente.texto;
+        }
+
+        // Corridas entre threads só fazem a mesma data ser formatada de novo
+        DataFormatada nova = new DataFormatada(dia, escreverData(data));
+        cacheDatas[posicao] = nova;
+        return nova.texto;
+    }
+
+    /**
+     * Escreve o valor absoluto de centavos no fim do buffer ("1.234,56", com os
+     * caracteres informados) e devolve a posição do primeiro caractere. Trabalha com o
+     * resto negativo para aceitar Long.MIN_VALUE.
+     */
+    private static int digitos(long centavos, char[] buffer, char zero, char milhar, char decimal) {
+        long restante = centavos > 0 ? -centavos : centavos;
+        int posicao = buffer.length;
+
+        buffer[--posicao] = (char) (zero - restante % 10);
+        restante /= 10;
+        buffer[--posicao] = (char) (zero - restante % 10);
+        restante /= 10;
+        buffer[--posicao] = decimal;
+
+        int grupo = 0;
+        do {
+            if (grupo == 3) {
+                buffer[--posicao] = milhar;
+                grupo = 0;
+            }
+            buffer[--posicao] = (char) (zero - restante % 10);
+            restante /= 10;
+            grupo++;
+        } while (restante != 0);
+
+        return posicao;
+    }
+
+    private static Simbolos simbolosPadrao() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Simbolos atual = simbolosPadrao;
+        if (atual == null || !atual.locale.equals(locale)) {
+            atual = new Simbolos(locale);
+            simbolosPadrao = atual;
+        }
+        return atual;
+    }
+
+    private static String escreverData(LocalDate data) {
+        int ano = data.getYear();
+        if (ano < 0 || ano > 9999) {
+            return data.format(FORMATO_DATA);
+        }
+        int dia = data.getDayOfMonth();
+        int mes = data.getMonthValue();
+        char[] texto = {
+            (char) ('0' + dia / 10), (char) ('0' + dia % 10), '/',
+            (char) ('0' + mes / 10), (char) ('0' + mes % 10), '/',
+            (char) ('0' + ano / 1000), (char) ('0' + ano / 100 % 10), (char) ('0' + ano / 10 % 10), (char) ('0' + ano % 10)
+        };
+        return new String(texto);
+    }
+
+    /**
+     * Texto antes do primeiro dígito; se o JDK mudar o espaço depois de "R$" (já foi
+     * espaço comum, hoje é U+00A0), os valores continuam iguais aos do NumberFormat
+     */
+    private static String prefixo(String formatado) {
+        int i = 0;
+        while (i < formatado.length() && !Character.isDigit(formatado.charAt(i))) {
+            i++;
+        }
+        return formatado.substring(0, i);
+    }
+
+    /**
+     * Separadores de uma localidade, copiados de DecimalFormatSymbols (que é mutável)
+     */
+    private static final class Simbolos {
+        private final Locale locale;
+        private final char zero;
+        private final char milhar;
+        private final char decimal;
+        private final String menos;
+
+        private Simbolos(Locale locale) {
+            DecimalFormatSymbols simbolos = DecimalFormatSymbols.getInstance(locale);
+            this.locale = locale;
+            this.zero = simbolos.getZeroDigit();
+            this.milhar = simbolos.getGroupingSeparator();
+            this.decimal = simbolos.getDecimalSeparator();
+            this.menos = new DecimalFormat("#,##0.00", simbolos).getNegativePrefix();
+        }
+    }
+
+    /**
+     * Entrada do cache de datas; imutável, então pode ser publicada sem sincronização
+     */
+    private static final class DataFormatada {
+        private final long dia;
+        private final String texto;
+
+        private DataFormatada(long dia, String texto) {
+            this.dia = dia;
+            this.texto = texto;
+        }
     }
 }
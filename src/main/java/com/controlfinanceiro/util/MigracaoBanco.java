@@ -0,0 +1,300 @@
+package com.controlfinanceiro.util;
+
+import com.controlfinanceiro.exception.DAOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aplica as migrações versionadas do esquema na inicialização.
+ *
+ * Os scripts ficam em src/main/resources/db/migracao, listados em ordem no arquivo
+ * migracoes.txt, e cada versão aplicada é registrada na tabela schema_versao. Os
+ * comandos de um script são separados por ';' no fim da linha; linhas iniciadas
+ * por '--' são ignoradas (DELIMITER não é suportado).
+ *
+ * No MySQL os comandos DDL fazem commit implícito: se um script falhar no meio, os
+ * comandos anteriores continuam aplicados e a versão não é registrada.
+ */
+public final class MigracaoBanco {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracaoBanco.class);
+
+    private static final String DIRETORIO = "/db/migracao/";
+    private static final String INDICE = "migracoes.txt";
+    private static final Pattern NOME_SCRIPT = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private static final String CREATE_TABELA_SQL =
+        "CREATE TABLE IF NOT EXISTS schema_versao (" +
+        "versao INT PRIMARY KEY, " +
+        "descricao VARCHAR(200) NOT NULL, " +
+        "script VARCHAR(255) NOT NULL, " +
+        "checksum CHAR(64) NOT NULL, " +
+        "duracao_ms BIGINT NOT NULL, " +
+        "aplicada_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private static final String SELECT_APLICADAS_SQL =
+        "SELECT versao, checksum FROM schema_versao";
+
+    private static final String SELECT_VERSAO_SQL =
+        "SELECT COALESCE(MAX(versao), 0) FROM schema_versao";
+
+    private static final String INSERT_VERSAO_SQL =
+        "INSERT INTO schema_versao (versao, descricao, script, checksum, duracao_ms) VALUES (?, ?, ?, ?, ?)";
+
+    // Evita que duas instâncias da aplicação migrem o mesmo banco ao mesmo tempo
+    private static final String LOCK_SQL = "SELECT GET_LOCK('controle_financeiro_migracao', 60)";
+    private static final String UNLOCK_SQL = "SELECT RELEASE_LOCK('controle_financeiro_migracao')";
+
+    private MigracaoBanco() {
+    }
+
+    /**
+     * Aplica as migrações ainda não registradas em schema_versao
+     * @return quantidade de migrações aplicadas
+     */
+    public static int executar() throws DAOException {
+        return executar(DIRETORIO);
+    }
+
+    // Para os testes, que usam scripts próprios em src/test/resources
+    static int executar(String diretorio) throws DAOException {
+        List<Script> scripts = carregarScripts(diretorio);
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            boolean mysql = conn.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            if (mysql) {
+                adquirirLock(conn);
+            }
+
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(CREATE_TABELA_SQL);
+                }
+
+                Map<Integer, String> aplicadas = buscarAplicadas(conn);
+                int total = 0;
+
+                for (Script script : scripts) {
+                    String checksum = aplicadas.get(script.versao);
+                    if (checksum == null) {
+                        aplicar(conn, script);
+                        total++;
+                    } else if (!checksum.equals(script.checksum)) {
+                        logger.warn("Migração {} foi alterada depois de aplicada; crie uma nova versão em vez de editar o script",
+                                script.nome);
+                    }
+                }
+
+                if (total == 0) {
+                    logger.info("Esquema do banco atualizado (versão {})", versaoAtual(scripts));
+                }
+                return total;
+            } finally {
+                if (mysql) {
+                    liberarLock(conn);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DAOException("Erro ao aplicar migrações do banco: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Maior versão registrada em schema_versao, ou zero se as migrações nunca rodaram
+     * neste banco (db.migrations.enabled=false, ou banco criado só com script_banco.sql)
+     */
+    public static int versaoAplicada(Connection conn) {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_VERSAO_SQL)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            logger.debug("Tabela schema_versao indisponível: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static void aplicar(Connection conn, Script script) throws SQLException {
+        logger.info("Aplicando migração {}", script.nome);
+        long inicio = System.currentTimeMillis();
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String comando : script.comandos) {
+                try {
+                    stmt.execute(comando);
+                } catch (SQLException e) {
+                    throw new SQLException("Falha na migração " + script.nome + " ao executar: " + comando
+                            + " (" + e.getMessage() + ")", e.getSQLState(), e);
+                }
+            }
+        }
+
+        long duracao = System.currentTimeMillis() - inicio;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_VERSAO_SQL)) {
+            stmt.setInt(1, script.versao);
+            stmt.setString(2, script.descricao);
+            stmt.setString(3, script.nome);
+            stmt.setString(4, script.checksum);
+            stmt.setLong(5, duracao);
+            stmt.executeUpdate();
+        }
+
+        logger.info("Migração {} aplicada em {} ms", script.nome, duracao);
+    }
+
+    private static Map<Integer, String> buscarAplicadas(Connection conn) throws SQLException {
+        Map<Integer, String> aplicadas = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_APLICADAS_SQL)) {
+            while (rs.next()) {
+                aplicadas.put(rs.getInt("versao"), rs.getString("checksum"));
+            }
+        }
+        return aplicadas;
+    }
+
+    private static void adquirirLock(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(LOCK_SQL)) {
+            if (!rs.next() || rs.getInt(1) != 1) {
+                throw new SQLException("Tempo esgotado aguardando outra instância terminar as migrações");
+            }
+        }
+    }
+
+    private static void liberarLock(Connection conn) {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeQuery(UNLOCK_SQL).close();
+        } catch (SQLException e) {
+            logger.warn("Não foi possível liberar o lock de migração: {}", e.getMessage());
+        }
+    }
+
+    private static int versaoAtual(List<Script> scripts) {
+        return scripts.isEmpty() ? 0 : scripts.get(scripts.size() - 1).versao;
+    }
+
+    private static List<Script> carregarScripts(String diretorio) throws DAOException {
+        List<Script> scripts = new ArrayList<>();
+        int ultimaVersao = 0;
+
+        for (String nome : lerLinhas(diretorio + INDICE)) {
+            Matcher matcher = NOME_SCRIPT.matcher(nome);
+            if (!matcher.matches()) {
+                throw new DAOException("Nome de migração inválido: " + nome + " (use V<versão>__<descricao>.sql)");
+            }
+
+            int versao = Integer.parseInt(matcher.group(1));
+            if (versao <= ultimaVersao) {
+                throw new DAOException("Migrações fora de ordem em " + diretorio + INDICE + ": " + nome);
+            }
+            ultimaVersao = versao;
+
+            String conteudo = lerConteudo(diretorio + nome);
+            scripts.add(new Script(versao, matcher.group(2).replace('_', ' '), nome,
+                    calcularChecksum(conteudo), separarComandos(conteudo)));
+        }
+
+        return scripts;
+    }
+
+    /**
+     * Linhas úteis do índice, sem comentários (#) e linhas em branco
+     */
+    private static List<String> lerLinhas(String recurso) throws DAOException {
+        List<String> linhas = new ArrayList<>();
+        for (String linha : lerConteudo(recurso).split("\\R")) {
+            String texto = linha.trim();
+            if (!texto.isEmpty() && !texto.startsWith("#")) {
+                linhas.add(texto);
+            }
+        }
+        return linhas;
+    }
+
+    private static String lerConteudo(String recurso) throws DAOException {
+        try (InputStream input = MigracaoBanco.class.getResourceAsStream(recurso)) {
+            if (input == null) {
+                throw new DAOException("Arquivo de migração não encontrado: " + recurso);
+            }
+            StringBuilder conteudo = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                String linha;
+                while ((linha = reader.readLine()) != null) {
+                    conteudo.append(linha).append('\n');
+                }
+            }
+            return conteudo.toString();
+        } catch (IOException e) {
+            throw new DAOException("Erro ao ler migração " + recurso, e);
+        }
+    }
+
+    private static List<String> separarComandos(String conteudo) {
+        List<String> comandos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+
+        for (String linha : conteudo.split("\\R")) {
+            String texto = linha.trim();
+            if (texto.isEmpty() || texto.startsWith("--")) {
+                continue;
+            }
+            atual.append(linha).append('\n');
+            if (texto.endsWith(";")) {
+                String comando = atual.toString().trim();
+                comandos.add(comando.substring(0, comando.length() - 1));
+                atual.setLength(0);
+            }
+        }
+
+        if (!atual.toString().isBlank()) {
+            comandos.add(atual.toString().trim());
+        }
+        return comandos;
+    }
+
+    private static String calcularChecksum(String conteudo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static final class Script {
+        private final int versao;
+        private final String descricao;
+        private final String nome;
+        private final String checksum;
+        private final List<String> comandos;
+
+        private Script(int versao, String descricao, String nome, String checksum, List<String> comandos) {
+            this.versao = versao;
+            this.descricao = descricao;
+            this.nome = nome;
+            this.checksum = checksum;
+            this.comandos = comandos;
+        }
+    }
+}
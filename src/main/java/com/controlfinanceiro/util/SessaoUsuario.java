@@ -3,21 +3,29 @@ package com.controlfinanceiro.util;
 import com.controlfinanceiro.model.Usuario;
 
 /**
- * Classe singleton para gerenciar a sessão do usuário logado
+ * Classe singleton para gerenciar a sessão do usuário logado.
+ * Lida também pelos controllers chamados fora da EDT (ExecucaoAssincrona).
  */
 public class SessaoUsuario {
-    private static SessaoUsuario instance;
-    private Usuario usuarioLogado;
+    private static volatile SessaoUsuario instance;
+    private volatile Usuario usuarioLogado;
 
     private SessaoUsuario() {
         // Construtor privado para implementar Singleton
     }
 
     public static SessaoUsuario getInstance() {
-        if (instance == null) {
-            instance = new SessaoUsuario();
+        SessaoUsuario atual = instance;
+        if (atual == null) {
+            synchronized (SessaoUsuario.class) {
+                atual = instance;
+                if (atual == null) {
+                    atual = new SessaoUsuario();
+                    instance = atual;
+                }
+            }
         }
-        return instance;
+        return atual;
     }
 
     /**
@@ -49,7 +57,8 @@ public class SessaoUsuario {
      * @return ID do usuário ou null se ninguém estiver logado
      */
     public Long getIdUsuarioLogado() {
-        return isUsuarioLogado() ? usuarioLogado.getId() : null;
+        Usuario usuario = usuarioLogado;
+        return usuario != null ? usuario.getId() : null;
     }
 
     /**
@@ -57,7 +66,8 @@ public class SessaoUsuario {
      * @return Nome do usuário ou "Usuário" se ninguém estiver logado
      */
     public String getNomeUsuarioLogado() {
-        return isUsuarioLogado() ? usuarioLogado.getNome() : "Usuário";
+        Usuario usuario = usuarioLogado;
+        return usuario != null ? usuario.getNome() : "Usuário";
     }
 
     /**
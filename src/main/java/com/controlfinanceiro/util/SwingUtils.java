@@ -1,4 +1,65 @@
 package com.controlfinanceiro.util;
 
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Utilitários para levar resultados de threads de fundo de volta à thread do Swing (EDT)
+ */
 public class SwingUtils {
+
+    /**
+     * Executa na EDT: direto se já estiver nela, senão com invokeLater
+     */
+    public static void executarNaEdt(Runnable acao) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            acao.run();
+        } else {
+            SwingUtilities.invokeLater(acao);
+        }
+    }
+
+    /**
+     * Entrega o resultado do future na EDT. A falha chega já sem o invólucro
+     * CompletionException; cancelamentos são ignorados, pois quem cancelou já sabe.
+     *
+     * @param sucesso recebe o valor na EDT
+     * @param falha recebe a causa do erro na EDT
+     */
+    public static <T> void naEdt(CompletableFuture<T> futuro, Consumer<T> sucesso, Consumer<Throwable> falha) {
+        futuro.whenComplete((valor, erro) -> executarNaEdt(() -> {
+            if (erro == null) {
+                sucesso.accept(valor);
+                return;
+            }
+            Throwable causa = causaReal(erro);
+            if (!(causa instanceof CancellationException)) {
+                falha.accept(causa);
+            }
+        }));
+    }
+
+    /**
+     * Mensagem para mostrar ao usuário quando uma chamada assíncrona falha
+     */
+    public static String mensagemDeErro(Throwable erro) {
+        Throwable causa = causaReal(erro);
+        if (causa instanceof TimeoutException) {
+            return "A operação demorou mais que o esperado. Tente novamente.";
+        }
+        return causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+    }
+
+    private static Throwable causaReal(Throwable erro) {
+        Throwable causa = erro;
+        while ((causa instanceof CompletionException || causa instanceof ExecutionException) && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        return causa;
+    }
 }
@@ -2,6 +2,7 @@ package com.controlfinanceiro.view;
 
 import com.controlfinanceiro.controller.TransacaoController;
 import com.controlfinanceiro.controller.CategoriaController;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.Transacao;
 import com.controlfinanceiro.model.Categoria;
 import com.controlfinanceiro.model.enums.TipoTransacao;
@@ -9,11 +10,9 @@ import com.controlfinanceiro.exception.BusinessException;
 import com.controlfinanceiro.util.FormatUtils;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 
@@ -24,10 +23,12 @@ public class CadastroDespesa extends JPanel {
     private JComboBox<Categoria> cmbCategoria;
     private JTextArea txtObservacoes;
     private JTable tabelaDespesas;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaPaginada modeloTabela;
     private JButton btnSalvar;
     private JButton btnLimpar;
     private JButton btnExcluir;
+    private JLabel lblQuantidade;
+    private JProgressBar barraCarregamento;
 
     // Controllers
     private final TransacaoController transacaoController;
@@ -58,7 +59,7 @@ public class CadastroDespesa extends JPanel {
         txtDescricao = new JTextField(20);
         txtValor = new JTextField(15);
         txtData = new JTextField(15);
-        txtData.setText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        txtData.setText(LocalDate.now().format(FormatUtils.FORMATO_DATA));
         txtObservacoes = new JTextArea(3, 20);
         
         cmbCategoria = new JComboBox<>();
@@ -70,15 +71,26 @@ public class CadastroDespesa extends JPanel {
         btnSalvar = new JButton("Salvar");
         btnLimpar = new JButton("Limpar");
         btnExcluir = new JButton("Excluir");
+        lblQuantidade = new JLabel(" ");
+        lblQuantidade.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        barraCarregamento = new JProgressBar();
 
         // Configurar tabela
-        String[] colunas = {"ID", "Descrição", "Categoria", "Valor", "Data", "Observações"};
-        modeloTabela = new DefaultTableModel(colunas, 0) {
+        modeloTabela = new ModeloTabelaPaginada(ColunaTransacao.ID, ColunaTransacao.DESCRICAO, ColunaTransacao.CATEGORIA,
+                ColunaTransacao.VALOR, ColunaTransacao.DATA, ColunaTransacao.OBSERVACOES) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            protected void aoContar(long total) {
+                lblQuantidade.setText(total + " despesas cadastradas");
+            }
+
+            @Override
+            protected void aoFalhar(Throwable erro) {
+                lblQuantidade.setText(" ");
+                JOptionPane.showMessageDialog(CadastroDespesa.this, "Erro ao carregar despesas: " + erro.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
             }
         };
+        modeloTabela.setBarraProgresso(barraCarregamento);
         tabelaDespesas = new JTable(modeloTabela);
         tabelaDespesas.getColumnModel().getColumn(0).setMaxWidth(50);
         tabelaDespesas.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -225,6 +237,7 @@ public class CadastroDespesa extends JPanel {
 
         // Configurar tabela
         tabelaDespesas = new JTable(modeloTabela);
+        TabelaTransacoes.configurar(tabelaDespesas, modeloTabela);
         tabelaDespesas.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         tabelaDespesas.setRowHeight(30);
         tabelaDespesas.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
@@ -242,8 +255,14 @@ public class CadastroDespesa extends JPanel {
         JScrollPane scrollPane = new JScrollPane(tabelaDespesas);
         scrollPane.setBorder(BorderFactory.createLoweredBevelBorder());
 
+        JPanel painelCarregamento = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        painelCarregamento.setBackground(Color.WHITE);
+        painelCarregamento.add(lblQuantidade);
+        painelCarregamento.add(barraCarregamento);
+
         painel.add(lblTitulo, BorderLayout.NORTH);
         painel.add(scrollPane, BorderLayout.CENTER);
+        painel.add(painelCarregamento, BorderLayout.SOUTH);
 
         return painel;
     }
@@ -273,26 +292,14 @@ public class CadastroDespesa extends JPanel {
         }
     }
 
+    /**
+     * Recarrega a tabela: só o total é lido agora, e as linhas são buscadas em páginas
+     * conforme aparecem na rolagem
+     */
     private void carregarDespesas() {
-        try {
-            List<Transacao> despesas = transacaoController.listarTransacoesPorTipo(TipoTransacao.DESPESA);
-            modeloTabela.setRowCount(0);
-
-            for (Transacao despesa : despesas) {
-                Object[] row = {
-                    despesa.getId(),
-                    despesa.getDescricao(),
-                    despesa.getCategoria() != null ? despesa.getCategoria().getNome() : "N/A",
-                    FormatUtils.formatarValor(despesa.getValor()),
-                    despesa.getDataTransacao().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                    despesa.getObservacao()
-                };
-                modeloTabela.addRow(row);
-            }
-        } catch (BusinessException e) {
-            JOptionPane.showMessageDialog(this, "Erro ao carregar despesas: " + e.getMessage(),
-                "Erro", JOptionPane.ERROR_MESSAGE);
-        }
+        lblQuantidade.setText("Carregando despesas...");
+        modeloTabela.recarregar(ModeloTabelaPaginada.doUsuarioLogado(transacaoController,
+            filtro -> filtro.comTipo(TipoTransacao.DESPESA)));
     }
     
     private void salvarDespesa() {
@@ -304,7 +311,7 @@ public class CadastroDespesa extends JPanel {
             }
 
             BigDecimal valor = new BigDecimal(txtValor.getText().replace(",", "."));
-            LocalDate data = LocalDate.parse(txtData.getText(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+            LocalDate data = LocalDate.parse(txtData.getText(), FormatUtils.FORMATO_DATA);
             Categoria categoria = (Categoria) cmbCategoria.getSelectedItem();
 
             Transacao despesa = new Transacao();
@@ -347,7 +354,7 @@ public class CadastroDespesa extends JPanel {
     private void limparFormulario() {
         txtDescricao.setText("");
         txtValor.setText("");
-        txtData.setText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        txtData.setText(LocalDate.now().format(FormatUtils.FORMATO_DATA));
         txtObservacoes.setText("");
         if (cmbCategoria.getItemCount() > 0) {
             cmbCategoria.setSelectedIndex(0);
@@ -369,8 +376,12 @@ public class CadastroDespesa extends JPanel {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                Long id = (Long) modeloTabela.getValueAt(selectedRow, 0);
-                transacaoController.excluirTransacao(id);
+                LinhaTransacao selecionada = TabelaTransacoes.selecionada(tabelaDespesas, modeloTabela);
+                if (selecionada == null) {
+                    JOptionPane.showMessageDialog(this, "Aguarde o carregamento da linha selecionada!", "Aviso", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                transacaoController.excluirTransacao(selecionada.getId());
 
                 JOptionPane.showMessageDialog(this, "Despesa excluída com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
                 limparFormulario();
@@ -388,19 +399,17 @@ public class CadastroDespesa extends JPanel {
     }
 
     private void carregarDespesaSelecionada() {
-        int selectedRow = tabelaDespesas.getSelectedRow();
-        if (selectedRow != -1) {
-            txtDescricao.setText((String) modeloTabela.getValueAt(selectedRow, 1));
-            String valorStr = (String) modeloTabela.getValueAt(selectedRow, 3);
-            txtValor.setText(valorStr.replace("R$ ", "").replace(".", "").replace(",", "."));
-            txtData.setText((String) modeloTabela.getValueAt(selectedRow, 4));
-            txtObservacoes.setText((String) modeloTabela.getValueAt(selectedRow, 5));
+        LinhaTransacao selecionada = TabelaTransacoes.selecionada(tabelaDespesas, modeloTabela);
+        if (selecionada != null) {
+            txtDescricao.setText(selecionada.getDescricao());
+            txtValor.setText(selecionada.getValor().toPlainString());
+            txtData.setText(FormatUtils.formatarData(selecionada.getDataTransacao()));
+            txtObservacoes.setText(selecionada.getObservacao());
 
             // Selecionar categoria correspondente
-            String nomeCategoria = (String) modeloTabela.getValueAt(selectedRow, 2);
             for (int i = 0; i < cmbCategoria.getItemCount(); i++) {
                 Categoria cat = (Categoria) cmbCategoria.getItemAt(i);
-                if (cat.getNome().equals(nomeCategoria)) {
+                if (cat.getId().equals(selecionada.getCategoriaId())) {
                     cmbCategoria.setSelectedIndex(i);
                     break;
                 }
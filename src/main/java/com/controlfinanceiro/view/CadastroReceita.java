@@ -2,6 +2,7 @@ package com.controlfinanceiro.view;
 
 import com.controlfinanceiro.controller.TransacaoController;
 import com.controlfinanceiro.controller.CategoriaController;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.Transacao;
 import com.controlfinanceiro.model.Categoria;
 import com.controlfinanceiro.model.enums.TipoTransacao;
@@ -9,12 +10,10 @@ import com.controlfinanceiro.exception.BusinessException;
 import com.controlfinanceiro.util.FormatUtils;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 
@@ -28,10 +27,12 @@ public class CadastroReceita extends JPanel {
     private JCheckBox chkSalario;
     private JTextArea txtObservacoes;
     private JTable tabelaReceitas;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaPaginada modeloTabela;
     private JButton btnSalvar;
     private JButton btnLimpar;
     private JButton btnExcluir;
+    private JLabel lblQuantidade;
+    private JProgressBar barraCarregamento;
 
     // Controllers
     private final TransacaoController transacaoController;
@@ -62,7 +63,7 @@ public class CadastroReceita extends JPanel {
         txtDescricao = new JTextField(20);
         txtValor = new JTextField(15);
         txtData = new JTextField(15);
-        txtData.setText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        txtData.setText(LocalDate.now().format(FormatUtils.FORMATO_DATA));
         txtObservacoes = new JTextArea(3, 20);
         
         cmbCategoria = new JComboBox<>();
@@ -93,6 +94,9 @@ public class CadastroReceita extends JPanel {
         btnSalvar = new JButton("Salvar");
         btnLimpar = new JButton("Limpar");
         btnExcluir = new JButton("Excluir");
+        lblQuantidade = new JLabel(" ");
+        lblQuantidade.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        barraCarregamento = new JProgressBar();
 
         // Configurar cores dos botões
         btnSalvar.setBackground(new Color(52, 152, 219));
@@ -103,13 +107,21 @@ public class CadastroReceita extends JPanel {
         btnExcluir.setForeground(Color.WHITE);
 
         // Configurar tabela
-        String[] colunas = {"ID", "Descrição", "Categoria", "Valor", "Data", "Observações"};
-        modeloTabela = new DefaultTableModel(colunas, 0) {
+        modeloTabela = new ModeloTabelaPaginada(ColunaTransacao.ID, ColunaTransacao.DESCRICAO, ColunaTransacao.CATEGORIA,
+                ColunaTransacao.VALOR, ColunaTransacao.DATA, ColunaTransacao.OBSERVACOES) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            protected void aoContar(long total) {
+                lblQuantidade.setText(total + " receitas cadastradas");
+            }
+
+            @Override
+            protected void aoFalhar(Throwable erro) {
+                lblQuantidade.setText(" ");
+                JOptionPane.showMessageDialog(CadastroReceita.this, "Erro ao carregar receitas: " + erro.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
             }
         };
+        modeloTabela.setBarraProgresso(barraCarregamento);
         tabelaReceitas = new JTable(modeloTabela);
         tabelaReceitas.getColumnModel().getColumn(0).setMaxWidth(50);
         tabelaReceitas.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -300,6 +312,7 @@ public class CadastroReceita extends JPanel {
 
         // Configurar tabela
         tabelaReceitas = new JTable(modeloTabela);
+        TabelaTransacoes.configurar(tabelaReceitas, modeloTabela);
         tabelaReceitas.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         tabelaReceitas.setRowHeight(30);
         tabelaReceitas.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
@@ -317,8 +330,14 @@ public class CadastroReceita extends JPanel {
         JScrollPane scrollPane = new JScrollPane(tabelaReceitas);
         scrollPane.setBorder(BorderFactory.createLoweredBevelBorder());
 
+        JPanel painelCarregamento = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        painelCarregamento.setBackground(Color.WHITE);
+        painelCarregamento.add(lblQuantidade);
+        painelCarregamento.add(barraCarregamento);
+
         painel.add(lblTitulo, BorderLayout.NORTH);
         painel.add(scrollPane, BorderLayout.CENTER);
+        painel.add(painelCarregamento, BorderLayout.SOUTH);
 
         return painel;
     }
@@ -343,7 +362,7 @@ public class CadastroReceita extends JPanel {
                 txtData.setText("");
             } else {
                 txtData.setEnabled(true);
-                txtData.setText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+                txtData.setText(LocalDate.now().format(FormatUtils.FORMATO_DATA));
             }
         });
     }
@@ -361,26 +380,14 @@ public class CadastroReceita extends JPanel {
         }
     }
 
+    /**
+     * Recarrega a tabela: só o total é lido agora, e as linhas são buscadas em páginas
+     * conforme aparecem na rolagem
+     */
     private void carregarReceitas() {
-        try {
-            List<Transacao> receitas = transacaoController.listarTransacoesPorTipo(TipoTransacao.RECEITA);
-            modeloTabela.setRowCount(0);
-
-            for (Transacao receita : receitas) {
-                Object[] row = {
-                    receita.getId(),
-                    receita.getDescricao(),
-                    receita.getCategoria() != null ? receita.getCategoria().getNome() : "N/A",
-                    FormatUtils.formatarValor(receita.getValor()),
-                    receita.getDataTransacao().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                    receita.getObservacao()
-                };
-                modeloTabela.addRow(row);
-            }
-        } catch (BusinessException e) {
-            JOptionPane.showMessageDialog(this, "Erro ao carregar receitas: " + e.getMessage(),
-                "Erro", JOptionPane.ERROR_MESSAGE);
-        }
+        lblQuantidade.setText("Carregando receitas...");
+        modeloTabela.recarregar(ModeloTabelaPaginada.doUsuarioLogado(transacaoController,
+            filtro -> filtro.comTipo(TipoTransacao.RECEITA)));
     }
     
     private void salvarReceita() {
@@ -405,7 +412,7 @@ public class CadastroReceita extends JPanel {
                     txtDescricao.setText("Salário");
                 }
             } else {
-                data = LocalDate.parse(txtData.getText(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+                data = LocalDate.parse(txtData.getText(), FormatUtils.FORMATO_DATA);
             }
 
             Categoria categoria = (Categoria) cmbCategoria.getSelectedItem();
@@ -450,7 +457,7 @@ public class CadastroReceita extends JPanel {
     private void limparFormulario() {
         txtDescricao.setText("");
         txtValor.setText("");
-        txtData.setText(LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        txtData.setText(LocalDate.now().format(FormatUtils.FORMATO_DATA));
         txtObservacoes.setText("");
         if (cmbCategoria.getItemCount() > 0) {
             cmbCategoria.setSelectedIndex(0);
@@ -476,8 +483,12 @@ public class CadastroReceita extends JPanel {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                Long id = (Long) modeloTabela.getValueAt(selectedRow, 0);
-                transacaoController.excluirTransacao(id);
+                LinhaTransacao selecionada = TabelaTransacoes.selecionada(tabelaReceitas, modeloTabela);
+                if (selecionada == null) {
+                    JOptionPane.showMessageDialog(this, "Aguarde o carregamento da linha selecionada!", "Aviso", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                transacaoController.excluirTransacao(selecionada.getId());
 
                 JOptionPane.showMessageDialog(this, "Receita excluída com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
                 limparFormulario();
@@ -495,19 +506,17 @@ public class CadastroReceita extends JPanel {
     }
 
     private void carregarReceitaSelecionada() {
-        int selectedRow = tabelaReceitas.getSelectedRow();
-        if (selectedRow != -1) {
-            txtDescricao.setText((String) modeloTabela.getValueAt(selectedRow, 1));
-            String valorStr = (String) modeloTabela.getValueAt(selectedRow, 3);
-            txtValor.setText(valorStr.replace("R$ ", "").replace(".", "").replace(",", "."));
-            txtData.setText((String) modeloTabela.getValueAt(selectedRow, 4));
-            txtObservacoes.setText((String) modeloTabela.getValueAt(selectedRow, 5));
+        LinhaTransacao selecionada = TabelaTransacoes.selecionada(tabelaReceitas, modeloTabela);
+        if (selecionada != null) {
+            txtDescricao.setText(selecionada.getDescricao());
+            txtValor.setText(selecionada.getValor().toPlainString());
+            txtData.setText(FormatUtils.formatarData(selecionada.getDataTransacao()));
+            txtObservacoes.setText(selecionada.getObservacao());
 
             // Selecionar categoria correspondente
-            String nomeCategoria = (String) modeloTabela.getValueAt(selectedRow, 2);
             for (int i = 0; i < cmbCategoria.getItemCount(); i++) {
                 Categoria cat = (Categoria) cmbCategoria.getItemAt(i);
-                if (cat.getNome().equals(nomeCategoria)) {
+                if (cat.getId().equals(selecionada.getCategoriaId())) {
                     cmbCategoria.setSelectedIndex(i);
                     break;
                 }
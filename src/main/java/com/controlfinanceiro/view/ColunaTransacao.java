@@ -0,0 +1,48 @@
+package com.controlfinanceiro.view;
+
+import com.controlfinanceiro.model.Dinheiro;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Colunas que as tabelas de transações podem exibir. O valor de cada célula é o dado
+ * cru (LocalDate, Dinheiro, TipoTransacao...), lido da LinhaTransacao quando a tabela
+ * pede; o texto fica por conta dos renderizadores de TabelaTransacoes, escolhidos pela
+ * classe da coluna. Assim a ordenação compara datas e centavos, não textos formatados.
+ */
+public enum ColunaTransacao {
+
+    ID("ID", Long.class, LinhaTransacao::getId),
+    DESCRICAO("Descrição", String.class, LinhaTransacao::getDescricao),
+    CATEGORIA("Categoria", String.class,
+        t -> t.getCategoriaNome() != null ? t.getCategoriaNome() : "Sem categoria"),
+    TIPO("Tipo", TipoTransacao.class, LinhaTransacao::getTipo),
+    VALOR("Valor", Dinheiro.class, t -> Dinheiro.deCentavos(t.getValorCentavos())),
+    DATA("Data", LocalDate.class, LinhaTransacao::getDataTransacao),
+    OBSERVACOES("Observações", String.class, LinhaTransacao::getObservacao);
+
+    private final String titulo;
+    private final Class<?> tipo;
+    private final Function<LinhaTransacao, Object> valor;
+
+    ColunaTransacao(String titulo, Class<?> tipo, Function<LinhaTransacao, Object> valor) {
+        this.titulo = titulo;
+        this.tipo = tipo;
+        this.valor = valor;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public Class<?> getTipo() {
+        return tipo;
+    }
+
+    public Object valor(LinhaTransacao transacao) {
+        return valor.apply(transacao);
+    }
+}
@@ -1,41 +1,58 @@
 package com.controlfinanceiro.view;
 
+import com.controlfinanceiro.controller.ExecucaoAssincrona;
 import com.controlfinanceiro.controller.RelatorioController;
 import com.controlfinanceiro.controller.TransacaoController;
-import com.controlfinanceiro.model.Transacao;
-import com.controlfinanceiro.model.enums.TipoTransacao;
 import com.controlfinanceiro.exception.BusinessException;
+import com.controlfinanceiro.model.TotalCategoria;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
 import com.controlfinanceiro.util.FormatUtils;
+import com.controlfinanceiro.util.SwingUtils;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import java.nio.charset.StandardCharsets;
 
 public class GerarRelatorio extends JPanel {
+    private static final Color COR_RECEITA = new Color(232, 245, 233);
+    private static final Color COR_DESPESA = new Color(255, 235, 238);
+
     private JTextField txtDataInicio;
     private JTextField txtDataFim;
     private JComboBox<String> cmbTipoRelatorio;
     private JTable tabelaRelatorio;
-    private DefaultTableModel modeloTabela;
+    private ModeloTabelaPaginada modeloTabela;
     private JButton btnGerar;
     private JButton btnLimpar;
     private JButton btnExportar;
     private JLabel lblTotalReceitas;
     private JLabel lblTotalDespesas;
     private JLabel lblSaldoFinal;
+    private JProgressBar barraCarregamento;
+
+    // Filtros do último relatório gerado, reaplicados na exportação
+    private LocalDate inicioGerado;
+    private LocalDate fimGerado;
+    private String tipoGerado;
+
+    // Totais em cálculo; cancelados se o usuário pedir outro relatório antes do fim
+    private CompletableFuture<List<TotalCategoria>> consultaTotais;
 
     // Controllers
     private final TransacaoController transacaoController;
+    private final RelatorioController relatorioController;
 
     public GerarRelatorio(RelatorioController relatorioController) {
         this.transacaoController = new TransacaoController();
+        this.relatorioController = relatorioController;
         initComponents();
         setupLayout();
         setupEventos();
@@ -51,8 +68,8 @@ public class GerarRelatorio extends JPanel {
         // Definir datas padrão (mês atual)
         LocalDate hoje = LocalDate.now();
         LocalDate inicioMes = hoje.withDayOfMonth(1);
-        txtDataInicio.setText(inicioMes.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-        txtDataFim.setText(hoje.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        txtDataInicio.setText(inicioMes.format(FormatUtils.FORMATO_DATA));
+        txtDataFim.setText(hoje.format(FormatUtils.FORMATO_DATA));
 
         String[] tiposRelatorio = {"Todas as Transações", "Apenas Receitas", "Apenas Despesas", "Por Categoria"};
         cmbTipoRelatorio = new JComboBox<>(tiposRelatorio);
@@ -71,36 +88,46 @@ public class GerarRelatorio extends JPanel {
         lblSaldoFinal.setFont(new Font("Arial", Font.BOLD, 14));
 
         // Configurar tabela
-        String[] colunas = {"Data", "Descrição", "Categoria", "Tipo", "Valor"};
-        modeloTabela = new DefaultTableModel(colunas, 0) {
+        modeloTabela = new ModeloTabelaPaginada(ColunaTransacao.DATA, ColunaTransacao.DESCRICAO,
+                ColunaTransacao.CATEGORIA, ColunaTransacao.TIPO, ColunaTransacao.VALOR) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            protected void aoContar(long total) {
+                if (total == 0) {
+                    JOptionPane.showMessageDialog(GerarRelatorio.this, "Nenhuma transação encontrada para o período selecionado!",
+                        "Informação", JOptionPane.INFORMATION_MESSAGE);
+                }
+            }
+
+            @Override
+            protected void aoFalhar(Throwable erro) {
+                JOptionPane.showMessageDialog(GerarRelatorio.this, "Erro ao gerar relatório: " + erro.getMessage(),
+                    "Erro", JOptionPane.ERROR_MESSAGE);
             }
         };
-        tabelaRelatorio = new JTable(modeloTabela);
-        tabelaRelatorio.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        barraCarregamento = new JProgressBar();
+        modeloTabela.setBarraProgresso(barraCarregamento);
 
-        // Configurar cores das linhas baseadas no tipo
-        tabelaRelatorio.setDefaultRenderer(Object.class, new javax.swing.table.DefaultTableCellRenderer() {
+        // Cores das linhas pelo tipo, aplicadas sobre o renderizador de cada coluna
+        tabelaRelatorio = new JTable(modeloTabela) {
             @Override
-            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
-                    boolean hasFocus, int row, int column) {
-                Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-
-                if (!isSelected) {
-                    String tipo = (String) table.getValueAt(row, 3);
-                    if ("RECEITA".equals(tipo)) {
-                        c.setBackground(new Color(232, 245, 233));
-                    } else if ("DESPESA".equals(tipo)) {
-                        c.setBackground(new Color(255, 235, 238));
+            public Component prepareRenderer(javax.swing.table.TableCellRenderer renderer, int row, int column) {
+                Component c = super.prepareRenderer(renderer, row, column);
+
+                if (!isRowSelected(row)) {
+                    LinhaTransacao transacao = modeloTabela.getTransacao(convertRowIndexToModel(row));
+                    if (transacao != null && transacao.isReceita()) {
+                        c.setBackground(COR_RECEITA);
+                    } else if (transacao != null && transacao.isDespesa()) {
+                        c.setBackground(COR_DESPESA);
                     } else {
                         c.setBackground(Color.WHITE);
                     }
                 }
                 return c;
             }
-        });
+        };
+        TabelaTransacoes.configurar(tabelaRelatorio, modeloTabela);
+        tabelaRelatorio.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     }
     
     private void setupLayout() {
@@ -164,7 +191,8 @@ public class GerarRelatorio extends JPanel {
 
         // Painel inferior com totais
         JPanel painelInferior = new JPanel(new BorderLayout());
-        painelInferior.add(painelTotais, BorderLayout.NORTH);
+        painelInferior.add(barraCarregamento, BorderLayout.NORTH);
+        painelInferior.add(painelTotais, BorderLayout.CENTER);
 
         // Adicionar à tela
         add(painelSuperior, BorderLayout.NORTH);
@@ -180,8 +208,8 @@ public class GerarRelatorio extends JPanel {
     
     private void gerarRelatorio() {
         try {
-            LocalDate dataInicio = LocalDate.parse(txtDataInicio.getText(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            LocalDate dataFim = LocalDate.parse(txtDataFim.getText(), DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+            LocalDate dataInicio = LocalDate.parse(txtDataInicio.getText(), FormatUtils.FORMATO_DATA);
+            LocalDate dataFim = LocalDate.parse(txtDataFim.getText(), FormatUtils.FORMATO_DATA);
             String tipoRelatorio = (String) cmbTipoRelatorio.getSelectedItem();
 
             if (dataInicio.isAfter(dataFim)) {
@@ -190,72 +218,65 @@ public class GerarRelatorio extends JPanel {
                 return;
             }
 
-            List<Transacao> transacoes = obterTransacoes(dataInicio, dataFim, tipoRelatorio);
-            preencherTabela(transacoes);
-            calcularTotais(transacoes);
+            cancelarTotais();
+
+            // A tabela lê só o total de linhas e busca as páginas conforme a rolagem;
+            // os totais vêm de uma consulta agrupada, sem percorrer as transações
+            TipoTransacao tipo = tipoDoRelatorio(tipoRelatorio);
+            modeloTabela.recarregar(ModeloTabelaPaginada.doRelatorio(transacaoController, dataInicio, dataFim, tipo));
+            inicioGerado = dataInicio;
+            fimGerado = dataFim;
+            tipoGerado = tipoRelatorio;
+
+            exibirTotais(new Totalizador());
+            consultaTotais = ExecucaoAssincrona.executar(() -> relatorioController.listarTotaisPorCategoria(dataInicio, dataFim));
+            SwingUtils.naEdt(consultaTotais, totaisPorCategoria -> {
+                Totalizador totais = new Totalizador();
+                for (TotalCategoria total : totaisPorCategoria) {
+                    if (tipo == null || total.getTipo() == tipo) {
+                        totais.adicionar(total.getTipo(), total.getTotal(), total.getQuantidade());
+                    }
+                }
+                exibirTotais(totais);
+            }, erro -> JOptionPane.showMessageDialog(this, "Erro ao calcular totais: " + SwingUtils.mensagemDeErro(erro),
+                "Erro", JOptionPane.ERROR_MESSAGE));
 
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Data inválida! Use o formato dd/MM/yyyy",
                 "Erro", JOptionPane.ERROR_MESSAGE);
-        } catch (BusinessException e) {
-            JOptionPane.showMessageDialog(this, "Erro ao gerar relatório: " + e.getMessage(),
-                "Erro", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    private List<Transacao> obterTransacoes(LocalDate dataInicio, LocalDate dataFim, String tipoRelatorio)
-            throws BusinessException {
-        List<Transacao> todasTransacoes = transacaoController.listarTransacoesPorPeriodo(dataInicio, dataFim);
+    private void cancelarTotais() {
+        if (consultaTotais != null) {
+            consultaTotais.cancel(true);
+            consultaTotais = null;
+        }
+    }
 
+    private Predicate<LinhaTransacao> filtroDoTipo(String tipoRelatorio) {
+        TipoTransacao tipo = tipoDoRelatorio(tipoRelatorio);
+        return t -> tipo == null || t.getTipo() == tipo;
+    }
+
+    /**
+     * Tipo de transação do relatório escolhido, ou null quando entram todas
+     */
+    private TipoTransacao tipoDoRelatorio(String tipoRelatorio) {
         switch (tipoRelatorio) {
             case "Apenas Receitas":
-                return todasTransacoes.stream()
-                    .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
-                    .collect(Collectors.toList());
+                return TipoTransacao.RECEITA;
             case "Apenas Despesas":
-                return todasTransacoes.stream()
-                    .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
-                    .collect(Collectors.toList());
-            case "Por Categoria":
-                // Para relatório por categoria, retornar todas e agrupar na exibição
-                return todasTransacoes;
-            default: // "Todas as Transações"
-                return todasTransacoes;
+                return TipoTransacao.DESPESA;
+            default: // "Todas as Transações" e "Por Categoria"
+                return null;
         }
     }
-    
-    private void preencherTabela(List<Transacao> transacoes) {
-        modeloTabela.setRowCount(0);
-
-        for (Transacao transacao : transacoes) {
-            Object[] row = {
-                transacao.getDataTransacao().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                transacao.getDescricao(),
-                transacao.getCategoria() != null ? transacao.getCategoria().getNome() : "Sem categoria",
-                transacao.getTipo().getDescricao(),
-                FormatUtils.formatarValor(transacao.getValor())
-            };
-            modeloTabela.addRow(row);
-        }
 
-        if (transacoes.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Nenhuma transação encontrada para o período selecionado!",
-                "Informação", JOptionPane.INFORMATION_MESSAGE);
-        }
-    }
-    
-    private void calcularTotais(List<Transacao> transacoes) {
-        BigDecimal totalReceitas = transacoes.stream()
-            .filter(t -> t.getTipo() == TipoTransacao.RECEITA)
-            .map(Transacao::getValor)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalDespesas = transacoes.stream()
-            .filter(t -> t.getTipo() == TipoTransacao.DESPESA)
-            .map(Transacao::getValor)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal saldo = totalReceitas.subtract(totalDespesas);
+    private void exibirTotais(Totalizador totais) {
+        BigDecimal totalReceitas = totais.getReceitas().toBigDecimal();
+        BigDecimal totalDespesas = totais.getDespesas().toBigDecimal();
+        BigDecimal saldo = totais.getSaldo().toBigDecimal();
 
         lblTotalReceitas.setText("Total Receitas: " + FormatUtils.formatarValor(totalReceitas));
         lblTotalDespesas.setText("Total Despesas: " + FormatUtils.formatarValor(totalDespesas));
@@ -272,14 +293,18 @@ public class GerarRelatorio extends JPanel {
     }
     
     private void limparRelatorio() {
-        modeloTabela.setRowCount(0);
+        cancelarTotais();
+        modeloTabela.limpar();
 
         LocalDate hoje = LocalDate.now();
         LocalDate inicioMes = hoje.withDayOfMonth(1);
-        txtDataInicio.setText(inicioMes.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-        txtDataFim.setText(hoje.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        txtDataInicio.setText(inicioMes.format(FormatUtils.FORMATO_DATA));
+        txtDataFim.setText(hoje.format(FormatUtils.FORMATO_DATA));
 
         cmbTipoRelatorio.setSelectedIndex(0);
+        inicioGerado = null;
+        fimGerado = null;
+        tipoGerado = null;
 
         lblTotalReceitas.setText("Total Receitas: R$ 0,00");
         lblTotalDespesas.setText("Total Despesas: R$ 0,00");
@@ -288,7 +313,7 @@ public class GerarRelatorio extends JPanel {
     }
     
     private void exportarRelatorio() {
-        if (modeloTabela.getRowCount() == 0) {
+        if (modeloTabela.getRowCount() == 0 || inicioGerado == null) {
             JOptionPane.showMessageDialog(this, "Não há dados para exportar! Gere um relatório primeiro.",
                 "Aviso", JOptionPane.WARNING_MESSAGE);
             return;
@@ -300,40 +325,85 @@ public class GerarRelatorio extends JPanel {
 
         int userSelection = fileChooser.showSaveDialog(this);
         if (userSelection == JFileChooser.APPROVE_OPTION) {
-            try {
-                java.io.File fileToSave = fileChooser.getSelectedFile();
-                exportarParaCSV(fileToSave);
-                JOptionPane.showMessageDialog(this, "Relatório exportado com sucesso!",
-                    "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, "Erro ao exportar relatório: " + e.getMessage(),
-                    "Erro", JOptionPane.ERROR_MESSAGE);
-            }
+            java.io.File fileToSave = fileChooser.getSelectedFile();
+            LocalDate inicio = inicioGerado;
+            LocalDate fim = fimGerado;
+            Predicate<LinhaTransacao> filtro = filtroDoTipo(tipoGerado);
+
+            // A exportação lê o período inteiro do banco; sem tempo limite, pois depende do volume
+            btnExportar.setEnabled(false);
+            SwingUtils.naEdt(ExecucaoAssincrona.executarAcao(() -> exportarParaCSV(fileToSave, inicio, fim, filtro), null),
+                nada -> {
+                    btnExportar.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Relatório exportado com sucesso!",
+                        "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                }, erro -> {
+                    btnExportar.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Erro ao exportar relatório: " + SwingUtils.mensagemDeErro(erro),
+                        "Erro", JOptionPane.ERROR_MESSAGE);
+                });
         }
     }
 
-    private void exportarParaCSV(java.io.File arquivo) throws Exception {
-        try (java.io.PrintWriter writer = new java.io.PrintWriter(arquivo, StandardCharsets.UTF_8)) {
+    /**
+     * Relê o período do último relatório direto do banco e grava linha a linha,
+     * então o tamanho do arquivo não depende da memória disponível. Roda fora da EDT:
+     * recebe os filtros já lidos da tela e não toca nos componentes.
+     */
+    private void exportarParaCSV(java.io.File arquivo, LocalDate inicio, LocalDate fim,
+                                 Predicate<LinhaTransacao> filtro) throws BusinessException {
+        Totalizador totais = new Totalizador();
+
+        try (java.io.PrintWriter writer = new java.io.PrintWriter(
+                new java.io.BufferedWriter(new java.io.FileWriter(arquivo, StandardCharsets.UTF_8)))) {
             // Cabeçalho
             writer.println("Data,Descrição,Categoria,Tipo,Valor");
 
-            // Dados
-            for (int i = 0; i < modeloTabela.getRowCount(); i++) {
-                StringBuilder linha = new StringBuilder();
-                for (int j = 0; j < modeloTabela.getColumnCount(); j++) {
-                    if (j > 0) linha.append(",");
-                    String valor = modeloTabela.getValueAt(i, j).toString();
-                    linha.append("\"").append(valor.replace("\"", "\"\"")).append("\"");
+            // Dados; o mesmo buffer é reaproveitado em todas as linhas
+            StringBuilder linha = new StringBuilder(128);
+            transacaoController.percorrerTransacoesPorPeriodo(inicio, fim, transacao -> {
+                if (!filtro.test(transacao)) {
+                    return;
                 }
-                writer.println(linha.toString());
-            }
+                linha.setLength(0);
+                campoCsv(linha, FormatUtils.formatarData(transacao.getDataTransacao())).append(',');
+                campoCsv(linha, transacao.getDescricao()).append(',');
+                campoCsv(linha, (String) ColunaTransacao.CATEGORIA.valor(transacao)).append(',');
+                campoCsv(linha, transacao.getTipo().getDescricao()).append(",\"");
+                FormatUtils.formatarCentavos(transacao.getValorCentavos(), linha).append('"');
+                writer.println(linha);
+                totais.adicionar(transacao);
+            });
 
             // Totais
             writer.println();
             writer.println("RESUMO");
-            writer.println(lblTotalReceitas.getText());
-            writer.println(lblTotalDespesas.getText());
-            writer.println(lblSaldoFinal.getText());
+            writer.println("Total Receitas: " + FormatUtils.formatarCentavos(totais.getReceitas().getCentavos()));
+            writer.println("Total Despesas: " + FormatUtils.formatarCentavos(totais.getDespesas().getCentavos()));
+            writer.println("Saldo: " + FormatUtils.formatarCentavos(totais.getSaldo().getCentavos()));
+
+            if (writer.checkError()) {
+                throw new BusinessException("Falha ao gravar o arquivo " + arquivo.getName());
+            }
+        } catch (java.io.IOException e) {
+            throw new BusinessException("Não foi possível criar o arquivo " + arquivo.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Acrescenta o texto entre aspas, dobrando as aspas internas
+     */
+    private static StringBuilder campoCsv(StringBuilder linha, String texto) {
+        linha.append('"');
+        if (texto != null) {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c == '"') {
+                    linha.append('"');
+                }
+                linha.append(c);
+            }
         }
+        return linha.append('"');
     }
 }
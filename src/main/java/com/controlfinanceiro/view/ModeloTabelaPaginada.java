@@ -0,0 +1,567 @@
+package com.controlfinanceiro.view;
+
+import com.controlfinanceiro.controller.ExecucaoAssincrona;
+import com.controlfinanceiro.controller.TransacaoController;
+import com.controlfinanceiro.dao.FiltroTransacao;
+import com.controlfinanceiro.dao.Pagina;
+import com.controlfinanceiro.dao.PosicaoTransacao;
+import com.controlfinanceiro.exception.BusinessException;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.util.SwingUtils;
+
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Modelo de tabela que conhece só o total de linhas e busca as transações página a
+ * página, quando a tabela pede para desenhar uma linha que ainda não está em memória.
+ *
+ * Ficam em memória no máximo PAGINAS_EM_MEMORIA páginas; ao mostrar uma página, a
+ * seguinte é pedida antecipadamente para a rolagem não parar. Linhas ainda não
+ * carregadas aparecem vazias e são preenchidas quando a página chega.
+ *
+ * Cada página é buscada por chave a partir da última transação da página anterior,
+ * quando ela já foi lida. Num salto para longe (arrastando a barra de rolagem) a carga
+ * parte da página conhecida mais próxima e primeiro lê só as chaves (data, ID) das
+ * páginas no caminho, em lotes de PAGINAS_POR_SALTO; os limites encontrados ficam
+ * guardados, e saltos seguintes para a mesma região não repetem a leitura.
+ *
+ * As páginas chegam por um SwingWorker (CargaPaginas) que lê uma sequência de páginas
+ * e publica cada uma assim que é lida: ao ordenar a tabela, que pede todas as páginas,
+ * as primeiras linhas aparecem sem esperar as demais. Com setBarraProgresso, a barra
+ * mostra quantas das páginas pedidas já chegaram.
+ *
+ * As células guardam os dados crus da transação, lidos na hora em que a tabela pede
+ * (ver ColunaTransacao); nenhum texto é montado para linhas que não aparecem na tela.
+ *
+ * Todos os métodos devem ser chamados na EDT.
+ */
+public class ModeloTabelaPaginada extends AbstractTableModel {
+
+    public static final int TAMANHO_PAGINA = 100;
+    private static final int PAGINAS_EM_MEMORIA = 10;
+    private static final int PAGINAS_POR_SALTO = 50;
+
+    // Relatórios com até esse número de linhas são lidos de uma vez e guardados no CacheRelatorios
+    private static final int LINHAS_RELATORIO_EM_MEMORIA = 5_000;
+
+    /**
+     * Origem das transações, na ordem da tabela
+     */
+    public interface Fonte {
+        long contar() throws BusinessException;
+
+        /**
+         * @param apos posição da última transação antes da página, ou null para começar do início
+         */
+        Pagina<LinhaTransacao> buscar(PosicaoTransacao apos, int tamanho) throws BusinessException;
+
+        /**
+         * Posição da última transação de cada uma das próximas páginas depois de apos;
+         * menos que paginas se a consulta acabar antes
+         */
+        List<PosicaoTransacao> limitesPaginas(PosicaoTransacao apos, int tamanhoPagina, int paginas) throws BusinessException;
+    }
+
+    private final ColunaTransacao[] colunas;
+
+    private Fonte fonte;
+    private int totalLinhas;
+
+    // Incrementada a cada recarga; respostas de uma geração anterior são descartadas
+    private int geracao;
+
+    // Em ordem de acesso: a primeira é a usada há mais tempo
+    private final Map<Integer, List<LinhaTransacao>> paginas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<LinhaTransacao>> maisAntiga) {
+            return size() > PAGINAS_EM_MEMORIA;
+        }
+    };
+
+    // Posição da última transação de cada página já lida ou saltada, ponto de partida da seguinte
+    private final TreeMap<Integer, PosicaoTransacao> marcos = new TreeMap<>();
+
+    // Página pedida -> carga que vai trazê-la
+    private final Map<Integer, CargaPaginas> emCarga = new HashMap<>();
+    private CompletableFuture<Long> contagem;
+    private boolean comFalha;
+
+    private JProgressBar barraProgresso;
+    // Páginas pedidas e recebidas desde que a última leva de cargas terminou
+    private int paginasPedidas;
+    private int paginasRecebidas;
+
+    public ModeloTabelaPaginada(ColunaTransacao... colunas) {
+        this.colunas = colunas.clone();
+    }
+
+    /**
+     * Transações do usuário logado que atendem aos critérios, na ordem (data, ID)
+     * decrescente
+     */
+    public static Fonte doUsuarioLogado(TransacaoController controller, UnaryOperator<FiltroTransacao> criterios) {
+        return new Fonte() {
+            @Override
+            public long contar() throws BusinessException {
+                return controller.contarTransacoes(criterios.apply(controller.filtroDoUsuarioLogado()));
+            }
+
+            @Override
+            public Pagina<LinhaTransacao> buscar(PosicaoTransacao apos, int tamanho) throws BusinessException {
+                FiltroTransacao filtro = criterios.apply(controller.filtroDoUsuarioLogado()).apos(apos);
+                return controller.listarPagina(filtro, tamanho);
+            }
+
+            @Override
+            public List<PosicaoTransacao> limitesPaginas(PosicaoTransacao apos, int tamanhoPagina, int paginas)
+                    throws BusinessException {
+                FiltroTransacao filtro = criterios.apply(controller.filtroDoUsuarioLogado()).apos(apos);
+                return controller.listarLimitesPaginas(filtro, tamanhoPagina, paginas);
+            }
+        };
+    }
+
+    /**
+     * Transações do relatório por período do usuário logado. Se o relatório tiver até
+     * LINHAS_RELATORIO_EM_MEMORIA linhas, é lido inteiro pelo
+     * TransacaoController.listarRelatorioPorPeriodo, que o guarda no CacheRelatorios, e
+     * as páginas saem dessa lista; gerar de novo o mesmo relatório não consulta o banco.
+     * Relatórios maiores são paginados no banco, como em doUsuarioLogado.
+     *
+     * @param tipo tipo das transações, ou null para todas
+     */
+    public static Fonte doRelatorio(TransacaoController controller, LocalDate inicio, LocalDate fim, TipoTransacao tipo) {
+        Fonte doBanco = doUsuarioLogado(controller, filtro -> filtro.comPeriodo(inicio, fim).comTipo(tipo));
+        return new Fonte() {
+            // Lista da última contagem, ou null quando o relatório é grande demais e vai ao banco
+            private volatile List<LinhaTransacao> relatorio;
+
+            @Override
+            public long contar() throws BusinessException {
+                long total = doBanco.contar();
+                relatorio = total <= LINHAS_RELATORIO_EM_MEMORIA
+                    ? controller.listarRelatorioPorPeriodo(inicio, fim, tipo)
+                    : null;
+                return relatorio != null ? relatorio.size() : total;
+            }
+
+            @Override
+            public Pagina<LinhaTransacao> buscar(PosicaoTransacao apos, int tamanho) throws BusinessException {
+                List<LinhaTransacao> transacoes = relatorio;
+                if (transacoes == null) {
+                    return doBanco.buscar(apos, tamanho);
+                }
+                int inicioPagina = indiceApos(transacoes, apos);
+                int fimPagina = Math.min(inicioPagina + tamanho, transacoes.size());
+                return new Pagina<>(new ArrayList<>(transacoes.subList(inicioPagina, fimPagina)),
+                    fimPagina < transacoes.size());
+            }
+
+            @Override
+            public List<PosicaoTransacao> limitesPaginas(PosicaoTransacao apos, int tamanhoPagina, int paginas)
+                    throws BusinessException {
+                List<LinhaTransacao> transacoes = relatorio;
+                if (transacoes == null) {
+                    return doBanco.limitesPaginas(apos, tamanhoPagina, paginas);
+                }
+                List<PosicaoTransacao> limites = new ArrayList<>(paginas);
+                int indice = indiceApos(transacoes, apos);
+                for (int pagina = 0; pagina < paginas && indice < transacoes.size(); pagina++) {
+                    indice = Math.min(indice + tamanhoPagina, transacoes.size());
+                    limites.add(PosicaoTransacao.de(transacoes.get(indice - 1)));
+                }
+                return limites;
+            }
+        };
+    }
+
+    /**
+     * Índice da primeira transação depois de apos, por busca binária numa lista na
+     * ordem das fontes (data e ID decrescentes)
+     */
+    private static int indiceApos(List<LinhaTransacao> transacoes, PosicaoTransacao apos) {
+        if (apos == null) {
+            return 0;
+        }
+        int inicio = 0;
+        int fim = transacoes.size();
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            LinhaTransacao transacao = transacoes.get(meio);
+            int comparacao = apos.getData().compareTo(transacao.getDataTransacao());
+            if (comparacao == 0) {
+                comparacao = Long.compare(apos.getId(), transacao.getId());
+            }
+            // A transação vem antes de apos (ou é ela) quando é mais recente ou tem ID maior
+            if (comparacao <= 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Barra que acompanha as cargas de páginas; fica visível só enquanto há páginas a
+     * caminho
+     */
+    public void setBarraProgresso(JProgressBar barra) {
+        barraProgresso = barra;
+        barra.setStringPainted(true);
+        atualizarProgresso();
+    }
+
+    /**
+     * Descarta tudo o que estava em memória e passa a exibir a fonte informada. A
+     * contagem roda em segundo plano; a tabela fica vazia até ela terminar.
+     */
+    public void recarregar(Fonte novaFonte) {
+        limpar();
+        fonte = novaFonte;
+
+        int geracaoPedida = geracao;
+        contagem = ExecucaoAssincrona.executar(novaFonte::contar);
+        SwingUtils.naEdt(contagem, total -> {
+            if (geracaoPedida != geracao) {
+                return;
+            }
+            totalLinhas = (int) Math.min(total, Integer.MAX_VALUE);
+            fireTableDataChanged();
+            aoContar(total);
+        }, erro -> {
+            if (geracaoPedida == geracao) {
+                aoFalhar(erro);
+            }
+        });
+    }
+
+    /**
+     * Esvazia a tabela e cancela as consultas em andamento
+     */
+    public void limpar() {
+        cancelarPendentes();
+        geracao++;
+        fonte = null;
+        totalLinhas = 0;
+        paginas.clear();
+        marcos.clear();
+        comFalha = false;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Recarrega a mesma fonte, por exemplo depois de uma gravação
+     */
+    public void recarregar() {
+        if (fonte != null) {
+            recarregar(fonte);
+        }
+    }
+
+    /**
+     * Transação da linha, ou null se a página dela não estiver em memória
+     */
+    public LinhaTransacao getTransacao(int linhaTabela) {
+        List<LinhaTransacao> pagina = paginas.get(linhaTabela / TAMANHO_PAGINA);
+        int indice = linhaTabela % TAMANHO_PAGINA;
+        if (pagina == null || indice >= pagina.size()) {
+            return null;
+        }
+        return pagina.get(indice);
+    }
+
+    public boolean isCarregada(int linhaTabela) {
+        return getTransacao(linhaTabela) != null;
+    }
+
+    /**
+     * Pede as páginas que ainda não estão em memória, se todas as linhas couberem nela
+     * (PAGINAS_EM_MEMORIA páginas). Usado para ordenar a tabela na tela; devolve false,
+     * sem pedir nada, quando há linhas demais.
+     */
+    public boolean carregarTodas() {
+        if ((long) totalLinhas > (long) TAMANHO_PAGINA * PAGINAS_EM_MEMORIA) {
+            return false;
+        }
+        // Uma carga por trecho que falta, lendo as páginas em sequência pela chave
+        int ultima = (totalLinhas - 1) / TAMANHO_PAGINA;
+        for (int numero = 0; numero <= ultima; numero++) {
+            carregar(numero, ultima);
+        }
+        return true;
+    }
+
+    @Override
+    public int getRowCount() {
+        return totalLinhas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return colunas.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return colunas[coluna].getTitulo();
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return colunas[coluna].getTipo();
+    }
+
+    public ColunaTransacao getColuna(int coluna) {
+        return colunas[coluna];
+    }
+
+    @Override
+    public boolean isCellEditable(int linhaTabela, int coluna) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int linhaTabela, int coluna) {
+        int numero = linhaTabela / TAMANHO_PAGINA;
+        List<LinhaTransacao> pagina = paginas.get(numero);
+        if (pagina == null) {
+            carregar(numero);
+            return null;
+        }
+
+        // A página está sendo exibida: a seguinte provavelmente é a próxima a aparecer
+        carregar(numero + 1);
+
+        int indice = linhaTabela % TAMANHO_PAGINA;
+        return indice < pagina.size() ? colunas[coluna].valor(pagina.get(indice)) : null;
+    }
+
+    private void carregar(int numero) {
+        carregar(numero, numero);
+    }
+
+    /**
+     * Pede as páginas a partir de numero, até ultima ou até a primeira que já está em
+     * memória ou a caminho, numa única carga que as lê em sequência
+     */
+    private void carregar(int numero, int ultima) {
+        if (fonte == null || comFalha || !faltando(numero)) {
+            return;
+        }
+        int fim = numero;
+        while (fim < ultima && faltando(fim + 1)) {
+            fim++;
+        }
+
+        // Parte da página conhecida mais próxima antes desta; as do meio são saltadas pela chave
+        Map.Entry<Integer, PosicaoTransacao> marco = marcos.lowerEntry(numero);
+        PosicaoTransacao apos = marco != null ? marco.getValue() : null;
+        int saltar = marco != null ? numero - marco.getKey() - 1 : numero;
+
+        CargaPaginas carga = new CargaPaginas(fonte, geracao, numero, fim, apos, saltar);
+        for (int pagina = numero; pagina <= fim; pagina++) {
+            emCarga.put(pagina, carga);
+        }
+        paginasPedidas += fim - numero + 1;
+        atualizarProgresso();
+        carga.execute();
+    }
+
+    private boolean faltando(int numero) {
+        return (long) numero * TAMANHO_PAGINA < totalLinhas
+            && !paginas.containsKey(numero) && !emCarga.containsKey(numero);
+    }
+
+    private void receber(int numero, List<LinhaTransacao> transacoes) {
+        paginas.put(numero, transacoes);
+
+        if (!transacoes.isEmpty()) {
+            marcos.put(numero, PosicaoTransacao.de(transacoes.get(transacoes.size() - 1)));
+        }
+
+        int primeira = numero * TAMANHO_PAGINA;
+        int ultimaLinha = Math.min(primeira + TAMANHO_PAGINA, totalLinhas) - 1;
+        if (ultimaLinha >= primeira) {
+            fireTableRowsUpdated(primeira, ultimaLinha);
+        }
+    }
+
+    private void cancelarPendentes() {
+        if (contagem != null) {
+            contagem.cancel(true);
+            contagem = null;
+        }
+        for (CargaPaginas carga : new HashSet<>(emCarga.values())) {
+            carga.cancel(true);
+        }
+        emCarga.clear();
+        paginasPedidas = 0;
+        paginasRecebidas = 0;
+        atualizarProgresso();
+    }
+
+    /**
+     * Tira a página da lista de pendentes e, quando não sobra nenhuma, encerra a leva
+     */
+    private void concluirPagina(int numero) {
+        if (emCarga.remove(numero) != null) {
+            paginasRecebidas++;
+        }
+        if (emCarga.isEmpty()) {
+            paginasPedidas = 0;
+            paginasRecebidas = 0;
+        }
+        atualizarProgresso();
+    }
+
+    private void atualizarProgresso() {
+        if (barraProgresso == null) {
+            return;
+        }
+        boolean carregando = paginasPedidas > 0;
+        barraProgresso.setVisible(carregando);
+        if (carregando) {
+            barraProgresso.setMaximum(paginasPedidas);
+            barraProgresso.setValue(paginasRecebidas);
+            barraProgresso.setString("Carregando páginas " + paginasRecebidas + " de " + paginasPedidas + "...");
+        }
+    }
+
+    /**
+     * Lê as páginas de primeira a ultima em sequência, cada uma a partir da última
+     * transação da anterior, e publica cada página assim que chega. Antes, se houver
+     * páginas entre a posição conhecida e a primeira, percorre só os limites delas e os
+     * publica como marcos. Cancelada por limpar() ou recarregar(); as páginas de uma
+     * geração anterior são descartadas.
+     */
+    private final class CargaPaginas extends SwingWorker<Void, PaginaLida> {
+        private final Fonte fonte;
+        private final int geracaoPedida;
+        private final int primeira;
+        private final int ultima;
+        private final PosicaoTransacao apos;
+        private final int saltar;
+
+        private CargaPaginas(Fonte fonte, int geracaoPedida, int primeira, int ultima, PosicaoTransacao apos, int saltar) {
+            this.fonte = fonte;
+            this.geracaoPedida = geracaoPedida;
+            this.primeira = primeira;
+            this.ultima = ultima;
+            this.apos = apos;
+            this.saltar = saltar;
+        }
+
+        @Override
+        protected Void doInBackground() throws BusinessException {
+            PosicaoTransacao posicao = apos;
+            int numero = primeira - saltar;
+            while (numero < primeira && !isCancelled()) {
+                int lote = Math.min(primeira - numero, PAGINAS_POR_SALTO);
+                List<PosicaoTransacao> limites = fonte.limitesPaginas(posicao, TAMANHO_PAGINA, lote);
+                for (PosicaoTransacao limite : limites) {
+                    publish(new PaginaLida(numero++, limite));
+                }
+                if (limites.size() < lote) {
+                    // A consulta acabou antes: o total mudou desde a contagem
+                    return null;
+                }
+                posicao = limites.get(limites.size() - 1);
+            }
+
+            for (; numero <= ultima && !isCancelled(); numero++) {
+                Pagina<LinhaTransacao> pagina = fonte.buscar(posicao, TAMANHO_PAGINA);
+                publish(new PaginaLida(numero, pagina.getItens()));
+                if (!pagina.temProxima()) {
+                    break;
+                }
+                posicao = PosicaoTransacao.de(pagina.getUltimo());
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<PaginaLida> lidas) {
+            if (isCancelled() || geracaoPedida != geracao) {
+                return;
+            }
+            for (PaginaLida lida : lidas) {
+                if (lida.transacoes == null) {
+                    marcos.put(lida.numero, lida.limite);
+                    continue;
+                }
+                concluirPagina(lida.numero);
+                receber(lida.numero, lida.transacoes);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || geracaoPedida != geracao) {
+                return;
+            }
+            // Páginas além do fim da consulta (o total mudou desde a contagem) não chegam
+            for (int numero = primeira; numero <= ultima; numero++) {
+                if (emCarga.get(numero) == this) {
+                    concluirPagina(numero);
+                }
+            }
+            try {
+                get();
+            } catch (ExecutionException e) {
+                // Sem isso cada repintura pediria a página de novo; recarregar() tenta outra vez
+                comFalha = true;
+                aoFalhar(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Página lida, ou só o limite de uma página saltada (transacoes nulo)
+     */
+    private static final class PaginaLida {
+        private final int numero;
+        private final List<LinhaTransacao> transacoes;
+        private final PosicaoTransacao limite;
+
+        private PaginaLida(int numero, List<LinhaTransacao> transacoes) {
+            this.numero = numero;
+            this.transacoes = transacoes;
+            this.limite = null;
+        }
+
+        private PaginaLida(int numero, PosicaoTransacao limite) {
+            this.numero = numero;
+            this.transacoes = null;
+            this.limite = limite;
+        }
+    }
+
+    /**
+     * Chamado na EDT quando o total de linhas é conhecido
+     */
+    protected void aoContar(long total) {
+    }
+
+    /**
+     * Chamado na EDT quando a contagem ou uma página falha
+     */
+    protected void aoFalhar(Throwable erro) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.controlfinanceiro.view;
+
+import com.controlfinanceiro.model.Dinheiro;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.util.FormatUtils;
+
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableRowSorter;
+import java.awt.Color;
+import java.awt.Component;
+import java.time.LocalDate;
+
+/**
+ * Renderizadores e ordenação das tabelas de transações. Os renderizadores são únicos e
+ * compartilhados por todas as tabelas; cada célula só é formatada quando é desenhada.
+ */
+final class TabelaTransacoes {
+
+    private static final DefaultTableCellRenderer VALOR = new Renderizador(SwingConstants.RIGHT) {
+        @Override
+        protected void setValue(Object valor) {
+            setText(valor != null ? FormatUtils.formatarCentavos(((Dinheiro) valor).getCentavos()) : "");
+        }
+    };
+
+    private static final DefaultTableCellRenderer DATA = new Renderizador(SwingConstants.CENTER) {
+        @Override
+        protected void setValue(Object valor) {
+            setText(FormatUtils.formatarData((LocalDate) valor));
+        }
+    };
+
+    private static final DefaultTableCellRenderer TIPO = new Renderizador(SwingConstants.LEADING) {
+        @Override
+        protected void setValue(Object valor) {
+            setText(valor != null ? ((TipoTransacao) valor).getDescricao() : "");
+        }
+    };
+
+    private TabelaTransacoes() {
+    }
+
+    /**
+     * Instala os renderizadores por classe de coluna e a ordenação pelo cabeçalho
+     */
+    static void configurar(JTable tabela, ModeloTabelaPaginada modelo) {
+        tabela.setDefaultRenderer(Dinheiro.class, VALOR);
+        tabela.setDefaultRenderer(LocalDate.class, DATA);
+        tabela.setDefaultRenderer(TipoTransacao.class, TIPO);
+        tabela.setRowSorter(new Ordenador(modelo));
+    }
+
+    /**
+     * Transação da linha selecionada (convertida para o índice do modelo), ou null se
+     * não houver seleção ou a linha ainda não foi carregada
+     */
+    static LinhaTransacao selecionada(JTable tabela, ModeloTabelaPaginada modelo) {
+        int linha = tabela.getSelectedRow();
+        return linha != -1 ? modelo.getTransacao(tabela.convertRowIndexToModel(linha)) : null;
+    }
+
+    /**
+     * Base dos renderizadores compartilhados. DefaultTableCellRenderer guarda a última
+     * cor definida com setBackground/setForeground; como a mesma instância desenha
+     * células de várias tabelas, as cores são zeradas antes de cada célula.
+     */
+    private static class Renderizador extends DefaultTableCellRenderer {
+        private Renderizador(int alinhamento) {
+            setHorizontalAlignment(alinhamento);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable tabela, Object valor, boolean selecionada,
+                                                       boolean foco, int linha, int coluna) {
+            setBackground((Color) null);
+            setForeground((Color) null);
+            return super.getTableCellRendererComponent(tabela, valor, selecionada, foco, linha, coluna);
+        }
+    }
+
+    /**
+     * Ordena pelos valores crus das colunas (centavos, datas), que são Comparable. Como
+     * as linhas vêm do banco página a página, só ordena quando todas cabem em memória:
+     * ao ordenar, as páginas que faltam são pedidas e a ordem é refeita quando chegam.
+     * Com mais linhas do que isso o clique no cabeçalho é ignorado e a tabela fica na
+     * ordem do banco (data e ID decrescentes).
+     */
+    private static final class Ordenador extends TableRowSorter<ModeloTabelaPaginada> {
+        private Ordenador(ModeloTabelaPaginada modelo) {
+            super(modelo);
+            setSortsOnUpdates(true);
+        }
+
+        @Override
+        public void toggleSortOrder(int coluna) {
+            if (getModel().carregarTodas()) {
+                super.toggleSortOrder(coluna);
+            }
+        }
+
+        @Override
+        public void sort() {
+            // Depois de uma recarga com linhas demais a ordem anterior deixa de valer
+            if (!getSortKeys().isEmpty() && !getModel().carregarTodas()) {
+                setSortKeys(null);
+                return;
+            }
+            super.sort();
+        }
+    }
+}
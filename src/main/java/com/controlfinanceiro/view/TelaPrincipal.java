@@ -4,7 +4,8 @@ import com.controlfinanceiro.controller.TransacaoController;
 import com.controlfinanceiro.controller.CategoriaController;
 import com.controlfinanceiro.controller.RelatorioController;
 import com.controlfinanceiro.controller.DashboardController;
-import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.DashboardSnapshot;
+import com.controlfinanceiro.model.LinhaTransacao;
 import com.controlfinanceiro.model.enums.TipoTransacao;
 import com.controlfinanceiro.util.FormatUtils;
 
@@ -64,6 +65,9 @@ public class TelaPrincipal extends JFrame {
     private static final Color COR_MENU_ITEM_HOVER = new Color(55, 65, 81);   // Cinza hover #374151
     private static final Color COR_MENU_ITEM_INATIVO = new Color(75, 85, 99); // Cinza inativo #4B5563
 
+    // Transações listadas no dashboard; o resumo rápido usa o mesmo snapshot
+    private static final int LIMITE_TRANSACOES_RECENTES = 5;
+
     // Referência ao resumo rápido para atualização
     private JPanel resumoRapidoAtual;
 
@@ -356,15 +360,15 @@ public class TelaPrincipal extends JFrame {
         lblTitulo.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         try {
-            // Usar dados do DashboardController para estatísticas do usuário
-            DashboardController.EstatisticasDashboard statsMes = dashboardController.getEstatisticasMesAtual();
+            // Mesmo snapshot do dashboard: numa atualização completa não há nova consulta
+            DashboardSnapshot snapshot = dashboardController.getSnapshot(LIMITE_TRANSACOES_RECENTES);
 
-            JLabel lblSaldo = new JLabel("Saldo: " + FormatUtils.formatarValor(statsMes.getSaldo()));
+            JLabel lblSaldo = new JLabel("Saldo do mês: " + FormatUtils.formatarValor(snapshot.getSaldoMes()));
             lblSaldo.setFont(new Font("Segoe UI", Font.BOLD, 12));
-            lblSaldo.setForeground(statsMes.getSaldo().compareTo(BigDecimal.ZERO) >= 0 ? COR_SUCESSO : COR_ERRO);
+            lblSaldo.setForeground(snapshot.getSaldoMes().compareTo(BigDecimal.ZERO) >= 0 ? COR_SUCESSO : COR_ERRO);
             lblSaldo.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-            JLabel lblTransacoes = new JLabel(statsMes.getTotalTransacoes() + " transações este mês");
+            JLabel lblTransacoes = new JLabel(snapshot.getQuantidadeMes() + " transações este mês");
             lblTransacoes.setFont(new Font("Segoe UI", Font.PLAIN, 10));
             lblTransacoes.setForeground(COR_TEXTO_TERCIARIO);
             lblTransacoes.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -624,14 +628,17 @@ public class TelaPrincipal extends JFrame {
         };
         dashboard.setBorder(BorderFactory.createEmptyBorder(25, 25, 25, 25));
 
+        // Todos os dados do dashboard em uma única leitura
+        DashboardSnapshot snapshot = dashboardController.getSnapshot(LIMITE_TRANSACOES_RECENTES);
+
         // Header melhorado com data e hora
-        JPanel painelHeader = createDashboardHeader();
+        JPanel painelHeader = createDashboardHeader(snapshot);
 
         // Cards de resumo financeiro principais
-        JPanel painelResumo = createResumoFinanceiroMelhorado();
+        JPanel painelResumo = createResumoFinanceiroMelhorado(snapshot);
 
         // Painel central com gráficos e informações
-        JPanel painelCentral = createPainelCentral();
+        JPanel painelCentral = createPainelCentral(snapshot);
 
         dashboard.add(painelHeader, BorderLayout.NORTH);
         dashboard.add(painelResumo, BorderLayout.CENTER);
@@ -640,13 +647,13 @@ public class TelaPrincipal extends JFrame {
         return dashboard;
     }
     
-    private JPanel createDashboardHeader() {
+    private JPanel createDashboardHeader(DashboardSnapshot snapshot) {
         JPanel header = new JPanel(new BorderLayout());
         header.setBackground(COR_GRADIENTE_INICIO);
         header.setBorder(BorderFactory.createEmptyBorder(0, 0, 20, 0));
 
         // Verificar se é usuário novo
-        boolean isUsuarioNovo = dashboardController.isUsuarioNovo();
+        boolean isUsuarioNovo = !snapshot.isPossuiTransacoes();
 
         // Título principal
         JLabel lblTitulo = new JLabel("Dashboard Financeiro");
@@ -685,46 +692,42 @@ public class TelaPrincipal extends JFrame {
         return header;
     }
 
-    private JPanel createResumoFinanceiroMelhorado() {
+    private JPanel createResumoFinanceiroMelhorado(DashboardSnapshot snapshot) {
         JPanel painelResumo = new JPanel(new GridLayout(1, 4, 20, 0));
         painelResumo.setOpaque(false); // Torna o painel transparente
         painelResumo.setBorder(BorderFactory.createEmptyBorder(0, 0, 30, 0));
 
         try {
-            // Usar o novo DashboardController para obter dados do usuário logado
-            DashboardController.EstatisticasDashboard statsMes = dashboardController.getEstatisticasMesAtual();
-            DashboardController.EstatisticasDashboard statsAno = dashboardController.getEstatisticasAnoAtual();
-
             // Cards melhorados com cores da paleta moderna
             painelResumo.add(createCardMelhorado("💰", "Receitas do Mês",
-                FormatUtils.formatarValor(statsMes.getReceitas()),
-                statsMes.getTotalTransacoes() > 0 ?
+                FormatUtils.formatarValor(snapshot.getReceitasMes()),
+                snapshot.getQuantidadeMes() > 0 ?
                     String.format("%.0f%% do total mensal",
-                        statsMes.getReceitas().doubleValue() / (statsMes.getReceitas().add(statsMes.getDespesas()).doubleValue() + 0.01) * 100)
+                        snapshot.getReceitasMes().doubleValue() / (snapshot.getReceitasMes().add(snapshot.getDespesasMes()).doubleValue() + 0.01) * 100)
                     : "0 transações",
                 COR_SUCESSO, COR_SUCESSO));
 
             painelResumo.add(createCardMelhorado("💸", "Despesas do Mês",
-                FormatUtils.formatarValor(statsMes.getDespesas()),
-                statsMes.getTotalTransacoes() > 0 ?
+                FormatUtils.formatarValor(snapshot.getDespesasMes()),
+                snapshot.getQuantidadeMes() > 0 ?
                     String.format("%.0f%% do total mensal",
-                        statsMes.getDespesas().doubleValue() / (statsMes.getReceitas().add(statsMes.getDespesas()).doubleValue() + 0.01) * 100)
+                        snapshot.getDespesasMes().doubleValue() / (snapshot.getReceitasMes().add(snapshot.getDespesasMes()).doubleValue() + 0.01) * 100)
                     : "0 transações",
                 COR_ERRO, COR_ERRO));
 
-            Color corSaldo = statsMes.getSaldo().compareTo(BigDecimal.ZERO) >= 0 ? COR_SUCESSO : COR_ERRO;
-            String iconeSaldo = statsMes.getSaldo().compareTo(BigDecimal.ZERO) >= 0 ? "📈" : "📉";
+            Color corSaldo = snapshot.getSaldoMes().compareTo(BigDecimal.ZERO) >= 0 ? COR_SUCESSO : COR_ERRO;
+            String iconeSaldo = snapshot.getSaldoMes().compareTo(BigDecimal.ZERO) >= 0 ? "📈" : "📉";
 
             painelResumo.add(createCardMelhorado(iconeSaldo, "Saldo do Mês",
-                FormatUtils.formatarValor(statsMes.getSaldo()),
-                statsMes.getSaldo().compareTo(BigDecimal.ZERO) >= 0 ? "Superávit" : "Déficit",
+                FormatUtils.formatarValor(snapshot.getSaldoMes()),
+                snapshot.getSaldoMes().compareTo(BigDecimal.ZERO) >= 0 ? "Superávit" : "Déficit",
                 corSaldo, corSaldo));
 
             painelResumo.add(createCardMelhorado("🏆", "Saldo Total",
-                FormatUtils.formatarValor(statsAno.getSaldo()),
+                FormatUtils.formatarValor(snapshot.getSaldoTotal()),
                 "Patrimônio atual",
-                statsAno.getSaldo().compareTo(BigDecimal.ZERO) >= 0 ? COR_PRIMARIA : COR_ERRO,
-                statsAno.getSaldo().compareTo(BigDecimal.ZERO) >= 0 ? COR_PRIMARIA : COR_ERRO));
+                snapshot.getSaldoTotal().compareTo(BigDecimal.ZERO) >= 0 ? COR_PRIMARIA : COR_ERRO,
+                snapshot.getSaldoTotal().compareTo(BigDecimal.ZERO) >= 0 ? COR_PRIMARIA : COR_ERRO));
 
         } catch (Exception e) {
             System.err.println("ERROR: Erro ao calcular resumo financeiro personalizado: " + e.getMessage());
@@ -799,12 +802,12 @@ public class TelaPrincipal extends JFrame {
         return card;
     }
 
-    private JPanel createPainelCentral() {
+    private JPanel createPainelCentral(DashboardSnapshot snapshot) {
         JPanel painelCentral = new JPanel(new BorderLayout());
         painelCentral.setOpaque(false); // Torna o painel transparente
 
         // Verificar se é usuário novo para mostrar painel apropriado
-        boolean isUsuarioNovo = verificarSeUsuarioEhNovo();
+        boolean isUsuarioNovo = !snapshot.isPossuiTransacoes();
 
         if (isUsuarioNovo) {
             // Painel especial para usuários novos
@@ -812,7 +815,7 @@ public class TelaPrincipal extends JFrame {
             painelCentral.add(painelGuiaUsuarioNovo, BorderLayout.CENTER);
         } else {
             // Painel de transações recentes para usuários com dados
-            JPanel painelTransacoes = createTransacoesRecentes();
+            JPanel painelTransacoes = createTransacoesRecentes(snapshot);
             painelCentral.add(painelTransacoes, BorderLayout.CENTER);
         }
 
@@ -888,13 +891,6 @@ public class TelaPrincipal extends JFrame {
         return painel;
     }
 
-    /**
-     * Verifica se o usuário logado é novo (sem transações)
-     */
-    private boolean verificarSeUsuarioEhNovo() {
-        return dashboardController.isUsuarioNovo();
-    }
-
     /**
      * Atualiza o dashboard com dados frescos do usuário (método público para ser chamado por outras classes)
      */
@@ -1047,7 +1043,7 @@ public class TelaPrincipal extends JFrame {
     /**
      * Cria um painel de transações recentes para usuários com dados
      */
-    private JPanel createTransacoesRecentes() {
+    private JPanel createTransacoesRecentes(DashboardSnapshot snapshot) {
         JPanel painel = new JPanel(new BorderLayout());
         painel.setBackground(Color.WHITE);
         painel.setBorder(BorderFactory.createCompoundBorder(
@@ -1063,7 +1059,7 @@ public class TelaPrincipal extends JFrame {
         lblTitulo.setFont(new Font("Segoe UI", Font.BOLD, 18));
         lblTitulo.setForeground(COR_TEXTO_PRIMARIO);
 
-        JLabel lblSubtitulo = new JLabel("Últimas 5 movimentações financeiras");
+        JLabel lblSubtitulo = new JLabel("Últimas " + LIMITE_TRANSACOES_RECENTES + " movimentações financeiras");
         lblSubtitulo.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         lblSubtitulo.setForeground(COR_TEXTO_TERCIARIO);
 
@@ -1077,7 +1073,7 @@ public class TelaPrincipal extends JFrame {
 
         // Lista de transações
         try {
-            List<Transacao> transacoesRecentes = transacaoController.buscarTransacoesRecentes(5);
+            List<LinhaTransacao> transacoesRecentes = snapshot.getUltimasTransacoes();
 
             if (transacoesRecentes.isEmpty()) {
                 JLabel lblVazio = new JLabel("Nenhuma transação encontrada");
@@ -1093,7 +1089,7 @@ public class TelaPrincipal extends JFrame {
                 listaTransacoes.setLayout(new BoxLayout(listaTransacoes, BoxLayout.Y_AXIS));
                 listaTransacoes.setBackground(Color.WHITE);
 
-                for (Transacao transacao : transacoesRecentes) {
+                for (LinhaTransacao transacao : transacoesRecentes) {
                     JPanel itemTransacao = createItemTransacao(transacao);
                     listaTransacoes.add(itemTransacao);
                     listaTransacoes.add(Box.createRigidArea(new Dimension(0, 8)));
@@ -1121,7 +1117,7 @@ public class TelaPrincipal extends JFrame {
         return painel;
     }
 
-    private JPanel createItemTransacao(Transacao transacao) {
+    private JPanel createItemTransacao(LinhaTransacao transacao) {
         JPanel item = new JPanel(new BorderLayout());
         item.setBackground(new Color(248, 249, 250));
         item.setBorder(BorderFactory.createCompoundBorder(
@@ -1145,8 +1141,8 @@ public class TelaPrincipal extends JFrame {
         lblDescricao.setFont(new Font("Segoe UI", Font.BOLD, 14));
         lblDescricao.setForeground(COR_TEXTO_PRIMARIO);
 
-        String categoria = transacao.getCategoria() != null ?
-            transacao.getCategoria().getNome() : "Sem categoria";
+        String categoria = transacao.getCategoriaNome() != null ?
+            transacao.getCategoriaNome() : "Sem categoria";
         JLabel lblCategoria = new JLabel(categoria);
         lblCategoria.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         lblCategoria.setForeground(COR_TEXTO_TERCIARIO);
@@ -1159,13 +1155,12 @@ public class TelaPrincipal extends JFrame {
         painelValor.setLayout(new BoxLayout(painelValor, BoxLayout.Y_AXIS));
         painelValor.setBackground(new Color(248, 249, 250));
 
-        JLabel lblValor = new JLabel(FormatUtils.formatarValor(transacao.getValor()));
+        JLabel lblValor = new JLabel(FormatUtils.formatarCentavos(transacao.getValorCentavos()));
         lblValor.setFont(new Font("Segoe UI", Font.BOLD, 14));
         lblValor.setForeground(cor);
         lblValor.setHorizontalAlignment(SwingConstants.RIGHT);
 
-        JLabel lblData = new JLabel(transacao.getDataTransacao().format(
-            java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+        JLabel lblData = new JLabel(FormatUtils.formatarData(transacao.getDataTransacao()));
         lblData.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         lblData.setForeground(COR_TEXTO_TERCIARIO);
         lblData.setHorizontalAlignment(SwingConstants.RIGHT);
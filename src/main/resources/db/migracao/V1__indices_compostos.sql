@@ -0,0 +1,31 @@
+-- ============================================================================
+-- V1: índices compostos para as consultas dos DAOs
+-- Aplica sobre o esquema criado por script_banco.sql
+-- ============================================================================
+
+-- Listagens por usuário e período (buscarPorUsuario, buscarPorUsuarioEPeriodo,
+-- buscarUltimas..., paginação sem filtro de tipo): WHERE usuario_id = ? AND ativo = true
+-- [AND data_transacao BETWEEN ? AND ?] ORDER BY data_transacao DESC, id DESC.
+-- valor no final cobre calcularTotalPorUsuarioEPeriodo sem ler a tabela.
+CREATE INDEX idx_transacao_usuario_data
+    ON transacao (usuario_id, ativo, data_transacao, id, valor);
+
+-- Listagens e totais por usuário e tipo (buscarPorUsuarioETipo, paginação de
+-- receitas/despesas, calcularTotalPorUsuarioETipo): o SUM(valor) é resolvido só no índice.
+CREATE INDEX idx_transacao_usuario_tipo_data
+    ON transacao (usuario_id, ativo, tipo, data_transacao, id, valor);
+
+-- Transações do usuário por categoria (buscarPorUsuarioECategoria, paginação por categoria)
+CREATE INDEX idx_transacao_usuario_categoria_data
+    ON transacao (usuario_id, ativo, categoria_id, data_transacao, id);
+
+-- Os índices acima começam por usuario_id e atendem a chave estrangeira;
+-- idx_tipo tem seletividade baixa demais para ser escolhido pelo otimizador
+DROP INDEX idx_usuario ON transacao;
+DROP INDEX idx_tipo ON transacao;
+
+-- Orçamentos do usuário no mês (WHERE usuario_id = ? AND mes = ? AND ano = ?)
+CREATE INDEX idx_orcamento_usuario_periodo
+    ON orcamento (usuario_id, ano, mes);
+
+DROP INDEX idx_usuario ON orcamento;
@@ -0,0 +1,43 @@
+-- ============================================================================
+-- V2: resumo mensal materializado
+-- Totais por usuário, mês, categoria e tipo, mantidos pelo TransacaoDAOImpl na
+-- mesma transação que grava a transacao. Só transações ativas entram na soma.
+-- ============================================================================
+
+-- categoria_id = 0 representa transações sem categoria (a chave primária não aceita NULL)
+CREATE TABLE resumo_mensal (
+    usuario_id INT NOT NULL,
+    ano SMALLINT NOT NULL,
+    mes TINYINT NOT NULL,
+    categoria_id INT NOT NULL DEFAULT 0,
+    tipo ENUM('RECEITA', 'DESPESA') NOT NULL,
+    total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    quantidade INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (usuario_id, ano, mes, categoria_id, tipo),
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+-- Carga inicial a partir das transações existentes
+INSERT INTO resumo_mensal (usuario_id, ano, mes, categoria_id, tipo, total, quantidade)
+SELECT usuario_id, YEAR(data_transacao), MONTH(data_transacao), COALESCE(categoria_id, 0), tipo, SUM(valor), COUNT(*)
+FROM transacao
+WHERE ativo = TRUE
+GROUP BY usuario_id, YEAR(data_transacao), MONTH(data_transacao), COALESCE(categoria_id, 0), tipo;
+
+-- A view mantém as mesmas colunas, mas passa a ler o resumo em vez de agrupar transacao
+CREATE OR REPLACE VIEW vw_resumo_mensal AS
+SELECT
+    r.usuario_id,
+    u.nome as usuario_nome,
+    r.ano,
+    r.mes,
+    c.nome as categoria,
+    r.tipo,
+    SUM(r.total) as total_valor,
+    SUM(r.quantidade) as quantidade_transacoes
+FROM resumo_mensal r
+LEFT JOIN categoria c ON r.categoria_id = c.id
+LEFT JOIN usuario u ON r.usuario_id = u.id
+WHERE r.quantidade > 0
+GROUP BY r.usuario_id, u.nome, r.ano, r.mes, c.nome, r.tipo
+ORDER BY r.usuario_id, r.ano DESC, r.mes DESC, c.nome;
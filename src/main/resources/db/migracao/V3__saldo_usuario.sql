@@ -0,0 +1,36 @@
+-- ============================================================================
+-- V3: saldo acumulado por usuário
+-- Mantido pelo TransacaoDAOImpl na mesma transação que grava a transacao, junto
+-- com resumo_mensal. Só transações ativas entram na soma.
+-- ============================================================================
+
+CREATE TABLE saldo_usuario (
+    usuario_id INT PRIMARY KEY,
+    total_receitas DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_despesas DECIMAL(14,2) NOT NULL DEFAULT 0,
+    saldo DECIMAL(14,2) AS (total_receitas - total_despesas) STORED,
+    quantidade INT NOT NULL DEFAULT 0,
+    data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+-- Carga inicial a partir das transações existentes
+INSERT INTO saldo_usuario (usuario_id, total_receitas, total_despesas, quantidade)
+SELECT usuario_id,
+       COALESCE(SUM(CASE WHEN tipo = 'RECEITA' THEN valor END), 0),
+       COALESCE(SUM(CASE WHEN tipo = 'DESPESA' THEN valor END), 0),
+       COUNT(*)
+FROM transacao
+WHERE ativo = TRUE
+GROUP BY usuario_id;
+
+-- Mesmas colunas de antes, lidas do saldo mantido em vez de quatro subconsultas por usuário
+CREATE OR REPLACE VIEW vw_saldo_atual AS
+SELECT
+    s.usuario_id,
+    u.nome as usuario_nome,
+    s.total_receitas,
+    s.total_despesas,
+    s.saldo as saldo_atual
+FROM saldo_usuario s
+LEFT JOIN usuario u ON s.usuario_id = u.id;
@@ -0,0 +1,127 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CacheRelatoriosTest {
+
+    // Usuários próprios deste teste, para não cruzar versões com outros testes
+    private static final Long USUARIO = 9_001L;
+    private static final Long OUTRO_USUARIO = 9_002L;
+
+    private static final LocalDate JANEIRO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FEVEREIRO = LocalDate.of(2024, 2, 1);
+    private static final LocalDate MARCO = LocalDate.of(2024, 3, 1);
+
+    // Estimativa de um relatório com 3 transações sem descrição: 120 + 3 * 120
+    private static final long BYTES_TRES_TRANSACOES = 480;
+
+    @Test
+    public void guardaEDevolveOMesmoRelatorio() {
+        CacheRelatorios cache = new CacheRelatorios(10_000);
+        List<LinhaTransacao> transacoes = transacoes(3);
+
+        cache.guardar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes, VersoesUsuario.atual(USUARIO));
+
+        assertEquals(transacoes, cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+        assertNull(cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), TipoTransacao.RECEITA));
+        assertNull(cache.buscar(OUTRO_USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+        assertEquals(BYTES_TRES_TRANSACOES, cache.getBytes());
+        assertEquals(1, cache.getEstatisticas().getAcertos());
+        assertEquals(2, cache.getEstatisticas().getFalhas());
+    }
+
+    @Test
+    public void removeOUsadoHaMaisTempoAoPassarDoLimite() {
+        // Cabem dois relatórios de três transações
+        CacheRelatorios cache = new CacheRelatorios(2 * BYTES_TRES_TRANSACOES);
+        long versao = VersoesUsuario.atual(USUARIO);
+
+        cache.guardar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes(3), versao);
+        cache.guardar(USUARIO, FEVEREIRO, fimDoMes(FEVEREIRO), null, transacoes(3), versao);
+        // Janeiro passa a ser o usado mais recentemente
+        assertNotNull(cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+
+        cache.guardar(USUARIO, MARCO, fimDoMes(MARCO), null, transacoes(3), versao);
+
+        assertNull(cache.buscar(USUARIO, FEVEREIRO, fimDoMes(FEVEREIRO), null));
+        assertNotNull(cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+        assertNotNull(cache.buscar(USUARIO, MARCO, fimDoMes(MARCO), null));
+        assertEquals(2, cache.getQuantidade());
+        assertEquals(2 * BYTES_TRES_TRANSACOES, cache.getBytes());
+        assertEquals(1, cache.getEstatisticas().getRemocoes());
+    }
+
+    @Test
+    public void relatorioMaiorQueOLimiteNaoEntra() {
+        CacheRelatorios cache = new CacheRelatorios(BYTES_TRES_TRANSACOES - 1);
+
+        cache.guardar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes(3), VersoesUsuario.atual(USUARIO));
+
+        assertNull(cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void descricoesContamNoTamanho() {
+        CacheRelatorios cache = new CacheRelatorios(10_000);
+        List<LinhaTransacao> transacoes = List.of(
+            new LinhaTransacao(1, "abcde", BigDecimal.ONE, JANEIRO, TipoTransacao.RECEITA, null, null, "xyz"));
+
+        cache.guardar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes, VersoesUsuario.atual(USUARIO));
+
+        assertEquals(120 + 120 + (5 + 3) * 2, cache.getBytes());
+    }
+
+    @Test
+    public void gravacaoDuranteAConsultaDescartaOResultado() {
+        CacheRelatorios cache = new CacheRelatorios(10_000);
+        long versaoLida = VersoesUsuario.atual(USUARIO);
+        VersoesUsuario.incrementar(USUARIO);
+
+        cache.guardar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes(3), versaoLida);
+
+        assertNull(cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+    }
+
+    @Test
+    public void invalidarSoOsPeriodosQueContemAData() {
+        CacheRelatorios cache = new CacheRelatorios(10_000);
+        long versao = VersoesUsuario.atual(USUARIO);
+        cache.guardar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes(3), versao);
+        cache.guardar(USUARIO, FEVEREIRO, fimDoMes(FEVEREIRO), null, transacoes(3), versao);
+        cache.guardar(OUTRO_USUARIO, JANEIRO, fimDoMes(JANEIRO), null, transacoes(3), VersoesUsuario.atual(OUTRO_USUARIO));
+
+        cache.invalidar(USUARIO, fimDoMes(JANEIRO));
+
+        assertNull(cache.buscar(USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+        assertNotNull(cache.buscar(USUARIO, FEVEREIRO, fimDoMes(FEVEREIRO), null));
+        assertNotNull(cache.buscar(OUTRO_USUARIO, JANEIRO, fimDoMes(JANEIRO), null));
+        assertEquals(2 * BYTES_TRES_TRANSACOES, cache.getBytes());
+
+        cache.invalidar(USUARIO);
+        assertEquals(1, cache.getQuantidade());
+    }
+
+    private static LocalDate fimDoMes(LocalDate inicio) {
+        return inicio.withDayOfMonth(inicio.lengthOfMonth());
+    }
+
+    private static List<LinhaTransacao> transacoes(int quantidade) {
+        List<LinhaTransacao> transacoes = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            transacoes.add(new LinhaTransacao(i, null, BigDecimal.TEN, JANEIRO, TipoTransacao.DESPESA, null, null, null));
+        }
+        return transacoes;
+    }
+}
@@ -0,0 +1,169 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.model.Dinheiro;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.ResumoPeriodo;
+import com.controlfinanceiro.model.Totalizador;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColunasTransacoesTest {
+
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2023, 1, 1);
+    private static final Long[] CATEGORIAS = {null, 1L, 2L, 3L};
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    public void encerrarPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void periodoIncluiAsDatasDosLimites() {
+        // Três transações em cada um dos dias 10, 20 e 30 de abril
+        List<LinhaTransacao> transacoes = new ArrayList<>();
+        long id = 1;
+        for (int dia : new int[]{10, 20, 30}) {
+            for (int i = 0; i < 3; i++) {
+                transacoes.add(new LinhaTransacao(id++, "T", BigDecimal.ONE, LocalDate.of(2024, 4, dia),
+                    TipoTransacao.RECEITA, null, null, null));
+            }
+        }
+        ColunasTransacoes colunas = new LivroTransacoes(transacoes).getColunas();
+
+        assertEquals(9, quantidade(colunas, 10, 30));
+        assertEquals(3, quantidade(colunas, 10, 10));
+        assertEquals(3, quantidade(colunas, 30, 30));
+        assertEquals(6, quantidade(colunas, 11, 30));
+        assertEquals(6, quantidade(colunas, 10, 29));
+        assertEquals(3, quantidade(colunas, 11, 29));
+        assertEquals(0, quantidade(colunas, 11, 19));
+        assertEquals(9, quantidade(colunas, 1, 30));
+        assertEquals(0, quantidade(colunas, 1, 9));
+        assertEquals(0, quantidade(colunas, 21, 19));
+        assertEquals(0, colunas.totalizarPeriodo(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)).getQuantidade());
+        assertEquals(Dinheiro.deCentavos(900), colunas.totalizarPeriodo(LocalDate.MIN, LocalDate.MAX).getReceitas());
+    }
+
+    @Test
+    public void colunasVazias() {
+        ColunasTransacoes colunas = new LivroTransacoes(List.of()).getColunas();
+
+        assertEquals(0, colunas.totalizarPeriodo(PRIMEIRO_DIA, PRIMEIRO_DIA.plusYears(1)).getQuantidade());
+        assertTrue(colunas.totalizarPorCategoria(null, null).isEmpty());
+        assertTrue(colunas.resumir(PRIMEIRO_DIA, PRIMEIRO_DIA.plusYears(1), pool, 1).getPorMes().isEmpty());
+    }
+
+    @Test
+    public void resumoDivididoIgualAoSequencial() {
+        List<LinhaTransacao> transacoes = gerarTransacoes();
+        ColunasTransacoes colunas = new LivroTransacoes(transacoes).getColunas();
+
+        LocalDate[][] periodos = {
+            {PRIMEIRO_DIA, PRIMEIRO_DIA.plusYears(3)},                  // tudo
+            {LocalDate.of(2023, 3, 17), LocalDate.of(2024, 8, 9)},      // começa e termina no meio do mês
+            {LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30)},      // um mês com mais linhas que uma tarefa
+            {LocalDate.of(2024, 2, 29), LocalDate.of(2024, 2, 29)},     // um dia
+            {LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31)}      // sem transações
+        };
+
+        for (LocalDate[] periodo : periodos) {
+            ResumoPeriodo esperado = ResumoPeriodo.de(noPeriodo(transacoes, periodo[0], periodo[1]));
+            ResumoPeriodo sequencial = colunas.resumir(periodo[0], periodo[1], null, 64);
+            assertMesmoResumo(esperado, sequencial);
+
+            // Tarefas menores que um mês e de um mês só: os limites das partes caem entre meses de tamanhos diferentes
+            for (int linhasPorTarefa : new int[]{1, 64, 250}) {
+                assertMesmoResumo(sequencial, colunas.resumir(periodo[0], periodo[1], pool, linhasPorTarefa));
+            }
+        }
+    }
+
+    @Test
+    public void mesMaiorQueTarefaNaoEDividido() {
+        List<LinhaTransacao> transacoes = gerarTransacoes();
+        ColunasTransacoes colunas = new LivroTransacoes(transacoes).getColunas();
+        LocalDate inicio = LocalDate.of(2023, 5, 20);
+        LocalDate fim = LocalDate.of(2023, 7, 10);
+
+        ResumoPeriodo dividido = colunas.resumir(inicio, fim, pool, 16);
+
+        assertTrue(contar(transacoes, YearMonth.of(2023, 6)) > 16, "junho precisa ter mais linhas que uma tarefa");
+        assertEquals(3, dividido.getPorMes().size());
+        assertMesmoResumo(ResumoPeriodo.de(noPeriodo(transacoes, inicio, fim)), dividido);
+    }
+
+    /**
+     * Dois a três anos de transações, com meses de tamanhos bem diferentes (junho de 2023
+     * concentra centenas de linhas) e mais de uma transação por dia
+     */
+    private static List<LinhaTransacao> gerarTransacoes() {
+        Random aleatorio = new Random(42);
+        List<LinhaTransacao> transacoes = new ArrayList<>();
+        long id = 1;
+        for (LocalDate dia = PRIMEIRO_DIA; dia.isBefore(LocalDate.of(2025, 9, 1)); dia = dia.plusDays(1)) {
+            int quantidade = YearMonth.from(dia).equals(YearMonth.of(2023, 6)) ? 20 : aleatorio.nextInt(3);
+            for (int i = 0; i < quantidade; i++) {
+                TipoTransacao tipo = aleatorio.nextBoolean() ? TipoTransacao.RECEITA : TipoTransacao.DESPESA;
+                BigDecimal valor = BigDecimal.valueOf(1 + aleatorio.nextInt(500_000), 2);
+                Long categoria = CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)];
+                transacoes.add(new LinhaTransacao(id, "Transação " + id, valor, dia, tipo, categoria, null, null));
+                id++;
+            }
+        }
+        return transacoes;
+    }
+
+    private static long quantidade(ColunasTransacoes colunas, int diaInicio, int diaFim) {
+        return colunas.totalizarPeriodo(LocalDate.of(2024, 4, diaInicio), LocalDate.of(2024, 4, diaFim)).getQuantidade();
+    }
+
+    private static List<LinhaTransacao> noPeriodo(List<LinhaTransacao> transacoes, LocalDate inicio, LocalDate fim) {
+        List<LinhaTransacao> selecionadas = new ArrayList<>();
+        for (LinhaTransacao transacao : transacoes) {
+            if (!transacao.getDataTransacao().isBefore(inicio) && !transacao.getDataTransacao().isAfter(fim)) {
+                selecionadas.add(transacao);
+            }
+        }
+        return selecionadas;
+    }
+
+    private static long contar(List<LinhaTransacao> transacoes, YearMonth mes) {
+        return transacoes.stream().filter(t -> YearMonth.from(t.getDataTransacao()).equals(mes)).count();
+    }
+
+    private static void assertMesmoResumo(ResumoPeriodo esperado, ResumoPeriodo obtido) {
+        assertMesmosTotais(esperado.getTotal(), obtido.getTotal(), "total");
+
+        assertEquals(esperado.getPorMes().keySet(), obtido.getPorMes().keySet());
+        for (Map.Entry<YearMonth, Totalizador> mes : esperado.getPorMes().entrySet()) {
+            assertMesmosTotais(mes.getValue(), obtido.getPorMes().get(mes.getKey()), "mês " + mes.getKey());
+        }
+
+        assertEquals(esperado.getPorCategoria().keySet(), obtido.getPorCategoria().keySet());
+        for (Map.Entry<Long, Totalizador> categoria : esperado.getPorCategoria().entrySet()) {
+            assertMesmosTotais(categoria.getValue(), obtido.getPorCategoria().get(categoria.getKey()),
+                "categoria " + categoria.getKey());
+        }
+    }
+
+    private static void assertMesmosTotais(Totalizador esperado, Totalizador obtido, String descricao) {
+        assertEquals(esperado.getReceitas(), obtido.getReceitas(), descricao + ": receitas");
+        assertEquals(esperado.getDespesas(), obtido.getDespesas(), descricao + ": despesas");
+        assertEquals(esperado.getQuantidade(), obtido.getQuantidade(), descricao + ": quantidade");
+    }
+}
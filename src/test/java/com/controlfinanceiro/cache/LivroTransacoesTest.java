@@ -0,0 +1,122 @@
+package com.controlfinanceiro.cache;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LivroTransacoesTest {
+
+    @Test
+    public void listagensNaOrdemDosDaos() {
+        LivroTransacoes livro = new LivroTransacoes(List.of(
+            linha(1, "10.00", 5, TipoTransacao.RECEITA, 1L),
+            linha(2, "20.00", 7, TipoTransacao.DESPESA, 1L),
+            linha(3, "30.00", 5, TipoTransacao.DESPESA, 2L),
+            linha(4, "40.00", 1, TipoTransacao.RECEITA, null)));
+
+        // Data decrescente e, no mesmo dia, ID decrescente
+        assertEquals(List.of(2L, 3L, 1L, 4L), ids(livro.listarPorPeriodo(dia(1), dia(31))));
+        assertEquals(List.of(2L, 3L), ids(livro.listarRecentes(2)));
+        assertEquals(List.of(2L, 3L), ids(livro.listarPorTipo(TipoTransacao.DESPESA)));
+        assertEquals(List.of(2L, 1L), ids(livro.listarPorCategoria(1L)));
+        assertEquals(List.of(4L), ids(livro.listarPorCategoria(null)));
+    }
+
+    @Test
+    public void periodoInclusivo() {
+        LivroTransacoes livro = new LivroTransacoes(List.of(
+            linha(1, "1.00", 5, TipoTransacao.RECEITA, null),
+            linha(2, "1.00", 6, TipoTransacao.RECEITA, null),
+            linha(3, "1.00", 7, TipoTransacao.RECEITA, null)));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(livro.listarPorPeriodo(dia(5), dia(7))));
+        assertEquals(List.of(2L), ids(livro.listarPorPeriodo(dia(6), dia(6))));
+        assertTrue(livro.listarPorPeriodo(dia(8), dia(31)).isEmpty());
+        assertTrue(livro.listarPorPeriodo(dia(7), dia(5)).isEmpty());
+    }
+
+    @Test
+    public void registrarSubstituiERemoveInativas() {
+        LivroTransacoes livro = new LivroTransacoes(List.of(
+            linha(1, "10.00", 5, TipoTransacao.RECEITA, 1L),
+            linha(2, "20.00", 6, TipoTransacao.DESPESA, 1L)));
+
+        Transacao alterada = transacao(1, "15.00", 8, TipoTransacao.DESPESA, 2L);
+        livro.registrar(alterada);
+
+        assertEquals(2, livro.getQuantidade());
+        assertEquals(List.of(1L, 2L), ids(livro.listarPorPeriodo(dia(1), dia(31))));
+        assertEquals(List.of(1L, 2L), ids(livro.listarPorTipo(TipoTransacao.DESPESA)));
+        assertTrue(livro.listarPorTipo(TipoTransacao.RECEITA).isEmpty());
+        assertEquals(List.of(2L), ids(livro.listarPorCategoria(1L)));
+        assertEquals(new BigDecimal("35.00"), livro.calcularTotal(TipoTransacao.DESPESA));
+
+        Transacao inativa = transacao(2, "20.00", 6, TipoTransacao.DESPESA, 1L);
+        inativa.setAtivo(false);
+        livro.registrar(inativa);
+
+        assertEquals(List.of(1L), ids(livro.listarPorPeriodo(dia(1), dia(31))));
+        assertTrue(livro.listarPorCategoria(1L).isEmpty());
+    }
+
+    @Test
+    public void removerDevolveSeAchou() {
+        LivroTransacoes livro = new LivroTransacoes(List.of(linha(1, "10.00", 5, TipoTransacao.RECEITA, null)));
+
+        assertFalse(livro.remover(99L));
+        assertTrue(livro.remover(1L));
+        assertTrue(livro.isVazio());
+        assertEquals(new BigDecimal("0.00"), livro.calcularTotal(TipoTransacao.RECEITA));
+    }
+
+    @Test
+    public void colunasRefeitasDepoisDeGravacao() {
+        LivroTransacoes livro = new LivroTransacoes(List.of(linha(1, "10.00", 5, TipoTransacao.RECEITA, null)));
+
+        ColunasTransacoes antes = livro.getColunas();
+        assertSame(antes, livro.getColunas());
+
+        livro.registrar(transacao(2, "2.50", 6, TipoTransacao.RECEITA, null));
+        ColunasTransacoes depois = livro.getColunas();
+
+        assertNotSame(antes, depois);
+        assertEquals(1, antes.getQuantidade());
+        assertEquals(2, depois.getQuantidade());
+        assertEquals(new BigDecimal("12.50"), livro.totalizarPeriodo(dia(1), dia(31)).getReceitas().toBigDecimal());
+    }
+
+    private static LocalDate dia(int dia) {
+        return LocalDate.of(2024, 3, dia);
+    }
+
+    private static LinhaTransacao linha(long id, String valor, int dia, TipoTransacao tipo, Long categoriaId) {
+        return new LinhaTransacao(id, "Transação " + id, new BigDecimal(valor), dia(dia), tipo, categoriaId, null, null);
+    }
+
+    private static Transacao transacao(long id, String valor, int dia, TipoTransacao tipo, Long categoriaId) {
+        Transacao transacao = new Transacao("Transação " + id, new BigDecimal(valor), dia(dia), tipo, categoriaId);
+        transacao.setId(id);
+        transacao.setUsuarioId(1L);
+        return transacao;
+    }
+
+    private static List<Long> ids(List<LinhaTransacao> transacoes) {
+        List<Long> ids = new ArrayList<>();
+        for (LinhaTransacao transacao : transacoes) {
+            ids.add(transacao.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,105 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.util.ConnectionFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Banco H2 em memória dos testes de DAO, configurado em src/test/resources/database.properties.
+ * Cada teste recria o esquema de db/esquema_teste.sql do zero.
+ */
+final class BancoTeste {
+
+    static final long ALIMENTACAO = 1L;
+    static final long TRANSPORTE = 2L;
+
+    private BancoTeste() {
+    }
+
+    /**
+     * @param versao versão registrada em schema_versao; abaixo de 3 os DAOs tratam as
+     *               tabelas de totais como ainda não criadas
+     */
+    static void recriar(int versao) throws SQLException {
+        TabelasTotais.esquecer();
+        try (Connection conn = ConnectionFactory.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+            for (String comando : lerComandos("/db/esquema_teste.sql")) {
+                stmt.execute(comando);
+            }
+            for (int v = 1; v <= versao; v++) {
+                stmt.execute("INSERT INTO schema_versao (versao, descricao, script, checksum, duracao_ms) VALUES ("
+                        + v + ", 'teste', 'V" + v + "__teste.sql', '" + "0".repeat(64) + "', 0)");
+            }
+        }
+    }
+
+    static long criarUsuario(String nome) throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO usuario (nome, senha) VALUES (?, 'x')", Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, nome);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    static Transacao transacao(long usuarioId, String valor, LocalDate data, TipoTransacao tipo, Long categoriaId) {
+        Transacao transacao = new Transacao("Teste " + valor, new BigDecimal(valor), data, tipo, categoriaId);
+        transacao.setUsuarioId(usuarioId);
+        return transacao;
+    }
+
+    /**
+     * Resultado de uma consulta de uma linha e uma coluna, ou null se não houver linha
+     */
+    static Object consultar(String sql) throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getObject(1) : null;
+        }
+    }
+
+    // Mesma separação de MigracaoBanco: comandos terminados por ';' no fim da linha
+    private static List<String> lerComandos(String recurso) {
+        String conteudo;
+        try (InputStream input = BancoTeste.class.getResourceAsStream(recurso)) {
+            conteudo = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler " + recurso, e);
+        }
+
+        List<String> comandos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        for (String linha : conteudo.split("\\R")) {
+            String texto = linha.trim();
+            if (texto.isEmpty() || texto.startsWith("--")) {
+                continue;
+            }
+            atual.append(linha).append('\n');
+            if (texto.endsWith(";")) {
+                String comando = atual.toString().trim();
+                comandos.add(comando.substring(0, comando.length() - 1));
+                atual.setLength(0);
+            }
+        }
+        return comandos;
+    }
+}
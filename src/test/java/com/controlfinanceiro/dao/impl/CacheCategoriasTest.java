@@ -0,0 +1,56 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import com.controlfinanceiro.util.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.controlfinanceiro.dao.impl.BancoTeste.transacao;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CacheCategoriasTest {
+
+    // db.pool.maxSize de src/test/resources/database.properties
+    private static final int MAXIMO_POOL = 4;
+
+    private final TransacaoDAOImpl transacaoDAO = new TransacaoDAOImpl();
+
+    @Test
+    public void categoriaNovaERecarregadaNaConexaoDaLeitura() throws Exception {
+        BancoTeste.recriar(0);
+        long usuarioId = BancoTeste.criarUsuario("Davi");
+        transacaoDAO.inserir(transacao(usuarioId, "10.00", LocalDate.of(2024, 5, 2),
+                TipoTransacao.DESPESA, BancoTeste.ALIMENTACAO));
+        assertEquals("Alimentação", transacaoDAO.buscarPorUsuario(usuarioId).get(0).getCategoriaNome());
+
+        // Criada por fora do CategoriaDAOImpl, como faria outra instância: a cópia em memória não a tem
+        long lazer;
+        try (Connection conn = ConnectionFactory.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO categoria (nome) VALUES ('Lazer')");
+            lazer = ((Number) BancoTeste.consultar("SELECT id FROM categoria WHERE nome = 'Lazer'")).longValue();
+            stmt.executeUpdate("UPDATE transacao SET categoria_id = " + lazer + " WHERE usuario_id = " + usuarioId);
+        }
+
+        // Só resta uma conexão no pool: a recarga não pode pedir uma segunda
+        List<Connection> ocupadas = new ArrayList<>();
+        try {
+            for (int i = 1; i < MAXIMO_POOL; i++) {
+                ocupadas.add(ConnectionFactory.getConnection());
+            }
+
+            List<LinhaTransacao> linhas = transacaoDAO.buscarPorUsuario(usuarioId);
+            assertEquals(lazer, linhas.get(0).getCategoriaId());
+            assertEquals("Lazer", linhas.get(0).getCategoriaNome());
+        } finally {
+            for (Connection conn : ocupadas) {
+                conn.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.controlfinanceiro.dao.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MapeadorLinhasTest {
+
+    private final AtomicInteger leiturasMetaData = new AtomicInteger();
+
+    private final MapeadorLinhas<String> mapeador = new MapeadorLinhas<>(
+        (rs, c) -> Arrays.toString(c) + (c[0] != MapeadorLinhas.AUSENTE ? " " + rs.getString(c[0]) : ""),
+        "id", "descricao", "categoria_nome");
+
+    @Test
+    public void resolveOsIndicesPeloRotulo() throws SQLException {
+        ResultSet rs = resultSet("DESCRICAO", "x", "ID");
+
+        assertEquals("[3, 1, 0] valor-3", mapeador.leitor("SELECT 1", rs).ler(rs));
+    }
+
+    @Test
+    public void colunaAusenteFicaComIndiceZero() throws SQLException {
+        ResultSet rs = resultSet("descricao");
+
+        assertEquals("[0, 1, 0]", mapeador.leitor("SELECT 2", rs).ler(rs));
+    }
+
+    @Test
+    public void rotuloRepetidoUsaOPrimeiro() throws SQLException {
+        ResultSet rs = resultSet("id", "descricao", "id");
+
+        assertEquals("[1, 2, 0] valor-1", mapeador.leitor("SELECT 3", rs).ler(rs));
+    }
+
+    @Test
+    public void metaDataLidoUmaVezPorSql() throws SQLException {
+        ResultSet rs = resultSet("id", "descricao", "categoria_nome");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("[1, 2, 3] valor-1", mapeador.leitor("SELECT 4", rs).ler(rs));
+        }
+        assertEquals(1, leiturasMetaData.get());
+
+        // Outro SQL com outras colunas é resolvido à parte
+        ResultSet outro = resultSet("categoria_nome", "id");
+        assertEquals("[2, 0, 1] valor-2", mapeador.leitor("SELECT 5", outro).ler(outro));
+        assertEquals(2, leiturasMetaData.get());
+    }
+
+    /**
+     * ResultSet com os rótulos informados; getString(i) devolve "valor-i"
+     */
+    private ResultSet resultSet(String... rotulos) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{ResultSetMetaData.class}, (proxy, metodo, args) -> {
+                switch (metodo.getName()) {
+                    case "getColumnCount":
+                        return rotulos.length;
+                    case "getColumnLabel":
+                        return rotulos[(Integer) args[0] - 1];
+                    default:
+                        throw new UnsupportedOperationException(metodo.getName());
+                }
+            });
+
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+            (proxy, metodo, args) -> {
+                switch (metodo.getName()) {
+                    case "getMetaData":
+                        leiturasMetaData.incrementAndGet();
+                        return metaData;
+                    case "getString":
+                        return "valor-" + args[0];
+                    default:
+                        throw new UnsupportedOperationException(metodo.getName());
+                }
+            });
+    }
+}
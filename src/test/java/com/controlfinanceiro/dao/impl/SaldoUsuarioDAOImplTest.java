@@ -0,0 +1,65 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.exception.DAOException;
+import com.controlfinanceiro.model.SaldoUsuario;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.controlfinanceiro.dao.impl.BancoTeste.transacao;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SaldoUsuarioDAOImplTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 10);
+
+    private final TransacaoDAOImpl transacaoDAO = new TransacaoDAOImpl();
+    private final SaldoUsuarioDAOImpl saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+
+    @Test
+    public void comAV3LeOSaldoMantido() throws Exception {
+        BancoTeste.recriar(TabelasTotais.VERSAO_SALDO_USUARIO);
+        long usuarioId = BancoTeste.criarUsuario("Ana");
+
+        transacaoDAO.inserir(transacao(usuarioId, "100.00", DIA, TipoTransacao.RECEITA, null));
+        transacaoDAO.inserir(transacao(usuarioId, "30.50", DIA, TipoTransacao.DESPESA, BancoTeste.ALIMENTACAO));
+
+        assertSaldo(saldoUsuarioDAO.buscarPorUsuario(usuarioId), "100.00", "30.50", 2);
+        assertEquals(2, ((Number) BancoTeste.consultar(
+                "SELECT quantidade FROM saldo_usuario WHERE usuario_id = " + usuarioId)).intValue());
+        assertTrue(saldoUsuarioDAO.verificar().isEmpty());
+    }
+
+    @Test
+    public void antesDaV3SomaTransacao() throws Exception {
+        BancoTeste.recriar(TabelasTotais.VERSAO_RESUMO_MENSAL);
+        long usuarioId = BancoTeste.criarUsuario("Bia");
+
+        transacaoDAO.inserir(transacao(usuarioId, "100.00", DIA, TipoTransacao.RECEITA, null));
+        transacaoDAO.inserir(transacao(usuarioId, "30.50", DIA, TipoTransacao.DESPESA, BancoTeste.ALIMENTACAO));
+
+        // As gravações não tocaram saldo_usuario, mas a leitura traz os mesmos totais
+        assertEquals(0L, ((Number) BancoTeste.consultar("SELECT COUNT(*) FROM saldo_usuario")).longValue());
+        assertSaldo(saldoUsuarioDAO.buscarPorUsuario(usuarioId), "100.00", "30.50", 2);
+        assertThrows(DAOException.class, saldoUsuarioDAO::verificar);
+        assertThrows(DAOException.class, () -> saldoUsuarioDAO.reconstruir(usuarioId));
+    }
+
+    @Test
+    public void usuarioSemTransacoesTemSaldoZerado() throws Exception {
+        BancoTeste.recriar(0);
+        long usuarioId = BancoTeste.criarUsuario("Caio");
+
+        assertSaldo(saldoUsuarioDAO.buscarPorUsuario(usuarioId), "0", "0", 0);
+    }
+
+    private static void assertSaldo(SaldoUsuario saldo, String receitas, String despesas, long quantidade) {
+        assertEquals(0, new BigDecimal(receitas).compareTo(saldo.getTotalReceitas()), "receitas " + saldo.getTotalReceitas());
+        assertEquals(0, new BigDecimal(despesas).compareTo(saldo.getTotalDespesas()), "despesas " + saldo.getTotalDespesas());
+        assertEquals(quantidade, saldo.getQuantidade());
+    }
+}
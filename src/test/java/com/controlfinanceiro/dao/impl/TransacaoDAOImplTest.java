@@ -0,0 +1,223 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.dao.FiltroTransacao;
+import com.controlfinanceiro.dao.Pagina;
+import com.controlfinanceiro.dao.PosicaoTransacao;
+import com.controlfinanceiro.dao.ResultadoLote;
+import com.controlfinanceiro.model.LinhaTransacao;
+import com.controlfinanceiro.model.SaldoUsuario;
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.controlfinanceiro.dao.impl.BancoTeste.transacao;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransacaoDAOImplTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 10);
+    private static final Long CATEGORIA_INEXISTENTE = 99L;
+
+    private final TransacaoDAOImpl transacaoDAO = new TransacaoDAOImpl();
+    private final SaldoUsuarioDAOImpl saldoUsuarioDAO = new SaldoUsuarioDAOImpl();
+
+    @Test
+    public void loteComFalhaGravaAsDemaisLinhaALinha() throws Exception {
+        BancoTeste.recriar(TabelasTotais.VERSAO_SALDO_USUARIO);
+        long usuarioId = BancoTeste.criarUsuario("Ana");
+
+        List<Transacao> transacoes = new ArrayList<>();
+        transacoes.add(transacao(usuarioId, "100.00", DIA, TipoTransacao.RECEITA, null));
+        transacoes.add(transacao(usuarioId, "10.00", DIA, TipoTransacao.DESPESA, BancoTeste.ALIMENTACAO));
+        // Viola a chave estrangeira: derruba o primeiro lote, que é refeito linha a linha
+        transacoes.add(transacao(usuarioId, "20.00", DIA, TipoTransacao.DESPESA, CATEGORIA_INEXISTENTE));
+        transacoes.add(transacao(usuarioId, "5.00", DIA, TipoTransacao.DESPESA, BancoTeste.TRANSPORTE));
+        // Recusada antes de ir ao banco
+        transacoes.add(transacao(usuarioId, "7.00", null, TipoTransacao.DESPESA, BancoTeste.TRANSPORTE));
+
+        ResultadoLote<Transacao> resultado = transacaoDAO.inserirEmLote(transacoes, 3);
+
+        assertEquals(3, resultado.getTotalSucessos());
+        assertEquals(2, resultado.getTotalFalhas());
+        List<Integer> indicesFalhas = resultado.getFalhas().stream().map(ResultadoLote.Falha::getIndice).sorted().toList();
+        assertEquals(List.of(2, 4), indicesFalhas);
+        for (ResultadoLote.Falha<Transacao> falha : resultado.getFalhas()) {
+            assertSame(transacoes.get(falha.getIndice()), falha.getItem());
+            assertNull(falha.getItem().getId());
+        }
+        for (Transacao gravada : resultado.getSucessos()) {
+            assertNotNull(gravada.getId());
+            assertEquals(1L, ((Number) BancoTeste.consultar(
+                    "SELECT COUNT(*) FROM transacao WHERE id = " + gravada.getId())).longValue());
+        }
+
+        // Os totais mantidos só contam as linhas gravadas, sem restos do lote desfeito
+        assertEquals(3L, ((Number) BancoTeste.consultar("SELECT COUNT(*) FROM transacao")).longValue());
+        assertSaldo(saldoUsuarioDAO.buscarPorUsuario(usuarioId), "100.00", "15.00", 3);
+        assertEquals(0, new BigDecimal("15.00").compareTo((BigDecimal) BancoTeste.consultar(
+                "SELECT SUM(total) FROM resumo_mensal WHERE tipo = 'DESPESA' AND usuario_id = " + usuarioId)));
+        assertNull(BancoTeste.consultar(
+                "SELECT total FROM resumo_mensal WHERE categoria_id = " + CATEGORIA_INEXISTENTE));
+    }
+
+    @Test
+    public void atualizacaoEmLoteComFalhaMantemOsTotaisDaLinhaRecusada() throws Exception {
+        BancoTeste.recriar(TabelasTotais.VERSAO_SALDO_USUARIO);
+        long usuarioId = BancoTeste.criarUsuario("Bia");
+
+        List<Transacao> transacoes = new ArrayList<>();
+        transacoes.add(transacao(usuarioId, "10.00", DIA, TipoTransacao.DESPESA, BancoTeste.ALIMENTACAO));
+        transacoes.add(transacao(usuarioId, "20.00", DIA, TipoTransacao.DESPESA, BancoTeste.ALIMENTACAO));
+        transacoes.add(transacao(usuarioId, "30.00", DIA, TipoTransacao.DESPESA, BancoTeste.TRANSPORTE));
+        assertEquals(3, transacaoDAO.inserirEmLote(transacoes).getTotalSucessos());
+
+        transacoes.get(0).setValor(new BigDecimal("11.00"));
+        transacoes.get(1).setValor(new BigDecimal("22.00"));
+        transacoes.get(1).setCategoriaId(CATEGORIA_INEXISTENTE);
+        transacoes.get(2).setValor(new BigDecimal("33.00"));
+        Transacao apagada = transacao(usuarioId, "1.00", DIA, TipoTransacao.DESPESA, null);
+        apagada.setId(12345L);
+        transacoes.add(apagada);
+
+        ResultadoLote<Transacao> resultado = transacaoDAO.atualizarEmLote(transacoes);
+
+        assertEquals(2, resultado.getTotalSucessos());
+        assertEquals(List.of(1, 3), resultado.getFalhas().stream().map(ResultadoLote.Falha::getIndice).sorted().toList());
+        assertEquals(0, new BigDecimal("20.00").compareTo((BigDecimal) BancoTeste.consultar(
+                "SELECT valor FROM transacao WHERE id = " + transacoes.get(1).getId())));
+        assertSaldo(saldoUsuarioDAO.buscarPorUsuario(usuarioId), "0", "64.00", 3);
+        assertEquals(0, new BigDecimal("31.00").compareTo((BigDecimal) BancoTeste.consultar(
+                "SELECT total FROM resumo_mensal WHERE categoria_id = " + BancoTeste.ALIMENTACAO
+                        + " AND usuario_id = " + usuarioId)));
+    }
+
+    @Test
+    public void paginasSeguemDataEIdSemRepetirNemPular() throws Exception {
+        BancoTeste.recriar(0);
+        long usuarioId = BancoTeste.criarUsuario("Caio");
+        List<Long> esperados = inserirParaPaginar(usuarioId);
+
+        // 7 linhas em páginas de 3: a posição cai no meio dos empates de data
+        List<Long> lidos = new ArrayList<>();
+        List<Boolean> proximas = new ArrayList<>();
+        FiltroTransacao filtro = new FiltroTransacao(usuarioId);
+        Pagina<LinhaTransacao> pagina;
+        do {
+            pagina = transacaoDAO.buscarPagina(filtro, 3);
+            pagina.getItens().forEach(linha -> lidos.add(linha.getId()));
+            proximas.add(pagina.temProxima());
+            filtro.apos(PosicaoTransacao.de(pagina.getUltimo()));
+        } while (pagina.temProxima());
+
+        assertEquals(esperados, lidos);
+        assertEquals(List.of(true, true, false), proximas);
+        assertEquals(7, transacaoDAO.contar(new FiltroTransacao(usuarioId)));
+    }
+
+    @Test
+    public void ultimaPaginaCheiaNaoIndicaProxima() throws Exception {
+        BancoTeste.recriar(0);
+        long usuarioId = BancoTeste.criarUsuario("Duda");
+        List<Long> esperados = inserirParaPaginar(usuarioId);
+
+        Pagina<LinhaTransacao> inteira = transacaoDAO.buscarPagina(new FiltroTransacao(usuarioId), 7);
+        assertEquals(7, inteira.getItens().size());
+        assertFalse(inteira.temProxima());
+
+        // Depois da última linha não há mais nada
+        FiltroTransacao depoisDoFim = new FiltroTransacao(usuarioId).apos(PosicaoTransacao.de(inteira.getUltimo()));
+        assertTrue(transacaoDAO.buscarPagina(depoisDoFim, 3).isVazia());
+
+        Pagina<LinhaTransacao> quaseInteira = transacaoDAO.buscarPagina(new FiltroTransacao(usuarioId), 6);
+        assertTrue(quaseInteira.temProxima());
+        assertEquals(esperados.subList(0, 6), quaseInteira.getItens().stream().map(LinhaTransacao::getId).toList());
+    }
+
+    @Test
+    public void limitesDasPaginasBatemComAPaginacao() throws Exception {
+        BancoTeste.recriar(0);
+        long usuarioId = BancoTeste.criarUsuario("Eva");
+        List<Long> esperados = inserirParaPaginar(usuarioId);
+
+        // Pede mais páginas que existem: a última, incompleta, termina na última linha
+        List<PosicaoTransacao> limites = transacaoDAO.buscarLimitesPaginas(new FiltroTransacao(usuarioId), 3, 5);
+        assertEquals(List.of(esperados.get(2), esperados.get(5), esperados.get(6)),
+                limites.stream().map(PosicaoTransacao::getId).toList());
+
+        // Saltar para a segunda página a partir do primeiro limite traz as mesmas linhas
+        FiltroTransacao segunda = new FiltroTransacao(usuarioId).apos(limites.get(0));
+        assertEquals(esperados.subList(3, 6),
+                transacaoDAO.buscarPagina(segunda, 3).getItens().stream().map(LinhaTransacao::getId).toList());
+
+        // Os limites também partem de uma posição
+        List<PosicaoTransacao> seguintes = transacaoDAO.buscarLimitesPaginas(segunda, 3, 1);
+        assertEquals(List.of(esperados.get(5)), seguintes.stream().map(PosicaoTransacao::getId).toList());
+    }
+
+    @Test
+    public void filtrosValemParaPaginaEContagem() throws Exception {
+        BancoTeste.recriar(0);
+        long usuarioId = BancoTeste.criarUsuario("Fabi");
+        inserirParaPaginar(usuarioId);
+
+        FiltroTransacao despesasDoDia = new FiltroTransacao(usuarioId)
+                .comTipo(TipoTransacao.DESPESA)
+                .comPeriodo(LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 10));
+        Pagina<LinhaTransacao> pagina = transacaoDAO.buscarPagina(despesasDoDia, 10);
+
+        assertEquals(2, pagina.getItens().size());
+        for (LinhaTransacao linha : pagina.getItens()) {
+            assertEquals(TipoTransacao.DESPESA, linha.getTipo());
+            assertEquals(LocalDate.of(2024, 3, 10), linha.getDataTransacao());
+        }
+        assertEquals(2, transacaoDAO.contar(despesasDoDia));
+        assertEquals(1, transacaoDAO.contar(new FiltroTransacao(usuarioId).comCategoria(BancoTeste.TRANSPORTE)));
+    }
+
+    /**
+     * Sete transações em três datas, inseridas fora de ordem para que o id não acompanhe
+     * a data, mais uma inativa e uma de outro usuário que nenhuma consulta deve trazer.
+     * Devolve os IDs na ordem das listagens (data e id decrescentes).
+     */
+    private List<Long> inserirParaPaginar(long usuarioId) throws Exception {
+        LocalDate[] datas = {
+            LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 5),
+            LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10),
+            LocalDate.of(2024, 3, 5)
+        };
+        List<Transacao> transacoes = new ArrayList<>();
+        for (int i = 0; i < datas.length; i++) {
+            TipoTransacao tipo = i == 5 ? TipoTransacao.RECEITA : TipoTransacao.DESPESA;
+            Long categoriaId = i == 6 ? BancoTeste.TRANSPORTE : BancoTeste.ALIMENTACAO;
+            transacoes.add(transacaoDAO.inserir(transacao(usuarioId, (i + 1) + ".00", datas[i], tipo, categoriaId)));
+        }
+
+        Transacao inativa = transacao(usuarioId, "99.00", LocalDate.of(2024, 3, 10), TipoTransacao.DESPESA, null);
+        inativa.setAtivo(false);
+        transacaoDAO.inserir(inativa);
+        long outroUsuario = BancoTeste.criarUsuario("Outro de " + usuarioId);
+        transacaoDAO.inserir(transacao(outroUsuario, "50.00", LocalDate.of(2024, 3, 10), TipoTransacao.DESPESA, null));
+
+        return transacoes.stream()
+                .sorted(Comparator.comparing(Transacao::getDataTransacao).thenComparing(Transacao::getId).reversed())
+                .map(Transacao::getId)
+                .toList();
+    }
+
+    private static void assertSaldo(SaldoUsuario saldo, String receitas, String despesas, long quantidade) {
+        assertEquals(0, new BigDecimal(receitas).compareTo(saldo.getTotalReceitas()), "receitas " + saldo.getTotalReceitas());
+        assertEquals(0, new BigDecimal(despesas).compareTo(saldo.getTotalDespesas()), "despesas " + saldo.getTotalDespesas());
+        assertEquals(quantidade, saldo.getQuantidade());
+    }
+}
@@ -0,0 +1,209 @@
+package com.controlfinanceiro.dao.impl;
+
+import com.controlfinanceiro.model.Transacao;
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VariacoesTotaisTest {
+
+    private final Map<String, List<Map<Integer, Object>>> lotes = new LinkedHashMap<>();
+
+    // Versão que a conexão simulada informa em schema_versao
+    private int versaoEsquema = TabelasTotais.VERSAO_SALDO_USUARIO;
+
+    @BeforeEach
+    public void esquecerVersao() {
+        TabelasTotais.esquecer();
+    }
+
+    @Test
+    public void somaAsVariacoesPorMesCategoriaETipo() throws SQLException {
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.adicionar(transacao(1L, "10.50", LocalDate.of(2024, 1, 5), TipoTransacao.DESPESA, 3L));
+        variacoes.adicionar(transacao(1L, "4.50", LocalDate.of(2024, 1, 20), TipoTransacao.DESPESA, 3L));
+        variacoes.adicionar(transacao(1L, "100.00", LocalDate.of(2024, 1, 2), TipoTransacao.RECEITA, null));
+
+        variacoes.gravar(conexao());
+
+        List<Map<Integer, Object>> resumos = lote("resumo_mensal");
+        assertEquals(2, resumos.size());
+        // Em ordem de chave: categoria 0 (sem categoria) antes da 3
+        assertEquals(List.of(1L, 2024, 1, 0L, "RECEITA", new BigDecimal("100.00"), 1), valores(resumos.get(0)));
+        assertEquals(List.of(1L, 2024, 1, 3L, "DESPESA", new BigDecimal("15.00"), 2), valores(resumos.get(1)));
+
+        List<Map<Integer, Object>> saldos = lote("saldo_usuario");
+        assertEquals(1, saldos.size());
+        assertEquals(List.of(1L, new BigDecimal("100.00"), new BigDecimal("15.00"), 3), valores(saldos.get(0)));
+    }
+
+    @Test
+    public void edicaoQueMudaOMesMoveOValor() throws SQLException {
+        Transacao anterior = transacao(1L, "20.00", LocalDate.of(2024, 1, 31), TipoTransacao.DESPESA, 2L);
+        Transacao atual = transacao(1L, "25.00", LocalDate.of(2024, 2, 1), TipoTransacao.DESPESA, 2L);
+
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.remover(anterior);
+        variacoes.adicionar(atual);
+        variacoes.gravar(conexao());
+
+        List<Map<Integer, Object>> resumos = lote("resumo_mensal");
+        assertEquals(List.of(1L, 2024, 1, 2L, "DESPESA", new BigDecimal("-20.00"), -1), valores(resumos.get(0)));
+        assertEquals(List.of(1L, 2024, 2, 2L, "DESPESA", new BigDecimal("25.00"), 1), valores(resumos.get(1)));
+        assertEquals(List.of(1L, BigDecimal.ZERO, new BigDecimal("5.00"), 0), valores(lote("saldo_usuario").get(0)));
+    }
+
+    @Test
+    public void edicaoSemEfeitoNosTotaisNaoGrava() throws SQLException {
+        Transacao transacao = transacao(1L, "20.00", LocalDate.of(2024, 1, 31), TipoTransacao.DESPESA, 2L);
+
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.remover(transacao);
+        variacoes.adicionar(transacao);
+        variacoes.gravar(conexao());
+
+        assertTrue(lotes.isEmpty());
+    }
+
+    @Test
+    public void transacaoInativaNaoEntra() throws SQLException {
+        Transacao inativa = transacao(1L, "20.00", LocalDate.of(2024, 1, 31), TipoTransacao.RECEITA, null);
+        inativa.setAtivo(false);
+
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.adicionar(inativa);
+        variacoes.adicionar(null);
+        variacoes.gravar(conexao());
+
+        assertTrue(lotes.isEmpty());
+    }
+
+    @Test
+    public void gravarEsvaziaAsVariacoes() throws SQLException {
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.adicionar(transacao(1L, "1.00", LocalDate.of(2024, 1, 1), TipoTransacao.RECEITA, null));
+        variacoes.gravar(conexao());
+        lotes.clear();
+
+        variacoes.gravar(conexao());
+
+        assertTrue(lotes.isEmpty());
+    }
+
+    @Test
+    public void semAsMigracoesSoGravaATransacao() throws SQLException {
+        versaoEsquema = 0;
+
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.adicionar(transacao(1L, "1.00", LocalDate.of(2024, 1, 1), TipoTransacao.RECEITA, null));
+        variacoes.gravar(conexao());
+
+        assertTrue(lotes.isEmpty());
+    }
+
+    @Test
+    public void antesDaV3SoGravaOResumoMensal() throws SQLException {
+        versaoEsquema = TabelasTotais.VERSAO_RESUMO_MENSAL;
+
+        VariacoesTotais variacoes = new VariacoesTotais();
+        variacoes.adicionar(transacao(1L, "1.00", LocalDate.of(2024, 1, 1), TipoTransacao.RECEITA, null));
+        variacoes.gravar(conexao());
+
+        assertEquals(1, lote("resumo_mensal").size());
+        assertEquals(1, lotes.size());
+    }
+
+    private static Transacao transacao(Long usuarioId, String valor, LocalDate data, TipoTransacao tipo, Long categoriaId) {
+        Transacao transacao = new Transacao("Teste", new BigDecimal(valor), data, tipo, categoriaId);
+        transacao.setUsuarioId(usuarioId);
+        return transacao;
+    }
+
+    private List<Map<Integer, Object>> lote(String tabela) {
+        for (Map.Entry<String, List<Map<Integer, Object>>> entrada : lotes.entrySet()) {
+            if (entrada.getKey().contains("INTO " + tabela + " ")) {
+                return entrada.getValue();
+            }
+        }
+        throw new AssertionError("Nenhum lote gravado em " + tabela);
+    }
+
+    private static List<Object> valores(Map<Integer, Object> parametros) {
+        return new ArrayList<>(parametros.values());
+    }
+
+    /**
+     * Conexão que só registra os parâmetros de cada addBatch, por SQL, e responde a
+     * consulta de versão de schema_versao
+     */
+    private Connection conexao() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, metodo, args) -> {
+                switch (metodo.getName()) {
+                    case "prepareStatement":
+                        return statement((String) args[0]);
+                    case "createStatement":
+                        return consultaVersao();
+                    default:
+                        throw new UnsupportedOperationException(metodo.getName());
+                }
+            });
+    }
+
+    private Statement consultaVersao() {
+        ResultSet versao = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+            (proxy, metodo, args) -> switch (metodo.getName()) {
+                case "next" -> true;
+                case "getInt" -> versaoEsquema;
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(metodo.getName());
+            });
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+            (proxy, metodo, args) -> switch (metodo.getName()) {
+                case "executeQuery" -> versao;
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+
+    private PreparedStatement statement(String sql) {
+        Map<Integer, Object> atual = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+            (proxy, metodo, args) -> {
+                String nome = metodo.getName();
+                if (nome.startsWith("set")) {
+                    atual.put((Integer) args[0], args[1]);
+                    return null;
+                }
+                switch (nome) {
+                    case "addBatch":
+                        lotes.computeIfAbsent(sql, s -> new ArrayList<>()).add(new TreeMap<>(atual));
+                        atual.clear();
+                        return null;
+                    case "executeBatch":
+                        return new int[lotes.getOrDefault(sql, List.of()).size()];
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(nome);
+                }
+            });
+    }
+}
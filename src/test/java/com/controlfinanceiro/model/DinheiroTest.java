@@ -0,0 +1,62 @@
+package com.controlfinanceiro.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DinheiroTest {
+
+    @Test
+    public void centavosDeValoresComDuasCasas() {
+        assertEquals(123456, Dinheiro.centavos(new BigDecimal("1234.56")));
+        assertEquals(-5, Dinheiro.centavos(new BigDecimal("-0.05")));
+        assertEquals(100, Dinheiro.centavos(new BigDecimal("1")));
+        assertEquals(0, Dinheiro.centavos(null));
+    }
+
+    @Test
+    public void arredondaMeioParaOParMaisProximo() {
+        assertEquals(0, Dinheiro.centavos(new BigDecimal("0.005")));
+        assertEquals(2, Dinheiro.centavos(new BigDecimal("0.015")));
+        assertEquals(2, Dinheiro.centavos(new BigDecimal("0.025")));
+        assertEquals(-2, Dinheiro.centavos(new BigDecimal("-0.025")));
+        assertEquals(3, Dinheiro.centavos(new BigDecimal("0.0251")));
+        assertEquals(123457, Dinheiro.centavos(new BigDecimal("1234.56789")));
+    }
+
+    @Test
+    public void limitesDoLong() {
+        assertEquals(Long.MAX_VALUE, Dinheiro.centavos(new BigDecimal("92233720368547758.07")));
+        assertEquals(Long.MIN_VALUE, Dinheiro.centavos(new BigDecimal("-92233720368547758.08")));
+        assertTrue(Dinheiro.cabeEmCentavos(new BigDecimal("92233720368547758.07")));
+        assertFalse(Dinheiro.cabeEmCentavos(new BigDecimal("92233720368547758.08")));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.centavos(new BigDecimal("92233720368547758.08")));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.centavos(new BigDecimal("1e30")));
+    }
+
+    @Test
+    public void somaESubtracaoEmCentavos() {
+        Dinheiro a = Dinheiro.de(new BigDecimal("0.10"));
+        Dinheiro b = Dinheiro.de(new BigDecimal("0.20"));
+
+        assertEquals(Dinheiro.deCentavos(30), a.mais(b));
+        assertEquals(new BigDecimal("0.30"), a.mais(b).toBigDecimal());
+        assertEquals(Dinheiro.deCentavos(-10), a.menos(b));
+        assertTrue(a.menos(b).isNegativo());
+        assertSame(Dinheiro.ZERO, a.menos(a));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.deCentavos(Long.MAX_VALUE).mais(Dinheiro.deCentavos(1)));
+    }
+
+    @Test
+    public void conversaoParaBigDecimalTemDuasCasas() {
+        assertEquals(new BigDecimal("12.30"), Dinheiro.paraBigDecimal(1230));
+        assertEquals("-0.07", Dinheiro.deCentavos(-7).toString());
+        assertTrue(Dinheiro.deCentavos(5).compareTo(Dinheiro.deCentavos(7)) < 0);
+    }
+}
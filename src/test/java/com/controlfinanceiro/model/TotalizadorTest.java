@@ -0,0 +1,72 @@
+package com.controlfinanceiro.model;
+
+import com.controlfinanceiro.model.enums.TipoTransacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TotalizadorTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 5, 10);
+
+    @Test
+    public void somaReceitasEDespesasSemPerderCentavos() {
+        Totalizador totais = new Totalizador();
+        for (int i = 0; i < 10; i++) {
+            totais.adicionar(linha(i, "0.10", TipoTransacao.RECEITA));
+        }
+        totais.adicionar(linha(10, "0.30", TipoTransacao.DESPESA));
+
+        assertEquals(Dinheiro.deCentavos(100), totais.getReceitas());
+        assertEquals(Dinheiro.deCentavos(30), totais.getDespesas());
+        assertEquals(new BigDecimal("0.70"), totais.getSaldo().toBigDecimal());
+        assertEquals(11, totais.getQuantidade());
+    }
+
+    @Test
+    public void totaisAgrupadosSaoArredondadosEmCentavos() {
+        Totalizador totais = new Totalizador();
+        totais.adicionar(TipoTransacao.RECEITA, new BigDecimal("100.005"), 2);
+        totais.adicionar(TipoTransacao.DESPESA, new BigDecimal("40.015"), 3);
+
+        assertEquals(Dinheiro.deCentavos(10000), totais.getReceitas());
+        assertEquals(Dinheiro.deCentavos(4002), totais.getDespesas());
+        assertEquals(5, totais.getQuantidade());
+    }
+
+    @Test
+    public void saldoNegativo() {
+        Totalizador totais = Totalizador.deCentavos(150, 275, 2);
+
+        assertEquals(Dinheiro.deCentavos(-125), totais.getSaldo());
+    }
+
+    @Test
+    public void juntarPartesIgualASomaUnica() {
+        List<LinhaTransacao> transacoes = List.of(
+            linha(1, "10.01", TipoTransacao.RECEITA),
+            linha(2, "0.99", TipoTransacao.DESPESA),
+            linha(3, "5.50", TipoTransacao.RECEITA),
+            linha(4, "7.25", TipoTransacao.DESPESA));
+
+        Totalizador unico = Totalizador.de(transacoes);
+        Totalizador partes = Totalizador.de(transacoes.subList(0, 2)).juntar(Totalizador.de(transacoes.subList(2, 4)));
+        Totalizador coletado = transacoes.parallelStream().collect(Totalizador.coletor());
+
+        for (Totalizador totais : List.of(partes, coletado)) {
+            assertEquals(unico.getReceitas(), totais.getReceitas());
+            assertEquals(unico.getDespesas(), totais.getDespesas());
+            assertEquals(unico.getQuantidade(), totais.getQuantidade());
+        }
+        assertEquals(Dinheiro.deCentavos(1551), unico.getReceitas());
+        assertEquals(Dinheiro.deCentavos(824), unico.getDespesas());
+    }
+
+    private static LinhaTransacao linha(long id, String valor, TipoTransacao tipo) {
+        return new LinhaTransacao(id, "Transação " + id, new BigDecimal(valor), DIA, tipo, null, null, null);
+    }
+}
@@ -0,0 +1,209 @@
+package com.controlfinanceiro.util;
+
+import org.h2.jdbc.JdbcConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pool sobre um banco H2 em memória; cada teste usa um banco próprio
+ */
+public class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    public void encerrar() {
+        if (pool != null) {
+            pool.encerrar();
+        }
+    }
+
+    @Test
+    public void iniciarAbreOMinimo() {
+        pool = criarPool("minimo", 2, 4, 1000);
+        pool.iniciar();
+
+        assertEquals(2, pool.getTotalConexoes());
+        assertEquals(2, pool.getConexoesOciosas());
+    }
+
+    @Test
+    public void emprestimosSimultaneosNuncaPassamDoMaximo() throws Exception {
+        pool = criarPool("concorrencia", 1, 3, 5000);
+        pool.iniciar();
+
+        AtomicInteger emUso = new AtomicInteger();
+        AtomicInteger maiorUso = new AtomicInteger();
+        AtomicInteger maiorTotal = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int j = 0; j < 25; j++) {
+                        try (Connection conn = pool.getConnection()) {
+                            maiorUso.accumulateAndGet(emUso.incrementAndGet(), Math::max);
+                            maiorTotal.accumulateAndGet(pool.getTotalConexoes(), Math::max);
+                            consultarUm(conn);
+                            emUso.decrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maiorUso.get() <= 3, "emprestadas ao mesmo tempo: " + maiorUso.get());
+        assertTrue(maiorTotal.get() <= 3, "conexões físicas: " + maiorTotal.get());
+        assertTrue(pool.getTotalConexoes() <= 3);
+        assertEquals(pool.getTotalConexoes(), pool.getConexoesOciosas());
+    }
+
+    @Test
+    public void esgotadoFalhaPorTimeoutEDevolveAVaga() throws SQLException {
+        pool = criarPool("esgotado", 0, 1, 100);
+
+        Connection primeira = pool.getConnection();
+        assertThrows(SQLTimeoutException.class, pool::getConnection);
+        assertEquals(1, pool.getTotalConexoes());
+
+        primeira.close();
+        try (Connection segunda = pool.getConnection()) {
+            consultarUm(segunda);
+        }
+        assertEquals(1, pool.getTotalConexoes());
+    }
+
+    @Test
+    public void closeDevolveEReaproveitaAConexao() throws SQLException {
+        pool = criarPool("reuso", 0, 2, 1000);
+
+        int sessao;
+        try (Connection conn = pool.getConnection()) {
+            sessao = sessao(conn);
+        }
+        assertEquals(1, pool.getConexoesOciosas());
+
+        Connection conn = pool.getConnection();
+        assertEquals(sessao, sessao(conn));
+        conn.close();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+        assertEquals(1, pool.getConexoesOciosas());
+    }
+
+    @Test
+    public void devolveComRollbackDoQueFicouPendente() throws SQLException {
+        pool = criarPool("rollback", 0, 1, 1000);
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE item (id INT PRIMARY KEY)");
+        }
+
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.executeUpdate("INSERT INTO item VALUES (1)");
+        }
+
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM item")) {
+            assertTrue(conn.getAutoCommit());
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void conexaoInvalidaEDescartadaNoEmprestimo() throws SQLException {
+        pool = criarPool("validacao", 0, 2, 1000);
+
+        int sessao;
+        try (Connection conn = pool.getConnection()) {
+            sessao = sessao(conn);
+        }
+
+        // Derruba a sessão ociosa por fora, como faria o servidor com uma conexão parada
+        try (Connection externa = DriverManager.getConnection(url("validacao"));
+             Statement stmt = externa.createStatement()) {
+            stmt.execute("CALL ABORT_SESSION(" + sessao + ")");
+        }
+
+        try (Connection conn = pool.getConnection()) {
+            assertNotEquals(sessao, sessao(conn));
+            consultarUm(conn);
+        }
+        assertEquals(1, pool.getTotalConexoes());
+        assertEquals(1, pool.getConexoesOciosas());
+    }
+
+    @Test
+    public void unwrapNaoExpoeAConexaoFisica() throws SQLException {
+        pool = criarPool("unwrap", 0, 1, 100);
+
+        Connection conn = pool.getConnection();
+        assertTrue(conn.isWrapperFor(Connection.class));
+        assertFalse(conn.isWrapperFor(JdbcConnection.class));
+        assertSame(conn, conn.unwrap(Connection.class));
+        assertThrows(SQLException.class, () -> conn.unwrap(JdbcConnection.class));
+
+        // Fechar o que unwrap devolveu ainda devolve a conexão ao pool
+        conn.unwrap(Connection.class).close();
+        try (Connection outra = pool.getConnection()) {
+            consultarUm(outra);
+        }
+        assertEquals(1, pool.getTotalConexoes());
+    }
+
+    private static ConnectionPool criarPool(String banco, int minimo, int maximo, long timeoutMs) {
+        return new ConnectionPool(url(banco), new Properties(), minimo, maximo, timeoutMs, 60000, 2, 10);
+    }
+
+    private static String url(String banco) {
+        return "jdbc:h2:mem:pool_" + banco + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static int sessao(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT SESSION_ID()")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void consultarUm(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT 1")) {
+            assertTrue(rs.next());
+        }
+    }
+}
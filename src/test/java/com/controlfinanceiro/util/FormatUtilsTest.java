@@ -0,0 +1,87 @@
+package com.controlfinanceiro.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class FormatUtilsTest {
+
+    private static final String[] VALORES = {
+        "0", "0.01", "-0.01", "0.005", "0.015", "-0.025", "12.3", "999.99", "1000", "-1234.567",
+        "1234567.891", "-9999999999.99", "92233720368547758.07", "100000000000000000000.25"
+    };
+
+    private final Locale localeOriginal = Locale.getDefault(Locale.Category.FORMAT);
+
+    @AfterEach
+    public void restaurarLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, localeOriginal);
+    }
+
+    @Test
+    public void moedaIgualAoNumberFormatPtBr() {
+        NumberFormat moeda = NumberFormat.getCurrencyInstance(FormatUtils.LOCALE_BR);
+        for (String valor : VALORES) {
+            BigDecimal numero = new BigDecimal(valor);
+            assertEquals(moeda.format(numero), FormatUtils.formatarValor(numero), valor);
+        }
+        assertEquals("R$ 0,00", FormatUtils.formatarValor(null));
+    }
+
+    @Test
+    public void centavosIgualAoNumberFormatPtBr() {
+        NumberFormat moeda = NumberFormat.getCurrencyInstance(FormatUtils.LOCALE_BR);
+        for (long centavos : new long[]{0, 5, -5, 100, 123456, -987654321, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            BigDecimal valor = BigDecimal.valueOf(centavos, 2);
+            assertEquals(moeda.format(valor), FormatUtils.formatarCentavos(centavos), String.valueOf(centavos));
+            assertEquals("> " + moeda.format(valor), FormatUtils.formatarCentavos(centavos, new StringBuilder("> ")).toString());
+        }
+    }
+
+    @Test
+    public void decimalSegueALocalePadrao() {
+        for (Locale locale : new Locale[]{FormatUtils.LOCALE_BR, Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.of("de", "CH")}) {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            DecimalFormat decimal = new DecimalFormat("#,##0.00");
+            for (String valor : VALORES) {
+                BigDecimal numero = new BigDecimal(valor);
+                assertEquals(decimal.format(numero), FormatUtils.formatarDecimal(numero), locale + " " + valor);
+            }
+        }
+    }
+
+    @Test
+    public void decimalNuloMantemOTextoAntigo() {
+        assertEquals("0,00", FormatUtils.formatarDecimal(null));
+    }
+
+    @Test
+    public void datasNoFormatoBrasileiro() {
+        assertEquals("05/03/2024", FormatUtils.formatarData(LocalDate.of(2024, 3, 5)));
+        assertEquals("31/12/1999", FormatUtils.formatarData(LocalDate.of(1999, 12, 31)));
+        assertEquals("01/01/0001", FormatUtils.formatarData(LocalDate.of(1, 1, 1)));
+        assertEquals(LocalDate.of(12345, 6, 7).format(FormatUtils.FORMATO_DATA), FormatUtils.formatarData(LocalDate.of(12345, 6, 7)));
+        assertEquals("", FormatUtils.formatarData(null));
+    }
+
+    @Test
+    public void dataRepetidaVemDoCache() {
+        LocalDate data = LocalDate.of(2024, 7, 15);
+        String primeira = FormatUtils.formatarData(data);
+
+        assertSame(primeira, FormatUtils.formatarData(LocalDate.of(2024, 7, 15)));
+
+        // Dias que caem na mesma posição do cache não se confundem
+        LocalDate colidente = data.plusDays(4096);
+        assertEquals(colidente.format(FormatUtils.FORMATO_DATA), FormatUtils.formatarData(colidente));
+        assertEquals("15/07/2024", FormatUtils.formatarData(data));
+    }
+}
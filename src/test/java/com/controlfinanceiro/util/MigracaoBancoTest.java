@@ -0,0 +1,124 @@
+package com.controlfinanceiro.util;
+
+import com.controlfinanceiro.exception.DAOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrações de src/test/resources/db/migracao-teste* aplicadas no banco H2 dos testes
+ */
+public class MigracaoBancoTest {
+
+    private static final String MIGRACOES = "/db/migracao-teste/";
+    private static final String ALTERADAS = "/db/migracao-teste-alterada/";
+    private static final String COM_FALHA = "/db/migracao-teste-falha/";
+
+    @BeforeEach
+    public void limparBanco() throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    public void aplicaEmOrdemERegistraOsChecksums() throws Exception {
+        assertEquals(2, MigracaoBanco.executar(MIGRACOES));
+
+        assertEquals(List.of(
+                "1 cria item V1__cria_item.sql " + checksum(MIGRACOES + "V1__cria_item.sql"),
+                "2 insere itens V2__insere_itens.sql " + checksum(MIGRACOES + "V2__insere_itens.sql")),
+                versoesRegistradas());
+        assertEquals(2, contar("SELECT COUNT(*) FROM item_migracao"));
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            assertEquals(2, MigracaoBanco.versaoAplicada(conn));
+        }
+    }
+
+    @Test
+    public void segundaExecucaoNaoAplicaNada() throws Exception {
+        MigracaoBanco.executar(MIGRACOES);
+        List<String> registradas = versoesRegistradas();
+
+        assertEquals(0, MigracaoBanco.executar(MIGRACOES));
+        assertEquals(registradas, versoesRegistradas());
+        assertEquals(2, contar("SELECT COUNT(*) FROM item_migracao"));
+    }
+
+    @Test
+    public void scriptAlteradoNaoEAplicadoDeNovo() throws Exception {
+        MigracaoBanco.executar(MIGRACOES);
+        String checksumOriginal = checksum(MIGRACOES + "V1__cria_item.sql");
+        assertNotEquals(checksumOriginal, checksum(ALTERADAS + "V1__cria_item.sql"));
+
+        // A V1 editada só gera um aviso no log; a V3 nova é aplicada normalmente
+        assertEquals(1, MigracaoBanco.executar(ALTERADAS));
+
+        List<String> registradas = versoesRegistradas();
+        assertEquals(3, registradas.size());
+        assertEquals("1 cria item V1__cria_item.sql " + checksumOriginal, registradas.get(0));
+        assertEquals(2, contar("SELECT COUNT(*) FROM item_migracao WHERE ativo = true"));
+    }
+
+    @Test
+    public void scriptComFalhaNaoERegistrado() throws Exception {
+        DAOException erro = assertThrows(DAOException.class, () -> MigracaoBanco.executar(COM_FALHA));
+        assertTrue(erro.getMessage().contains("V2__insere_invalido.sql"), erro.getMessage());
+
+        // A V1 ficou registrada; a V2 não, então roda de novo na próxima execução
+        assertEquals(1, versoesRegistradas().size());
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            assertEquals(1, MigracaoBanco.versaoAplicada(conn));
+        }
+    }
+
+    @Test
+    public void semSchemaVersaoAVersaoEZero() throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            assertEquals(0, MigracaoBanco.versaoAplicada(conn));
+        }
+    }
+
+    private static List<String> versoesRegistradas() throws SQLException {
+        List<String> versoes = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT versao, descricao, script, checksum FROM schema_versao ORDER BY versao")) {
+            while (rs.next()) {
+                versoes.add(rs.getInt(1) + " " + rs.getString(2) + " " + rs.getString(3) + " " + rs.getString(4));
+            }
+        }
+        return versoes;
+    }
+
+    private static long contar(String sql) throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // SHA-256 do arquivo como está no disco: os scripts de teste usam fim de linha LF
+    private static String checksum(String recurso) throws Exception {
+        try (InputStream input = MigracaoBancoTest.class.getResourceAsStream(recurso)) {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input.readAllBytes()));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+-- ============================================================================
+-- Esquema dos testes de DAO: as tabelas de script_banco.sql e das migrações V1 a V3,
+-- escritas no que o H2 aceita no modo MySQL (nomes de índice únicos no esquema e
+-- coluna calculada sem STORED). Quem chama registra em schema_versao a versão simulada.
+-- ============================================================================
+
+CREATE TABLE usuario (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    ativo BOOLEAN DEFAULT TRUE,
+    data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE categoria (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL UNIQUE,
+    descricao TEXT,
+    ativo BOOLEAN DEFAULT TRUE,
+    data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE transacao (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    descricao VARCHAR(255) NOT NULL,
+    valor DECIMAL(10,2) NOT NULL,
+    data_transacao DATE NOT NULL,
+    tipo ENUM('RECEITA', 'DESPESA') NOT NULL,
+    categoria_id INT,
+    usuario_id INT NOT NULL,
+    observacoes TEXT,
+    ativo BOOLEAN DEFAULT TRUE,
+    data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (categoria_id) REFERENCES categoria(id),
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+CREATE INDEX idx_transacao_usuario_data ON transacao (usuario_id, data_transacao, id);
+
+CREATE TABLE orcamento (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    categoria_id INT,
+    usuario_id INT NOT NULL,
+    valor_limite DECIMAL(10,2) NOT NULL,
+    mes INT NOT NULL,
+    ano INT NOT NULL,
+    descricao TEXT,
+    ativo BOOLEAN DEFAULT TRUE,
+    data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (categoria_id) REFERENCES categoria(id),
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id),
+    UNIQUE (categoria_id, mes, ano, usuario_id)
+);
+
+CREATE TABLE resumo_mensal (
+    usuario_id INT NOT NULL,
+    ano SMALLINT NOT NULL,
+    mes TINYINT NOT NULL,
+    categoria_id INT NOT NULL DEFAULT 0,
+    tipo ENUM('RECEITA', 'DESPESA') NOT NULL,
+    total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    quantidade INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (usuario_id, ano, mes, categoria_id, tipo),
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+CREATE TABLE saldo_usuario (
+    usuario_id INT PRIMARY KEY,
+    total_receitas DECIMAL(14,2) NOT NULL DEFAULT 0,
+    total_despesas DECIMAL(14,2) NOT NULL DEFAULT 0,
+    saldo DECIMAL(14,2) GENERATED ALWAYS AS (total_receitas - total_despesas),
+    quantidade INT NOT NULL DEFAULT 0,
+    data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+CREATE TABLE schema_versao (
+    versao INT PRIMARY KEY,
+    descricao VARCHAR(200) NOT NULL,
+    script VARCHAR(255) NOT NULL,
+    checksum CHAR(64) NOT NULL,
+    duracao_ms BIGINT NOT NULL,
+    aplicada_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO categoria (nome, descricao) VALUES
+('Alimentação', 'Gastos com alimentação e supermercado'),
+('Transporte', 'Gastos com transporte e combustível'),
+('Moradia', 'Gastos com aluguel, financiamento e contas da casa');
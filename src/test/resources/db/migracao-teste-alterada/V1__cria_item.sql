@@ -0,0 +1,5 @@
+-- Editada: se fosse aplicada de novo, falharia porque a tabela já existe
+CREATE TABLE item_migracao (
+    id INT PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL
+);
@@ -0,0 +1 @@
+ALTER TABLE item_migracao ADD COLUMN ativo BOOLEAN DEFAULT TRUE;
@@ -0,0 +1,2 @@
+INSERT INTO item_migracao (id, nome) VALUES (1, 'um');
+INSERT INTO tabela_inexistente (id) VALUES (1);
@@ -0,0 +1,4 @@
+CREATE TABLE item_migracao (
+    id INT PRIMARY KEY,
+    nome VARCHAR(50) NOT NULL
+);
@@ -0,0 +1,3 @@
+-- Dois comandos no mesmo script
+INSERT INTO item_migracao (id, nome) VALUES (1, 'um');
+INSERT INTO item_migracao (id, nome) VALUES (2, 'dois');